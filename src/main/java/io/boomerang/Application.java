@@ -11,6 +11,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import com.github.alturkovic.lock.mongo.configuration.EnableMongoDistributedLock;
+import io.boomerang.opentracing.FlowTracing;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeIn;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
@@ -39,7 +40,7 @@ public class Application {
   }
 
   @Bean(name = "flowAsyncExecutor")
-  public Executor getCiExecutor() {
+  public Executor getCiExecutor(FlowTracing flowTracing) {
     int maxThreads = 200;
     int maxQueue = 100000;
 
@@ -52,6 +53,7 @@ public class Application {
     executor.setQueueCapacity(maxQueue);
 
     executor.setThreadNamePrefix("WorfklowServiceExecutor-");
+    executor.setTaskDecorator(flowTracing.taskDecorator());
     executor.initialize();
     return executor;
   }
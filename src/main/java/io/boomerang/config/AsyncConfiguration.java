@@ -3,6 +3,7 @@ package io.boomerang.config;
 import java.util.concurrent.Executor;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
@@ -10,11 +11,15 @@ import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import io.boomerang.opentracing.FlowTracing;
 
 
 @Configuration
 public class AsyncConfiguration implements AsyncConfigurer {
 
+  @Autowired
+  private FlowTracing flowTracing;
+
   @Override
   @Bean(name = "logStreamExecutor")
   public Executor getAsyncExecutor() {
@@ -28,6 +33,7 @@ public class AsyncConfiguration implements AsyncConfigurer {
     executor.setQueueCapacity(maxQueue);
 
     executor.setThreadNamePrefix("logStreamExecutor-");
+    executor.setTaskDecorator(flowTracing.taskDecorator());
     
     return executor;
   }
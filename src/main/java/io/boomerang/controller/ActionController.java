@@ -87,7 +87,8 @@ public class ActionController {
       @RequestParam Optional<List<String>> workflowIds,
       @RequestParam Optional<List<String>> teamIds, @RequestParam(defaultValue = "0") int page,
       @RequestParam(defaultValue = "2147483647") int size, @RequestParam Optional<Long> fromDate,
-      @RequestParam Optional<Long> toDate, @RequestParam Optional<ManualType> type) {
+      @RequestParam Optional<Long> toDate, @RequestParam Optional<ManualType> type,
+      @RequestParam Optional<String> after) {
     Optional<Date> from = Optional.empty();
     Optional<Date> to = Optional.empty();
     if (fromDate.isPresent()) {
@@ -109,6 +110,6 @@ public class ActionController {
     }
     final Pageable pageable = PageRequest.of(page, size, pagingSort);
     return actionService.getAllActions(from, to, pageable, workflowIds, teamIds, type, scopes,
-        CREATIONDATESORT, order.get(), status);
+        CREATIONDATESORT, order.get(), status, after);
   }
 }
@@ -14,15 +14,21 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import io.boomerang.model.BulkCancelRequest;
+import io.boomerang.model.BulkCancelStatus;
 import io.boomerang.model.FlowActivity;
 import io.boomerang.model.ListActivityResponse;
 import io.boomerang.model.TaskExecutionResponse;
@@ -37,8 +43,10 @@ import io.boomerang.mongo.model.WorkflowScope;
 import io.boomerang.mongo.service.FlowWorkflowService;
 import io.boomerang.mongo.service.RevisionService;
 import io.boomerang.service.UserIdentityService;
+import io.boomerang.service.crud.ActivityCancellationService;
 import io.boomerang.service.crud.FlowActivityService;
 import io.boomerang.service.crud.TeamService;
+import io.boomerang.service.stream.ActivityStreamService;
 
 @RestController
 @RequestMapping("/workflow/")
@@ -59,6 +67,12 @@ public class ActivityController {
   @Autowired
   private RevisionService revisionService;
 
+  @Autowired
+  private ActivityStreamService activityStreamService;
+
+  @Autowired
+  private ActivityCancellationService activityCancellationService;
+
   private static final String CREATIONDATESORT = "creationDate";
 
 
@@ -100,6 +114,21 @@ public class ActivityController {
         triggers, scopes, sort.get(), order.get());
   }
 
+  @PostMapping(value = "/activity/cancel")
+  public ResponseEntity<BulkCancelStatus> cancelFlowActivities(
+      @RequestBody BulkCancelRequest request) {
+    return new ResponseEntity<>(activityCancellationService.submit(request), HttpStatus.ACCEPTED);
+  }
+
+  @GetMapping(value = "/activity/cancel/{jobId}")
+  public ResponseEntity<BulkCancelStatus> getCancellationStatus(@PathVariable String jobId) {
+    BulkCancelStatus status = activityCancellationService.getStatus(jobId);
+    if (status == null) {
+      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+    return new ResponseEntity<>(status, HttpStatus.OK);
+  }
+
   @DeleteMapping(value = "/activity/{activityId}/cancel")
   public ResponseEntity<FlowActivity> cancelFlowActivity(@PathVariable String activityId) {
     ActivityEntity activity = flowActivityService.findWorkflowActivity(activityId);
@@ -152,18 +181,8 @@ public class ActivityController {
 
     if (teamId != null) {
 
-      final FlowUserEntity user = userIdentityService.getCurrentUser();
-
-      if (user != null) {
-        List<String> teamIdList =
-            user.getType().equals(UserType.admin) || user.getType().equals(UserType.operator)
-                ? teamService.getAllTeams().stream().map(TeamWorkflowSummary::getId)
-                    .collect(Collectors.toList())
-                : teamService.getUserTeams(user).stream().map(TeamWorkflowSummary::getId)
-                    .collect(Collectors.toList());
-        if (!teamIdList.contains(teamId)) {
-          return new ResponseEntity<>(new FlowActivity(), HttpStatus.FORBIDDEN);
-        }
+      if (!hasTeamAccess(teamId)) {
+        return new ResponseEntity<>(new FlowActivity(), HttpStatus.FORBIDDEN);
       }
 
       TeamEntity team = teamService.getTeamById(teamId);
@@ -180,6 +199,34 @@ public class ActivityController {
     return new ResponseEntity<>(response, HttpStatus.OK);
   }
 
+  @GetMapping(value = "/activity/{activityId}/stream",
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamFlowActivity(@PathVariable String activityId) {
+    final ActivityEntity activity = flowActivityService.findWorkflowActivity(activityId);
+    if (activity != null) {
+      WorkflowEntity workflow = workflowService.getWorkflow(activity.getWorkflowId());
+      if (workflow != null && workflow.getFlowTeamId() != null
+          && !hasTeamAccess(workflow.getFlowTeamId())) {
+        return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+      }
+    }
+    return new ResponseEntity<>(activityStreamService.subscribe(activityId), HttpStatus.OK);
+  }
+
+  private boolean hasTeamAccess(String teamId) {
+    final FlowUserEntity user = userIdentityService.getCurrentUser();
+    if (user == null) {
+      return true;
+    }
+    List<String> teamIdList =
+        user.getType().equals(UserType.admin) || user.getType().equals(UserType.operator)
+            ? teamService.getAllTeams().stream().map(TeamWorkflowSummary::getId)
+                .collect(Collectors.toList())
+            : teamService.getUserTeams(user).stream().map(TeamWorkflowSummary::getId)
+                .collect(Collectors.toList());
+    return teamIdList.contains(teamId);
+  }
+
   @GetMapping(value = "/activity/summary")
   public Map<String, Long> getFlowActivitySummary(
       @RequestParam(defaultValue = "ASC") Direction order,
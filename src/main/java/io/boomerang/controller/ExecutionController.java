@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -22,8 +23,10 @@ public class ExecutionController {
   @PostMapping(value = "/execute/{workflowId}")
   public FlowActivity executeWorkflow(@PathVariable String workflowId,
       @RequestParam Optional<String> trigger,
-      @RequestBody Optional<FlowExecutionRequest> executionRequest) {
+      @RequestBody Optional<FlowExecutionRequest> executionRequest,
+      @RequestHeader("Idempotency-Key") Optional<String> idempotencyKey) {
 
-    return executionService.executeWorkflow(workflowId, trigger, executionRequest, Optional.empty());
+    return executionService.executeWorkflow(workflowId, trigger, executionRequest, Optional.empty(),
+        idempotencyKey);
   }
 }
@@ -1,9 +1,11 @@
 package io.boomerang.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import io.boomerang.model.FlowFeatures;
 import io.boomerang.service.FeatureService;
 
@@ -15,7 +17,12 @@ public class FeatureController {
   private FeatureService featureService;
   
   @GetMapping(value = "/features")
-  public FlowFeatures getFlowFeatures() {
-    return featureService.getFlowFeatures();
+  public ResponseEntity<FlowFeatures> getFlowFeatures(WebRequest request) {
+    FlowFeatures features = featureService.getFlowFeatures();
+    String eTag = "\"" + features.getVersion() + "\"";
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    return ResponseEntity.ok().eTag(eTag).body(features);
   }
 }
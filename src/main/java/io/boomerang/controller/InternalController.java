@@ -2,8 +2,10 @@ package io.boomerang.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.boomerang.model.FlowActivity;
 import io.boomerang.model.FlowSettings;
@@ -31,6 +34,7 @@ import io.boomerang.service.WebhookService;
 import io.boomerang.service.crud.ConfigurationService;
 import io.boomerang.service.crud.WorkflowService;
 import io.boomerang.service.refactor.TaskService;
+import io.boomerang.service.stream.ActivityStreamService;
 import io.cloudevents.v1.CloudEventImpl;
 
 @RestController
@@ -52,6 +56,9 @@ public class InternalController {
   @Autowired
   private ConfigurationService configurationService;
 
+  @Autowired
+  private ActivityStreamService activityStreamService;
+
   @PostMapping(value = "/task/start")
   public void startTask(@RequestBody InternalTaskRequest request) {
     taskService.createTask(request);
@@ -87,8 +94,9 @@ public class InternalController {
   }
 
   @PostMapping(value = "/webhook/payload", consumes = "application/json; charset=utf-8")
-  public FlowWebhookResponse submitWebhookEvent(@RequestBody RequestFlowExecution request) {
-    return webhookService.submitWebhookEvent(request);
+  public FlowWebhookResponse submitWebhookEvent(@RequestBody RequestFlowExecution request,
+      @RequestHeader("Idempotency-Key") Optional<String> idempotencyKey) {
+    return webhookService.submitWebhookEvent(request, idempotencyKey);
   }
 
 
@@ -98,6 +106,12 @@ public class InternalController {
     return webhookService.getFlowActivity(activityId);
   }
 
+  @GetMapping(value = "/webhook/status/{activityId}/stream",
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamWebhookStatus(@PathVariable String activityId) {
+    return activityStreamService.subscribe(activityId);
+  }
+
   @DeleteMapping(value = "/webhook/status/{activityId}")
   @Deprecated
   public ResponseEntity<FlowActivity> terminateActivity(@PathVariable String activityId) {
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import io.boomerang.model.Navigation;
 import io.boomerang.mongo.entity.FlowUserEntity;
 import io.boomerang.mongo.model.UserType;
@@ -26,17 +27,27 @@ public class NavigationController {
   private UserIdentityService userService;
 
   @GetMapping(value = "")
-  public ResponseEntity<List<Navigation>> getNavigation(@RequestParam(required = false) String teamId) {
+  public ResponseEntity<List<Navigation>> getNavigation(
+      @RequestParam(required = false) String teamId, WebRequest request) {
     boolean isUserAdmin = false;
     final FlowUserEntity userEntity = userService.getCurrentUser();
     if (userEntity != null
         && (userEntity.getType() == UserType.admin || userEntity.getType() == UserType.operator)) {
       isUserAdmin = true;
     }
-    List<Navigation> response = navigationService.getNavigation(isUserAdmin, teamId);
-    
     CacheControl cacheControl = CacheControl.maxAge(1, TimeUnit.HOURS);
 
-    return ResponseEntity.ok().cacheControl(cacheControl).body(response);
+    String version = navigationService.getNavigationVersion(isUserAdmin);
+    if (version == null) {
+      List<Navigation> response = navigationService.getNavigation(isUserAdmin, teamId);
+      return ResponseEntity.ok().cacheControl(cacheControl).body(response);
+    }
+
+    String eTag = "\"" + version + "\"";
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    List<Navigation> response = navigationService.getNavigation(isUserAdmin, teamId);
+    return ResponseEntity.ok().cacheControl(cacheControl).eTag(eTag).body(response);
   }
 }
@@ -1,7 +1,11 @@
 package io.boomerang.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.boomerang.model.FlowTaskTemplate;
 import io.boomerang.model.TemplateScope;
 import io.boomerang.model.tekton.TektonTask;
@@ -29,6 +34,22 @@ public class TaskTemplateController {
     return taskTemplateService.validateTaskTemplate(tektonTask);
   }
   
+  @GetMapping(value = "yaml", produces = "application/x-yaml")
+  public ResponseEntity<StreamingResponseBody> exportTaskTemplatesYaml(
+      @RequestParam(required = false) TemplateScope scope,
+      @RequestParam(required = false) String teamId) {
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-yaml"))
+        .body(taskTemplateService.exportTaskTemplatesYaml(scope, teamId));
+  }
+
+  @PostMapping(value = "yaml/import", consumes = "application/x-yaml",
+      produces = "application/json")
+  public List<FlowTaskTemplate> importTaskTemplatesYaml(InputStream body,
+      @RequestParam(required = true) TemplateScope scope,
+      @RequestParam(required = false) String teamId) throws IOException {
+    return taskTemplateService.importTaskTemplatesYaml(body, scope, teamId);
+  }
+
   @GetMapping(value = "{id}")
   public FlowTaskTemplate getTaskTemplateWithId(@PathVariable String id) {
     return taskTemplateService.getTaskTemplateWithId(id);
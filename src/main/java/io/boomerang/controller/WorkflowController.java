@@ -1,5 +1,7 @@
 package io.boomerang.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -10,7 +12,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.domain.Sort.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,12 +26,14 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.boomerang.error.BoomerangException;
 import io.boomerang.model.DuplicateRequest;
 import io.boomerang.model.FlowWorkflowRevision;
 import io.boomerang.model.GenerateTokenResponse;
 import io.boomerang.model.RevisionResponse;
 import io.boomerang.model.WorkflowExport;
+import io.boomerang.model.WorkflowImportResult;
 import io.boomerang.model.WorkflowSchedule;
 import io.boomerang.model.WorkflowScheduleCalendar;
 import io.boomerang.model.WorkflowSummary;
@@ -39,6 +45,7 @@ import io.boomerang.mongo.service.FlowWorkflowService;
 import io.boomerang.service.UserIdentityService;
 import io.boomerang.service.crud.WorkflowScheduleService;
 import io.boomerang.service.crud.WorkflowService;
+import io.boomerang.service.crud.WorkflowTransferService;
 import io.boomerang.service.crud.WorkflowVersionService;
 
 @RestController
@@ -60,6 +67,9 @@ public class WorkflowController {
   @Autowired
   private WorkflowScheduleService workflowScheduleService;
 
+  @Autowired
+  private WorkflowTransferService workflowTransferService;
+
   @DeleteMapping(value = "{id}")
   public void deleteWorkflowWithId(@PathVariable String id) {
     workflowService.deleteWorkflow(id);
@@ -171,6 +181,22 @@ public class WorkflowController {
     workflowService.importWorkflow(export, update, flowTeamId, scope);
   }
 
+  @GetMapping(value = "/team/{teamId}/export")
+  public ResponseEntity<StreamingResponseBody> exportTeamWorkflows(@PathVariable String teamId,
+      @RequestParam(defaultValue = "latest") String revisions) {
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"" + teamId + "-workflows.ndjson\"")
+        .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
+        .body(workflowTransferService.exportTeamWorkflows(teamId, "all".equals(revisions)));
+  }
+
+  @PostMapping(value = "/team/{teamId}/import")
+  public List<WorkflowImportResult> importTeamWorkflows(@PathVariable String teamId,
+      @RequestParam(defaultValue = "false") boolean update, InputStream body) throws IOException {
+    return workflowTransferService.importTeamWorkflows(body, teamId, update);
+  }
+
   @GetMapping(value = "/{workFlowId}/available-parameters")
   public List<String> getWorkflowParameters(@PathVariable String workFlowId) {
     return workflowService.getWorkflowParameters(workFlowId);
@@ -9,7 +9,8 @@ public enum BoomerangError {
   TOO_MANY_REQUESTS(429, "TOO_MANY_REQUESTS", HttpStatus.TOO_MANY_REQUESTS),
   IMPORT_WORKFLOW_FAILED(400, "IMPORT_WORKFLOW_FAILED", HttpStatus.BAD_REQUEST),
   WORKFLOW_TRIGGER_DISABLED(429, "WORKFLOW_TRIGGER_DISABLED", HttpStatus.UNAUTHORIZED),
-  WORKFLOW_TEAM_INACTIVE(429, "WORKFLOW_TEAM_INACTIVE", HttpStatus.UNAUTHORIZED);
+  WORKFLOW_TEAM_INACTIVE(429, "WORKFLOW_TEAM_INACTIVE", HttpStatus.UNAUTHORIZED),
+  REQUEST_IN_PROGRESS(409, "REQUEST_IN_PROGRESS", HttpStatus.CONFLICT);
   
   private final int code;
   private final String description;
@@ -0,0 +1,114 @@
+package io.boomerang.model;
+
+import java.util.Date;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import io.boomerang.mongo.model.TaskStatus;
+
+@JsonInclude(Include.NON_NULL)
+public class ActivityStatusUpdate {
+
+  public enum UpdateType {
+    activity, task
+  }
+
+  private UpdateType type;
+
+  private String activityId;
+
+  private String taskActivityId;
+
+  private String taskId;
+
+  private String taskName;
+
+  private TaskStatus status;
+
+  private Date timestamp;
+
+  public static ActivityStatusUpdate forActivity(String activityId, TaskStatus status) {
+    ActivityStatusUpdate update = new ActivityStatusUpdate();
+    update.setType(UpdateType.activity);
+    update.setActivityId(activityId);
+    update.setStatus(status);
+    update.setTimestamp(new Date());
+    return update;
+  }
+
+  public static ActivityStatusUpdate forTask(String activityId, String taskActivityId,
+      String taskId, String taskName, TaskStatus status) {
+    ActivityStatusUpdate update = new ActivityStatusUpdate();
+    update.setType(UpdateType.task);
+    update.setActivityId(activityId);
+    update.setTaskActivityId(taskActivityId);
+    update.setTaskId(taskId);
+    update.setTaskName(taskName);
+    update.setStatus(status);
+    update.setTimestamp(new Date());
+    return update;
+  }
+
+  /**
+   * Key identifying the entity whose status this update describes. Used to suppress repeated
+   * updates carrying an unchanged status.
+   */
+  public String statusKey() {
+    return type == UpdateType.task ? taskActivityId : activityId;
+  }
+
+  public UpdateType getType() {
+    return type;
+  }
+
+  public void setType(UpdateType type) {
+    this.type = type;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public String getTaskActivityId() {
+    return taskActivityId;
+  }
+
+  public void setTaskActivityId(String taskActivityId) {
+    this.taskActivityId = taskActivityId;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public void setTaskId(String taskId) {
+    this.taskId = taskId;
+  }
+
+  public String getTaskName() {
+    return taskName;
+  }
+
+  public void setTaskName(String taskName) {
+    this.taskName = taskName;
+  }
+
+  public TaskStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(TaskStatus status) {
+    this.status = status;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public void setTimestamp(Date timestamp) {
+    this.timestamp = timestamp;
+  }
+}
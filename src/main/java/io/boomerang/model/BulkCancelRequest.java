@@ -0,0 +1,40 @@
+package io.boomerang.model;
+
+import java.util.List;
+
+/**
+ * Selects the activities to cancel, either explicitly by id or as every unfinished activity of the
+ * given workflows or teams.
+ */
+public class BulkCancelRequest {
+
+  private List<String> activityIds;
+
+  private List<String> workflowIds;
+
+  private List<String> teamIds;
+
+  public List<String> getActivityIds() {
+    return activityIds;
+  }
+
+  public void setActivityIds(List<String> activityIds) {
+    this.activityIds = activityIds;
+  }
+
+  public List<String> getWorkflowIds() {
+    return workflowIds;
+  }
+
+  public void setWorkflowIds(List<String> workflowIds) {
+    this.workflowIds = workflowIds;
+  }
+
+  public List<String> getTeamIds() {
+    return teamIds;
+  }
+
+  public void setTeamIds(List<String> teamIds) {
+    this.teamIds = teamIds;
+  }
+}
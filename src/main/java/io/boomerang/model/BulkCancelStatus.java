@@ -0,0 +1,103 @@
+package io.boomerang.model;
+
+import java.util.Date;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+@JsonInclude(Include.NON_NULL)
+public class BulkCancelStatus {
+
+  public enum State {
+    running, completed, failed
+  }
+
+  private String id;
+
+  private State state;
+
+  private int totalActivities;
+
+  private int cancelledActivities;
+
+  private long cancelledTasks;
+
+  private int terminatedTasks;
+
+  private int failedTerminations;
+
+  private Date startTime;
+
+  private Date endTime;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public void setState(State state) {
+    this.state = state;
+  }
+
+  public int getTotalActivities() {
+    return totalActivities;
+  }
+
+  public void setTotalActivities(int totalActivities) {
+    this.totalActivities = totalActivities;
+  }
+
+  public int getCancelledActivities() {
+    return cancelledActivities;
+  }
+
+  public void setCancelledActivities(int cancelledActivities) {
+    this.cancelledActivities = cancelledActivities;
+  }
+
+  public long getCancelledTasks() {
+    return cancelledTasks;
+  }
+
+  public void setCancelledTasks(long cancelledTasks) {
+    this.cancelledTasks = cancelledTasks;
+  }
+
+  public int getTerminatedTasks() {
+    return terminatedTasks;
+  }
+
+  public void setTerminatedTasks(int terminatedTasks) {
+    this.terminatedTasks = terminatedTasks;
+  }
+
+  public int getFailedTerminations() {
+    return failedTerminations;
+  }
+
+  public void setFailedTerminations(int failedTerminations) {
+    this.failedTerminations = failedTerminations;
+  }
+
+  public Date getStartTime() {
+    return startTime;
+  }
+
+  public void setStartTime(Date startTime) {
+    this.startTime = startTime;
+  }
+
+  public Date getEndTime() {
+    return endTime;
+  }
+
+  public void setEndTime(Date endTime) {
+    this.endTime = endTime;
+  }
+}
@@ -1,25 +1,62 @@
 package io.boomerang.model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Map;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
+/**
+ * Immutable snapshot of the feature flags and quotas. The version is a SHA-256 digest of the
+ * serialized content, so every instance serving the same settings hands out the same ETag.
+ */
 public class FlowFeatures {
 
-  private Map<String, Object> features;
-  private Map<String, Object> quotas;
+  private static final ObjectMapper MAPPER =
+      new ObjectMapper().enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
 
-  public Map<String, Object> getFeatures() {
-    return features;
+  private final Map<String, Object> features;
+  private final Map<String, Object> quotas;
+  private final String version;
+
+  public FlowFeatures(Map<String, Object> features, Map<String, Object> quotas) {
+    this.features = Collections.unmodifiableMap(features);
+    this.quotas = Collections.unmodifiableMap(quotas);
+    this.version = digest(Map.of("features", features, "quotas", quotas));
   }
 
-  public void setFeatures(Map<String, Object> features) {
-    this.features = features;
+  public Map<String, Object> getFeatures() {
+    return features;
   }
 
   public Map<String, Object> getQuotas() {
     return quotas;
   }
 
-  public void setQuotas(Map<String, Object> quotas) {
-    this.quotas = quotas;
+  @JsonIgnore
+  public String getVersion() {
+    return version;
+  }
+
+  private static String digest(Map<String, Object> snapshot) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(MAPPER.writeValueAsString(snapshot)
+          .getBytes(StandardCharsets.UTF_8));
+      StringBuilder hexString = new StringBuilder();
+      for (byte b : hash) {
+        String hex = Integer.toHexString(0xff & b);
+        if (hex.length() == 1) {
+          hexString.append('0');
+        }
+        hexString.append(hex);
+      }
+      return hexString.toString();
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Unable to compute the feature version", e);
+    }
   }
 }
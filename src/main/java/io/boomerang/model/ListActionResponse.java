@@ -8,6 +8,8 @@ public class ListActionResponse {
 
   private List<Action> records;
 
+  private String nextCursor;
+
   public List<Action> getRecords() {
     return records;
   }
@@ -26,5 +28,15 @@ public class ListActionResponse {
   public void setPageable(Pageable pageable) {
     this.pageable = pageable;
   }
+
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
   
 }
@@ -0,0 +1,67 @@
+package io.boomerang.model;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.entity.WorkflowScheduleEntity;
+
+/**
+ * One line of a bulk workflow export. A {@code workflow} record holds the workflow with its latest
+ * revision and, when requested, all of its revisions and its schedules. The task templates
+ * referenced by the exported revisions follow as {@code template} records.
+ */
+@JsonInclude(Include.NON_NULL)
+public class WorkflowTransferRecord {
+
+  public static final String WORKFLOW = "workflow";
+
+  public static final String TEMPLATE = "template";
+
+  private String kind;
+  private WorkflowExport workflow;
+  private List<RevisionEntity> revisions;
+  private List<WorkflowScheduleEntity> schedules;
+  private FlowTaskTemplateEntity template;
+
+  public String getKind() {
+    return kind;
+  }
+
+  public void setKind(String kind) {
+    this.kind = kind;
+  }
+
+  public WorkflowExport getWorkflow() {
+    return workflow;
+  }
+
+  public void setWorkflow(WorkflowExport workflow) {
+    this.workflow = workflow;
+  }
+
+  public List<RevisionEntity> getRevisions() {
+    return revisions;
+  }
+
+  public void setRevisions(List<RevisionEntity> revisions) {
+    this.revisions = revisions;
+  }
+
+  public List<WorkflowScheduleEntity> getSchedules() {
+    return schedules;
+  }
+
+  public void setSchedules(List<WorkflowScheduleEntity> schedules) {
+    this.schedules = schedules;
+  }
+
+  public FlowTaskTemplateEntity getTemplate() {
+    return template;
+  }
+
+  public void setTemplate(FlowTaskTemplateEntity template) {
+    this.template = template;
+  }
+}
@@ -1,30 +1,14 @@
 package io.boomerang.model.teams;
 
 import io.boomerang.mongo.entity.ApprovalEntity;
-import io.boomerang.mongo.model.WorkflowScope;
 
 public class Action extends ApprovalEntity {
   
-  private String taskName;
-  private String workflowName;
   private String teamName;
   private String instructions;
-  private WorkflowScope scope;
   private long numberOfApprovals;
   private long approvalsRequired;
   
-  public String getTaskName() {
-    return taskName;
-  }
-  public void setTaskName(String taskName) {
-    this.taskName = taskName;
-  }
-  public String getWorkflowName() {
-    return workflowName;
-  }
-  public void setWorkflowName(String workflowName) {
-    this.workflowName = workflowName;
-  }
   public String getTeamName() {
     return teamName;
   }
@@ -37,12 +21,6 @@ public class Action extends ApprovalEntity {
   public void setInstructions(String instructions) {
     this.instructions = instructions;
   }
-  public WorkflowScope getScope() {
-    return scope;
-  }
-  public void setScope(WorkflowScope scope) {
-    this.scope = scope;
-  }
   public long getApprovalsRequired() {
     return approvalsRequired;
   }
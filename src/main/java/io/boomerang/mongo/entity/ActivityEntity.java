@@ -2,8 +2,10 @@ package io.boomerang.mongo.entity;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
@@ -67,6 +69,13 @@ public class ActivityEntity   {
   
   @JsonProperty("workspaces")
   private List<TaskWorkspace> taskWorkspaces;
+
+  /**
+   * Trace context of the span that started the activity, in text map form, so that task
+   * transitions handled later by other requests join the same trace.
+   */
+  @JsonIgnore
+  private Map<String, String> traceContext;
   
   public Date getCreationDate() {
     return creationDate;
@@ -219,5 +228,13 @@ public class ActivityEntity   {
   public void setUserId(String userId) {
     this.userId = userId;
   }
-  
+
+  public Map<String, String> getTraceContext() {
+    return traceContext;
+  }
+
+  public void setTraceContext(Map<String, String> traceContext) {
+    this.traceContext = traceContext;
+  }
+
 }
@@ -0,0 +1,80 @@
+package io.boomerang.mongo.entity;
+
+import java.util.Date;
+import java.util.Map;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * Pre-aggregated daily totals of archived activities for a workflow, keyed by final status. Used
+ * by insights for date ranges that reach past the live activity collection.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(Include.NON_NULL)
+@Document(collection = "#{@mongoConfiguration.fullCollectionName('workflows_activity_rollup')}")
+public class ActivityRollupEntity {
+
+  @Id
+  private String id;
+
+  private String workflowId;
+
+  private String teamId;
+
+  private Date day;
+
+  private Map<String, Long> counts;
+
+  private Map<String, Long> durations;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getWorkflowId() {
+    return workflowId;
+  }
+
+  public void setWorkflowId(String workflowId) {
+    this.workflowId = workflowId;
+  }
+
+  public String getTeamId() {
+    return teamId;
+  }
+
+  public void setTeamId(String teamId) {
+    this.teamId = teamId;
+  }
+
+  public Date getDay() {
+    return day;
+  }
+
+  public void setDay(Date day) {
+    this.day = day;
+  }
+
+  public Map<String, Long> getCounts() {
+    return counts;
+  }
+
+  public void setCounts(Map<String, Long> counts) {
+    this.counts = counts;
+  }
+
+  public Map<String, Long> getDurations() {
+    return durations;
+  }
+
+  public void setDurations(Map<String, Long> durations) {
+    this.durations = durations;
+  }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.boomerang.model.ApprovalStatus;
 import io.boomerang.mongo.model.Audit;
 import io.boomerang.mongo.model.ManualType;
+import io.boomerang.mongo.model.WorkflowScope;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @Document(collection = "#{@mongoConfiguration.fullCollectionName('workflows_activity_approval')}")
@@ -87,6 +88,25 @@ public class ApprovalEntity {
     this.approverGroupId = approverGroupId;
   }
 
+  public String getWorkflowName() {
+    return workflowName;
+  }
+  public void setWorkflowName(String workflowName) {
+    this.workflowName = workflowName;
+  }
+  public String getTaskName() {
+    return taskName;
+  }
+  public void setTaskName(String taskName) {
+    this.taskName = taskName;
+  }
+  public WorkflowScope getScope() {
+    return scope;
+  }
+  public void setScope(WorkflowScope scope) {
+    this.scope = scope;
+  }
+
   private String activityId;
   
   private String taskActivityId;
@@ -99,4 +119,13 @@ public class ApprovalEntity {
   private int numberOfApprovers;
   private String approverGroupId;
 
+  /*
+   * Copied from the workflow and task when the approval is created so that approvals can be listed
+   * without looking up their workflows. Approvals created before these fields existed leave them
+   * empty.
+   */
+  private String workflowName;
+  private String taskName;
+  private WorkflowScope scope;
+
 }
@@ -0,0 +1,111 @@
+package io.boomerang.mongo.entity;
+
+import java.util.Date;
+import java.util.List;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import io.boomerang.mongo.model.TaskStatus;
+
+/**
+ * A completed activity moved out of the live activity collections by the retention job, with its
+ * task executions and approvals embedded so that it can be served with a single read.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(Include.NON_NULL)
+@Document(collection = "#{@mongoConfiguration.fullCollectionName('workflows_activity_archive')}")
+public class ArchivedActivityEntity {
+
+  @Id
+  private String id;
+
+  private String workflowId;
+
+  private String teamId;
+
+  private TaskStatus status;
+
+  private Date creationDate;
+
+  private Date archivedDate;
+
+  private ActivityEntity activity;
+
+  private List<TaskExecutionEntity> tasks;
+
+  private List<ApprovalEntity> approvals;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getWorkflowId() {
+    return workflowId;
+  }
+
+  public void setWorkflowId(String workflowId) {
+    this.workflowId = workflowId;
+  }
+
+  public String getTeamId() {
+    return teamId;
+  }
+
+  public void setTeamId(String teamId) {
+    this.teamId = teamId;
+  }
+
+  public TaskStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(TaskStatus status) {
+    this.status = status;
+  }
+
+  public Date getCreationDate() {
+    return creationDate;
+  }
+
+  public void setCreationDate(Date creationDate) {
+    this.creationDate = creationDate;
+  }
+
+  public Date getArchivedDate() {
+    return archivedDate;
+  }
+
+  public void setArchivedDate(Date archivedDate) {
+    this.archivedDate = archivedDate;
+  }
+
+  public ActivityEntity getActivity() {
+    return activity;
+  }
+
+  public void setActivity(ActivityEntity activity) {
+    this.activity = activity;
+  }
+
+  public List<TaskExecutionEntity> getTasks() {
+    return tasks;
+  }
+
+  public void setTasks(List<TaskExecutionEntity> tasks) {
+    this.tasks = tasks;
+  }
+
+  public List<ApprovalEntity> getApprovals() {
+    return approvals;
+  }
+
+  public void setApprovals(List<ApprovalEntity> approvals) {
+    this.approvals = approvals;
+  }
+}
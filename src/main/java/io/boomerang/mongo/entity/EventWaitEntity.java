@@ -0,0 +1,106 @@
+package io.boomerang.mongo.entity;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * The wait for event tasks of an activity waiting on a topic and the event received for it. The id
+ * is the activity id and the topic, so an event finds its waiting tasks with a single lookup. An
+ * event that arrives before its wait task starts is kept until {@code expiresAt}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(Include.NON_NULL)
+@Document(collection = "#{@mongoConfiguration.fullCollectionName('workflows_activity_event_wait')}")
+public class EventWaitEntity {
+
+  @Id
+  private String id;
+
+  private String activityId;
+
+  private String topic;
+
+  private List<String> taskActivityIds;
+
+  private String status;
+
+  private Map<String, String> eventPayload;
+
+  private Date eventDate;
+
+  private Date expiresAt;
+
+  public static String id(String activityId, String topic) {
+    return activityId + ":" + topic;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public String getTopic() {
+    return topic;
+  }
+
+  public void setTopic(String topic) {
+    this.topic = topic;
+  }
+
+  public List<String> getTaskActivityIds() {
+    return taskActivityIds;
+  }
+
+  public void setTaskActivityIds(List<String> taskActivityIds) {
+    this.taskActivityIds = taskActivityIds;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public void setStatus(String status) {
+    this.status = status;
+  }
+
+  public Map<String, String> getEventPayload() {
+    return eventPayload;
+  }
+
+  public void setEventPayload(Map<String, String> eventPayload) {
+    this.eventPayload = eventPayload;
+  }
+
+  public Date getEventDate() {
+    return eventDate;
+  }
+
+  public void setEventDate(Date eventDate) {
+    this.eventDate = eventDate;
+  }
+
+  public Date getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(Date expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+}
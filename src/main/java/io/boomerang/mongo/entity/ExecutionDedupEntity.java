@@ -0,0 +1,68 @@
+package io.boomerang.mongo.entity;
+
+import java.util.Date;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * Claims an idempotency key for one workflow execution. The activity id is set, and
+ * {@code expiresAt} extended from the short claim lease, once the execution has been created. The
+ * claim is removed by the TTL index at {@code expiresAt}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(Include.NON_NULL)
+@Document(collection = "#{@mongoConfiguration.fullCollectionName('workflows_execution_dedup')}")
+public class ExecutionDedupEntity {
+
+  @Id
+  private String id;
+
+  private String activityId;
+
+  private Date creationDate;
+
+  private Date expiresAt;
+
+  public static String cloudEventKey(String source, String eventId) {
+    return "event:" + source + ":" + eventId;
+  }
+
+  public static String requestKey(String workflowId, String idempotencyKey) {
+    return "request:" + workflowId + ":" + idempotencyKey;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(String activityId) {
+    this.activityId = activityId;
+  }
+
+  public Date getCreationDate() {
+    return creationDate;
+  }
+
+  public void setCreationDate(Date creationDate) {
+    this.creationDate = creationDate;
+  }
+
+  public Date getExpiresAt() {
+    return expiresAt;
+  }
+
+  public void setExpiresAt(Date expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+}
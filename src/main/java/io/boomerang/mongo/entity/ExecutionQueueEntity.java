@@ -0,0 +1,105 @@
+package io.boomerang.mongo.entity;
+
+import java.util.Date;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+/**
+ * A run waiting in the start queue. The id is the id of its activity and the scope is the team of
+ * the workflow, or the workflow itself if it does not belong to a team, so that the runs competing
+ * for the same concurrency limits are admitted together. {@code admittedAt} is set while the run
+ * is being started and the entry is removed once it has started.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(Include.NON_NULL)
+@Document(collection = "#{@mongoConfiguration.fullCollectionName('workflows_execution_queue')}")
+public class ExecutionQueueEntity {
+
+  @Id
+  private String id;
+
+  private String scope;
+
+  private String workflowId;
+
+  private String teamId;
+
+  private String revisionId;
+
+  private int priority;
+
+  private Date creationDate;
+
+  private Date admittedAt;
+
+  public static String scope(String workflowId, String teamId) {
+    return teamId != null ? "team:" + teamId : "workflow:" + workflowId;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getScope() {
+    return scope;
+  }
+
+  public void setScope(String scope) {
+    this.scope = scope;
+  }
+
+  public String getWorkflowId() {
+    return workflowId;
+  }
+
+  public void setWorkflowId(String workflowId) {
+    this.workflowId = workflowId;
+  }
+
+  public String getTeamId() {
+    return teamId;
+  }
+
+  public void setTeamId(String teamId) {
+    this.teamId = teamId;
+  }
+
+  public String getRevisionId() {
+    return revisionId;
+  }
+
+  public void setRevisionId(String revisionId) {
+    this.revisionId = revisionId;
+  }
+
+  public int getPriority() {
+    return priority;
+  }
+
+  public void setPriority(int priority) {
+    this.priority = priority;
+  }
+
+  public Date getCreationDate() {
+    return creationDate;
+  }
+
+  public void setCreationDate(Date creationDate) {
+    this.creationDate = creationDate;
+  }
+
+  public Date getAdmittedAt() {
+    return admittedAt;
+  }
+
+  public void setAdmittedAt(Date admittedAt) {
+    this.admittedAt = admittedAt;
+  }
+}
@@ -10,6 +10,7 @@ import io.boomerang.model.WorkflowToken;
 import io.boomerang.mongo.model.KeyValuePair;
 import io.boomerang.mongo.model.Storage;
 import io.boomerang.mongo.model.Triggers;
+import io.boomerang.mongo.model.WorkflowConcurrency;
 import io.boomerang.mongo.model.WorkflowProperty;
 import io.boomerang.mongo.model.WorkflowScope;
 import io.boomerang.mongo.model.WorkflowStatus;
@@ -46,6 +47,8 @@ public class WorkflowEntity {
 
   private WorkflowScope scope;
 
+  private WorkflowConcurrency concurrency;
+
   public List<WorkflowToken> getTokens() {
     return tokens;
   }
@@ -134,6 +137,14 @@ public class WorkflowEntity {
     this.scope = scope;
   }
 
+  public WorkflowConcurrency getConcurrency() {
+    return concurrency;
+  }
+
+  public void setConcurrency(WorkflowConcurrency concurrency) {
+    this.concurrency = concurrency;
+  }
+
   public List<KeyValuePair> getLabels() {
     return labels;
   }
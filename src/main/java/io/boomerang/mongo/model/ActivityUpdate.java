@@ -0,0 +1,78 @@
+package io.boomerang.mongo.model;
+
+import java.util.Date;
+import java.util.LinkedList;
+import org.springframework.data.mongodb.core.query.Update;
+import io.boomerang.mongo.entity.ActivityEntity;
+
+/**
+ * Collects the field changes of a workflow activity during one transition, see
+ * {@link TaskExecutionUpdate}. Output properties are appended with {@code $push} so that
+ * concurrent tasks setting workflow properties do not overwrite each other.
+ */
+public class ActivityUpdate {
+
+  private final ActivityEntity entity;
+
+  private final Update update = new Update();
+
+  private boolean statusChanged;
+
+  public ActivityUpdate(ActivityEntity entity) {
+    this.entity = entity;
+  }
+
+  public ActivityUpdate status(TaskStatus status) {
+    entity.setStatus(status);
+    update.set("status", status);
+    statusChanged = true;
+    return this;
+  }
+
+  public ActivityUpdate statusOverride(TaskStatus statusOverride) {
+    entity.setStatusOverride(statusOverride);
+    update.set("statusOverride", statusOverride);
+    return this;
+  }
+
+  /**
+   * Sets the duration to the time passed since the activity was created.
+   */
+  public ActivityUpdate finished(Date finishDate) {
+    long duration = finishDate.getTime() - entity.getCreationDate().getTime();
+    entity.setDuration(duration);
+    update.set("duration", duration);
+    return this;
+  }
+
+  public ActivityUpdate awaitingApproval(boolean awaitingApproval) {
+    entity.setAwaitingApproval(awaitingApproval);
+    update.set("isAwaitingApproval", awaitingApproval);
+    return this;
+  }
+
+  public ActivityUpdate addOutputProperty(KeyValuePair outputProperty) {
+    if (entity.getOutputProperties() == null) {
+      entity.setOutputProperties(new LinkedList<>());
+    }
+    entity.getOutputProperties().add(outputProperty);
+    update.push("outputProperties", outputProperty);
+    return this;
+  }
+
+  public ActivityEntity getEntity() {
+    return entity;
+  }
+
+  public Update getUpdate() {
+    return update;
+  }
+
+  public boolean isStatusChanged() {
+    return statusChanged;
+  }
+
+  public boolean isEmpty() {
+    return update.getUpdateObject().isEmpty();
+  }
+}
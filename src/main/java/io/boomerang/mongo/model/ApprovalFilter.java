@@ -0,0 +1,76 @@
+package io.boomerang.mongo.model;
+
+import java.util.Date;
+import java.util.List;
+import io.boomerang.model.ApprovalStatus;
+
+/**
+ * Filter of an approval listing. Unset fields do not restrict the listing. {@code after} is the
+ * keyset cursor returned as {@link ApprovalPage#getNextCursor()} by the previous page.
+ */
+public class ApprovalFilter {
+
+  private Date from;
+  private Date to;
+  private List<String> workflowIds;
+  private List<String> teamIds;
+  private ManualType type;
+  private ApprovalStatus status;
+  private String after;
+
+  public Date getFrom() {
+    return from;
+  }
+
+  public void setFrom(Date from) {
+    this.from = from;
+  }
+
+  public Date getTo() {
+    return to;
+  }
+
+  public void setTo(Date to) {
+    this.to = to;
+  }
+
+  public List<String> getWorkflowIds() {
+    return workflowIds;
+  }
+
+  public void setWorkflowIds(List<String> workflowIds) {
+    this.workflowIds = workflowIds;
+  }
+
+  public List<String> getTeamIds() {
+    return teamIds;
+  }
+
+  public void setTeamIds(List<String> teamIds) {
+    this.teamIds = teamIds;
+  }
+
+  public ManualType getType() {
+    return type;
+  }
+
+  public void setType(ManualType type) {
+    this.type = type;
+  }
+
+  public ApprovalStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(ApprovalStatus status) {
+    this.status = status;
+  }
+
+  public String getAfter() {
+    return after;
+  }
+
+  public void setAfter(String after) {
+    this.after = after;
+  }
+}
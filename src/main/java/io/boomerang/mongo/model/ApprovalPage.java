@@ -0,0 +1,60 @@
+package io.boomerang.mongo.model;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import io.boomerang.model.ApprovalStatus;
+import io.boomerang.mongo.entity.ApprovalEntity;
+
+/**
+ * A page of approvals with the total number of matching approvals and their counts by type and by
+ * status. The type counts ignore the type filter and the status counts ignore the status filter.
+ */
+public class ApprovalPage {
+
+  private List<ApprovalEntity> records;
+  private long total;
+  private Map<ManualType, Long> typeCounts = new EnumMap<>(ManualType.class);
+  private Map<ApprovalStatus, Long> statusCounts = new EnumMap<>(ApprovalStatus.class);
+  private String nextCursor;
+
+  public List<ApprovalEntity> getRecords() {
+    return records;
+  }
+
+  public void setRecords(List<ApprovalEntity> records) {
+    this.records = records;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public void setTotal(long total) {
+    this.total = total;
+  }
+
+  public Map<ManualType, Long> getTypeCounts() {
+    return typeCounts;
+  }
+
+  public long getTypeCount(ManualType type) {
+    return typeCounts.getOrDefault(type, 0L);
+  }
+
+  public Map<ApprovalStatus, Long> getStatusCounts() {
+    return statusCounts;
+  }
+
+  public long getStatusCount(ApprovalStatus status) {
+    return statusCounts.getOrDefault(status, 0L);
+  }
+
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+}
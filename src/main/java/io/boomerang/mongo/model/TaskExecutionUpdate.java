@@ -0,0 +1,88 @@
+package io.boomerang.mongo.model;
+
+import java.util.Date;
+import java.util.Map;
+import org.springframework.data.mongodb.core.query.Update;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+
+/**
+ * Collects the field changes of a task execution during one transition. Every change is applied
+ * to the entity and recorded as a targeted update, so the transition writes only the changed
+ * fields, once, instead of saving the whole document.
+ */
+public class TaskExecutionUpdate {
+
+  private final TaskExecutionEntity entity;
+
+  private final Update update = new Update();
+
+  private boolean statusChanged;
+
+  public TaskExecutionUpdate(TaskExecutionEntity entity) {
+    this.entity = entity;
+  }
+
+  public TaskExecutionUpdate status(TaskStatus status) {
+    entity.setFlowTaskStatus(status);
+    update.set("flowTaskStatus", status);
+    statusChanged = true;
+    return this;
+  }
+
+  public TaskExecutionUpdate startTime(Date startTime) {
+    entity.setStartTime(startTime);
+    update.set("startTime", startTime);
+    return this;
+  }
+
+  /**
+   * Sets the duration to the time passed since the task execution started.
+   */
+  public TaskExecutionUpdate finished(Date finishDate) {
+    long duration = finishDate.getTime() - entity.getStartTime().getTime();
+    entity.setDuration(duration);
+    update.set("duration", duration);
+    return this;
+  }
+
+  public TaskExecutionUpdate outputs(Map<String, String> outputs) {
+    entity.setOutputs(outputs);
+    update.set("outputs", outputs);
+    return this;
+  }
+
+  public TaskExecutionUpdate preApproved(boolean preApproved) {
+    entity.setPreApproved(preApproved);
+    update.set("preApproved", preApproved);
+    return this;
+  }
+
+  public TaskExecutionUpdate switchValue(String switchValue) {
+    entity.setSwitchValue(switchValue);
+    update.set("switchValue", switchValue);
+    return this;
+  }
+
+  public TaskExecutionUpdate runWorkflow(String workflowId, String activityId) {
+    entity.setRunWorkflowId(workflowId);
+    entity.setRunWorkflowActivityId(activityId);
+    update.set("runWorkflowId", workflowId).set("runWorkflowActivityId", activityId);
+    return this;
+  }
+
+  public TaskExecutionEntity getEntity() {
+    return entity;
+  }
+
+  public Update getUpdate() {
+    return update;
+  }
+
+  public boolean isStatusChanged() {
+    return statusChanged;
+  }
+
+  public boolean isEmpty() {
+    return update.getUpdateObject().isEmpty();
+  }
+}
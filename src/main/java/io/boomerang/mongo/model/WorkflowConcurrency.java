@@ -0,0 +1,28 @@
+package io.boomerang.mongo.model;
+
+/**
+ * Limits the runs of a workflow that execute at the same time. Further runs wait in the start
+ * queue, and with {@code cancelQueued} a new run replaces the runs still waiting.
+ */
+public class WorkflowConcurrency {
+
+  private Integer maxConcurrent;
+
+  private boolean cancelQueued;
+
+  public Integer getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  public void setMaxConcurrent(Integer maxConcurrent) {
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  public boolean isCancelQueued() {
+    return cancelQueued;
+  }
+
+  public void setCancelQueued(boolean cancelQueued) {
+    this.cancelQueued = cancelQueued;
+  }
+}
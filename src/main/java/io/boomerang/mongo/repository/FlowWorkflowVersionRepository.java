@@ -16,6 +16,8 @@ public interface FlowWorkflowVersionRepository
 
   RevisionEntity findByworkFlowIdAndVersion(String workFlowId, long version);
 
+  RevisionEntity findFirstByworkFlowIdOrderByVersionDesc(String workFlowId);
+
   Page<RevisionEntity> findByworkFlowId(String string, Pageable pageable);
 
   RevisionEntity findByworkFlowIdAndVersionAndDagTasksTaskIdAndDagTasksPropertiesKey(String workflowId,
@@ -0,0 +1,33 @@
+package io.boomerang.mongo.service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.ActivityRollupEntity;
+import io.boomerang.mongo.entity.ApprovalEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+
+public interface ActivityArchiveService {
+
+  /**
+   * Moves up to {@code limit} finished activities created before {@code cutoff} into the archive,
+   * together with their task executions and approvals, and adds them to the daily rollups.
+   *
+   * @param teamIds restricts the sweep to these teams, or to activities outside
+   *        {@code excludedTeamIds} when {@code null}
+   * @return the number of activities archived
+   */
+  int archive(Date cutoff, Collection<String> teamIds, Collection<String> excludedTeamIds,
+      int limit);
+
+  ActivityEntity findActivity(String activityId);
+
+  List<TaskExecutionEntity> findTaskExecutions(String activityId);
+
+  ApprovalEntity findApprovalByTaskActivityId(String taskActivityId);
+
+  List<ActivityRollupEntity> getRollups(List<String> workflowIds, Optional<Date> from,
+      Optional<Date> to);
+}
@@ -0,0 +1,224 @@
+package io.boomerang.mongo.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.ActivityRollupEntity;
+import io.boomerang.mongo.entity.ApprovalEntity;
+import io.boomerang.mongo.entity.ArchivedActivityEntity;
+import io.boomerang.mongo.entity.EventWaitEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.model.TaskStatus;
+
+@Service
+public class ActivityArchiveServiceImpl implements ActivityArchiveService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final List<TaskStatus> FINISHED_STATUSES = Arrays.asList(TaskStatus.completed,
+      TaskStatus.failure, TaskStatus.cancelled, TaskStatus.invalid);
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  void ensureIndexes() {
+    try {
+      mongoTemplate.indexOps(ActivityEntity.class).ensureIndex(
+          new Index().on("status", Sort.Direction.ASC).on("creationDate", Sort.Direction.ASC));
+      mongoTemplate.indexOps(ArchivedActivityEntity.class)
+          .ensureIndex(new Index().on("approvals.taskActivityId", Sort.Direction.ASC));
+      mongoTemplate.indexOps(ArchivedActivityEntity.class).ensureIndex(
+          new Index().on("workflowId", Sort.Direction.ASC).on("creationDate", Sort.Direction.ASC));
+      mongoTemplate.indexOps(ActivityRollupEntity.class).ensureIndex(
+          new Index().on("workflowId", Sort.Direction.ASC).on("day", Sort.Direction.ASC));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Unable to create activity archive indexes: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public int archive(Date cutoff, Collection<String> teamIds, Collection<String> excludedTeamIds,
+      int limit) {
+    Criteria criteria =
+        Criteria.where("status").in(FINISHED_STATUSES).and("creationDate").lt(cutoff);
+    if (teamIds != null) {
+      criteria = criteria.and("teamId").in(teamIds);
+    } else if (excludedTeamIds != null && !excludedTeamIds.isEmpty()) {
+      criteria = criteria.and("teamId").nin(excludedTeamIds);
+    }
+    Query query = new Query(criteria).limit(limit);
+    List<ActivityEntity> activities = mongoTemplate.find(query, ActivityEntity.class);
+    if (activities.isEmpty()) {
+      return 0;
+    }
+
+    List<String> activityIds =
+        activities.stream().map(ActivityEntity::getId).collect(Collectors.toList());
+    Map<String, List<TaskExecutionEntity>> tasks = mongoTemplate
+        .find(Query.query(Criteria.where("activityId").in(activityIds)),
+            TaskExecutionEntity.class)
+        .stream().collect(Collectors.groupingBy(TaskExecutionEntity::getActivityId));
+    Map<String, List<ApprovalEntity>> approvals = mongoTemplate
+        .find(Query.query(Criteria.where("activityId").in(activityIds)), ApprovalEntity.class)
+        .stream().collect(Collectors.groupingBy(ApprovalEntity::getActivityId));
+
+    /*
+     * Activities already present in the archive were copied by a sweep that did not finish. They
+     * are not added to the rollups a second time, so rollups count each activity at most once.
+     */
+    Query archivedQuery = Query.query(Criteria.where("_id").in(activityIds));
+    archivedQuery.fields().include("_id");
+    Set<String> alreadyArchived = mongoTemplate.find(archivedQuery, ArchivedActivityEntity.class)
+        .stream().map(ArchivedActivityEntity::getId).collect(Collectors.toSet());
+
+    Date archivedDate = new Date();
+    BulkOperations archiveOps =
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, ArchivedActivityEntity.class);
+    List<ActivityEntity> newlyArchived = new LinkedList<>();
+    for (ActivityEntity activity : activities) {
+      ArchivedActivityEntity archived = new ArchivedActivityEntity();
+      archived.setId(activity.getId());
+      archived.setWorkflowId(activity.getWorkflowId());
+      archived.setTeamId(activity.getTeamId());
+      archived.setStatus(activity.getStatus());
+      archived.setCreationDate(activity.getCreationDate());
+      archived.setArchivedDate(archivedDate);
+      archived.setActivity(activity);
+      archived.setTasks(tasks.getOrDefault(activity.getId(), Collections.emptyList()));
+      archived.setApprovals(approvals.getOrDefault(activity.getId(), Collections.emptyList()));
+      archiveOps.replaceOne(Query.query(Criteria.where("_id").is(activity.getId())), archived,
+          FindAndReplaceOptions.options().upsert());
+      if (!alreadyArchived.contains(activity.getId())) {
+        newlyArchived.add(activity);
+      }
+    }
+    archiveOps.execute();
+
+    updateRollups(newlyArchived);
+
+    mongoTemplate.remove(Query.query(Criteria.where("activityId").in(activityIds)),
+        TaskExecutionEntity.class);
+    mongoTemplate.remove(Query.query(Criteria.where("activityId").in(activityIds)),
+        ApprovalEntity.class);
+    mongoTemplate.remove(Query.query(Criteria.where("activityId").in(activityIds)),
+        EventWaitEntity.class);
+    mongoTemplate.remove(Query.query(Criteria.where("_id").in(activityIds)), ActivityEntity.class);
+
+    LOGGER.debug("Archived {} activities created before {}", activities.size(), cutoff);
+    return activities.size();
+  }
+
+  private void updateRollups(List<ActivityEntity> activities) {
+    if (activities.isEmpty()) {
+      return;
+    }
+    Map<String, ActivityRollupEntity> rollups = new HashMap<>();
+    for (ActivityEntity activity : activities) {
+      Date day = activity.getCreationDate() != null
+          ? Date.from(activity.getCreationDate().toInstant().truncatedTo(ChronoUnit.DAYS))
+          : Date.from(Instant.EPOCH);
+      String id = activity.getWorkflowId() + ":" + day.toInstant().toString().substring(0, 10);
+      ActivityRollupEntity rollup = rollups.computeIfAbsent(id, k -> {
+        ActivityRollupEntity entity = new ActivityRollupEntity();
+        entity.setId(k);
+        entity.setWorkflowId(activity.getWorkflowId());
+        entity.setTeamId(activity.getTeamId());
+        entity.setDay(day);
+        entity.setCounts(new HashMap<>());
+        entity.setDurations(new HashMap<>());
+        return entity;
+      });
+      String status = activity.getStatus().name();
+      long duration = activity.getDuration() != null ? activity.getDuration() : 0L;
+      rollup.getCounts().merge(status, 1L, Long::sum);
+      rollup.getDurations().merge(status, duration, Long::sum);
+    }
+
+    BulkOperations rollupOps =
+        mongoTemplate.bulkOps(BulkMode.UNORDERED, ActivityRollupEntity.class);
+    for (ActivityRollupEntity rollup : rollups.values()) {
+      Update update = new Update().set("workflowId", rollup.getWorkflowId())
+          .set("teamId", rollup.getTeamId()).set("day", rollup.getDay());
+      rollup.getCounts().forEach((status, count) -> update.inc("counts." + status, count));
+      rollup.getDurations()
+          .forEach((status, duration) -> update.inc("durations." + status, duration));
+      rollupOps.upsert(Query.query(Criteria.where("_id").is(rollup.getId())), update);
+    }
+    rollupOps.execute();
+  }
+
+  @Override
+  public ActivityEntity findActivity(String activityId) {
+    ArchivedActivityEntity archived =
+        mongoTemplate.findById(activityId, ArchivedActivityEntity.class);
+    return archived != null ? archived.getActivity() : null;
+  }
+
+  @Override
+  public List<TaskExecutionEntity> findTaskExecutions(String activityId) {
+    ArchivedActivityEntity archived =
+        mongoTemplate.findById(activityId, ArchivedActivityEntity.class);
+    if (archived == null || archived.getTasks() == null) {
+      return new LinkedList<>();
+    }
+    return archived.getTasks();
+  }
+
+  @Override
+  public ApprovalEntity findApprovalByTaskActivityId(String taskActivityId) {
+    ArchivedActivityEntity archived = mongoTemplate.findOne(
+        Query.query(Criteria.where("approvals.taskActivityId").is(taskActivityId)),
+        ArchivedActivityEntity.class);
+    if (archived == null || archived.getApprovals() == null) {
+      return null;
+    }
+    return archived.getApprovals().stream()
+        .filter(a -> taskActivityId.equals(a.getTaskActivityId())).findFirst().orElse(null);
+  }
+
+  @Override
+  public List<ActivityRollupEntity> getRollups(List<String> workflowIds, Optional<Date> from,
+      Optional<Date> to) {
+    Set<String> ids = new HashSet<>(workflowIds);
+    if (ids.isEmpty()) {
+      return new LinkedList<>();
+    }
+    Criteria criteria = Criteria.where("workflowId").in(ids);
+    if (from.isPresent() && to.isPresent()) {
+      criteria = criteria.and("day").gte(from.get()).lte(to.get());
+    } else if (from.isPresent()) {
+      criteria = criteria.and("day").gte(from.get());
+    } else if (to.isPresent()) {
+      criteria = criteria.and("day").lte(to.get());
+    }
+    return mongoTemplate.find(new Query(criteria), ActivityRollupEntity.class);
+  }
+}
@@ -1,12 +1,16 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.List;
 import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.model.TaskExecutionUpdate;
 
 public interface ActivityTaskService {
 
   
   TaskExecutionEntity findById(String id);
+
+  List<TaskExecutionEntity> findByIds(Collection<String> ids);
   
   TaskExecutionEntity findByTaskNameAndActivityId(String taskName, String activityId);
 
@@ -15,4 +19,21 @@ public interface ActivityTaskService {
   List<TaskExecutionEntity> findTaskActiivtyForActivity(String activityId);
 
   TaskExecutionEntity save(TaskExecutionEntity entity);
+
+  /**
+   * Writes only the fields changed in the update with a single targeted update.
+   *
+   * @return the updated entity
+   */
+  TaskExecutionEntity update(TaskExecutionUpdate update);
+
+  List<TaskExecutionEntity> findTaskActivitiesForActivities(Collection<String> activityIds);
+
+  /**
+   * Marks every unfinished task execution of the given activities as cancelled with a single
+   * update.
+   *
+   * @return the number of task executions cancelled
+   */
+  long cancelTasks(Collection<String> activityIds);
 }
@@ -1,9 +1,19 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import io.boomerang.model.ActivityStatusUpdate;
 import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.model.TaskExecutionUpdate;
+import io.boomerang.mongo.model.TaskStatus;
 import io.boomerang.mongo.repository.FlowWorkflowActivityTaskRepository;
 
 @Service
@@ -12,6 +22,12 @@ public class ActivityTaskServiceImpl implements ActivityTaskService {
   @Autowired
   private FlowWorkflowActivityTaskRepository repoisotry;
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
   @Override
   public TaskExecutionEntity findByTaskIdAndActivityId(String taskId, String activityId) {
     return repoisotry.findByActivityIdAndTaskId(activityId, taskId);
@@ -25,7 +41,27 @@ public class ActivityTaskServiceImpl implements ActivityTaskService {
 
   @Override
   public TaskExecutionEntity save(TaskExecutionEntity entity) {
-    return repoisotry.save(entity);
+    TaskExecutionEntity saved = repoisotry.save(entity);
+    if (saved.getFlowTaskStatus() != null) {
+      eventPublisher.publishEvent(ActivityStatusUpdate.forTask(saved.getActivityId(),
+          saved.getId(), saved.getTaskId(), saved.getTaskName(), saved.getFlowTaskStatus()));
+    }
+    return saved;
+  }
+
+  @Override
+  public TaskExecutionEntity update(TaskExecutionUpdate update) {
+    TaskExecutionEntity entity = update.getEntity();
+    if (update.isEmpty()) {
+      return entity;
+    }
+    mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(entity.getId())),
+        update.getUpdate(), TaskExecutionEntity.class);
+    if (update.isStatusChanged()) {
+      eventPublisher.publishEvent(ActivityStatusUpdate.forTask(entity.getActivityId(),
+          entity.getId(), entity.getTaskId(), entity.getTaskName(), entity.getFlowTaskStatus()));
+    }
+    return entity;
   }
 
   @Override
@@ -38,4 +74,35 @@ public class ActivityTaskServiceImpl implements ActivityTaskService {
     return repoisotry.findById(id).get();
   }
 
+  @Override
+  public List<TaskExecutionEntity> findByIds(Collection<String> ids) {
+    return repoisotry.findAllById(ids);
+  }
+
+  @Override
+  public List<TaskExecutionEntity> findTaskActivitiesForActivities(
+      Collection<String> activityIds) {
+    return mongoTemplate.find(Query.query(Criteria.where("activityId").in(activityIds)),
+        TaskExecutionEntity.class);
+  }
+
+  @Override
+  public long cancelTasks(Collection<String> activityIds) {
+    Query query = Query.query(Criteria.where("activityId").in(activityIds).and("flowTaskStatus")
+        .in(TaskStatus.notstarted, TaskStatus.inProgress, TaskStatus.waiting));
+    List<TaskExecutionEntity> cancelled = mongoTemplate.find(query, TaskExecutionEntity.class);
+    if (cancelled.isEmpty()) {
+      return 0;
+    }
+    List<String> ids =
+        cancelled.stream().map(TaskExecutionEntity::getId).collect(Collectors.toList());
+    long modified = mongoTemplate.updateMulti(query.addCriteria(Criteria.where("_id").in(ids)),
+        Update.update("flowTaskStatus", TaskStatus.cancelled), TaskExecutionEntity.class)
+        .getModifiedCount();
+    for (TaskExecutionEntity task : cancelled) {
+      eventPublisher.publishEvent(ActivityStatusUpdate.forTask(task.getActivityId(), task.getId(),
+          task.getTaskId(), task.getTaskName(), TaskStatus.cancelled));
+    }
+    return modified;
+  }
 }
@@ -1,13 +1,11 @@
 package io.boomerang.mongo.service;
 
-import java.util.Date;
 import java.util.List;
-import java.util.Optional;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import io.boomerang.model.ApprovalStatus;
 import io.boomerang.mongo.entity.ApprovalEntity;
-import io.boomerang.mongo.model.ManualType;
+import io.boomerang.mongo.model.ApprovalFilter;
+import io.boomerang.mongo.model.ApprovalPage;
 
 public interface ApprovalService {
    
@@ -21,10 +19,9 @@ public interface ApprovalService {
   
   public long getApprovalCountForActivity(String activityId, ApprovalStatus status);
 
-  public Page<ApprovalEntity> getAllApprovals(Optional<Date> from, Optional<Date> to,
-      Pageable pageable, List<String> workflowIds, Optional<ManualType> type, Optional<ApprovalStatus> status);
-
-  public long getActionCountForType(ManualType type,  Optional<Date> from,  Optional<Date> to, List<String> workflowIds, Optional<ApprovalStatus> status);
-  public long getActionCount(Optional<Date> from,  Optional<Date> to);
-  public long getActionCountForStatus(ApprovalStatus status,  Optional<Date> from,  Optional<Date> to);
+  /**
+   * Returns a page of the approvals matching the filter, their total and their counts by type and
+   * status in a single aggregation.
+   */
+  public ApprovalPage findApprovals(ApprovalFilter filter, Pageable pageable);
 }
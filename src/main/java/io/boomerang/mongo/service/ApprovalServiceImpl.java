@@ -3,28 +3,61 @@ package io.boomerang.mongo.service;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 import io.boomerang.model.ApprovalStatus;
 import io.boomerang.mongo.entity.ApprovalEntity;
+import io.boomerang.mongo.model.ApprovalFilter;
+import io.boomerang.mongo.model.ApprovalPage;
 import io.boomerang.mongo.model.ManualType;
 import io.boomerang.mongo.repository.FlowApprovalRepository;
 
 @Service
 public class ApprovalServiceImpl implements ApprovalService {
 
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String CREATION_DATE = "creationDate";
+
+  private static final String COUNT = "count";
+
+  private static final String CURSOR_SEPARATOR = ":";
+
   @Autowired
   private FlowApprovalRepository flowRepository;
   
   @Autowired
   private MongoTemplate mongoTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  void ensureIndexes() {
+    try {
+      mongoTemplate.indexOps(ApprovalEntity.class)
+          .ensureIndex(new Index().on("status", Direction.ASC).on("teamId", Direction.ASC)
+              .on(CREATION_DATE, Direction.DESC));
+      mongoTemplate.indexOps(ApprovalEntity.class).ensureIndex(
+          new Index().on("workflowId", Direction.ASC).on(CREATION_DATE, Direction.DESC));
+      mongoTemplate.indexOps(ApprovalEntity.class)
+          .ensureIndex(new Index().on("taskActivityId", Direction.ASC));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Unable to create approval indexes: {}", e.getMessage());
+    }
+  }
   
   @Override
   public List<ApprovalEntity> getActiivtyForTeam(String flowTeamId) {
@@ -52,65 +85,121 @@ public class ApprovalServiceImpl implements ApprovalService {
   }
 
   @Override
-  public Page<ApprovalEntity> getAllApprovals(Optional<Date> from, Optional<Date> to,
-      Pageable pageable, List<String> workflowIds, Optional<ManualType> type, Optional<ApprovalStatus> status) {
-    
-    Criteria criteria = buildCriteriaList(from, to, workflowIds, type, status);
-    Query approvalQuery = new Query(criteria).with(pageable);
-    List<ApprovalEntity> list = this.mongoTemplate.find(approvalQuery, ApprovalEntity.class);
-    Page<ApprovalEntity> paginaedApprovalList = new PageImpl<>(list, pageable, mongoTemplate.count(new Query(criteria), ApprovalEntity.class));
-    return paginaedApprovalList;
-  }
+  public ApprovalPage findApprovals(ApprovalFilter filter, Pageable pageable) {
+    Criteria typeCriteria = filter.getType() != null ? Criteria.where("type").is(filter.getType())
+        : new Criteria();
+    Criteria statusCriteria = filter.getStatus() != null
+        ? Criteria.where("status").is(filter.getStatus())
+        : new Criteria();
+    Criteria typeAndStatus = new Criteria().andOperator(typeCriteria, statusCriteria);
 
-  private Criteria buildCriteriaList(Optional<Date> from, Optional<Date> to, List<String> workflowIds,
-      Optional<ManualType> type, Optional<ApprovalStatus> status) {
-    List<Criteria> criterias = new ArrayList<>();
-    
-    if (from.isPresent()) {
-      Criteria dynamicCriteria = Criteria.where("creationDate").gte(from.get());
-      criterias.add(dynamicCriteria);
+    Sort sort = pageable.getSort();
+    Criteria recordsCriteria = typeAndStatus;
+    if (filter.getAfter() != null) {
+      Order order = sort.getOrderFor(CREATION_DATE);
+      sort = Sort.by(order != null ? order.getDirection() : Direction.DESC, CREATION_DATE);
+      recordsCriteria =
+          new Criteria().andOperator(typeAndStatus, afterCursor(filter.getAfter(), sort));
     }
-    
-    if (to.isPresent()) {
-      Criteria dynamicCriteria = Criteria.where("creationDate").lte(to.get());
-      criterias.add(dynamicCriteria);
+    sort = sort.isSorted() ? sort : Sort.by(Direction.DESC, CREATION_DATE);
+    Direction tieBreak = sort.iterator().next().getDirection();
+    sort = sort.and(Sort.by(tieBreak, "_id"));
+
+    Criteria filterCriteria = buildCriteria(filter);
+    Query records = Query.query(new Criteria().andOperator(filterCriteria, recordsCriteria))
+        .with(sort).limit(pageable.getPageSize());
+    if (filter.getAfter() == null && pageable.getOffset() > 0) {
+      records.skip(pageable.getOffset());
     }
-    
-    if (type.isPresent()) {
-      Criteria dynamicCriteria = Criteria.where("type").is(type.get());
-      criterias.add(dynamicCriteria);
+    List<ApprovalEntity> entities = mongoTemplate.find(records, ApprovalEntity.class);
+
+    // The records are read with a cursor, a single $facet output document is limited to 16MB
+    Aggregation aggregation = Aggregation.newAggregation(Aggregation.match(filterCriteria),
+        Aggregation.facet(Aggregation.match(typeAndStatus), Aggregation.count().as(COUNT))
+            .as("total")
+            .and(Aggregation.match(statusCriteria), Aggregation.group("type").count().as(COUNT))
+            .as("types")
+            .and(Aggregation.match(typeCriteria), Aggregation.group("status").count().as(COUNT))
+            .as("statuses"));
+    Document result = mongoTemplate.aggregate(aggregation, ApprovalEntity.class, Document.class)
+        .getUniqueMappedResult();
+
+    ApprovalPage page = new ApprovalPage();
+    page.setRecords(entities);
+    for (Document total : result.getList("total", Document.class)) {
+      page.setTotal(count(total));
     }
-    
-    if (status.isPresent()) {
-      Criteria dynamicCriteria = Criteria.where("status").is(status.get());
-      criterias.add(dynamicCriteria);
+    for (Document type : result.getList("types", Document.class)) {
+      if (type.get("_id") != null) {
+        page.getTypeCounts().put(ManualType.valueOf(type.getString("_id")), count(type));
+      }
     }
-    
-    Criteria workflowIdsCriteria = Criteria.where("workflowId").in(workflowIds);
-    criterias.add(workflowIdsCriteria);
-    return new Criteria().andOperator(criterias.toArray(new Criteria[criterias.size()]));
+    for (Document status : result.getList("statuses", Document.class)) {
+      if (status.get("_id") != null) {
+        page.getStatusCounts().put(ApprovalStatus.valueOf(status.getString("_id")),
+            count(status));
+      }
+    }
+    if (!entities.isEmpty() && entities.size() == pageable.getPageSize()) {
+      ApprovalEntity last = entities.get(entities.size() - 1);
+      if (last.getCreationDate() != null) {
+        page.setNextCursor(last.getCreationDate().getTime() + CURSOR_SEPARATOR + last.getId());
+      }
+    }
+    return page;
   }
 
-  @Override
-  public long getActionCountForType(ManualType type,  Optional<Date> from, Optional<Date> to, List<String> workflowIds, Optional<ApprovalStatus> status) {
-    Criteria criteria = this.buildCriteriaList(from, to, workflowIds, Optional.of(type), status);
-    return mongoTemplate.count(new Query(criteria), ApprovalEntity.class);
+  /**
+   * Matches the approvals after the one the cursor points to, ordering approvals created at the same
+   * time by id.
+   */
+  private Criteria afterCursor(String cursor, Sort sort) {
+    int separator = cursor.indexOf(CURSOR_SEPARATOR);
+    if (separator < 1) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+    Date creationDate;
+    try {
+      creationDate = new Date(Long.parseLong(cursor.substring(0, separator)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+    String idValue = cursor.substring(separator + 1);
+    Object id = ObjectId.isValid(idValue) ? new ObjectId(idValue) : idValue;
+    if (sort.getOrderFor(CREATION_DATE).isAscending()) {
+      return new Criteria().orOperator(Criteria.where(CREATION_DATE).gt(creationDate),
+          Criteria.where(CREATION_DATE).is(creationDate).and("_id").gt(id));
+    }
+    return new Criteria().orOperator(Criteria.where(CREATION_DATE).lt(creationDate),
+        Criteria.where(CREATION_DATE).is(creationDate).and("_id").lt(id));
   }
 
-  @Override
-  public long getActionCount(Optional<Date> from,  Optional<Date> to) {
-    if (from.isPresent() && to.isPresent()) { 
-      return flowRepository.countByStatusAndCreationDateBetween(ApprovalStatus.submitted, from.get(), to.get());
-    }
-    return flowRepository.countByStatus(ApprovalStatus.submitted);
+  private static long count(Document document) {
+    return ((Number) document.get(COUNT)).longValue();
   }
 
-  @Override
-  public long getActionCountForStatus(ApprovalStatus status, Optional<Date> from,
-      Optional<Date> to) {
-    if (from.isPresent() && to.isPresent()) { 
-      return flowRepository.countByStatusAndCreationDateBetween(status, from.get(), to.get());
+  private Criteria buildCriteria(ApprovalFilter filter) {
+    List<Criteria> criterias = new ArrayList<>();
+
+    if (filter.getFrom() != null) {
+      criterias.add(Criteria.where(CREATION_DATE).gte(filter.getFrom()));
+    }
+
+    if (filter.getTo() != null) {
+      criterias.add(Criteria.where(CREATION_DATE).lte(filter.getTo()));
+    }
+
+    if (filter.getTeamIds() != null) {
+      criterias.add(Criteria.where("teamId").in(filter.getTeamIds()));
+    }
+
+    if (filter.getWorkflowIds() != null) {
+      criterias.add(Criteria.where("workflowId").in(filter.getWorkflowIds()));
+    }
+
+    if (criterias.isEmpty()) {
+      return new Criteria();
     }
-    return flowRepository.countByStatus(status);
+    return new Criteria().andOperator(criterias.toArray(new Criteria[criterias.size()]));
   }
 }
@@ -0,0 +1,22 @@
+package io.boomerang.mongo.service;
+
+import java.util.List;
+import java.util.Map;
+import io.boomerang.mongo.entity.EventWaitEntity;
+
+public interface EventWaitService {
+
+  /**
+   * Registers a started wait for event task. Returns the event when one was already received for
+   * the activity and topic, or null when the task has to wait for it.
+   */
+  EventWaitEntity registerWait(String activityId, String topic, String taskActivityId);
+
+  /**
+   * Records an event and returns the ids of the task executions it releases. Returns an empty list
+   * when no task waits for the topic yet, in which case the event is kept for the task, or when an
+   * event was already received for the activity and topic.
+   */
+  List<String> receiveEvent(String activityId, String topic, String status,
+      Map<String, String> payload);
+}
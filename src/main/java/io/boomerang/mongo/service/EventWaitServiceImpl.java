@@ -0,0 +1,130 @@
+package io.boomerang.mongo.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import io.boomerang.mongo.entity.EventWaitEntity;
+
+/**
+ * Both sides are single document upserts that only match while no event has been received, so a
+ * wait task either is added before the event takes the waiting tasks or sees the event when it
+ * registers. A failed upsert means the document already holds an event, which makes repeated
+ * events for the same activity and topic a no-op until the event expires after
+ * {@code flow.events.wait.ttl}.
+ */
+@Service
+public class EventWaitServiceImpl implements EventWaitService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final int ATTEMPTS = 3;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Value("${flow.events.wait.ttl:86400000}")
+  private long ttl;
+
+  @EventListener(ApplicationReadyEvent.class)
+  void ensureIndexes() {
+    try {
+      mongoTemplate.indexOps(EventWaitEntity.class)
+          .ensureIndex(new Index().on("activityId", Sort.Direction.ASC));
+      mongoTemplate.indexOps(EventWaitEntity.class)
+          .ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(0));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Unable to create event wait indexes: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public EventWaitEntity registerWait(String activityId, String topic, String taskActivityId) {
+    String id = EventWaitEntity.id(activityId, topic);
+    Update update = new Update().addToSet("taskActivityIds", taskActivityId)
+        .setOnInsert("activityId", activityId).setOnInsert("topic", topic);
+    for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+      try {
+        mongoTemplate.findAndModify(awaitingEvent(id), update,
+            FindAndModifyOptions.options().upsert(true), EventWaitEntity.class);
+        LOGGER.debug("[{}] Task {} waits for topic {}", activityId, taskActivityId, topic);
+        return null;
+      } catch (DuplicateKeyException e) {
+        EventWaitEntity received = findReceived(id);
+        if (received != null) {
+          LOGGER.debug("[{}] Event for topic {} was received before task {} started", activityId,
+              topic, taskActivityId);
+          return received;
+        }
+      }
+    }
+    throw new IllegalStateException("Unable to register wait for topic " + topic);
+  }
+
+  @Override
+  public List<String> receiveEvent(String activityId, String topic, String status,
+      Map<String, String> payload) {
+    String id = EventWaitEntity.id(activityId, topic);
+    Date now = new Date();
+    Update update = new Update().set("status", status).set("eventPayload", payload)
+        .set("eventDate", now).set("expiresAt", new Date(now.getTime() + ttl))
+        .set("taskActivityIds", new ArrayList<String>()).setOnInsert("activityId", activityId)
+        .setOnInsert("topic", topic);
+    for (int attempt = 1; attempt <= ATTEMPTS; attempt++) {
+      try {
+        EventWaitEntity previous = mongoTemplate.findAndModify(awaitingEvent(id), update,
+            FindAndModifyOptions.options().upsert(true).returnNew(false), EventWaitEntity.class);
+        if (previous == null || previous.getTaskActivityIds() == null
+            || previous.getTaskActivityIds().isEmpty()) {
+          LOGGER.debug("[{}] No task waits for topic {} yet, keeping the event", activityId,
+              topic);
+          return new ArrayList<>();
+        }
+        return previous.getTaskActivityIds();
+      } catch (DuplicateKeyException e) {
+        if (findReceived(id) != null) {
+          LOGGER.info("[{}] Ignoring repeated event for topic {}", activityId, topic);
+          return new ArrayList<>();
+        }
+      }
+    }
+    throw new IllegalStateException("Unable to record event for topic " + topic);
+  }
+
+  private static Query awaitingEvent(String id) {
+    return Query.query(Criteria.where("_id").is(id).and("eventDate").is(null));
+  }
+
+  /**
+   * Returns the event held for the id, or null if there is none anymore. An expired event that
+   * the TTL monitor has not removed yet is removed here so that it is not delivered.
+   */
+  private EventWaitEntity findReceived(String id) {
+    EventWaitEntity entity = mongoTemplate.findById(id, EventWaitEntity.class);
+    if (entity == null || entity.getEventDate() == null) {
+      return null;
+    }
+    if (entity.getExpiresAt() != null && !entity.getExpiresAt().after(new Date())) {
+      mongoTemplate.remove(
+          Query.query(Criteria.where("_id").is(id).and("expiresAt").is(entity.getExpiresAt())),
+          EventWaitEntity.class);
+      return null;
+    }
+    return entity;
+  }
+}
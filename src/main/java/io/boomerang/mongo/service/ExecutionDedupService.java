@@ -0,0 +1,15 @@
+package io.boomerang.mongo.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates workflow executions triggered by redelivered events and retried requests.
+ */
+public interface ExecutionDedupService {
+
+  /**
+   * Runs the execution if no execution has been recorded for the key yet and returns the id of the
+   * activity created for the key, either by this call or by an earlier one.
+   */
+  String execute(String key, Supplier<String> execution);
+}
@@ -0,0 +1,217 @@
+package io.boomerang.mongo.service;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import io.boomerang.error.BoomerangError;
+import io.boomerang.error.BoomerangException;
+import io.boomerang.mongo.entity.ExecutionDedupEntity;
+
+/**
+ * A key is claimed by inserting its document before the execution runs, so of several deliveries
+ * racing on the same key only one executes and the others wait for its activity id. Recently
+ * recorded keys are also kept in a bounded least recently used map to answer redelivery storms
+ * without a lookup. A claim whose execution fails or creates no activity is released again.
+ *
+ * <p>
+ * An unfinished claim is only leased for {@code flow.executions.dedup.wait}, the time duplicates
+ * wait for it, so a key claimed by a replica that dies mid execution is freed again shortly after.
+ * The claim is kept for {@code flow.executions.dedup.ttl} once its activity id is written.
+ */
+@Service
+public class ExecutionDedupServiceImpl implements ExecutionDedupService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final long POLL_INTERVAL = 50;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Value("${flow.executions.dedup.ttl:86400000}")
+  private long ttl;
+
+  @Value("${flow.executions.dedup.wait:10000}")
+  private long maxWait;
+
+  @Value("${flow.executions.dedup.cache.max-entries:10000}")
+  private int maxEntries;
+
+  private final Map<String, RecordedExecution> recent =
+      new LinkedHashMap<String, RecordedExecution>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RecordedExecution> eldest) {
+          return size() > maxEntries;
+        }
+      };
+
+  @EventListener(ApplicationReadyEvent.class)
+  void ensureIndexes() {
+    try {
+      mongoTemplate.indexOps(ExecutionDedupEntity.class)
+          .ensureIndex(new Index().on("expiresAt", Sort.Direction.ASC).expire(0));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Unable to create execution dedup indexes: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public String execute(String key, Supplier<String> execution) {
+    String activityId = getRecorded(key);
+    if (activityId != null) {
+      LOGGER.info("Skipping duplicate execution for {}, activity: {}", key, activityId);
+      return activityId;
+    }
+
+    long deadline = System.currentTimeMillis() + maxWait;
+    do {
+      Date lease = claim(key);
+      if (lease != null) {
+        return run(key, lease, execution);
+      }
+      ExecutionDedupEntity existing = findCurrent(key);
+      if (existing != null && existing.getActivityId() != null) {
+        record(key, existing.getActivityId(), existing.getExpiresAt());
+        LOGGER.info("Skipping duplicate execution for {}, activity: {}", key,
+            existing.getActivityId());
+        return existing.getActivityId();
+      }
+      if (existing != null) {
+        pause();
+      }
+    } while (System.currentTimeMillis() < deadline);
+
+    LOGGER.warn("Execution for {} is still in progress after {} ms", key, maxWait);
+    throw new BoomerangException(BoomerangError.REQUEST_IN_PROGRESS);
+  }
+
+  private Date claim(String key) {
+    Date now = new Date();
+    ExecutionDedupEntity entity = new ExecutionDedupEntity();
+    entity.setId(key);
+    entity.setCreationDate(now);
+    entity.setExpiresAt(new Date(now.getTime() + maxWait));
+    try {
+      mongoTemplate.insert(entity);
+      return entity.getExpiresAt();
+    } catch (DuplicateKeyException e) {
+      return null;
+    }
+  }
+
+  private String run(String key, Date lease, Supplier<String> execution) {
+    String activityId;
+    try {
+      activityId = execution.get();
+    } catch (RuntimeException e) {
+      release(key, lease);
+      throw e;
+    }
+    if (activityId == null) {
+      release(key, lease);
+      return null;
+    }
+    Date expiresAt = new Date(System.currentTimeMillis() + ttl);
+    long matched = mongoTemplate
+        .updateFirst(byClaim(key, lease),
+            Update.update("activityId", activityId).set("expiresAt", expiresAt),
+            ExecutionDedupEntity.class)
+        .getMatchedCount();
+    if (matched == 0) {
+      LOGGER.warn("Claim for {} expired before its activity {} was recorded", key, activityId);
+    }
+    record(key, activityId, expiresAt);
+    return activityId;
+  }
+
+  private void release(String key, Date lease) {
+    mongoTemplate.remove(byClaim(key, lease).addCriteria(Criteria.where("activityId").is(null)),
+        ExecutionDedupEntity.class);
+  }
+
+  /**
+   * Returns the claim for the key, or null if there is none anymore. An expired claim that the TTL
+   * monitor has not removed yet is removed here so that the key can be claimed again.
+   */
+  private ExecutionDedupEntity findCurrent(String key) {
+    ExecutionDedupEntity entity = mongoTemplate.findById(key, ExecutionDedupEntity.class);
+    if (entity != null && !entity.getExpiresAt().after(new Date())) {
+      mongoTemplate.remove(
+          byId(key).addCriteria(Criteria.where("expiresAt").is(entity.getExpiresAt())),
+          ExecutionDedupEntity.class);
+      return null;
+    }
+    return entity;
+  }
+
+  private static Query byId(String key) {
+    return Query.query(Criteria.where("_id").is(key));
+  }
+
+  /**
+   * Matches the claim only as long as it is still the one taken with the given lease, not a later
+   * claim of the key after the lease expired.
+   */
+  private static Query byClaim(String key, Date lease) {
+    return byId(key).addCriteria(Criteria.where("expiresAt").is(lease));
+  }
+
+  private static void pause() {
+    try {
+      Thread.sleep(POLL_INTERVAL);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new BoomerangException(BoomerangError.REQUEST_IN_PROGRESS);
+    }
+  }
+
+  private String getRecorded(String key) {
+    synchronized (recent) {
+      RecordedExecution recorded = recent.get(key);
+      if (recorded == null) {
+        return null;
+      }
+      if (recorded.expiresAt <= System.currentTimeMillis()) {
+        recent.remove(key);
+        return null;
+      }
+      return recorded.activityId;
+    }
+  }
+
+  private void record(String key, String activityId, Date expiresAt) {
+    synchronized (recent) {
+      recent.put(key, new RecordedExecution(activityId, expiresAt.getTime()));
+    }
+  }
+
+  private static final class RecordedExecution {
+
+    private final String activityId;
+
+    private final long expiresAt;
+
+    private RecordedExecution(String activityId, long expiresAt) {
+      this.activityId = activityId;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -13,6 +13,9 @@ public class FlowTaskTemplateServiceImpl implements FlowTaskTemplateService {
   @Autowired
   private FlowTaskTemplateRepository flowTaskTemplateRepository;
 
+  @Autowired
+  private TaskTemplateCatalog taskTemplateCatalog;
+
   @Override
   @NoLogging
   public List<FlowTaskTemplateEntity> getAllTaskTemplates() {
@@ -30,13 +33,17 @@ public class FlowTaskTemplateServiceImpl implements FlowTaskTemplateService {
   public FlowTaskTemplateEntity insertTaskTemplate(FlowTaskTemplateEntity flowTaskTemplateEntity) {
     flowTaskTemplateEntity.setStatus(FlowTaskTemplateStatus.active);
 
-    return flowTaskTemplateRepository.insert(flowTaskTemplateEntity);
+    FlowTaskTemplateEntity template = flowTaskTemplateRepository.insert(flowTaskTemplateEntity);
+    taskTemplateCatalog.invalidate(template.getId());
+    return template;
   }
 
   @Override
   @NoLogging
   public FlowTaskTemplateEntity updateTaskTemplate(FlowTaskTemplateEntity flowTaskTemplateEntity) {
-    return flowTaskTemplateRepository.save(flowTaskTemplateEntity);
+    FlowTaskTemplateEntity template = flowTaskTemplateRepository.save(flowTaskTemplateEntity);
+    taskTemplateCatalog.invalidate(template.getId());
+    return template;
   }
 
   @Override
@@ -44,6 +51,7 @@ public class FlowTaskTemplateServiceImpl implements FlowTaskTemplateService {
   public void deleteTaskTemplate(FlowTaskTemplateEntity flowTaskTemplateEntity) {
     flowTaskTemplateEntity.setStatus(FlowTaskTemplateStatus.inactive);
     flowTaskTemplateRepository.save(flowTaskTemplateEntity);
+    taskTemplateCatalog.invalidate(flowTaskTemplateEntity.getId());
   }
 
   @Override
@@ -51,6 +59,7 @@ public class FlowTaskTemplateServiceImpl implements FlowTaskTemplateService {
   public void activateTaskTemplate(FlowTaskTemplateEntity flowTaskTemplateEntity) {
     flowTaskTemplateEntity.setStatus(FlowTaskTemplateStatus.active);
     flowTaskTemplateRepository.save(flowTaskTemplateEntity);
+    taskTemplateCatalog.invalidate(flowTaskTemplateEntity.getId());
   }
 
   @Override
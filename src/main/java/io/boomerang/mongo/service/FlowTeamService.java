@@ -1,5 +1,6 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,4 +18,6 @@ public interface FlowTeamService {
 
   TeamEntity findById(String id);
 
+  List<TeamEntity> findByIds(Collection<String> ids);
+
 }
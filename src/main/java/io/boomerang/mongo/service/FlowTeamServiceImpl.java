@@ -1,5 +1,6 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -40,4 +41,8 @@ public class FlowTeamServiceImpl implements FlowTeamService {
 
   }
 
+  @Override
+  public List<TeamEntity> findByIds(Collection<String> ids) {
+    return flowTeamRepository.findAllById(ids);
+  }
 }
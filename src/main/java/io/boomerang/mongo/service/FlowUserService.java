@@ -1,5 +1,6 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -15,6 +16,8 @@ public interface FlowUserService {
 
   public Optional<FlowUserEntity> getUserById(String id);
 
+  List<FlowUserEntity> getUsersByIds(Collection<String> ids);
+
   public FlowUserEntity getOrRegisterUser(String email, String name,
       UserType userType);
 
@@ -1,5 +1,6 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -91,4 +92,9 @@ public class FlowUserServiceImpl implements FlowUserService {
 
     return flowUserRepository.save(user);
   }
+
+  @Override
+  public List<FlowUserEntity> getUsersByIds(Collection<String> ids) {
+    return flowUserRepository.findAllById(ids);
+  }
 }
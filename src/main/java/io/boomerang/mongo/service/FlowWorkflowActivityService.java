@@ -1,11 +1,14 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.model.ActivityUpdate;
+import io.boomerang.mongo.model.ErrorResponse;
 import io.boomerang.mongo.model.TaskStatus;
 
 public interface FlowWorkflowActivityService {
@@ -21,11 +24,20 @@ public interface FlowWorkflowActivityService {
 
   ActivityEntity findWorkflowActivtyById(String id);
 
+  List<ActivityEntity> findWorkflowActivitiesByIds(Collection<String> ids);
+
 
   ActivityEntity findByWorkflowAndProperty(String workflowId, String key, String value);
 
   ActivityEntity saveWorkflowActivity(ActivityEntity entity);
 
+  /**
+   * Writes only the fields changed in the update with a single targeted update.
+   *
+   * @return the updated entity
+   */
+  ActivityEntity updateWorkflowActivity(ActivityUpdate update);
+
   Page<ActivityEntity> getAllActivities(Optional<Date> from, Optional<Date> to,
       Pageable page, Optional<List<String>> workflowIds, Optional<List<String>> statuses,
       Optional<List<String>> triggers);
@@ -38,4 +50,21 @@ public interface FlowWorkflowActivityService {
   Page<ActivityEntity> findAllActivitiesForUser(Optional<Date> fromDate, Optional<Date> toDate,
       String userId, Pageable page);
 
+  /**
+   * Ids of the not yet finished activities of any of the given workflows or teams.
+   */
+  List<String> findInFlightActivityIds(Collection<String> workflowIds, Collection<String> teamIds);
+
+  /**
+   * Marks the given activities that are still in flight as cancelled with a single update.
+   * Activities that already reached a final status are left as they are.
+   *
+   * @return the number of activities updated
+   */
+  long cancelActivities(Collection<String> ids, ErrorResponse error);
+
+  long countWorkflowActivities(String workflowId, TaskStatus status);
+
+  long countTeamActivities(String teamId, TaskStatus status);
+
 }
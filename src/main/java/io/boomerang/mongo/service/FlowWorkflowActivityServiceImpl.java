@@ -1,13 +1,24 @@
 package io.boomerang.mongo.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import io.boomerang.model.ActivityStatusUpdate;
 import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.model.ActivityUpdate;
+import io.boomerang.mongo.model.ErrorResponse;
 import io.boomerang.mongo.model.TaskStatus;
 import io.boomerang.mongo.model.converter.FlowTaskStatusConverter;
 import io.boomerang.mongo.model.converter.FlowTriggerEnumConverter;
@@ -19,6 +30,12 @@ public class FlowWorkflowActivityServiceImpl implements FlowWorkflowActivityServ
   @Autowired
   private FlowWorkflowActivityRepository repository;
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
   @Override
   public Page<ActivityEntity> findAllActivities(Optional<Date> fromDate, Optional<Date> toDate,
       Pageable page, Optional<String> workflowId) {
@@ -64,8 +81,28 @@ public class FlowWorkflowActivityServiceImpl implements FlowWorkflowActivityServ
 
   @Override
   public ActivityEntity saveWorkflowActivity(ActivityEntity entity) {
-    return repository.save(entity);
+    ActivityEntity saved = repository.save(entity);
+    if (saved.getStatus() != null) {
+      eventPublisher
+          .publishEvent(ActivityStatusUpdate.forActivity(saved.getId(), saved.getStatus()));
+    }
+    return saved;
+
+  }
 
+  @Override
+  public ActivityEntity updateWorkflowActivity(ActivityUpdate update) {
+    ActivityEntity entity = update.getEntity();
+    if (update.isEmpty()) {
+      return entity;
+    }
+    mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(entity.getId())),
+        update.getUpdate(), ActivityEntity.class);
+    if (update.isStatusChanged()) {
+      eventPublisher
+          .publishEvent(ActivityStatusUpdate.forActivity(entity.getId(), entity.getStatus()));
+    }
+    return entity;
   }
 
   @Override
@@ -300,4 +337,68 @@ public class FlowWorkflowActivityServiceImpl implements FlowWorkflowActivityServ
       return repository.findAll(page);
     }
   }
+
+  @Override
+  public List<ActivityEntity> findWorkflowActivitiesByIds(Collection<String> ids) {
+    return repository.findAllById(ids);
+  }
+
+  @Override
+  public List<String> findInFlightActivityIds(Collection<String> workflowIds,
+      Collection<String> teamIds) {
+    List<Criteria> scope = new ArrayList<>();
+    if (workflowIds != null && !workflowIds.isEmpty()) {
+      scope.add(Criteria.where("workflowId").in(workflowIds));
+    }
+    if (teamIds != null && !teamIds.isEmpty()) {
+      scope.add(Criteria.where("teamId").in(teamIds));
+    }
+    if (scope.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Query query = new Query(new Criteria().andOperator(
+        Criteria.where("status").in(TaskStatus.notstarted, TaskStatus.inProgress,
+            TaskStatus.waiting),
+        new Criteria().orOperator(scope.toArray(new Criteria[scope.size()]))));
+    query.fields().include("_id");
+    return mongoTemplate.find(query, ActivityEntity.class).stream().map(ActivityEntity::getId)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public long cancelActivities(Collection<String> ids, ErrorResponse error) {
+    Update update = Update.update("status", TaskStatus.cancelled);
+    if (error != null) {
+      update.set("error", error);
+    }
+    Query inFlight = Query.query(Criteria.where("_id").in(ids).and("status")
+        .in(TaskStatus.notstarted, TaskStatus.inProgress, TaskStatus.waiting));
+    inFlight.fields().include("_id");
+    List<String> inFlightIds = mongoTemplate.find(inFlight, ActivityEntity.class).stream()
+        .map(ActivityEntity::getId).collect(Collectors.toList());
+    if (inFlightIds.isEmpty()) {
+      return 0;
+    }
+    long modified = mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(inFlightIds)
+        .and("status").in(TaskStatus.notstarted, TaskStatus.inProgress, TaskStatus.waiting)),
+        update, ActivityEntity.class).getModifiedCount();
+    for (String id : inFlightIds) {
+      eventPublisher.publishEvent(ActivityStatusUpdate.forActivity(id, TaskStatus.cancelled));
+    }
+    return modified;
+  }
+
+  @Override
+  public long countWorkflowActivities(String workflowId, TaskStatus status) {
+    return mongoTemplate.count(
+        Query.query(Criteria.where("workflowId").is(workflowId).and("status").is(status)),
+        ActivityEntity.class);
+  }
+
+  @Override
+  public long countTeamActivities(String teamId, TaskStatus status) {
+    return mongoTemplate.count(
+        Query.query(Criteria.where("teamId").is(teamId).and("status").is(status)),
+        ActivityEntity.class);
+  }
 }
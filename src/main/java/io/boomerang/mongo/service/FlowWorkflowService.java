@@ -1,5 +1,6 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.List;
 import io.boomerang.mongo.entity.WorkflowEntity;
 
@@ -9,6 +10,8 @@ public interface FlowWorkflowService {
 
   WorkflowEntity getWorkflow(String id);
 
+  List<WorkflowEntity> getWorkflowsByIds(Collection<String> ids);
+
   List<WorkflowEntity> getAllWorkflows();
   
   List<WorkflowEntity> getWorkflowsForTeam(String flowId);
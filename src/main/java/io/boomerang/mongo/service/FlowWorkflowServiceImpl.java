@@ -1,5 +1,6 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -88,4 +89,9 @@ public class FlowWorkflowServiceImpl implements FlowWorkflowService {
   public List<WorkflowEntity> getTemplateWorkflows() {
     return workFlowRepository.findByScope(WorkflowScope.template);
   }
+
+  @Override
+  public List<WorkflowEntity> getWorkflowsByIds(Collection<String> ids) {
+    return workFlowRepository.findAllById(ids);
+  }
 }
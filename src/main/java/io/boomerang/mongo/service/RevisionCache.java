@@ -0,0 +1,31 @@
+package io.boomerang.mongo.service;
+
+import java.util.Collection;
+import java.util.List;
+import io.boomerang.mongo.entity.RevisionEntity;
+
+/**
+ * Read-through cache of workflow revisions used by the engine, which reads the DAG of the running
+ * revision on every task transition. Revisions do not change once an activity references them, so
+ * entries are only evicted to stay under {@code flow.revisions.cache.max-weight}. Returned
+ * revisions are shared and their task lists are read-only.
+ */
+public interface RevisionCache {
+
+  RevisionEntity getRevision(String revisionId);
+
+  List<RevisionEntity> getRevisions(Collection<String> revisionIds);
+
+  /**
+   * Returns the latest revision of the workflow. The pointer to the latest revision is dropped
+   * when a revision is inserted and reloaded after {@code flow.revisions.latest.ttl} to pick up
+   * revisions inserted by other replicas.
+   */
+  RevisionEntity getLatestRevision(String workflowId);
+
+  void invalidate(String revisionId);
+
+  void invalidateLatest(String workflowId);
+
+  void invalidateAll();
+}
@@ -0,0 +1,239 @@
+package io.boomerang.mongo.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.repository.FlowWorkflowVersionRepository;
+
+/**
+ * Keeps revisions in least recently used order and evicts the oldest ones once the total weight,
+ * the number of tasks, dependencies and properties of the cached DAGs, exceeds the limit.
+ */
+@Service
+public class RevisionCacheImpl implements RevisionCache {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  @Autowired
+  private FlowWorkflowVersionRepository workFlowVersionRepository;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Value("${flow.revisions.cache.max-weight:200000}")
+  private long maxWeight;
+
+  @Value("${flow.revisions.latest.ttl:5000}")
+  private long latestTtl;
+
+  private final Map<String, CachedRevision> revisions = new LinkedHashMap<>(16, 0.75f, true);
+
+  private long weight;
+
+  private final Map<String, LatestPointer> latest = new ConcurrentHashMap<>();
+
+  private final AtomicLong latestGeneration = new AtomicLong();
+
+  @EventListener(ApplicationReadyEvent.class)
+  void ensureIndexes() {
+    try {
+      mongoTemplate.indexOps(RevisionEntity.class).ensureIndex(
+          new Index().on("workFlowId", Direction.ASC).on("version", Direction.DESC));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Unable to create revision indexes: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public RevisionEntity getRevision(String revisionId) {
+    if (revisionId == null) {
+      return null;
+    }
+    RevisionEntity revision = get(revisionId);
+    if (revision != null) {
+      return revision;
+    }
+    revision = workFlowVersionRepository.findById(revisionId).orElse(null);
+    return revision != null ? put(revision) : null;
+  }
+
+  @Override
+  public List<RevisionEntity> getRevisions(Collection<String> revisionIds) {
+    List<RevisionEntity> found = new ArrayList<>();
+    Set<String> missing = new HashSet<>();
+    for (String revisionId : revisionIds) {
+      RevisionEntity revision = revisionId != null ? get(revisionId) : null;
+      if (revision != null) {
+        found.add(revision);
+      } else if (revisionId != null) {
+        missing.add(revisionId);
+      }
+    }
+    if (!missing.isEmpty()) {
+      for (RevisionEntity revision : workFlowVersionRepository.findAllById(missing)) {
+        found.add(put(revision));
+      }
+    }
+    return found;
+  }
+
+  @Override
+  public RevisionEntity getLatestRevision(String workflowId) {
+    if (workflowId == null) {
+      return null;
+    }
+    LatestPointer pointer = latest.get(workflowId);
+    long now = System.currentTimeMillis();
+    if (pointer == null || now - pointer.loadedAt >= latestTtl) {
+      long generation = latestGeneration.get();
+      RevisionEntity revision =
+          workFlowVersionRepository.findFirstByworkFlowIdOrderByVersionDesc(workflowId);
+      if (revision == null) {
+        latest.remove(workflowId);
+        return null;
+      }
+      revision = put(revision);
+      if (generation == latestGeneration.get()) {
+        latest.put(workflowId, new LatestPointer(revision.getId(), now));
+      }
+      return revision;
+    }
+    return getRevision(pointer.revisionId);
+  }
+
+  @Override
+  public void invalidate(String revisionId) {
+    if (revisionId == null) {
+      return;
+    }
+    synchronized (revisions) {
+      CachedRevision removed = revisions.remove(revisionId);
+      if (removed != null) {
+        weight -= removed.weight;
+      }
+    }
+  }
+
+  @Override
+  public void invalidateLatest(String workflowId) {
+    latestGeneration.incrementAndGet();
+    if (workflowId != null) {
+      latest.remove(workflowId);
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    latestGeneration.incrementAndGet();
+    latest.clear();
+    synchronized (revisions) {
+      revisions.clear();
+      weight = 0;
+    }
+  }
+
+  private RevisionEntity get(String revisionId) {
+    synchronized (revisions) {
+      CachedRevision cached = revisions.get(revisionId);
+      return cached != null ? cached.revision : null;
+    }
+  }
+
+  private RevisionEntity put(RevisionEntity revision) {
+    freeze(revision);
+    long revisionWeight = weigh(revision);
+    synchronized (revisions) {
+      CachedRevision existing = revisions.get(revision.getId());
+      if (existing != null) {
+        return existing.revision;
+      }
+      if (revisionWeight > maxWeight) {
+        return revision;
+      }
+      revisions.put(revision.getId(), new CachedRevision(revision, revisionWeight));
+      weight += revisionWeight;
+      Iterator<CachedRevision> eldest = revisions.values().iterator();
+      while (weight > maxWeight && eldest.hasNext()) {
+        weight -= eldest.next().weight;
+        eldest.remove();
+      }
+    }
+    return revision;
+  }
+
+  private static long weigh(RevisionEntity revision) {
+    long revisionWeight = 1;
+    if (revision.getDag() != null && revision.getDag().getTasks() != null) {
+      for (DAGTask task : revision.getDag().getTasks()) {
+        revisionWeight += 1;
+        revisionWeight += task.getDependencies() != null ? task.getDependencies().size() : 0;
+        revisionWeight += task.getProperties() != null ? task.getProperties().size() : 0;
+      }
+    }
+    return revisionWeight;
+  }
+
+  /**
+   * Makes the task lists of the revision read-only so that a caller modifying a shared revision
+   * fails instead of changing the DAG seen by every other activity.
+   */
+  private static void freeze(RevisionEntity revision) {
+    if (revision.getDag() == null || revision.getDag().getTasks() == null) {
+      return;
+    }
+    for (DAGTask task : revision.getDag().getTasks()) {
+      if (task.getDependencies() != null) {
+        task.setDependencies(Collections.unmodifiableList(task.getDependencies()));
+      }
+      if (task.getProperties() != null) {
+        task.setProperties(Collections.unmodifiableList(task.getProperties()));
+      }
+      if (task.getResults() != null) {
+        task.setResults(Collections.unmodifiableList(task.getResults()));
+      }
+    }
+    revision.getDag().setTasks(Collections.unmodifiableList(revision.getDag().getTasks()));
+  }
+
+  private static final class CachedRevision {
+
+    private final RevisionEntity revision;
+    private final long weight;
+
+    CachedRevision(RevisionEntity revision, long weight) {
+      this.revision = revision;
+      this.weight = weight;
+    }
+  }
+
+  private static final class LatestPointer {
+
+    private final String revisionId;
+    private final long loadedAt;
+
+    LatestPointer(String revisionId, long loadedAt) {
+      this.revisionId = revisionId;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
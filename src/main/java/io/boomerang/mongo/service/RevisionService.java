@@ -1,5 +1,7 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +21,8 @@ public interface RevisionService {
 
   RevisionEntity getWorkflowlWithId(String id);
 
+  List<RevisionEntity> getWorkflowsWithIds(Collection<String> ids);
+
   RevisionEntity insertWorkflow(RevisionEntity flowWorkflowVersionEntity);
 
   RevisionEntity updateWorkflow(RevisionEntity flowWorkflowVersionEntity);
@@ -1,5 +1,7 @@
 package io.boomerang.mongo.service;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -14,16 +16,20 @@ public class RevisionServiceImpl implements RevisionService {
   @Autowired
   private FlowWorkflowVersionRepository workFlowVersionRepository;
 
+  @Autowired
+  private RevisionCache revisionCache;
+
   @Override
   @NoLogging
   public void deleteWorkflow(RevisionEntity flowWorkflowVersionEntity) {
     workFlowVersionRepository.delete(flowWorkflowVersionEntity);
+    revisionCache.invalidate(flowWorkflowVersionEntity.getId());
+    revisionCache.invalidateLatest(flowWorkflowVersionEntity.getWorkFlowId());
   }
 
   @Override
   public RevisionEntity getLatestWorkflowVersion(String workflowId) {
-    final long versionCount = workFlowVersionRepository.countByworkFlowId(workflowId);
-    return workFlowVersionRepository.findByworkFlowIdAndVersion(workflowId, versionCount);
+    return workFlowVersionRepository.findFirstByworkFlowIdOrderByVersionDesc(workflowId);
   }
 
   @Override
@@ -45,13 +51,17 @@ public class RevisionServiceImpl implements RevisionService {
   @Override
   @NoLogging
   public RevisionEntity insertWorkflow(RevisionEntity flowWorkflowVersionEntity) {
-    return workFlowVersionRepository.insert(flowWorkflowVersionEntity);
+    RevisionEntity revision = workFlowVersionRepository.insert(flowWorkflowVersionEntity);
+    revisionCache.invalidateLatest(revision.getWorkFlowId());
+    return revision;
   }
 
   @Override
   @NoLogging
   public RevisionEntity updateWorkflow(RevisionEntity flowWorkflowVersionEntity) {
-    return workFlowVersionRepository.save(flowWorkflowVersionEntity);
+    RevisionEntity revision = workFlowVersionRepository.save(flowWorkflowVersionEntity);
+    revisionCache.invalidate(revision.getId());
+    return revision;
   }
 
 
@@ -77,4 +87,10 @@ public class RevisionServiceImpl implements RevisionService {
         .findByworkFlowIdAndVersionAndDagTasksTaskIdAndDagTasksPropertiesKey(workflowId,
             workflowVersion, taskId, propertyKey);
   }
+
+  @Override
+  @NoLogging
+  public List<RevisionEntity> getWorkflowsWithIds(Collection<String> ids) {
+    return workFlowVersionRepository.findAllById(ids);
+  }
 }
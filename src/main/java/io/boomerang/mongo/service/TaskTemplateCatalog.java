@@ -0,0 +1,26 @@
+package io.boomerang.mongo.service;
+
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.model.Revision;
+
+/**
+ * Read-through cache of task templates indexed by revision version, used when resolving the
+ * template revision of workflow tasks. Returned objects are shared and must not be modified.
+ */
+public interface TaskTemplateCatalog {
+
+  FlowTaskTemplateEntity getTemplate(String templateId);
+
+  Revision getRevision(String templateId, Integer version);
+
+  Revision getLatestRevision(String templateId);
+
+  /**
+   * Returns the requested revision, or the latest revision if the version does not exist.
+   */
+  Revision getRevisionOrLatest(String templateId, Integer version);
+
+  void invalidate(String templateId);
+
+  void invalidateAll();
+}
@@ -0,0 +1,122 @@
+package io.boomerang.mongo.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.model.Revision;
+import io.boomerang.mongo.repository.FlowTaskTemplateRepository;
+
+/**
+ * Keeps each template with a version to revision map and its latest revision, so that resolving a
+ * revision is a map lookup instead of a scan or sort of the revision list. Entries are invalidated
+ * by {@link FlowTaskTemplateServiceImpl} on every write and expire after
+ * {@code flow.templates.catalog.ttl} to pick up changes made by other replicas.
+ */
+@Service
+public class TaskTemplateCatalogImpl implements TaskTemplateCatalog {
+
+  @Autowired
+  private FlowTaskTemplateRepository flowTaskTemplateRepository;
+
+  @Value("${flow.templates.catalog.ttl:60000}")
+  private long ttl;
+
+  private final Map<String, CatalogEntry> entries = new ConcurrentHashMap<>();
+
+  @Override
+  public FlowTaskTemplateEntity getTemplate(String templateId) {
+    CatalogEntry entry = getEntry(templateId);
+    return entry != null ? entry.template : null;
+  }
+
+  @Override
+  public Revision getRevision(String templateId, Integer version) {
+    CatalogEntry entry = getEntry(templateId);
+    return entry != null && version != null ? entry.revisions.get(version) : null;
+  }
+
+  @Override
+  public Revision getLatestRevision(String templateId) {
+    CatalogEntry entry = getEntry(templateId);
+    return entry != null ? entry.latest : null;
+  }
+
+  @Override
+  public Revision getRevisionOrLatest(String templateId, Integer version) {
+    CatalogEntry entry = getEntry(templateId);
+    if (entry == null) {
+      return null;
+    }
+    Revision revision = version != null ? entry.revisions.get(version) : null;
+    return revision != null ? revision : entry.latest;
+  }
+
+  @Override
+  public void invalidate(String templateId) {
+    if (templateId != null) {
+      entries.remove(templateId);
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  private CatalogEntry getEntry(String templateId) {
+    if (templateId == null) {
+      return null;
+    }
+    CatalogEntry entry = entries.get(templateId);
+    long now = System.currentTimeMillis();
+    if (entry != null && now - entry.loadedAt < ttl) {
+      return entry;
+    }
+    FlowTaskTemplateEntity template = flowTaskTemplateRepository.findById(templateId).orElse(null);
+    if (template == null) {
+      entries.remove(templateId);
+      return null;
+    }
+    entry = new CatalogEntry(template, now);
+    entries.put(templateId, entry);
+    return entry;
+  }
+
+  private static final class CatalogEntry {
+
+    private final FlowTaskTemplateEntity template;
+    private final Map<Integer, Revision> revisions;
+    private final Revision latest;
+    private final long loadedAt;
+
+    CatalogEntry(FlowTaskTemplateEntity template, long loadedAt) {
+      this.template = template;
+      this.loadedAt = loadedAt;
+      List<Revision> templateRevisions = template.getRevisions();
+      if (templateRevisions == null || templateRevisions.isEmpty()) {
+        this.revisions = Collections.emptyMap();
+        this.latest = null;
+        return;
+      }
+      Map<Integer, Revision> index = new HashMap<>(templateRevisions.size() * 2);
+      Revision newest = null;
+      for (Revision revision : templateRevisions) {
+        if (revision.getVersion() == null) {
+          continue;
+        }
+        index.putIfAbsent(revision.getVersion(), revision);
+        if (newest == null || revision.getVersion() > newest.getVersion()) {
+          newest = revision;
+        }
+      }
+      this.revisions = index;
+      this.latest = newest;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package io.boomerang.opentracing;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.opentracing.References;
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.propagation.Format;
+import io.opentracing.propagation.TextMapAdapter;
+import io.opentracing.tag.Tags;
+
+/**
+ * Keeps workflow runs in one trace across the engine's asynchronous hops.
+ *
+ * <p>
+ * Work handed to another thread is wrapped with {@link #wrap(Runnable)} (or the executors use
+ * {@link #taskDecorator()}) so it runs under the span that was active when it was submitted. The
+ * context of the span that started an activity is stored on the activity, and spans opened with
+ * {@link #inSpan(String, ActivityEntity, Supplier)} join that trace even when they run in a request
+ * that belongs to another trace, such as a controller callback.
+ */
+@Component
+public class FlowTracing {
+
+  private final Tracer tracer;
+
+  @Autowired
+  public FlowTracing(Tracer tracer) {
+    this.tracer = tracer;
+  }
+
+  public TaskDecorator taskDecorator() {
+    return this::wrap;
+  }
+
+  public Runnable wrap(Runnable runnable) {
+    Span span = tracer.activeSpan();
+    if (span == null) {
+      return runnable;
+    }
+    return () -> {
+      try (Scope scope = tracer.activateSpan(span)) {
+        runnable.run();
+      }
+    };
+  }
+
+  public <T> Supplier<T> wrap(Supplier<T> supplier) {
+    Span span = tracer.activeSpan();
+    if (span == null) {
+      return supplier;
+    }
+    return () -> {
+      try (Scope scope = tracer.activateSpan(span)) {
+        return supplier.get();
+      }
+    };
+  }
+
+  /**
+   * Starts the span for a new activity and stores its context on the activity. The span is
+   * finished straight away; the rest of the run is recorded in child spans.
+   */
+  public void startActivity(ActivityEntity activity) {
+    Span span = tracer.buildSpan("activity.start").withTag("workflow.id", activity.getWorkflowId())
+        .withTag("trigger", String.valueOf(activity.getTrigger())).start();
+    try {
+      Map<String, String> context = new HashMap<>();
+      tracer.inject(span.context(), Format.Builtin.TEXT_MAP, new TextMapAdapter(context));
+      activity.setTraceContext(context);
+    } finally {
+      span.finish();
+    }
+  }
+
+  public <T> T inSpan(String operation, ActivityEntity activity, Supplier<T> work) {
+    Span span = buildSpan(operation, activity).start();
+    try (Scope scope = tracer.activateSpan(span)) {
+      return work.get();
+    } catch (RuntimeException e) {
+      Tags.ERROR.set(span, true);
+      span.log(Map.of("event", "error", "message", String.valueOf(e.getMessage())));
+      throw e;
+    } finally {
+      span.finish();
+    }
+  }
+
+  public void inSpan(String operation, ActivityEntity activity, Runnable work) {
+    inSpan(operation, activity, () -> {
+      work.run();
+      return null;
+    });
+  }
+
+  public <T> T inSpan(String operation, Supplier<T> work) {
+    return inSpan(operation, null, work);
+  }
+
+  private Tracer.SpanBuilder buildSpan(String operation, ActivityEntity activity) {
+    Tracer.SpanBuilder builder = tracer.buildSpan(operation);
+    SpanContext parent = activity != null ? extract(activity.getTraceContext()) : null;
+    Span active = tracer.activeSpan();
+    if (parent == null) {
+      return builder;
+    }
+    builder = builder.withTag("activity.id", activity.getId());
+    if (active == null) {
+      return builder.asChildOf(parent);
+    }
+    if (parent.toTraceId().equals(active.context().toTraceId())) {
+      return builder;
+    }
+    return builder.ignoreActiveSpan().asChildOf(parent)
+        .addReference(References.FOLLOWS_FROM, active.context());
+  }
+
+  private SpanContext extract(Map<String, String> context) {
+    if (context == null || context.isEmpty()) {
+      return null;
+    }
+    return tracer.extract(Format.Builtin.TEXT_MAP, new TextMapAdapter(new HashMap<>(context)));
+  }
+}
@@ -12,6 +12,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import io.boomerang.mongo.service.MongoConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
 
 @Configuration
 @ConditionalOnProperty(
@@ -28,6 +29,12 @@ public class QuartzConfiguration {
 
   @Autowired
   ApplicationContext applicationContext;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Value("${flow.scheduling.threads:10}")
+  private String schedulerThreads;
   
   @Bean
   public SchedulerFactoryBean schedulerFactoryBean() throws IOException {
@@ -35,6 +42,7 @@ public class QuartzConfiguration {
     scheduler.setApplicationContextSchedulerContextKey("applicationContext");
     scheduler.setWaitForJobsToCompleteOnShutdown(true);
     scheduler.setQuartzProperties(quartzProperties());
+    scheduler.setGlobalTriggerListeners(new ScheduleMisfireListener(meterRegistry));
     return scheduler;
   }
 
@@ -49,6 +57,8 @@ public class QuartzConfiguration {
     
     String collectionNamePrefix = mongoConfiguration.collectionPrefix();
     prop.setProperty("org.quartz.jobStore.collectionPrefix", collectionNamePrefix);
+    prop.setProperty("org.quartz.threadPool.threadCount", schedulerThreads);
+    prop.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", schedulerThreads);
     
     return prop;
   }
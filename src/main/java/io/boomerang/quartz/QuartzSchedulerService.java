@@ -1,11 +1,16 @@
 package io.boomerang.quartz;
 
+import java.text.ParseException;
 import java.util.Date;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.quartz.CronExpression;
 import org.quartz.CronScheduleBuilder;
 import org.quartz.CronTrigger;
 import org.quartz.JobBuilder;
@@ -15,16 +20,14 @@ import org.quartz.Scheduler;
 import org.quartz.SchedulerException;
 import org.quartz.SimpleScheduleBuilder;
 import org.quartz.SimpleTrigger;
-import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
 import org.quartz.TriggerKey;
-import org.quartz.impl.calendar.BaseCalendar;
-import org.quartz.spi.OperableTrigger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import org.springframework.stereotype.Component;
 import io.boomerang.model.CronValidationResponse;
 import io.boomerang.mongo.entity.WorkflowScheduleEntity;
+import io.boomerang.mongo.model.WorkflowScheduleType;
 import io.boomerang.service.crud.WorkflowScheduleService;
 
 @Component
@@ -38,6 +41,8 @@ public class QuartzSchedulerService {
   @Autowired
   private WorkflowScheduleService workflowScheduleService;
 
+  private final Map<String, ParsedCron> cronCache = new ConcurrentHashMap<>();
+
   public void createOrUpdateCronJob(WorkflowScheduleEntity schedule) {
     String cronString = schedule.getCronSchedule();
     String timezone = schedule.getTimezone();
@@ -114,21 +119,102 @@ public class QuartzSchedulerService {
   }
   
   public void cancelJob(WorkflowScheduleEntity schedule) throws SchedulerException {
+    cronCache.remove(schedule.getId());
     Scheduler scheduler = schedulerFactoryBean.getScheduler();
     scheduler.deleteJob(new JobKey(schedule.getId(), schedule.getWorkflowId()));
   }
   
-  public List<Date> getJobTriggerDates(WorkflowScheduleEntity schedule, Date fromDate, Date toDate) throws SchedulerException {
-    Scheduler scheduler = schedulerFactoryBean.getScheduler();
-    Trigger trigger = scheduler.getTrigger(new TriggerKey(schedule.getId(), schedule.getWorkflowId()));
-    logger.info("Retrieving Dates from: " + fromDate.toString() + ", to: " + toDate.toString() + ", for Schedule: " + schedule.getId());
-    return org.quartz.TriggerUtils.computeFireTimesBetween((OperableTrigger) trigger, new BaseCalendar(), fromDate, toDate);
+  /**
+   * Computes the fire times between two dates from the stored cron and timezone of the schedule,
+   * without fetching the trigger from the job store.
+   */
+  public List<Date> getJobTriggerDates(WorkflowScheduleEntity schedule, Date fromDate,
+      Date toDate) {
+    List<Date> dates = new LinkedList<>();
+    if (WorkflowScheduleType.runOnce.equals(schedule.getType())) {
+      Date date = schedule.getDateSchedule();
+      if (date != null && !date.before(fromDate) && !date.after(toDate)) {
+        dates.add(date);
+      }
+      return dates;
+    }
+    CronExpression cronExpression = getCronExpression(schedule);
+    if (cronExpression == null) {
+      return dates;
+    }
+    Date start = fromDate;
+    if (schedule.getCreationDate() != null && schedule.getCreationDate().after(start)) {
+      start = schedule.getCreationDate();
+    }
+    Date next = cronExpression.getNextValidTimeAfter(new Date(start.getTime() - 1));
+    while (next != null && !next.after(toDate)) {
+      dates.add(next);
+      next = cronExpression.getNextValidTimeAfter(next);
+    }
+    return dates;
   }
-  
-  public Date getNextTriggerDate(WorkflowScheduleEntity schedule) throws SchedulerException {
-    Scheduler scheduler = schedulerFactoryBean.getScheduler();
-    Trigger trigger = scheduler.getTrigger(new TriggerKey(schedule.getId(), schedule.getWorkflowId()));
-    logger.info("Retrieving Next Schedule Date for Schedule: " + schedule.getId());
-    return trigger.getNextFireTime();
+
+  /**
+   * Computes the next fire time from the stored cron and timezone of the schedule, without
+   * fetching the trigger from the job store.
+   */
+  public Date getNextTriggerDate(WorkflowScheduleEntity schedule) {
+    Date now = new Date();
+    if (WorkflowScheduleType.runOnce.equals(schedule.getType())) {
+      Date date = schedule.getDateSchedule();
+      return date != null && date.after(now) ? date : null;
+    }
+    CronExpression cronExpression = getCronExpression(schedule);
+    return cronExpression != null ? cronExpression.getNextValidTimeAfter(now) : null;
+  }
+
+  private CronExpression getCronExpression(WorkflowScheduleEntity schedule) {
+    String cronString = schedule.getCronSchedule();
+    String timezone = schedule.getTimezone();
+    if (cronString == null || timezone == null) {
+      return null;
+    }
+    ParsedCron cached = cronCache.get(schedule.getId());
+    if (cached != null && cached.matches(cronString, timezone)) {
+      return cached.expression;
+    }
+    String quartzCron = cronString;
+    if (!CronExpression.isValidExpression(quartzCron)) {
+      CronValidationResponse response = workflowScheduleService.validateCron(cronString);
+      if (!response.isValid()) {
+        return null;
+      }
+      quartzCron = response.getCron();
+    }
+    try {
+      CronExpression cronExpression = new CronExpression(quartzCron);
+      cronExpression.setTimeZone(TimeZone.getTimeZone(timezone));
+      cronCache.put(schedule.getId(), new ParsedCron(cronString, timezone, cronExpression));
+      return cronExpression;
+    } catch (ParseException e) {
+      logger.info("Unable to parse CRON: {} for Schedule: {}.", quartzCron, schedule.getId());
+      return null;
+    }
+  }
+
+  /**
+   * Parsed cron expression of a schedule along with the raw values it was parsed from, so that a
+   * change to the schedule is detected without explicit invalidation.
+   */
+  private static final class ParsedCron {
+
+    private final String cron;
+    private final String timezone;
+    private final CronExpression expression;
+
+    ParsedCron(String cron, String timezone, CronExpression expression) {
+      this.cron = cron;
+      this.timezone = timezone;
+      this.expression = expression;
+    }
+
+    boolean matches(String cron, String timezone) {
+      return this.cron.equals(cron) && this.timezone.equals(timezone);
+    }
   }
 }
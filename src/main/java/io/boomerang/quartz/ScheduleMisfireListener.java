@@ -0,0 +1,36 @@
+package io.boomerang.quartz;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.quartz.Trigger;
+import org.quartz.listeners.TriggerListenerSupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts schedules whose trigger misfired, i.e. could not fire within the configured misfire
+ * threshold of its scheduled time.
+ */
+public class ScheduleMisfireListener extends TriggerListenerSupport {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final Counter misfires;
+
+  public ScheduleMisfireListener(MeterRegistry registry) {
+    this.misfires = Counter.builder("flow.schedule.misfires")
+        .description("Schedules whose trigger misfired").register(registry);
+  }
+
+  @Override
+  public String getName() {
+    return "scheduleMisfireListener";
+  }
+
+  @Override
+  public void triggerMisfired(Trigger trigger) {
+    misfires.increment();
+    LOGGER.warn("Schedule {} for Workflow {} misfired.", trigger.getKey().getName(),
+        trigger.getKey().getGroup());
+  }
+}
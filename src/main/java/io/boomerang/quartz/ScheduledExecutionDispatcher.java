@@ -0,0 +1,207 @@
+package io.boomerang.quartz;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bounded execution pool for fired schedules.
+ *
+ * <p>
+ * Quartz worker threads hand fired triggers to this dispatcher and return immediately, so that a
+ * burst of schedules firing at the same instant does not execute one after another on the Quartz
+ * thread. Queued executions are kept per team and workers take from the teams round-robin, so a
+ * team with hundreds of co-firing schedules cannot delay the schedules of other teams. When the
+ * queue is full the submission is rejected and the caller executes the run itself.
+ */
+@Component
+@ConditionalOnProperty(value = "flow.scheduling.enabled", havingValue = "true",
+    matchIfMissing = true)
+public class ScheduledExecutionDispatcher {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private final ReentrantLock lock = new ReentrantLock(true);
+  private final Condition notEmpty = lock.newCondition();
+
+  private final Map<String, Deque<ScheduledRun>> queues = new HashMap<>();
+  private final Deque<String> readyTeams = new ArrayDeque<>();
+  private final List<Thread> workers = new LinkedList<>();
+
+  private final int capacity;
+  private int queued;
+  private volatile boolean running = true;
+
+  private final Timer lagTimer;
+  private final Timer executionTimer;
+  private final Counter rejectedCounter;
+  private final Counter failedCounter;
+
+  @Autowired
+  public ScheduledExecutionDispatcher(MeterRegistry registry,
+      @Value("${flow.scheduling.dispatch.threads:20}") int threads,
+      @Value("${flow.scheduling.dispatch.queue-capacity:10000}") int capacity) {
+    this.capacity = capacity;
+    this.lagTimer = Timer.builder("flow.schedule.dispatch.lag")
+        .description("Delay between the scheduled fire time and the start of the execution")
+        .publishPercentileHistogram().register(registry);
+    this.executionTimer = Timer.builder("flow.schedule.execution")
+        .description("Time taken to start a scheduled workflow execution").register(registry);
+    this.rejectedCounter = Counter.builder("flow.schedule.dispatch.rejected")
+        .description("Fired schedules executed on the Quartz thread because the queue was full")
+        .register(registry);
+    this.failedCounter = Counter.builder("flow.schedule.execution.failed")
+        .description("Scheduled executions that failed to start").register(registry);
+    Gauge.builder("flow.schedule.dispatch.queued", this, ScheduledExecutionDispatcher::getQueued)
+        .description("Fired schedules waiting for an execution thread").register(registry);
+
+    for (int i = 0; i < threads; i++) {
+      Thread worker = new Thread(this::work, "scheduleDispatcher-" + i);
+      worker.setDaemon(true);
+      workers.add(worker);
+      worker.start();
+    }
+  }
+
+  /**
+   * Queues a fired schedule for execution.
+   *
+   * @return {@code false} if the queue is full and the run was not accepted
+   */
+  public boolean submit(String teamId, Date scheduledFireTime, Runnable execution) {
+    String key = teamId != null ? teamId : "";
+    lock.lock();
+    try {
+      if (!running || queued >= capacity) {
+        rejectedCounter.increment();
+        return false;
+      }
+      Deque<ScheduledRun> queue = queues.get(key);
+      if (queue == null) {
+        queue = new ArrayDeque<>();
+        queues.put(key, queue);
+        readyTeams.addLast(key);
+      }
+      queue.addLast(new ScheduledRun(scheduledFireTime, execution));
+      queued++;
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Executes a fired schedule on the calling thread, recording the same metrics as dispatched runs.
+   */
+  public void execute(Date scheduledFireTime, Runnable execution) {
+    run(new ScheduledRun(scheduledFireTime, execution));
+  }
+
+  public int getQueued() {
+    lock.lock();
+    try {
+      return queued;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+    lock.lock();
+    try {
+      notEmpty.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    for (Thread worker : workers) {
+      try {
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void work() {
+    while (true) {
+      ScheduledRun next = take();
+      if (next == null) {
+        return;
+      }
+      run(next);
+    }
+  }
+
+  private ScheduledRun take() {
+    lock.lock();
+    try {
+      while (readyTeams.isEmpty()) {
+        if (!running) {
+          return null;
+        }
+        notEmpty.await();
+      }
+      String team = readyTeams.pollFirst();
+      Deque<ScheduledRun> queue = queues.get(team);
+      ScheduledRun run = queue.pollFirst();
+      if (queue.isEmpty()) {
+        queues.remove(team);
+      } else {
+        readyTeams.addLast(team);
+      }
+      queued--;
+      return run;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void run(ScheduledRun scheduledRun) {
+    if (scheduledRun.scheduledFireTime != null) {
+      long lag = System.currentTimeMillis() - scheduledRun.scheduledFireTime.getTime();
+      lagTimer.record(Math.max(lag, 0), TimeUnit.MILLISECONDS);
+    }
+    try {
+      executionTimer.record(scheduledRun.execution);
+    } catch (RuntimeException e) {
+      failedCounter.increment();
+      LOGGER.error("Scheduled workflow execution failed", e);
+    }
+  }
+
+  private static final class ScheduledRun {
+
+    private final Date scheduledFireTime;
+    private final Runnable execution;
+
+    ScheduledRun(Date scheduledFireTime, Runnable execution) {
+      this.scheduledFireTime = scheduledFireTime;
+      this.execution = execution;
+    }
+  }
+}
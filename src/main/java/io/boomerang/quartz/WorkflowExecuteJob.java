@@ -1,5 +1,6 @@
 package io.boomerang.quartz;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -15,8 +16,11 @@ import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 import io.boomerang.controller.ExecutionController;
 import io.boomerang.model.FlowExecutionRequest;
 import io.boomerang.model.WorkflowSchedule;
+import io.boomerang.mongo.entity.WorkflowEntity;
 import io.boomerang.mongo.model.FlowTriggerEnum;
 import io.boomerang.mongo.model.WorkflowScheduleType;
+import io.boomerang.mongo.model.WorkflowScope;
+import io.boomerang.mongo.service.FlowWorkflowService;
 import io.boomerang.service.crud.WorkflowScheduleService;
 
 @PersistJobDataAfterExecution
@@ -72,6 +76,33 @@ public class WorkflowExecuteJob extends QuartzJobBean {
     FlowExecutionRequest request = new FlowExecutionRequest();
     request.setProperties(properties);
 
-    executionController.executeWorkflow(workflowId, Optional.of(FlowTriggerEnum.scheduler.toString()), Optional.of(request));
+    Runnable execution = () -> executionController.executeWorkflow(workflowId,
+        Optional.of(FlowTriggerEnum.scheduler.toString()), Optional.of(request), Optional.empty());
+
+    ScheduledExecutionDispatcher dispatcher =
+        applicationContext.getBean(ScheduledExecutionDispatcher.class);
+    String dispatchMode =
+        applicationContext.getEnvironment().getProperty("flow.scheduling.dispatch.mode", "async");
+    Date scheduledFireTime = context.getScheduledFireTime();
+
+    if ("async".equals(dispatchMode)
+        && dispatcher.submit(getTeamKey(workflowId), scheduledFireTime, execution)) {
+      logger.debug("Dispatched schedule {} for asynchronous execution.",
+          jobDetail.getKey().getName());
+    } else {
+      dispatcher.execute(scheduledFireTime, execution);
+    }
+  }
+
+  private String getTeamKey(String workflowId) {
+    WorkflowEntity workflow =
+        applicationContext.getBean(FlowWorkflowService.class).getWorkflow(workflowId);
+    if (workflow == null) {
+      return workflowId;
+    }
+    if (workflow.getScope() == WorkflowScope.user) {
+      return workflow.getOwnerUserId();
+    }
+    return workflow.getFlowTeamId() != null ? workflow.getFlowTeamId() : workflowId;
   }
-}
\ No newline at end of file
+}
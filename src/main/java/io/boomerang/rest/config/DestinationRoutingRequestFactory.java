@@ -0,0 +1,86 @@
+package io.boomerang.rest.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+/**
+ * Routes each request to the connection pool of its destination, so that slow calls to one service
+ * (e.g. log streaming) cannot exhaust the connections used to dispatch tasks to another. Routes are
+ * matched in registration order on host (and port, when configured) and an optional path prefix.
+ */
+public class DestinationRoutingRequestFactory implements ClientHttpRequestFactory {
+
+  private final List<Route> routes = new ArrayList<>();
+
+  private final ClientHttpRequestFactory defaultFactory;
+
+  public DestinationRoutingRequestFactory(ClientHttpRequestFactory defaultFactory) {
+    this.defaultFactory = defaultFactory;
+  }
+
+  public DestinationRoutingRequestFactory route(String hostAndPort, String pathPrefix,
+      ClientHttpRequestFactory factory) {
+    if (hostAndPort != null && !hostAndPort.isBlank()) {
+      routes.add(new Route(hostAndPort, pathPrefix, factory));
+    }
+    return this;
+  }
+
+  @Override
+  public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+    for (Route route : routes) {
+      if (route.matches(uri)) {
+        return route.factory.createRequest(uri, httpMethod);
+      }
+    }
+    return defaultFactory.createRequest(uri, httpMethod);
+  }
+
+  private static final class Route {
+
+    private final String host;
+    private final int port;
+    private final String pathPrefix;
+    private final ClientHttpRequestFactory factory;
+
+    Route(String hostAndPort, String pathPrefix, ClientHttpRequestFactory factory) {
+      String authority = hostAndPort.replaceFirst("^[a-zA-Z]+://", "");
+      int slash = authority.indexOf('/');
+      if (slash >= 0) {
+        authority = authority.substring(0, slash);
+      }
+      int colon = authority.lastIndexOf(':');
+      if (colon > 0) {
+        this.host = authority.substring(0, colon);
+        this.port = Integer.parseInt(authority.substring(colon + 1));
+      } else {
+        this.host = authority;
+        this.port = -1;
+      }
+      this.pathPrefix = pathPrefix;
+      this.factory = factory;
+    }
+
+    boolean matches(URI uri) {
+      if (!host.equalsIgnoreCase(uri.getHost())) {
+        return false;
+      }
+      if (port != -1 && port != effectivePort(uri)) {
+        return false;
+      }
+      return pathPrefix == null || (uri.getPath() != null && uri.getPath().startsWith(pathPrefix));
+    }
+
+    private static int effectivePort(URI uri) {
+      if (uri.getPort() != -1) {
+        return uri.getPort();
+      }
+      return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package io.boomerang.rest.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection pool settings for the outbound HTTP clients, keyed by destination, e.g.
+ * {@code flow.http.pools.controller.max-total=200}.
+ */
+@Component
+@ConfigurationProperties(prefix = "flow.http")
+public class HttpClientPoolProperties {
+
+  private Map<String, Pool> pools = new HashMap<>();
+
+  public Map<String, Pool> getPools() {
+    return pools;
+  }
+
+  public void setPools(Map<String, Pool> pools) {
+    this.pools = pools;
+  }
+
+  public Pool getPool(String name) {
+    return pools.computeIfAbsent(name, k -> new Pool());
+  }
+
+  public static class Pool {
+
+    private int maxTotal = 100;
+
+    private int maxPerRoute = 100;
+
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to wait for a connection to be leased from the pool.
+     */
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Maximum time of inactivity between two data packets.
+     */
+    private Duration socketTimeout = Duration.ofSeconds(60);
+
+    private Duration keepAlive = Duration.ofSeconds(60);
+
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    public int getMaxTotal() {
+      return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+      this.maxTotal = maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+      return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(int maxPerRoute) {
+      this.maxPerRoute = maxPerRoute;
+    }
+
+    public Duration getConnectTimeout() {
+      return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+      return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+      this.requestTimeout = requestTimeout;
+    }
+
+    public Duration getSocketTimeout() {
+      return socketTimeout;
+    }
+
+    public void setSocketTimeout(Duration socketTimeout) {
+      this.socketTimeout = socketTimeout;
+    }
+
+    public Duration getKeepAlive() {
+      return keepAlive;
+    }
+
+    public void setKeepAlive(Duration keepAlive) {
+      this.keepAlive = keepAlive;
+    }
+
+    public Duration getIdleEviction() {
+      return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+      this.idleEviction = idleEviction;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package io.boomerang.rest.config;
 
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -7,6 +8,7 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
 import org.apache.http.HttpHost;
 import org.apache.http.client.config.RequestConfig;
@@ -14,9 +16,12 @@ import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.TrustStrategy;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -26,33 +31,64 @@ import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.client.RestTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.httpcomponents.MicrometerHttpRequestExecutor;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
 
 @Component
 public class RestConfig {
 
+  public static final String CONTROLLER_POOL = "controller";
+  public static final String TASKS_POOL = "tasks";
+  public static final String LOGS_POOL = "logs";
+  public static final String USERS_POOL = "users";
+  public static final String SELF_POOL = "self";
+  public static final String EXTERNAL_POOL = "external";
+  public static final String INTERNAL_POOL = "internal";
+
   @Value("${proxy.host:#{null}}")
   private Optional<String> boomerangProxyHost;
 
   @Value("${proxy.port:#{null}}")
   private Optional<String> boomerangProxyPort;
 
-  private static final int MAX_ROUTE_CONNECTIONS = 200;
-  private static final int MAX_TOTAL_CONNECTIONS = 200;
-  private static final int DEFAULT_KEEP_ALIVE_TIME = Integer.MAX_VALUE;
-  private static final int CONNECTION_TIMEOUT = Integer.MAX_VALUE;
-  private static final int REQUEST_TIMEOUT = Integer.MAX_VALUE;
-  private static final int SOCKET_TIMEOUT = Integer.MAX_VALUE;
+  @Value("${controller.service.host:}")
+  private String controllerHost;
+
+  @Value("${controller.rest.url.streamlogs:/controller/log/stream}")
+  private String controllerLogStreamPath;
+
+  @Value("${controller.createtask.url:}")
+  private String createTaskUrl;
+
+  @Value("${controller.createcustom.url:}")
+  private String createCustomTaskUrl;
+
+  @Value("${core.users.service.host:}")
+  private String usersHost;
+
+  @Value("${core.admin.service.host:}")
+  private String adminHost;
+
+  @Value("${core.launchpad.service.host:}")
+  private String launchpadHost;
+
+  @Autowired
+  private HttpClientPoolProperties poolProperties;
+
+  @Autowired
+  private ObjectProvider<MeterRegistry> meterRegistry;
 
   @Bean
   @Qualifier("externalRestTemplate")
   public RestTemplate externalRestTemplate() {
     if (this.boomerangProxyHost.isPresent() && !this.boomerangProxyHost.get().isBlank()
         && this.boomerangProxyPort.isPresent() && !this.boomerangProxyPort.get().isBlank()) {
-      HttpComponentsClientHttpRequestFactory clientHttpRequestFactory =
-          new HttpComponentsClientHttpRequestFactory(
-              HttpClientBuilder.create().setProxy(new HttpHost(this.boomerangProxyHost.get(),
-                  Integer.valueOf(this.boomerangProxyPort.get()), "http")).build());
-      return new RestTemplate(clientHttpRequestFactory);
+      HttpClientBuilder builder = pooledHttpClientBuilder(EXTERNAL_POOL)
+          .setProxy(new HttpHost(this.boomerangProxyHost.get(),
+              Integer.valueOf(this.boomerangProxyPort.get()), "http"));
+      return new RestTemplate(new HttpComponentsClientHttpRequestFactory(builder.build()));
     }
     return internalRestTemplate();
   }
@@ -76,18 +112,22 @@ public class RestConfig {
     return restTemplate;
   }
 
+  /**
+   * Template for calls to other platform services. Requests are routed to a separate connection
+   * pool per destination so that long running log streams or slow user lookups cannot starve task
+   * dispatch to the controller. Task execution calls block until the task finishes and get their
+   * own pool without a socket timeout.
+   */
   @Bean
   @Qualifier("internalRestTemplate")
   public RestTemplate internalRestTemplate() {
-    return new RestTemplateBuilder().requestFactory(this::clientHttpRequestFactory).build();
+    return new RestTemplateBuilder().requestFactory(this::routingRequestFactory).build();
   }
 
   @Bean
   @Qualifier("selfRestTemplate")
   public RestTemplate selfRestTemplate() {
-    final HttpComponentsClientHttpRequestFactory requestFactory =
-        new HttpComponentsClientHttpRequestFactory();
-    final RestTemplate template = new RestTemplate(requestFactory);
+    final RestTemplate template = new RestTemplate(clientHttpRequestFactory(SELF_POOL));
     setRestTemplateInterceptors(template);
     return template;
   }
@@ -100,33 +140,78 @@ public class RestConfig {
     restTemplate.setInterceptors(interceptors);
   }
 
+  private DestinationRoutingRequestFactory routingRequestFactory() {
+    HttpComponentsClientHttpRequestFactory controllerFactory =
+        clientHttpRequestFactory(CONTROLLER_POOL);
+    HttpComponentsClientHttpRequestFactory tasksFactory = clientHttpRequestFactory(TASKS_POOL);
+    HttpComponentsClientHttpRequestFactory usersFactory = clientHttpRequestFactory(USERS_POOL);
+    return new DestinationRoutingRequestFactory(clientHttpRequestFactory(INTERNAL_POOL))
+        .route(controllerHost, controllerLogStreamPath, clientHttpRequestFactory(LOGS_POOL))
+        .route(controllerHost, getPath(createTaskUrl, "/controller/task/execute"), tasksFactory)
+        .route(controllerHost, getPath(createCustomTaskUrl, "/controller/task/custom/execute"),
+            tasksFactory)
+        .route(controllerHost, null, controllerFactory).route(usersHost, null, usersFactory)
+        .route(adminHost, null, usersFactory).route(launchpadHost, null, usersFactory);
+  }
+
+  private static String getPath(String url, String defaultPath) {
+    String path = url.isBlank() ? null : URI.create(url).getPath();
+    return path == null || path.isEmpty() ? defaultPath : path;
+  }
 
-  public HttpComponentsClientHttpRequestFactory clientHttpRequestFactory() {
+  public HttpComponentsClientHttpRequestFactory clientHttpRequestFactory(String poolName) {
     HttpComponentsClientHttpRequestFactory clientHttpRequestFactory =
         new HttpComponentsClientHttpRequestFactory();
-    clientHttpRequestFactory.setHttpClient(httpClient());
+    clientHttpRequestFactory.setHttpClient(httpClient(poolName));
     return clientHttpRequestFactory;
   }
 
-  public CloseableHttpClient httpClient() {
-    RequestConfig requestConfig = RequestConfig.custom().setConnectTimeout(CONNECTION_TIMEOUT)
-        .setConnectionRequestTimeout(REQUEST_TIMEOUT).setSocketTimeout(SOCKET_TIMEOUT).build();
-    return HttpClients.custom().setDefaultRequestConfig(requestConfig)
-        .setConnectionManager(poolingConnectionManager())
-        .setKeepAliveStrategy(connectionKeepAliveStrategy()).build();
+  public CloseableHttpClient httpClient(String poolName) {
+    return pooledHttpClientBuilder(poolName).build();
+  }
+
+  private HttpClientBuilder pooledHttpClientBuilder(String poolName) {
+    HttpClientPoolProperties.Pool pool = poolProperties.getPool(poolName);
+    RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectTimeout((int) pool.getConnectTimeout().toMillis())
+        .setConnectionRequestTimeout((int) pool.getRequestTimeout().toMillis())
+        .setSocketTimeout((int) pool.getSocketTimeout().toMillis()).build();
+    PoolingHttpClientConnectionManager connectionManager = poolingConnectionManager(pool);
+    HttpClientBuilder builder = HttpClients.custom().setDefaultRequestConfig(requestConfig)
+        .setConnectionManager(connectionManager)
+        .setKeepAliveStrategy(connectionKeepAliveStrategy(pool)).evictExpiredConnections()
+        .evictIdleConnections(pool.getIdleEviction().toMillis(), TimeUnit.MILLISECONDS);
+
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry != null) {
+      new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, poolName)
+          .bindTo(registry);
+      builder.setRequestExecutor(MicrometerHttpRequestExecutor.builder(registry)
+          .tags(Tags.of("pool", poolName)).build());
+    }
+    return builder;
   }
 
-  public PoolingHttpClientConnectionManager poolingConnectionManager() {
+  public PoolingHttpClientConnectionManager poolingConnectionManager(
+      HttpClientPoolProperties.Pool pool) {
     PoolingHttpClientConnectionManager poolingConnectionManager =
         new PoolingHttpClientConnectionManager();
-    poolingConnectionManager.setMaxTotal(MAX_TOTAL_CONNECTIONS);
-    poolingConnectionManager.setDefaultMaxPerRoute(MAX_ROUTE_CONNECTIONS);
+    poolingConnectionManager.setMaxTotal(pool.getMaxTotal());
+    poolingConnectionManager.setDefaultMaxPerRoute(pool.getMaxPerRoute());
     return poolingConnectionManager;
   }
 
-  public ConnectionKeepAliveStrategy connectionKeepAliveStrategy() {
+  /**
+   * Honours the server's Keep-Alive header but never keeps a connection longer than the pool's
+   * configured keep-alive, so that connections to restarted pods are not reused indefinitely.
+   */
+  public ConnectionKeepAliveStrategy connectionKeepAliveStrategy(
+      HttpClientPoolProperties.Pool pool) {
+    final long maxKeepAlive = pool.getKeepAlive().toMillis();
     return (httpResponse, httpContext) -> {
-      return DEFAULT_KEEP_ALIVE_TIME;
+      long keepAlive =
+          DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(httpResponse, httpContext);
+      return keepAlive > 0 ? Math.min(keepAlive, maxKeepAlive) : maxKeepAlive;
     };
   }
 }
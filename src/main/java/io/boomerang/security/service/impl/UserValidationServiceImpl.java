@@ -89,4 +89,12 @@ public class UserValidationServiceImpl implements UserValidationService {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN);
     }
   }
+
+  @Override
+  public void validateUserAdmin() {
+    FlowUserEntity user = userIdentityService.getCurrentUser();
+    if (user == null || user.getType() != UserType.admin) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+    }
+  }
 }
@@ -21,7 +21,8 @@ public interface ActionService {
 
   public ListActionResponse getAllActions(Optional<Date> from, Optional<Date> to,
       Pageable pageable, Optional<List<String>> workflowIds, Optional<List<String>> teamIds,
-      Optional<ManualType> type, Optional<List<String>> scopes, String string, Direction direction, Optional<ApprovalStatus> status);
+      Optional<ManualType> type, Optional<List<String>> scopes, String string, Direction direction, Optional<ApprovalStatus> status,
+      Optional<String> after);
 
   public ActionSummary getActionSummary( Optional<Date> fromDate,  Optional<Date> toDate, Optional<List<String>> workflowIds, Optional<List<String>> teamIds, Optional<ApprovalStatus> status, Optional<List<String>> scopes);
 
@@ -1,14 +1,22 @@
 package io.boomerang.service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
@@ -19,7 +27,6 @@ import io.boomerang.model.FlowTeam;
 import io.boomerang.model.ListActionResponse;
 import io.boomerang.model.Sort;
 import io.boomerang.model.Task;
-import io.boomerang.model.WorkflowSummary;
 import io.boomerang.model.teams.Action;
 import io.boomerang.mongo.entity.ActivityEntity;
 import io.boomerang.mongo.entity.ApprovalEntity;
@@ -28,6 +35,8 @@ import io.boomerang.mongo.entity.RevisionEntity;
 import io.boomerang.mongo.entity.TaskExecutionEntity;
 import io.boomerang.mongo.entity.TeamEntity;
 import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.ApprovalFilter;
+import io.boomerang.mongo.model.ApprovalPage;
 import io.boomerang.mongo.model.ApproverGroup;
 import io.boomerang.mongo.model.Audit;
 import io.boomerang.mongo.model.KeyValuePair;
@@ -36,10 +45,12 @@ import io.boomerang.mongo.model.TaskStatus;
 import io.boomerang.mongo.model.WorkflowScope;
 import io.boomerang.mongo.model.internal.InternalTaskResponse;
 import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.service.ActivityArchiveService;
 import io.boomerang.mongo.service.ActivityTaskService;
 import io.boomerang.mongo.service.ApprovalService;
-import io.boomerang.mongo.service.RevisionService;
-import io.boomerang.service.crud.FlowActivityService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.mongo.service.FlowWorkflowService;
+import io.boomerang.mongo.service.RevisionCache;
 import io.boomerang.service.crud.TeamService;
 import io.boomerang.service.crud.WorkflowService;
 import io.boomerang.service.refactor.ControllerRequestProperties;
@@ -71,10 +82,16 @@ public class ActionServiceImpl implements ActionService {
   private ActivityTaskService activityTaskService;
 
   @Autowired
-  private FlowActivityService activityService;
+  private RevisionCache revisionCache;
 
   @Autowired
-  private RevisionService revisionService;
+  private FlowWorkflowService flowWorkflowService;
+
+  @Autowired
+  private FlowWorkflowActivityService flowWorkflowActivityService;
+
+  @Autowired
+  private ActivityArchiveService activityArchiveService;
 
   @Autowired
   private PropertyManager propertyManager;
@@ -178,59 +195,122 @@ public class ActionServiceImpl implements ActionService {
     taskClient.endTask(taskService, actionApprovalResponse);
   }
 
-  private Action convertToApproval(ApprovalEntity approvalEntity) {
+  /**
+   * Converts a page of approvals, resolving the users, workflows, teams, task executions, activities
+   * and revisions they reference with one batched query per collection instead of several lookups
+   * per approval. Workflows are only loaded for approvals created without the workflow name.
+   */
+  private List<Action> convertToApprovals(List<ApprovalEntity> approvalEntities) {
+    Set<String> userIds = new HashSet<>();
+    Set<String> workflowIds = new HashSet<>();
+    Set<String> teamIds = new HashSet<>();
+    Set<String> taskActivityIds = new HashSet<>();
+    for (ApprovalEntity approvalEntity : approvalEntities) {
+      if (approvalEntity.getActioners() != null) {
+        for (Audit audit : approvalEntity.getActioners()) {
+          userIds.add(audit.getApproverId());
+        }
+      }
+      if (approvalEntity.getWorkflowName() == null) {
+        workflowIds.add(approvalEntity.getWorkflowId());
+      }
+      teamIds.add(approvalEntity.getTeamId());
+      taskActivityIds.add(approvalEntity.getTaskActivityId());
+    }
+    userIds.remove(null);
+    workflowIds.remove(null);
+    teamIds.remove(null);
+    taskActivityIds.remove(null);
+
+    Map<String, FlowUserEntity> users = userIdentityService.getUsersByIds(userIds);
+    Map<String, WorkflowEntity> workflows = workflowIds.isEmpty() ? Collections.emptyMap()
+        : toMap(flowWorkflowService.getWorkflowsByIds(workflowIds), WorkflowEntity::getId);
+    Map<String, FlowTeam> teams = teamService.getTeamsByIds(teamIds);
+    Map<String, TaskExecutionEntity> taskExecutions =
+        toMap(activityTaskService.findByIds(taskActivityIds), TaskExecutionEntity::getId);
+
+    Set<String> activityIds = taskExecutions.values().stream()
+        .map(TaskExecutionEntity::getActivityId).filter(Objects::nonNull).collect(Collectors.toSet());
+    Map<String, ActivityEntity> activities = toMap(
+        flowWorkflowActivityService.findWorkflowActivitiesByIds(activityIds), ActivityEntity::getId);
+
+    Set<String> revisionIds = activities.values().stream()
+        .map(ActivityEntity::getWorkflowRevisionid).filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    Map<String, RevisionEntity> revisions =
+        toMap(revisionCache.getRevisions(revisionIds), RevisionEntity::getId);
 
-    Action approval = new Action();
-    approval.setId(approvalEntity.getId());
+    List<Action> actions = new LinkedList<>();
+    for (ApprovalEntity approvalEntity : approvalEntities) {
+      Action approval = new Action();
+      approval.setId(approvalEntity.getId());
+
+      approval.setActivityId(approvalEntity.getActivityId());
+      approval.setTaskActivityId(approvalEntity.getTaskActivityId());
+      approval.setWorkflowId(approvalEntity.getWorkflowId());
+      approval.setTeamId(approvalEntity.getTeamId());
+      approval.setStatus(approvalEntity.getStatus());
+      approval.setType(approvalEntity.getType());
+      approval.setCreationDate(approvalEntity.getCreationDate());
+      approval.setActioners(approvalEntity.getActioners());
+      approval.setWorkflowName(approvalEntity.getWorkflowName());
+      approval.setScope(approvalEntity.getScope());
 
-    approval.setActivityId(approvalEntity.getActivityId());
-    approval.setTaskActivityId(approvalEntity.getTaskActivityId());
-    approval.setWorkflowId(approvalEntity.getWorkflowId());
-    approval.setTeamId(approvalEntity.getTeamId());
-    approval.setStatus(approvalEntity.getStatus());
-    approval.setType(approvalEntity.getType());
-    approval.setCreationDate(approvalEntity.getCreationDate());
-    approval.setActioners(approvalEntity.getActioners());
+      approval.setApprovalsRequired(approvalEntity.getNumberOfApprovers());
 
-    approval.setApprovalsRequired(approvalEntity.getNumberOfApprovers());
-    
-    if (approvalEntity.getActioners() != null) {
-      
-      long aprovalCount = approvalEntity.getActioners().stream().filter(x -> x.isApproved()).count();
-     
-      approval.setNumberOfApprovals(aprovalCount);
-      for (Audit audit : approvalEntity.getActioners()) {
-        FlowUserEntity user = this.userIdentityService.getUserByID(audit.getApproverId());
-        if (user != null) {
-          audit.setApproverName(user.getName());
-          audit.setApproverEmail(user.getEmail());
+      if (approvalEntity.getActioners() != null) {
+
+        long aprovalCount =
+            approvalEntity.getActioners().stream().filter(x -> x.isApproved()).count();
+
+        approval.setNumberOfApprovals(aprovalCount);
+        for (Audit audit : approvalEntity.getActioners()) {
+          FlowUserEntity user = users.get(audit.getApproverId());
+          if (user != null) {
+            audit.setApproverName(user.getName());
+            audit.setApproverEmail(user.getEmail());
+          }
         }
+        approval.setActioners(approvalEntity.getActioners());
       }
-      approval.setActioners(approvalEntity.getActioners());
-    }
-    
-    WorkflowSummary workflowSummary = workflowService.getWorkflow(approval.getWorkflowId());
-    approval.setWorkflowName(workflowSummary.getName());
-    approval.setScope(workflowSummary.getScope());
-    
-    if (approval.getTeamId() != null) {
-      FlowTeam flowTeam = teamService.getTeamById(approval.getTeamId());
-      approval.setTeamName(flowTeam.getName());
-      approval.setTaskName("");
-    }
-    
 
-   
-    TaskExecutionEntity taskExecution = activityTaskService.findById(approval.getTaskActivityId());
-    approval.setTaskName(taskExecution.getTaskName());
+      WorkflowEntity workflow = workflows.get(approval.getWorkflowId());
+      if (workflow != null) {
+        approval.setWorkflowName(workflow.getName());
+        approval.setScope(workflow.getScope());
+      }
 
-    ActivityEntity activity =
-        this.activityService.findWorkflowActivity(taskExecution.getActivityId());
+      if (approval.getTeamId() != null) {
+        FlowTeam flowTeam = teams.get(approval.getTeamId());
+        if (flowTeam != null) {
+          approval.setTeamName(flowTeam.getName());
+        }
+        approval.setTaskName("");
+      }
+      if (approvalEntity.getTaskName() != null) {
+        approval.setTaskName(approvalEntity.getTaskName());
+      }
 
-    String revisionId = activity.getWorkflowRevisionid();
+      TaskExecutionEntity taskExecution = taskExecutions.get(approval.getTaskActivityId());
+      if (taskExecution != null) {
+        if (approvalEntity.getTaskName() == null) {
+          approval.setTaskName(taskExecution.getTaskName());
+        }
+        ActivityEntity activity = activities.get(taskExecution.getActivityId());
+        RevisionEntity revision =
+            activity != null ? revisions.get(activity.getWorkflowRevisionid()) : null;
+        if (revision != null) {
+          setInstructions(approval, taskExecution, activity, revision);
+        }
+      }
 
-    RevisionEntity revision = this.revisionService.getWorkflowlWithId(revisionId);
+      actions.add(approval);
+    }
+    return actions;
+  }
 
+  private void setInstructions(Action approval, TaskExecutionEntity taskExecution,
+      ActivityEntity activity, RevisionEntity revision) {
     List<DAGTask> tasks = revision.getDag().getTasks();
     DAGTask dagTask = tasks.stream().filter(t -> t.getTaskId().equals(taskExecution.getTaskId()))
         .findFirst().orElse(null);
@@ -254,51 +334,85 @@ public class ActionServiceImpl implements ActionService {
         approval.setInstructions(instructionText);
       }
     }
+  }
 
-    return approval;
+  private static <T> Map<String, T> toMap(List<T> entities, Function<T, String> id) {
+    Map<String, T> map = new HashMap<>();
+    if (entities != null) {
+      for (T entity : entities) {
+        map.put(id.apply(entity), entity);
+      }
+    }
+    return map;
   }
 
   @Override
   public Action getApprovalById(String id) {
     ApprovalEntity approvalEntity = this.approvalService.findById(id);
-    return this.convertToApproval(approvalEntity);
+    return this.convertToApprovals(Collections.singletonList(approvalEntity)).get(0);
   }
 
   @Override
   public Action getApprovalByTaskActivityId(String id) {
     ApprovalEntity approvalEntity = this.approvalService.findByTaskActivityId(id);
+    if (approvalEntity == null) {
+      approvalEntity = activityArchiveService.findApprovalByTaskActivityId(id);
+    }
     if (approvalEntity == null) {
       return null;
     }
-    return convertToApproval(approvalEntity);
+    return convertToApprovals(Collections.singletonList(approvalEntity)).get(0);
   }
 
   @Override
   public ListActionResponse getAllActions(Optional<Date> from, Optional<Date> to, Pageable pageable,
       Optional<List<String>> workflowIds, Optional<List<String>> teamIds, Optional<ManualType> type,
       Optional<List<String>> scopes, String property, Direction direction,
-      Optional<ApprovalStatus> status) {
+      Optional<ApprovalStatus> status, Optional<String> after) {
 
-    List<String> workflowIdsList = filterService.getFilteredWorkflowIds(workflowIds, teamIds, scopes);
+    ApprovalFilter filter = createFilter(from, to, workflowIds, teamIds, scopes, status);
+    filter.setType(type.orElse(null));
+    filter.setAfter(after.orElse(null));
     ListActionResponse response = new ListActionResponse();
 
+    ApprovalPage approvals = this.approvalService.findApprovals(filter, pageable);
     Page<ApprovalEntity> records =
-        this.approvalService.getAllApprovals(from, to, pageable, workflowIdsList, type, status);
+        new PageImpl<>(approvals.getRecords(), pageable, approvals.getTotal());
 
-    List<Action> actions = new LinkedList<>();
-
-    for (ApprovalEntity approval : records.getContent()) {
-      Action action = this.convertToApproval(approval);
-      actions.add(action);
-    }
+    List<Action> actions = this.convertToApprovals(records.getContent());
 
     io.boomerang.model.Pageable pageablefinal =
         createPageable(records, property, direction, actions, actions.size());
     response.setPageable(pageablefinal);
     response.setRecords(actions);
+    response.setNextCursor(approvals.getNextCursor());
     return response;
   }
 
+  /**
+   * Filters on the team of the approvals when only teams are requested, which avoids loading the
+   * workflows of the teams. Otherwise the approvals are filtered on the workflows visible to the
+   * user.
+   */
+  private ApprovalFilter createFilter(Optional<Date> from, Optional<Date> to,
+      Optional<List<String>> workflowIds, Optional<List<String>> teamIds,
+      Optional<List<String>> scopes, Optional<ApprovalStatus> status) {
+    ApprovalFilter filter = new ApprovalFilter();
+    filter.setFrom(from.orElse(null));
+    filter.setTo(to.orElse(null));
+    filter.setStatus(status.orElse(null));
+
+    boolean teamScopeOnly = !scopes.isPresent() || scopes.get().isEmpty()
+        || scopes.get().stream().allMatch("team"::equals);
+    if (!workflowIds.isPresent() && teamIds.isPresent() && !teamIds.get().isEmpty()
+        && teamScopeOnly) {
+      filter.setTeamIds(teamIds.get());
+    } else {
+      filter.setWorkflowIds(filterService.getFilteredWorkflowIds(workflowIds, teamIds, scopes));
+    }
+    return filter;
+  }
+
   protected io.boomerang.model.Pageable createPageable(final Page<ApprovalEntity> records,
       String property, Direction direction, List<Action> actions, int totalElements) {
 
@@ -323,21 +437,21 @@ public class ActionServiceImpl implements ActionService {
   @Override
   public ActionSummary getActionSummary( Optional<Date> fromDate,  Optional<Date> toDate, Optional<List<String>> workflowIds, Optional<List<String>> teamIds, Optional<ApprovalStatus> status, Optional<List<String>> scopes)
   {
-    List<String> workflowIdsList = filterService.getFilteredWorkflowIds(workflowIds, teamIds, scopes);
-    
+    ApprovalFilter filter = createFilter(fromDate, toDate, workflowIds, teamIds, scopes, status);
+    ApprovalPage approvals = this.approvalService.findApprovals(filter, PageRequest.of(0, 1));
+
     ActionSummary summary = new ActionSummary();
-    long approvalCount = this.approvalService.getActionCountForType(ManualType.approval, fromDate, toDate, workflowIdsList, status);
-    long manualCount = this.approvalService.getActionCountForType(ManualType.task, fromDate, toDate,workflowIdsList, status);
-  
-    
-    long rejectedCount = approvalService.getActionCountForStatus(ApprovalStatus.rejected, fromDate, toDate);
-    long approvedCount = approvalService.getActionCountForStatus(ApprovalStatus.approved, fromDate, toDate);
-    long submittedCount = approvalService.getActionCountForStatus(ApprovalStatus.submitted, fromDate, toDate);
+    long approvalCount = approvals.getTypeCount(ManualType.approval);
+    long manualCount = approvals.getTypeCount(ManualType.task);
+
+    long rejectedCount = approvals.getStatusCount(ApprovalStatus.rejected);
+    long approvedCount = approvals.getStatusCount(ApprovalStatus.approved);
+    long submittedCount = approvals.getStatusCount(ApprovalStatus.submitted);
     long total = rejectedCount + approvedCount + submittedCount;
     long approvalRateCount = 0;
     
     if (total != 0) {
-      approvalRateCount = (((approvedCount +rejectedCount)  / total) * 100);
+      approvalRateCount = (approvedCount + rejectedCount) * 100 / total;
     } 
     
     summary.setApprovalsRate(approvalRateCount);
@@ -1,8 +1,11 @@
 package io.boomerang.service;
 
 import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -29,10 +32,13 @@ import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
 import io.boomerang.model.FlowActivity;
 import io.boomerang.model.FlowExecutionRequest;
 import io.boomerang.model.eventing.EventResponse;
+import io.boomerang.mongo.entity.ExecutionDedupEntity;
 import io.boomerang.mongo.model.KeyValuePair;
 import io.boomerang.mongo.model.Triggers;
 import io.boomerang.mongo.model.WorkflowProperty;
+import io.boomerang.mongo.service.ExecutionDedupService;
 import io.boomerang.service.crud.WorkflowService;
+import io.boomerang.service.metrics.FlowMetrics;
 import io.boomerang.service.refactor.TaskService;
 import io.cloudevents.CloudEvent;
 import io.cloudevents.v1.AttributesImpl;
@@ -56,11 +62,18 @@ public class EventProcessorImpl implements EventProcessor {
   @Autowired
   private TaskService taskService;
 
+  @Autowired
+  private FlowMetrics flowMetrics;
+
+  @Autowired
+  private ExecutionDedupService executionDedupService;
+
   @Override
   public CloudEventImpl<EventResponse> processHTTPEvent(Map<String, Object> headers,
       JsonNode payload) {
 
     ZonedDateTime now = ZonedDateTime.now();
+    recordIngestionLag("http", payload.path("time").asText(null), now);
     String formattedDate =
         DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS").format(now) + 'Z';
     JsonNode timeNode = new TextNode(formattedDate);
@@ -95,12 +108,31 @@ public class EventProcessorImpl implements EventProcessor {
     CloudEvent<AttributesImpl, JsonNode> event = Unmarshallers.structured(JsonNode.class)
         .withHeaders(() -> headers).withPayload(() -> message).unmarshal();
 
+    event.getAttributes().getTime().ifPresent(time -> flowMetrics.recordIngestionLag("nats",
+        Duration.between(time.toInstant(), Instant.now())));
+
     createResponseEvent(event.getAttributes().getId(), event.getAttributes().getType(),
         event.getAttributes().getSource(), event.getAttributes().getSubject().orElse(""),
         event.getAttributes().getTime().orElse(ZonedDateTime.now()),
         processEvent(event, requestStatus));
   }
 
+  /**
+   * The HTTP endpoint replaces the event time with the time of receipt, so the lag is taken from
+   * the time set by the producer before it is overwritten.
+   */
+  private void recordIngestionLag(String transport, String time, ZonedDateTime received) {
+    if (time == null || time.isBlank()) {
+      return;
+    }
+    try {
+      flowMetrics.recordIngestionLag(transport,
+          Duration.between(ZonedDateTime.parse(time).toInstant(), received.toInstant()));
+    } catch (DateTimeParseException e) {
+      logger.debug("Ignoring unparseable event time: {}", time);
+    }
+  }
+
   private String getStatusFromPayload(String message) {
     ObjectMapper mapper = new ObjectMapper();
     String requestStatus = "success";
@@ -202,9 +234,14 @@ public class EventProcessorImpl implements EventProcessor {
       executionRequest.setLabels(cloudEventLabels);
       executionRequest.setProperties(processProperties(eventData, workflowId));
 
-      FlowActivity activity = executionService.executeWorkflow(workflowId, Optional.of(trigger),
-          Optional.of(executionRequest), Optional.empty());
-      response.setActivityId(activity.getId());
+      String key = ExecutionDedupEntity.cloudEventKey(
+          String.valueOf(event.getAttributes().getSource()), event.getAttributes().getId());
+      String activityId = executionDedupService.execute(key, () -> {
+        FlowActivity activity = executionService.executeWorkflow(workflowId,
+            Optional.of(trigger), Optional.of(executionRequest), Optional.empty());
+        return activity != null ? activity.getId() : null;
+      });
+      response.setActivityId(activityId);
       response.setStatusCode(HttpStatus.SC_OK);
       return response;
     } else if ("wfe".equals(trigger)) {
@@ -218,7 +255,8 @@ public class EventProcessorImpl implements EventProcessor {
       }
 
       List<String> taskActivityId =
-          taskService.updateTaskActivityForTopic(workflowActivityId, topic);
+          taskService.updateTaskActivityForTopic(workflowActivityId, topic, status,
+              outputProperties);
       for (String id : taskActivityId) {
         taskService.submitActivity(id, status, outputProperties);
       }
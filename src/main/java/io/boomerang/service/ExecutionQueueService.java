@@ -0,0 +1,31 @@
+package io.boomerang.service;
+
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.WorkflowEntity;
+
+/**
+ * Queues workflow runs that would exceed the concurrency limit of their workflow or team and
+ * starts them as running activities finish.
+ */
+public interface ExecutionQueueService {
+
+  boolean isEnabled();
+
+  /**
+   * Whether runs of the workflow go through the queue, that is the workflow or its team has a
+   * concurrency limit.
+   */
+  boolean isLimited(WorkflowEntity workflow);
+
+  /**
+   * Whether a new run of the workflow has to wait in the queue, that is the workflow or its team is
+   * at its concurrency limit or already has runs waiting. Runs that do not wait are started
+   * directly, without taking the queue lock.
+   */
+  boolean mustQueue(WorkflowEntity workflow);
+
+  /**
+   * Queues the waiting activity and starts queued runs as far as the limits allow.
+   */
+  void enqueue(WorkflowEntity workflow, ActivityEntity activity);
+}
@@ -0,0 +1,381 @@
+package io.boomerang.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import com.github.alturkovic.lock.Lock;
+import io.boomerang.model.ActivityStatusUpdate;
+import io.boomerang.model.ActivityStatusUpdate.UpdateType;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.ExecutionQueueEntity;
+import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.ActivityUpdate;
+import io.boomerang.mongo.model.ErrorResponse;
+import io.boomerang.mongo.model.FlowTriggerEnum;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.WorkflowConcurrency;
+import io.boomerang.mongo.model.WorkflowScope;
+import io.boomerang.mongo.service.FlowSettingsService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.mongo.service.FlowWorkflowService;
+import io.boomerang.service.crud.TeamService;
+
+/**
+ * Queued runs are admitted in order of trigger priority, manual before webhooks and events before
+ * schedules, and by age within a priority. Runs competing for the same limits share a scope, the
+ * team or the workflow, and a scope is admitted by one replica at a time under a lock. Admission
+ * happens when a run is queued and when an activity of the scope finishes, and a periodic sweep
+ * picks up scopes whose admission was missed while another replica held the lock.
+ *
+ * <p>
+ * An admitted entry is only marked as such until its run has started, so that the sweep can put
+ * the run back in the queue if the replica starting it dies.
+ */
+@Service
+public class ExecutionQueueServiceImpl implements ExecutionQueueService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final Set<TaskStatus> FINISHED = EnumSet.of(TaskStatus.completed,
+      TaskStatus.failure, TaskStatus.cancelled, TaskStatus.invalid, TaskStatus.skipped);
+
+  private static final long LOCK_EXPIRATION = Duration.ofMinutes(1).toMillis();
+
+  private static final int LOCK_ATTEMPTS = 20;
+
+  private static final long LOCK_RETRY_INTERVAL = 100;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private FlowWorkflowActivityService activityService;
+
+  @Autowired
+  private FlowWorkflowService workflowService;
+
+  @Autowired
+  private FlowExecutionService flowExecutionService;
+
+  @Autowired
+  private TeamService teamService;
+
+  @Autowired
+  private FlowSettingsService flowSettingsService;
+
+  @Autowired
+  private Lock lock;
+
+  @Autowired
+  @Qualifier("flowAsyncExecutor")
+  private Executor executor;
+
+  @Value("${flow.executions.queue.enabled:true}")
+  private boolean enabled;
+
+  @Value("${flow.executions.queue.batch-size:100}")
+  private int batchSize;
+
+  @EventListener(ApplicationReadyEvent.class)
+  void ensureIndexes() {
+    try {
+      mongoTemplate.indexOps(ExecutionQueueEntity.class).ensureIndex(new Index()
+          .on("scope", Direction.ASC).on("priority", Direction.DESC)
+          .on("creationDate", Direction.ASC));
+      mongoTemplate.indexOps(ExecutionQueueEntity.class)
+          .ensureIndex(new Index().on("workflowId", Direction.ASC));
+      mongoTemplate.indexOps(ActivityEntity.class).ensureIndex(
+          new Index().on("workflowId", Direction.ASC).on("status", Direction.ASC));
+      mongoTemplate.indexOps(ActivityEntity.class)
+          .ensureIndex(new Index().on("teamId", Direction.ASC).on("status", Direction.ASC));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Unable to create execution queue indexes: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public boolean isLimited(WorkflowEntity workflow) {
+    if (!enabled) {
+      return false;
+    }
+    return getWorkflowLimit(workflow) != null || (WorkflowScope.team.equals(workflow.getScope())
+        && getTeamLimit(workflow.getFlowTeamId()) != null);
+  }
+
+  @Override
+  public boolean mustQueue(WorkflowEntity workflow) {
+    if (!isLimited(workflow)) {
+      return false;
+    }
+    String teamId =
+        WorkflowScope.team.equals(workflow.getScope()) ? workflow.getFlowTeamId() : null;
+    String scope = ExecutionQueueEntity.scope(workflow.getId(), teamId);
+    if (mongoTemplate.exists(Query.query(Criteria.where("scope").is(scope)),
+        ExecutionQueueEntity.class)) {
+      return true;
+    }
+    Integer workflowLimit = getWorkflowLimit(workflow);
+    if (workflowLimit != null && activityService.countWorkflowActivities(workflow.getId(),
+        TaskStatus.inProgress) >= workflowLimit) {
+      return true;
+    }
+    Integer teamLimit = teamId != null ? getTeamLimit(teamId) : null;
+    return teamLimit != null
+        && activityService.countTeamActivities(teamId, TaskStatus.inProgress) >= teamLimit;
+  }
+
+  @Override
+  public void enqueue(WorkflowEntity workflow, ActivityEntity activity) {
+    String teamId =
+        WorkflowScope.team.equals(workflow.getScope()) ? workflow.getFlowTeamId() : null;
+    ExecutionQueueEntity entry = new ExecutionQueueEntity();
+    entry.setId(activity.getId());
+    entry.setScope(ExecutionQueueEntity.scope(workflow.getId(), teamId));
+    entry.setWorkflowId(workflow.getId());
+    entry.setTeamId(teamId);
+    entry.setRevisionId(activity.getWorkflowRevisionid());
+    entry.setPriority(getPriority(activity.getTrigger()));
+    entry.setCreationDate(new Date());
+    mongoTemplate.insert(entry);
+    LOGGER.debug("[{}] Queued run of workflow {} with priority {}", activity.getId(),
+        workflow.getId(), entry.getPriority());
+
+    WorkflowConcurrency concurrency = workflow.getConcurrency();
+    if (concurrency != null && concurrency.isCancelQueued()) {
+      cancelQueued(workflow.getId(), activity.getId());
+    }
+    admit(entry.getScope());
+  }
+
+  /**
+   * Frees the place of a finished activity and admits the next runs of its scope. The admission
+   * runs on the async executor so that finishing an activity does not wait for the queue lock.
+   */
+  @EventListener
+  public void onActivityStatus(ActivityStatusUpdate update) {
+    if (!enabled || update.getType() != UpdateType.activity
+        || !FINISHED.contains(update.getStatus())) {
+      return;
+    }
+    executor.execute(() -> release(update.getActivityId()));
+  }
+
+  @Scheduled(fixedDelayString = "${flow.executions.queue.sweep-interval:30000}")
+  public void sweep() {
+    if (!enabled) {
+      return;
+    }
+    requeueAbandoned();
+    List<String> scopes = mongoTemplate.findDistinct(new Query(), "scope",
+        ExecutionQueueEntity.class, String.class);
+    for (String scope : scopes) {
+      admit(scope);
+    }
+  }
+
+  private void release(String activityId) {
+    ExecutionQueueEntity entry =
+        mongoTemplate.findAndRemove(byId(activityId), ExecutionQueueEntity.class);
+    String scope;
+    if (entry != null) {
+      scope = entry.getScope();
+    } else {
+      ActivityEntity activity = activityService.findWorkflowActivtyById(activityId);
+      if (activity == null) {
+        return;
+      }
+      scope = ExecutionQueueEntity.scope(activity.getWorkflowId(), activity.getTeamId());
+    }
+    if (mongoTemplate.exists(Query.query(Criteria.where("scope").is(scope)),
+        ExecutionQueueEntity.class)) {
+      admit(scope);
+    }
+  }
+
+  void admit(String scope) {
+    List<String> keys = Collections.singletonList("execution-queue:" + scope);
+    String token = acquire(keys);
+    if (!StringUtils.hasText(token)) {
+      LOGGER.debug("Queue {} is being admitted on another replica", scope);
+      return;
+    }
+    try {
+      admitQueued(scope);
+    } finally {
+      lock.release(keys, "locks", token);
+    }
+  }
+
+  /**
+   * Puts runs that were admitted but not started within the lock expiration back in the queue, and
+   * drops the entries of runs that did start.
+   */
+  private void requeueAbandoned() {
+    Date expiry = new Date(System.currentTimeMillis() - LOCK_EXPIRATION);
+    for (ExecutionQueueEntity entry : mongoTemplate.find(
+        Query.query(Criteria.where("admittedAt").lt(expiry)), ExecutionQueueEntity.class)) {
+      ActivityEntity activity = activityService.findWorkflowActivtyById(entry.getId());
+      if (activity != null && activity.getStatus() == TaskStatus.waiting) {
+        LOGGER.warn("[{}] Queued run was admitted but not started, queueing it again",
+            entry.getId());
+        mongoTemplate.updateFirst(byAdmitted(entry), new Update().unset("admittedAt"),
+            ExecutionQueueEntity.class);
+      } else {
+        mongoTemplate.remove(byAdmitted(entry), ExecutionQueueEntity.class);
+      }
+    }
+  }
+
+  private void admitQueued(String scope) {
+    Query query = Query.query(Criteria.where("scope").is(scope).and("admittedAt").is(null))
+        .with(Sort.by(Direction.DESC, "priority").and(Sort.by(Direction.ASC, "creationDate")))
+        .limit(batchSize);
+    List<ExecutionQueueEntity> queued = mongoTemplate.find(query, ExecutionQueueEntity.class);
+    if (queued.isEmpty()) {
+      return;
+    }
+
+    String teamId = queued.get(0).getTeamId();
+    Integer teamLimit = teamId != null ? getTeamLimit(teamId) : null;
+    long teamRunning =
+        teamLimit != null ? activityService.countTeamActivities(teamId, TaskStatus.inProgress) : 0;
+    Map<String, Long> workflowRunning = new HashMap<>();
+
+    for (ExecutionQueueEntity entry : queued) {
+      if (teamLimit != null && teamRunning >= teamLimit) {
+        break;
+      }
+      String workflowId = entry.getWorkflowId();
+      Integer workflowLimit = getWorkflowLimit(workflowService.getWorkflow(workflowId));
+      long running = workflowLimit != null ? workflowRunning.computeIfAbsent(workflowId,
+          id -> activityService.countWorkflowActivities(id, TaskStatus.inProgress)) : 0;
+      if (workflowLimit != null && running >= workflowLimit) {
+        continue;
+      }
+      if (mongoTemplate.updateFirst(byId(entry.getId()).addCriteria(
+          Criteria.where("admittedAt").is(null)), Update.update("admittedAt", new Date()),
+          ExecutionQueueEntity.class).getModifiedCount() == 0) {
+        continue;
+      }
+      boolean started = start(entry);
+      mongoTemplate.remove(byId(entry.getId()), ExecutionQueueEntity.class);
+      if (started) {
+        teamRunning++;
+        workflowRunning.put(workflowId, running + 1);
+      }
+    }
+  }
+
+  private boolean start(ExecutionQueueEntity entry) {
+    ActivityEntity activity = activityService.findWorkflowActivtyById(entry.getId());
+    if (activity == null || activity.getStatus() != TaskStatus.waiting) {
+      return false;
+    }
+    LOGGER.debug("[{}] Starting queued run of workflow {}", entry.getId(), entry.getWorkflowId());
+    activityService
+        .updateWorkflowActivity(new ActivityUpdate(activity).status(TaskStatus.inProgress));
+    try {
+      flowExecutionService.executeWorkflowVersion(entry.getRevisionId(), entry.getId());
+    } catch (RuntimeException e) {
+      LOGGER.error("[{}] Unable to start queued run: {}", entry.getId(), e.getMessage());
+      activityService
+          .updateWorkflowActivity(new ActivityUpdate(activity).status(TaskStatus.failure));
+    }
+    return true;
+  }
+
+  private void cancelQueued(String workflowId, String activityId) {
+    Query query = Query.query(Criteria.where("workflowId").is(workflowId).and("_id")
+        .ne(activityId).and("admittedAt").is(null));
+    List<String> ids = mongoTemplate.findAllAndRemove(query, ExecutionQueueEntity.class).stream()
+        .map(ExecutionQueueEntity::getId).collect(Collectors.toList());
+    if (!ids.isEmpty()) {
+      LOGGER.debug("[{}] Cancelling {} older queued runs", activityId, ids.size());
+      activityService.cancelActivities(ids,
+          new ErrorResponse("002", "Cancelled in favour of a newer run of the workflow."));
+    }
+  }
+
+  private String acquire(List<String> keys) {
+    for (int attempt = 1; attempt <= LOCK_ATTEMPTS; attempt++) {
+      String token = lock.acquire(keys, "locks", LOCK_EXPIRATION);
+      if (StringUtils.hasText(token)) {
+        return token;
+      }
+      try {
+        Thread.sleep(LOCK_RETRY_INTERVAL);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private static Integer getWorkflowLimit(WorkflowEntity workflow) {
+    WorkflowConcurrency concurrency = workflow != null ? workflow.getConcurrency() : null;
+    if (concurrency == null || concurrency.getMaxConcurrent() == null
+        || concurrency.getMaxConcurrent() <= 0) {
+      return null;
+    }
+    return concurrency.getMaxConcurrent();
+  }
+
+  /**
+   * The team limit is the concurrent workflows quota of the team, which only applies while
+   * workflow quotas are enabled.
+   */
+  private Integer getTeamLimit(String teamId) {
+    if (teamId == null
+        || !flowSettingsService.getConfiguration("features", "workflowQuotas").getBooleanValue()) {
+      return null;
+    }
+    return teamService.getMaxConcurrentWorkflows(teamId);
+  }
+
+  static int getPriority(String trigger) {
+    if (trigger == null || FlowTriggerEnum.manual.toString().equals(trigger)) {
+      return 2;
+    } else if (FlowTriggerEnum.scheduler.toString().equals(trigger)) {
+      return 0;
+    }
+    return 1;
+  }
+
+  private static Query byId(String id) {
+    return Query.query(Criteria.where("_id").is(id));
+  }
+
+  private static Query byAdmitted(ExecutionQueueEntity entry) {
+    return byId(entry.getId()).addCriteria(Criteria.where("admittedAt").is(entry.getAdmittedAt()));
+  }
+}
@@ -10,4 +10,12 @@ public interface ExecutionService {
   public FlowActivity executeWorkflow(String workflowId,
       Optional<String> trigger,
       Optional<FlowExecutionRequest> executionRequest, Optional<List<TaskWorkspace>> taskWorkspaces);
+
+  /**
+   * Executes the workflow once per idempotency key. Repeated requests with the same key return the
+   * activity of the first execution.
+   */
+  public FlowActivity executeWorkflow(String workflowId, Optional<String> trigger,
+      Optional<FlowExecutionRequest> executionRequest, Optional<List<TaskWorkspace>> taskWorkspaces,
+      Optional<String> idempotencyKey);
 }
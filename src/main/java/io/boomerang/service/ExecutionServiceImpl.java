@@ -2,13 +2,10 @@ package io.boomerang.service;
 
 import java.util.List;
 import java.util.Optional;
-import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.boomerang.error.BoomerangError;
 import io.boomerang.error.BoomerangException;
 import io.boomerang.model.FlowActivity;
@@ -16,12 +13,17 @@ import io.boomerang.model.FlowExecutionRequest;
 import io.boomerang.model.TaskExecutionResponse;
 import io.boomerang.model.controller.TaskWorkspace;
 import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.ExecutionDedupEntity;
 import io.boomerang.mongo.entity.RevisionEntity;
 import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.TaskStatus;
 import io.boomerang.mongo.model.WorkflowScope;
-import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.ExecutionDedupService;
+import io.boomerang.mongo.service.RevisionCache;
 import io.boomerang.service.crud.FlowActivityService;
 import io.boomerang.service.crud.WorkflowService;
+import io.boomerang.service.logging.PayloadLogger;
+import io.boomerang.service.logging.PayloadType;
 
 @Service
 public class ExecutionServiceImpl implements ExecutionService {
@@ -34,11 +36,47 @@ public class ExecutionServiceImpl implements ExecutionService {
   private FlowExecutionService flowExecutionService;
 
   @Autowired
-  private RevisionService flowRevisionService;
+  private RevisionCache revisionCache;
 
   @Autowired
   private WorkflowService workflowService;
 
+  @Autowired
+  private PayloadLogger payloadLogger;
+
+  @Autowired
+  private ExecutionDedupService executionDedupService;
+
+  @Autowired
+  private ExecutionQueueService executionQueueService;
+
+  @Override
+  public FlowActivity executeWorkflow(String workflowId, Optional<String> trigger,
+      Optional<FlowExecutionRequest> executionRequest, Optional<List<TaskWorkspace>> taskWorkspaces,
+      Optional<String> idempotencyKey) {
+    if (idempotencyKey.isEmpty() || idempotencyKey.get().isBlank()) {
+      return executeWorkflow(workflowId, trigger, executionRequest, taskWorkspaces);
+    }
+
+    final FlowActivity[] started = new FlowActivity[1];
+    String activityId = executionDedupService
+        .execute(ExecutionDedupEntity.requestKey(workflowId, idempotencyKey.get()), () -> {
+          started[0] = executeWorkflow(workflowId, trigger, executionRequest, taskWorkspaces);
+          return started[0] != null ? started[0].getId() : null;
+        });
+    if (started[0] != null || activityId == null) {
+      return started[0];
+    }
+
+    ActivityEntity activity = activityService.findWorkflowActivity(activityId);
+    if (activity == null) {
+      return null;
+    }
+    final FlowActivity response = new FlowActivity(activity);
+    response.setSteps(activityService.getTaskExecutions(activityId));
+    return response;
+  }
+
   @Override
   public FlowActivity executeWorkflow(String workflowId, Optional<String> trigger,
       Optional<FlowExecutionRequest> executionRequest,
@@ -53,9 +91,12 @@ public class ExecutionServiceImpl implements ExecutionService {
     } else if (WorkflowScope.team.equals(workflow.getScope()) 
         && !workflowService.canExecuteTeamWorkflow(workflow.getFlowTeamId())) {
         throw new BoomerangException(BoomerangError.WORKFLOW_TEAM_INACTIVE);
-    // Check if team quotas are exceeded if scope is of team
+    // Check if team quotas are exceeded if scope is of team, runs over the concurrent quota are
+    // queued when the start queue is enabled
     } else if (WorkflowScope.team.equals(workflow.getScope())
-        && !workflowService.canExecuteWorkflowForQuotas(workflow.getFlowTeamId())) {
+        && !(executionQueueService.isEnabled()
+            ? workflowService.canExecuteWorkflowForMonthlyQuota(workflow.getFlowTeamId())
+            : workflowService.canExecuteWorkflowForQuotas(workflow.getFlowTeamId()))) {
       throw new BoomerangException(BoomerangError.TOO_MANY_REQUESTS);
     } else if (WorkflowScope.user.equals(workflow.getScope())
         && !workflowService.canExecuteWorkflowForQuotasForUser(workflowId)) {
@@ -64,20 +105,27 @@ public class ExecutionServiceImpl implements ExecutionService {
         FlowExecutionRequest request = null;
         if (executionRequest.isPresent()) {
           request = executionRequest.get();
-          logPayload(request);
+          payloadLogger.log(PayloadType.EXECUTION_REQUEST, request);
         } else {
           request = new FlowExecutionRequest();
         }
 
-        final RevisionEntity entity = this.flowRevisionService.getLatestWorkflowVersion(workflowId);
+        final RevisionEntity entity = this.revisionCache.getLatestRevision(workflowId);
         if (entity != null) {
+          final boolean queued = executionQueueService.mustQueue(workflow);
           final ActivityEntity activity = activityService.createFlowActivity(entity.getId(),
-              trigger, request, taskWorkspaces, request.getLabels());
-          flowExecutionService.executeWorkflowVersion(entity.getId(), activity.getId());
+              trigger, request, taskWorkspaces, request.getLabels(),
+              queued ? TaskStatus.waiting : TaskStatus.inProgress);
+          if (queued) {
+            executionQueueService.enqueue(workflow, activity);
+          } else {
+            flowExecutionService.executeWorkflowVersion(entity.getId(), activity.getId());
+          }
 
           final List<TaskExecutionResponse> steps =
               activityService.getTaskExecutions(activity.getId());
-          final FlowActivity response = new FlowActivity(activity);
+          final FlowActivity response = new FlowActivity(
+              queued ? activityService.findWorkflowActivity(activity.getId()) : activity);
           response.setSteps(steps);
           return response;
         } else {
@@ -86,15 +134,4 @@ public class ExecutionServiceImpl implements ExecutionService {
         return null;
     }
   }
-
-  private void logPayload(FlowExecutionRequest request) {
-    try {
-      ObjectMapper objectMapper = new ObjectMapper();
-      String payload = objectMapper.writeValueAsString(request);
-      LOGGER.info("Received Request Payload: ");
-      LOGGER.info(payload);
-    } catch (JsonProcessingException e) {
-      LOGGER.error(ExceptionUtils.getStackTrace(e));
-    }
-  }
 }
@@ -6,4 +6,9 @@ public interface FeatureService {
   
   FlowFeatures getFlowFeatures();
 
+  /**
+   * Rebuilds the feature snapshot from the settings. Called after the settings are updated.
+   */
+  FlowFeatures refresh();
+
 }
@@ -2,52 +2,79 @@ package io.boomerang.service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import io.boomerang.model.FlowFeatures;
+import io.boomerang.mongo.entity.FlowSettingsEntity;
 import io.boomerang.mongo.model.Config;
 import io.boomerang.mongo.service.FlowSettingsService;
 
+/**
+ * Serves the feature flags from a snapshot that is built on first use and swapped when the
+ * settings change. The snapshot is also rebuilt periodically so that instances which did not
+ * handle the settings update pick up the change.
+ */
 @Service
 public class FeatureServiceImpl implements FeatureService {
 
+  private static final Logger LOGGER = LogManager.getLogger();
+
   private static final String VERIFIED_TASK_EDIT_KEY = "enable.verified.tasks.edit";
   @Autowired
   private FlowSettingsService settingsService;
 
+  private final AtomicReference<FlowFeatures> snapshot = new AtomicReference<>();
+
   @Override
   public FlowFeatures getFlowFeatures() {
-    FlowFeatures flowFeatures = new FlowFeatures();
+    FlowFeatures current = snapshot.get();
+    return current != null ? current : refresh();
+  }
+
+  @Override
+  public FlowFeatures refresh() {
+    FlowFeatures latest = buildFlowFeatures();
+    FlowFeatures previous = snapshot.getAndSet(latest);
+    if (previous != null && !previous.getVersion().equals(latest.getVersion())) {
+      LOGGER.info("Feature flags changed, version {} -> {}", previous.getVersion(),
+          latest.getVersion());
+    }
+    return latest;
+  }
+
+  @Scheduled(fixedDelayString = "${flow.features.refresh-interval:60000}")
+  public void scheduledRefresh() {
+    if (snapshot.get() == null) {
+      return;
+    }
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Unable to refresh the feature flags, keeping the current snapshot", e);
+    }
+  }
+
+  private FlowFeatures buildFlowFeatures() {
     Map<String, Object> features = new HashMap<>();
     Map<String, Object> quotas = new HashMap<>();
 
-    Config config = settingsService.getConfiguration("controller", "enable.tasks");
+    features.put(VERIFIED_TASK_EDIT_KEY, getVerifiedTaskEdit());
 
-    if (config != null) {
-      features.put(VERIFIED_TASK_EDIT_KEY, config.getBooleanValue());
-    } else {
-      features.put(VERIFIED_TASK_EDIT_KEY, false);
-    }
-    features.put("workflow.quotas",
-        settingsService.getConfiguration("features", "workflowQuotas").getBooleanValue());
-    features.put("workflow.triggers",
-        settingsService.getConfiguration("features", "workflowTriggers").getBooleanValue());
-    features.put("workflow.tokens",
-        settingsService.getConfiguration("features", "workflowTokens").getBooleanValue());
-    features.put("team.parameters",
-        settingsService.getConfiguration("features", "teamParameters").getBooleanValue());
-    features.put("global.parameters",
-        settingsService.getConfiguration("features", "globalParameters").getBooleanValue());
-    features.put("team.management",
-        settingsService.getConfiguration("features", "teamManagement").getBooleanValue());
-    features.put("user.management",
-        settingsService.getConfiguration("features", "userManagement").getBooleanValue());
-    features.put("activity",
-        settingsService.getConfiguration("features", "activity").getBooleanValue());
-    features.put("insights",
-        settingsService.getConfiguration("features", "insights").getBooleanValue());
-    features.put("team.tasks",
-        settingsService.getConfiguration("features", "teamTasks").getBooleanValue());
+    FlowSettingsEntity featureSettings = settingsService.getConfigurationByKey("features");
+    features.put("workflow.quotas", getBooleanValue(featureSettings, "workflowQuotas"));
+    features.put("workflow.triggers", getBooleanValue(featureSettings, "workflowTriggers"));
+    features.put("workflow.tokens", getBooleanValue(featureSettings, "workflowTokens"));
+    features.put("team.parameters", getBooleanValue(featureSettings, "teamParameters"));
+    features.put("global.parameters", getBooleanValue(featureSettings, "globalParameters"));
+    features.put("team.management", getBooleanValue(featureSettings, "teamManagement"));
+    features.put("user.management", getBooleanValue(featureSettings, "userManagement"));
+    features.put("activity", getBooleanValue(featureSettings, "activity"));
+    features.put("insights", getBooleanValue(featureSettings, "insights"));
+    features.put("team.tasks", getBooleanValue(featureSettings, "teamTasks"));
 
     quotas.put("maxActivityStorageSize", settingsService
         .getConfiguration("activity", "max.storage.size").getValue().replace("Gi", ""));
@@ -55,9 +82,18 @@ public class FeatureServiceImpl implements FeatureService {
     quotas.put("maxWorkflowStorageSize", settingsService
         .getConfiguration("workflow", "max.storage.size").getValue().replace("Gi", ""));
 
-    flowFeatures.setFeatures(features);
-    flowFeatures.setQuotas(quotas);
-    return flowFeatures;
+    return new FlowFeatures(features, quotas);
   }
 
+  private boolean getVerifiedTaskEdit() {
+    Config config = settingsService.getConfiguration("controller", "enable.tasks");
+    return config != null && config.getBooleanValue();
+  }
+
+  private boolean getBooleanValue(FlowSettingsEntity settings, String name) {
+    return settings.getConfig().stream().filter(c -> name.equals(c.getKey())).findFirst()
+        .orElseThrow(
+            () -> new IllegalArgumentException("Unable to find configuration object: " + name))
+        .getBooleanValue();
+  }
 }
@@ -1,13 +1,13 @@
 package io.boomerang.service;
 
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
@@ -38,9 +38,10 @@ import io.boomerang.mongo.model.TaskType;
 import io.boomerang.mongo.model.internal.InternalTaskRequest;
 import io.boomerang.mongo.model.next.DAGTask;
 import io.boomerang.mongo.model.next.Dependency;
-import io.boomerang.mongo.service.FlowTaskTemplateService;
 import io.boomerang.mongo.service.FlowWorkflowActivityService;
-import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.RevisionCache;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
+import io.boomerang.opentracing.FlowTracing;
 import io.boomerang.service.crud.FlowActivityService;
 import io.boomerang.service.crud.WorkflowService;
 import io.boomerang.service.refactor.DAGUtility;
@@ -56,17 +57,14 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
   private FlowActivityService flowActivityService;
 
   @Autowired
-  private RevisionService flowRevisionService;
+  private RevisionCache revisionCache;
   @Autowired
   private TaskService taskService;
 
 
 
   @Autowired
-  private FlowTaskTemplateService taskTemplateService;
-
-  @Autowired
-  private FlowTaskTemplateService templateService;
+  private TaskTemplateCatalog templateCatalog;
 
   @Autowired
   private FlowWorkflowActivityService activityService;
@@ -83,6 +81,9 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
   @Autowired
   private ControllerClient controllerClient;
 
+  @Autowired
+  private FlowTracing flowTracing;
+
   private static final Logger LOGGER = LogManager.getLogger(FlowExecutionServiceImpl.class);
 
   private List<Task> createTaskList(RevisionEntity revisionEntity) { // NOSONAR
@@ -103,26 +104,15 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
       if (dagTask.getType() == TaskType.script || dagTask.getType() == TaskType.template
           || dagTask.getType() == TaskType.customtask) {
         String templateId = dagTask.getTemplateId();
-        final FlowTaskTemplateEntity flowTaskTemplate =
-            templateService.getTaskTemplateWithId(templateId);
+        final FlowTaskTemplateEntity flowTaskTemplate = templateCatalog.getTemplate(templateId);
         newTask.setTemplateId(flowTaskTemplate.getId());
 
         Integer templateVersion = dagTask.getTemplateVersion();
-        List<Revision> revisions = flowTaskTemplate.getRevisions();
-        if (revisions != null) {
-          Optional<Revision> result = revisions.stream().parallel()
-              .filter(revision -> revision.getVersion().equals(templateVersion)).findAny();
-          if (result.isPresent()) {
-            Revision revision = result.get();
+        if (flowTaskTemplate.getRevisions() != null) {
+          Revision revision = templateCatalog.getRevisionOrLatest(templateId, templateVersion);
+          if (revision != null) {
             newTask.setRevision(revision);
             newTask.setResults(revision.getResults());
-          } else {
-            Optional<Revision> latestRevision = revisions.stream()
-                .sorted(Comparator.comparingInt(Revision::getVersion).reversed()).findFirst();
-            if (latestRevision.isPresent()) {
-              newTask.setRevision(latestRevision.get());
-              newTask.setResults(newTask.getRevision().getResults());
-            }
           }
         } else {
           throw new IllegalArgumentException("Invalid task template selected: " + templateId);
@@ -165,16 +155,19 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
 
     final ActivityEntity activityEntity = activityService.findWorkflowActivtyById(activityId);
 
-    boolean validWorkflow = dagUtility.validateWorkflow(activityEntity);
+    flowTracing.inSpan("activity.plan", activityEntity, () -> {
+      boolean validWorkflow =
+          flowTracing.inSpan("dag.evaluate", () -> dagUtility.validateWorkflow(activityEntity));
 
-    if (!validWorkflow) {
-      activityEntity.setStatus(TaskStatus.invalid);
-      activityEntity.setStatusMessage("Failed to run workflow: Incomplete workflow");
-      activityService.saveWorkflowActivity(activityEntity);
-      throw new InvalidWorkflowRuntimeException();
-    }
+      if (!validWorkflow) {
+        activityEntity.setStatus(TaskStatus.invalid);
+        activityEntity.setStatusMessage("Failed to run workflow: Incomplete workflow");
+        activityService.saveWorkflowActivity(activityEntity);
+        throw new InvalidWorkflowRuntimeException();
+      }
 
-    createTaskPlan(tasks, activityId, start, end, graph);
+      createTaskPlan(tasks, activityId, start, end, graph);
+    });
   }
 
 
@@ -183,11 +176,13 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
 
     final List<String> nodes =
         GraphProcessor.createOrderedTaskList(graph, start.getTaskId(), end.getTaskId());
+    final Map<String, Task> tasksById = new HashMap<>();
+    for (final Task task : tasks) {
+      tasksById.putIfAbsent(task.getTaskId(), task);
+    }
     final List<Task> tasksToRun = new LinkedList<>();
     for (final String node : nodes) {
-      final Task taskToAdd =
-          tasks.stream().filter(tsk -> node.equals(tsk.getTaskId())).findAny().orElse(null);
-      tasksToRun.add(taskToAdd);
+      tasksToRun.add(tasksById.get(node));
     }
 
     long order = 1;
@@ -204,7 +199,7 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
 
       if (task.getTemplateId() != null) {
         final FlowTaskTemplateEntity taskTemplateEntity =
-            taskTemplateService.getTaskTemplateWithId(task.getTemplateId());
+            templateCatalog.getTemplate(task.getTemplateId());
         taskExecution.setTemplateId(taskTemplateEntity.getId());
         taskExecution.setTemplateRevision(task.getRevision().getVersion());
       }
@@ -297,11 +292,9 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
 
     try {
       List<Task> nextNodes = this.getTasksDependants(tasks, currentTask);
+      final Set<String> nodes = new HashSet<>(
+          GraphProcessor.createOrderedTaskList(graph, start.getTaskId(), end.getTaskId()));
       for (Task next : nextNodes) {
-
-        final List<String> nodes =
-            GraphProcessor.createOrderedTaskList(graph, start.getTaskId(), end.getTaskId());
-
         if (nodes.contains(next.getTaskId())) {
           InternalTaskRequest taskRequest = new InternalTaskRequest();
           taskRequest.setActivityId(next.getTaskActivityId());
@@ -322,10 +315,10 @@ public class FlowExecutionServiceImpl implements FlowExecutionService {
 
   @Override
   public CompletableFuture<Boolean> executeWorkflowVersion(String workFlowId, String activityId) {
-    final RevisionEntity entity = this.flowRevisionService.getWorkflowlWithId(workFlowId);
+    final RevisionEntity entity = this.revisionCache.getRevision(workFlowId);
     final List<Task> tasks = createTaskList(entity);
     prepareExecution(tasks, activityId);
-    return CompletableFuture.supplyAsync(createProcess(activityId, tasks));
+    return CompletableFuture.supplyAsync(flowTracing.wrap(createProcess(activityId, tasks)));
   }
 
   private Supplier<Boolean> createProcess(String activityId, List<Task> tasks) {
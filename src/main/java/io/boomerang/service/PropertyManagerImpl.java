@@ -20,7 +20,6 @@ import io.boomerang.model.WorkflowSummary;
 import io.boomerang.model.WorkflowToken;
 import io.boomerang.mongo.entity.ActivityEntity;
 import io.boomerang.mongo.entity.FlowGlobalConfigEntity;
-import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
 import io.boomerang.mongo.entity.FlowTeamConfiguration;
 import io.boomerang.mongo.entity.RevisionEntity;
 import io.boomerang.mongo.entity.TaskExecutionEntity;
@@ -36,9 +35,10 @@ import io.boomerang.mongo.model.next.DAGTask;
 import io.boomerang.mongo.service.ActivityTaskService;
 import io.boomerang.mongo.service.FlowGlobalConfigService;
 import io.boomerang.mongo.service.FlowSettingsService;
-import io.boomerang.mongo.service.FlowTaskTemplateService;
 import io.boomerang.mongo.service.FlowTeamService;
-import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.RevisionCache;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
+import io.boomerang.opentracing.FlowTracing;
 import io.boomerang.service.crud.FlowActivityService;
 import io.boomerang.service.crud.WorkflowService;
 import io.boomerang.service.refactor.ControllerRequestProperties;
@@ -50,7 +50,7 @@ public class PropertyManagerImpl implements PropertyManager {
   private FlowSettingsService flowSettingsService;
 
   @Autowired
-  private RevisionService revisionService;
+  private RevisionCache revisionCache;
 
   @Autowired
   private WorkflowService workflowService;
@@ -68,7 +68,10 @@ public class PropertyManagerImpl implements PropertyManager {
   private FlowGlobalConfigService flowGlobalConfigService;
 
   @Autowired
-  private FlowTaskTemplateService flowTaskTemplateService;
+  private TaskTemplateCatalog templateCatalog;
+
+  @Autowired
+  private FlowTracing flowTracing;
 
   @Value("${flow.services.listener.webhook.url}")
   private String webhookUrl;
@@ -87,6 +90,12 @@ public class PropertyManagerImpl implements PropertyManager {
   @Override
   public ControllerRequestProperties buildRequestPropertyLayering(Task task, String activityId,
       String workflowId) {
+    return flowTracing.inSpan("properties.resolve",
+        () -> buildPropertyLayers(task, activityId, workflowId));
+  }
+
+  private ControllerRequestProperties buildPropertyLayers(Task task, String activityId,
+      String workflowId) {
     ControllerRequestProperties applicationProperties = new ControllerRequestProperties();
     Map<String, String> systemProperties = applicationProperties.getSystemProperties();
     Map<String, String> globalProperties = applicationProperties.getGlobalProperties();
@@ -151,7 +160,8 @@ public class PropertyManagerImpl implements PropertyManager {
   }
 
   private String getInputForTaskKey(Task task, String revisionId, String key) {
-    Optional<RevisionEntity> revisionOptional = revisionService.getRevision(revisionId);
+    Optional<RevisionEntity> revisionOptional =
+        Optional.ofNullable(revisionCache.getRevision(revisionId));
     if (revisionOptional.isPresent()) {
       RevisionEntity revision = revisionOptional.get();
       Dag dag = revision.getDag();
@@ -176,7 +186,8 @@ public class PropertyManagerImpl implements PropertyManager {
 
 
   private List<TaskTemplateConfig> getInputsForTask(Task task, String revisionId) {
-    Optional<RevisionEntity> revisionOptional = revisionService.getRevision(revisionId);
+    Optional<RevisionEntity> revisionOptional =
+        Optional.ofNullable(revisionCache.getRevision(revisionId));
     if (revisionOptional.isPresent()) {
       RevisionEntity revision = revisionOptional.get();
       Dag dag = revision.getDag();
@@ -187,18 +198,9 @@ public class PropertyManagerImpl implements PropertyManager {
         if (dagTask != null) {
           String templateId = dagTask.getTemplateId();
           Integer templateVersion = dagTask.getTemplateVersion();
-          FlowTaskTemplateEntity taskTemplate =
-              flowTaskTemplateService.getTaskTemplateWithId(templateId);
-
-          if (taskTemplate != null) {
-            List<Revision> revisions = taskTemplate.getRevisions();
-            if (revisions != null) {
-              Revision rev = revisions.stream().filter(e -> e.getVersion().equals(templateVersion))
-                  .findFirst().orElse(null);
-              if (rev != null && rev.getConfig() != null) {
-                return rev.getConfig();
-              }
-            }
+          Revision rev = templateCatalog.getRevision(templateId, templateVersion);
+          if (rev != null && rev.getConfig() != null) {
+            return rev.getConfig();
           }
         }
       }
@@ -251,7 +253,7 @@ public class PropertyManagerImpl implements PropertyManager {
     if (activityId != null) {
       ActivityEntity activity = activityService.findWorkflowActivity(activityId);
       RevisionEntity revision =
-          revisionService.getWorkflowlWithId(activity.getWorkflowRevisionid());
+          revisionCache.getRevision(activity.getWorkflowRevisionid());
 
       if (revision != null) {
         systemProperties.put("workflow-version", Long.toString(revision.getVersion()));
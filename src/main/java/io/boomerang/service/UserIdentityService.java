@@ -1,6 +1,8 @@
 package io.boomerang.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import io.boomerang.client.model.UserProfile;
@@ -20,6 +22,12 @@ public interface UserIdentityService {
   public FlowUserEntity getCurrentUser();
 
   public FlowUserEntity getUserByID(String userId);
+
+  /**
+   * Resolves several users at once, keyed by user id. Unknown ids are absent from the result.
+   */
+  Map<String, FlowUserEntity> getUsersByIds(Collection<String> userIds);
+
   public FlowUserProfile getFullUserProfile(String userId);
 
   UserQueryResult getUserViaSearchTerm(String searchTerm, Pageable pageable);
@@ -1,8 +1,16 @@
 package io.boomerang.service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import io.boomerang.client.ExternalUserService;
 import io.boomerang.client.model.UserProfile;
 import io.boomerang.model.FlowUser;
@@ -36,6 +45,8 @@ import io.boomerang.service.crud.WorkflowService;
 @Service
 public class UserIdentityServiceImpl implements UserIdentityService {
 
+  private static final Logger LOGGER = LogManager.getLogger();
+
   @Value("${flow.externalUrl.user}")
   private String flowExternalUrlUser;
 
@@ -57,6 +68,27 @@ public class UserIdentityServiceImpl implements UserIdentityService {
   @Autowired
   private TeamService flowTeamService;
 
+  @Value("${flow.users.lookup.cache.ttl:300000}")
+  private long userLookupCacheTtl;
+
+  @Value("${flow.users.lookup.cache.max-entries:1000}")
+  private int userLookupCacheMaxEntries;
+
+  /**
+   * Least recently used users looked up from the external user service. Failed lookups are not
+   * cached so that a user that cannot be found yet is looked up again.
+   */
+  private final Map<String, CachedUser> externalUserCache =
+      new LinkedHashMap<String, CachedUser>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+          return size() > userLookupCacheMaxEntries;
+        }
+      };
+
   @Override
   public FlowUserEntity getCurrentUser() {
     if (flowExternalUrlUser.isBlank()) {
@@ -122,6 +154,53 @@ public class UserIdentityServiceImpl implements UserIdentityService {
     return null;
   }
   
+  @Override
+  public Map<String, FlowUserEntity> getUsersByIds(Collection<String> userIds) {
+    Map<String, FlowUserEntity> users = new HashMap<>();
+    Set<String> ids = new HashSet<>(userIds);
+    ids.remove(null);
+    if (ids.isEmpty()) {
+      return users;
+    }
+    if (flowExternalUrlUser.isBlank()) {
+      for (FlowUserEntity flowUser : flowUserService.getUsersByIds(ids)) {
+        FlowUserEntity profile = new FlowUserEntity();
+        BeanUtils.copyProperties(flowUser, profile);
+        users.put(profile.getId(), profile);
+      }
+      return users;
+    }
+
+    long now = System.currentTimeMillis();
+    for (String userId : ids) {
+      CachedUser cached;
+      synchronized (externalUserCache) {
+        cached = externalUserCache.get(userId);
+      }
+      if (cached == null || now - cached.loadedAt >= userLookupCacheTtl) {
+        FlowUserEntity user = null;
+        try {
+          user = getUserByID(userId);
+        } catch (RestClientException e) {
+          LOGGER.warn("Unable to look up user {}: {}", userId, e.getMessage());
+        }
+        synchronized (externalUserCache) {
+          if (user != null) {
+            externalUserCache.put(userId, new CachedUser(user, now));
+          } else {
+            externalUserCache.remove(userId);
+          }
+        }
+        if (user != null) {
+          users.put(userId, user);
+        }
+      } else {
+        users.put(userId, cached.user);
+      }
+    }
+    return users;
+  }
+
   @Override
   public FlowUserEntity getUserByEmail(String userEmail) {
     FlowUserEntity flowUser = flowUserService.getUserWithEmail(userEmail);
@@ -329,4 +408,15 @@ public class UserIdentityServiceImpl implements UserIdentityService {
       flowUser.setUserTeams(flowTeamService.getUsersTeamListing(flowUser));
     }
   }
+
+  private static final class CachedUser {
+
+    private final FlowUserEntity user;
+    private final long loadedAt;
+
+    CachedUser(FlowUserEntity user, long loadedAt) {
+      this.user = user;
+      this.loadedAt = loadedAt;
+    }
+  }
 }
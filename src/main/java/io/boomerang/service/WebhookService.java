@@ -1,5 +1,6 @@
 package io.boomerang.service;
 
+import java.util.Optional;
 import org.springframework.http.ResponseEntity;
 import io.boomerang.model.FlowActivity;
 import io.boomerang.model.FlowWebhookResponse;
@@ -8,7 +9,8 @@ import io.boomerang.model.RequestFlowExecution;
 public interface WebhookService {
   public FlowActivity getFlowActivity( String activityId);
 
-  public FlowWebhookResponse submitWebhookEvent(RequestFlowExecution request);
+  public FlowWebhookResponse submitWebhookEvent(RequestFlowExecution request,
+      Optional<String> idempotencyKey);
 
   public ResponseEntity<FlowActivity> terminateActivity(String activityId);
 
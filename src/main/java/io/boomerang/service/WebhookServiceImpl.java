@@ -11,9 +11,11 @@ import io.boomerang.model.FlowExecutionRequest;
 import io.boomerang.model.FlowWebhookResponse;
 import io.boomerang.model.RequestFlowExecution;
 import io.boomerang.model.controller.TaskWorkspace;
+import io.boomerang.mongo.entity.ExecutionDedupEntity;
 import io.boomerang.mongo.entity.WorkflowEntity;
 import io.boomerang.mongo.model.FlowTriggerEnum;
 import io.boomerang.mongo.model.WorkflowScope;
+import io.boomerang.mongo.service.ExecutionDedupService;
 import io.boomerang.mongo.service.FlowWorkflowActivityService;
 import io.boomerang.mongo.service.FlowWorkflowService;
 
@@ -33,8 +35,12 @@ public class WebhookServiceImpl implements WebhookService {
   @Autowired
   private FlowWorkflowActivityService activityService;
 
+  @Autowired
+  private ExecutionDedupService executionDedupService;
+
   @Override
-  public FlowWebhookResponse submitWebhookEvent(RequestFlowExecution request) {
+  public FlowWebhookResponse submitWebhookEvent(RequestFlowExecution request,
+      Optional<String> idempotencyKey) {
 
     String workflowId = request.getWorkflowId();
 
@@ -46,40 +52,53 @@ public class WebhookServiceImpl implements WebhookService {
       }
     }
 
+    FlowWebhookResponse response = new FlowWebhookResponse();
+    if (workflowId == null) {
+      return response;
+    }
+
+    final String id = workflowId;
+    if (idempotencyKey.isPresent() && !idempotencyKey.get().isBlank()) {
+      response.setActivityId(executionDedupService.execute(
+          ExecutionDedupEntity.requestKey(workflowId, idempotencyKey.get()),
+          () -> startWorkflow(id, request)));
+    } else {
+      response.setActivityId(startWorkflow(id, request));
+    }
+    return response;
+  }
+
+  private String startWorkflow(String workflowId, RequestFlowExecution request) {
     FlowExecutionRequest executionRequest = new FlowExecutionRequest();
     executionRequest.setProperties(request.getProperties());
     executionRequest.setApplyQuotas(request.isApplyQuotas());
-    
+
     Optional<List<TaskWorkspace>> workspaces = Optional.empty();
 
     if (request.getTaskWorkspaces() != null) {
       workspaces = Optional.of(request.getTaskWorkspaces());
 
     }
-    FlowActivity activity = null;
-    if (workflowId != null) {
-      activity = executionService.executeWorkflow(workflowId,
-          Optional.of(FlowTriggerEnum.webhook.toString()), Optional.of(executionRequest),
-          workspaces);
+    FlowActivity activity = executionService.executeWorkflow(workflowId,
+        Optional.of(FlowTriggerEnum.webhook.toString()), Optional.of(executionRequest),
+        workspaces);
+    if (activity == null) {
+      return null;
     }
-    FlowWebhookResponse response = new FlowWebhookResponse();
-    if (activity != null) {
-      response.setActivityId(activity.getId());
-      WorkflowEntity workflow = flowWorkflowService.getWorkflow(workflowId);
-      
-      if (workflow.getScope() == WorkflowScope.team) {
-        activity.setTeamId(workflow.getFlowTeamId());
-        activity.setScope(WorkflowScope.team);
-      } else if (workflow.getScope() == WorkflowScope.user) {
-        activity.setUserId(workflow.getOwnerUserId());
-        activity.setScope(WorkflowScope.user);
-      } else {
-        activity.setScope(WorkflowScope.system);
-      }
-      
-      activityService.saveWorkflowActivity(activity);
+    WorkflowEntity workflow = flowWorkflowService.getWorkflow(workflowId);
+
+    if (workflow.getScope() == WorkflowScope.team) {
+      activity.setTeamId(workflow.getFlowTeamId());
+      activity.setScope(WorkflowScope.team);
+    } else if (workflow.getScope() == WorkflowScope.user) {
+      activity.setUserId(workflow.getOwnerUserId());
+      activity.setScope(WorkflowScope.user);
+    } else {
+      activity.setScope(WorkflowScope.system);
     }
-    return response;
+
+    activityService.saveWorkflowActivity(activity);
+    return activity.getId();
   }
 
   @Override
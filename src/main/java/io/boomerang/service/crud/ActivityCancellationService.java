@@ -0,0 +1,23 @@
+package io.boomerang.service.crud;
+
+import java.util.Collection;
+import io.boomerang.model.BulkCancelRequest;
+import io.boomerang.model.BulkCancelStatus;
+import io.boomerang.mongo.model.ErrorResponse;
+
+public interface ActivityCancellationService {
+
+  /**
+   * Cancels the given activities on the calling thread.
+   */
+  BulkCancelStatus cancel(Collection<String> activityIds, ErrorResponse error);
+
+  /**
+   * Starts cancelling the activities selected by the request in the background.
+   *
+   * @return the initial progress, whose id can be passed to {@link #getStatus(String)}
+   */
+  BulkCancelStatus submit(BulkCancelRequest request);
+
+  BulkCancelStatus getStatus(String id);
+}
@@ -0,0 +1,280 @@
+package io.boomerang.service.crud;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import io.boomerang.model.BulkCancelRequest;
+import io.boomerang.model.BulkCancelStatus;
+import io.boomerang.model.Task;
+import io.boomerang.model.TeamWorkflowSummary;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.FlowUserEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.ErrorResponse;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.mongo.model.UserType;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.mongo.service.FlowWorkflowService;
+import io.boomerang.opentracing.FlowTracing;
+import io.boomerang.service.UserIdentityService;
+import io.boomerang.service.runner.misc.ControllerClient;
+
+/**
+ * Cancels activities in batches. Each batch marks its activities and their unfinished task
+ * executions as cancelled with one update per collection, and terminates the running controller
+ * tasks concurrently on a pool bounded by {@code flow.activity.cancel.parallelism}.
+ */
+@Service
+public class ActivityCancellationServiceImpl implements ActivityCancellationService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  @Value("${flow.activity.cancel.parallelism:20}")
+  private int parallelism;
+
+  @Value("${flow.activity.cancel.batch-size:100}")
+  private int batchSize;
+
+  @Value("${flow.activity.cancel.status-retention:3600000}")
+  private long statusRetention;
+
+  @Autowired
+  private FlowWorkflowActivityService activityService;
+
+  @Autowired
+  private ActivityTaskService taskService;
+
+  @Autowired
+  private FlowWorkflowService workflowService;
+
+  @Autowired
+  @Lazy
+  private ControllerClient controllerClient;
+
+  @Autowired
+  @Qualifier("flowAsyncExecutor")
+  private Executor jobExecutor;
+
+  @Autowired
+  private FlowTracing flowTracing;
+
+  @Autowired
+  private UserIdentityService userIdentityService;
+
+  @Autowired
+  private TeamService teamService;
+
+  private ExecutorService terminationExecutor;
+
+  private final Map<String, BulkCancelStatus> jobs = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  void init() {
+    terminationExecutor = Executors.newFixedThreadPool(parallelism,
+        new CustomizableThreadFactory("activityCancel-"));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    terminationExecutor.shutdownNow();
+  }
+
+  @Override
+  public BulkCancelStatus cancel(Collection<String> activityIds, ErrorResponse error) {
+    BulkCancelStatus status = newStatus(activityIds.size());
+    run(status, new ArrayList<>(activityIds), error);
+    return snapshot(status);
+  }
+
+  @Override
+  public BulkCancelStatus submit(BulkCancelRequest request) {
+    List<String> activityIds;
+    if (request.getActivityIds() != null && !request.getActivityIds().isEmpty()) {
+      activityIds = new ArrayList<>(new LinkedHashSet<>(request.getActivityIds()));
+    } else if ((request.getWorkflowIds() != null && !request.getWorkflowIds().isEmpty())
+        || (request.getTeamIds() != null && !request.getTeamIds().isEmpty())) {
+      activityIds =
+          activityService.findInFlightActivityIds(request.getWorkflowIds(), request.getTeamIds());
+    } else {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "Specify activityIds, workflowIds or teamIds");
+    }
+
+    List<String> permittedIds = filterPermitted(activityIds);
+    removeExpiredStatuses();
+    BulkCancelStatus status = newStatus(permittedIds.size());
+    jobs.put(status.getId(), status);
+    jobExecutor.execute(() -> run(status, permittedIds, null));
+    return snapshot(status);
+  }
+
+  @Override
+  public BulkCancelStatus getStatus(String id) {
+    BulkCancelStatus status = jobs.get(id);
+    return status != null ? snapshot(status) : null;
+  }
+
+  /**
+   * Keeps the activities the current user may cancel: those of the user's teams, or of all teams
+   * for admins and operators, as {@code GET /activity/{activityId}} checks, plus the user's own
+   * user scoped activities.
+   */
+  private List<String> filterPermitted(List<String> activityIds) {
+    final FlowUserEntity user = userIdentityService.getCurrentUser();
+    if (user == null || activityIds.isEmpty()) {
+      return activityIds;
+    }
+    if (user.getType().equals(UserType.admin) || user.getType().equals(UserType.operator)) {
+      return activityIds;
+    }
+    List<String> teamIdList = teamService.getUserTeams(user).stream()
+        .map(TeamWorkflowSummary::getId).collect(Collectors.toList());
+    List<String> permittedIds = new ArrayList<>();
+    for (int from = 0; from < activityIds.size(); from += batchSize) {
+      for (ActivityEntity activity : activityService.findWorkflowActivitiesByIds(
+          activityIds.subList(from, Math.min(from + batchSize, activityIds.size())))) {
+        if (activity.getTeamId() != null ? teamIdList.contains(activity.getTeamId())
+            : user.getId().equals(activity.getUserId())) {
+          permittedIds.add(activity.getId());
+        }
+      }
+    }
+    if (permittedIds.size() < activityIds.size()) {
+      LOGGER.info("Skipping {} activities user {} may not cancel",
+          activityIds.size() - permittedIds.size(), user.getId());
+    }
+    return permittedIds;
+  }
+
+  private void run(BulkCancelStatus status, List<String> activityIds, ErrorResponse error) {
+    try {
+      for (int from = 0; from < activityIds.size(); from += batchSize) {
+        cancelBatch(status,
+            activityIds.subList(from, Math.min(from + batchSize, activityIds.size())), error);
+      }
+      finish(status, BulkCancelStatus.State.completed);
+    } catch (RuntimeException e) {
+      LOGGER.error("Bulk cancellation {} failed", status.getId(), e);
+      finish(status, BulkCancelStatus.State.failed);
+    }
+  }
+
+  private void cancelBatch(BulkCancelStatus status, List<String> batch, ErrorResponse error) {
+    List<ActivityEntity> activities = activityService.findWorkflowActivitiesByIds(batch);
+    if (activities.isEmpty()) {
+      return;
+    }
+    List<String> activityIds =
+        activities.stream().map(ActivityEntity::getId).collect(Collectors.toList());
+    activityService.cancelActivities(activityIds, error);
+
+    Map<String, WorkflowEntity> workflows = workflowService
+        .getWorkflowsByIds(activities.stream().map(ActivityEntity::getWorkflowId)
+            .collect(Collectors.toSet()))
+        .stream().collect(Collectors.toMap(WorkflowEntity::getId, Function.identity()));
+
+    List<CompletableFuture<Boolean>> terminations = new ArrayList<>();
+    for (TaskExecutionEntity taskExecution : taskService
+        .findTaskActivitiesForActivities(activityIds)) {
+      if ((taskExecution.getTaskType() == TaskType.customtask
+          || taskExecution.getTaskType() == TaskType.script
+          || taskExecution.getTaskType() == TaskType.template)
+          && taskExecution.getFlowTaskStatus() == TaskStatus.inProgress) {
+        WorkflowEntity workflow = workflows.get(taskExecution.getWorkflowId());
+        Task task = new Task();
+        task.setTaskId(taskExecution.getTaskId());
+        task.setTaskName(taskExecution.getTaskName());
+        task.setWorkflowId(taskExecution.getWorkflowId());
+        task.setWorkflowName(workflow != null ? workflow.getName() : null);
+        task.setTaskActivityId(taskExecution.getId());
+        terminations.add(CompletableFuture
+            .supplyAsync(flowTracing.wrap(() -> controllerClient.terminateTask(task)),
+                terminationExecutor)
+            .exceptionally(e -> {
+              LOGGER.error("Unable to terminate task {}", task.getTaskActivityId(), e);
+              return false;
+            }));
+      }
+    }
+    CompletableFuture.allOf(terminations.toArray(new CompletableFuture[terminations.size()]))
+        .join();
+    int terminated = (int) terminations.stream().filter(CompletableFuture::join).count();
+
+    long cancelledTasks = taskService.cancelTasks(activityIds);
+
+    synchronized (status) {
+      status.setCancelledActivities(status.getCancelledActivities() + activityIds.size());
+      status.setCancelledTasks(status.getCancelledTasks() + cancelledTasks);
+      status.setTerminatedTasks(status.getTerminatedTasks() + terminated);
+      status.setFailedTerminations(
+          status.getFailedTerminations() + terminations.size() - terminated);
+    }
+  }
+
+  private BulkCancelStatus newStatus(int total) {
+    BulkCancelStatus status = new BulkCancelStatus();
+    status.setId(UUID.randomUUID().toString());
+    status.setState(BulkCancelStatus.State.running);
+    status.setTotalActivities(total);
+    status.setStartTime(new Date());
+    return status;
+  }
+
+  private void finish(BulkCancelStatus status, BulkCancelStatus.State state) {
+    synchronized (status) {
+      status.setState(state);
+      status.setEndTime(new Date());
+    }
+  }
+
+  private BulkCancelStatus snapshot(BulkCancelStatus status) {
+    BulkCancelStatus copy = new BulkCancelStatus();
+    synchronized (status) {
+      copy.setId(status.getId());
+      copy.setState(status.getState());
+      copy.setTotalActivities(status.getTotalActivities());
+      copy.setCancelledActivities(status.getCancelledActivities());
+      copy.setCancelledTasks(status.getCancelledTasks());
+      copy.setTerminatedTasks(status.getTerminatedTasks());
+      copy.setFailedTerminations(status.getFailedTerminations());
+      copy.setStartTime(status.getStartTime());
+      copy.setEndTime(status.getEndTime());
+    }
+    return copy;
+  }
+
+  private void removeExpiredStatuses() {
+    long expiry = System.currentTimeMillis() - statusRetention;
+    jobs.values().removeIf(status -> {
+      synchronized (status) {
+        return status.getEndTime() != null && status.getEndTime().getTime() < expiry;
+      }
+    });
+  }
+}
@@ -11,6 +11,7 @@ import io.boomerang.mongo.entity.FlowSettingsEntity;
 import io.boomerang.mongo.model.Config;
 import io.boomerang.mongo.model.ConfigurationType;
 import io.boomerang.mongo.service.FlowSettingsService;
+import io.boomerang.service.FeatureService;
 import io.boomerang.util.DateUtil;
 
 @Service
@@ -19,6 +20,9 @@ public class ConfigurationServiceImpl implements ConfigurationService {
   @Autowired
   private FlowSettingsService serviceSettings;
 
+  @Autowired
+  private FeatureService featureService;
+
   @Override
   public List<FlowSettings> getAllSettings() {
   
@@ -44,6 +48,7 @@ public class ConfigurationServiceImpl implements ConfigurationService {
 
       serviceSettings.updateConfiguration(entity);
     }
+    featureService.refresh();
 
     return this.getAllSettings();
   }
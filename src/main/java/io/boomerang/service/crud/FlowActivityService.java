@@ -17,11 +17,13 @@ import io.boomerang.mongo.entity.FlowUserEntity;
 import io.boomerang.mongo.entity.TaskExecutionEntity;
 import io.boomerang.mongo.model.ErrorResponse;
 import io.boomerang.mongo.model.KeyValuePair;
+import io.boomerang.mongo.model.TaskStatus;
 
 public interface FlowActivityService {
 
   ActivityEntity createFlowActivity(String workflowVersionId,
-      Optional<String> trigger, FlowExecutionRequest request, Optional<List<TaskWorkspace>> taskWorkspaces, List<KeyValuePair> list);
+      Optional<String> trigger, FlowExecutionRequest request, Optional<List<TaskWorkspace>> taskWorkspaces, List<KeyValuePair> list,
+      TaskStatus status);
 
   ActivityEntity findWorkflowActivity(String id);
 
@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -31,7 +31,6 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
@@ -73,18 +72,19 @@ import io.boomerang.mongo.model.TaskTemplateConfig;
 import io.boomerang.mongo.model.TaskType;
 import io.boomerang.mongo.model.WorkflowScope;
 import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.service.ActivityArchiveService;
 import io.boomerang.mongo.service.ActivityTaskService;
 import io.boomerang.mongo.service.FlowSettingsService;
-import io.boomerang.mongo.service.FlowTaskTemplateService;
 import io.boomerang.mongo.service.FlowWorkflowActivityService;
 import io.boomerang.mongo.service.FlowWorkflowService;
-import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.RevisionCache;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
+import io.boomerang.opentracing.FlowTracing;
 import io.boomerang.service.ActionService;
 import io.boomerang.service.FilterService;
 import io.boomerang.service.PropertyManager;
 import io.boomerang.service.UserIdentityService;
 import io.boomerang.service.refactor.ControllerRequestProperties;
-import io.boomerang.service.runner.misc.ControllerClient;
 import io.boomerang.util.DateUtil;
 import io.boomerang.util.ParameterMapper;
 
@@ -104,7 +104,7 @@ public class FlowActivityServiceImpl implements FlowActivityService {
   private UserIdentityService userIdentityService;
 
   @Autowired
-  private RevisionService versionService;
+  private RevisionCache revisionCache;
 
   @Autowired
   private FlowWorkflowService workflowService;
@@ -136,29 +136,32 @@ public class FlowActivityServiceImpl implements FlowActivityService {
   private TeamService teamService;
 
   @Autowired
-  private FlowTaskTemplateService templateService;
+  private TaskTemplateCatalog templateCatalog;
 
   @Autowired
   private PropertyManager propertyManager;
 
   @Autowired
-  @Lazy
-  private ControllerClient controllerClient;
+  private ActivityCancellationService activityCancellationService;
 
 
   @Autowired
   private MongoTemplate mongoTemplate;
 
+
+  @Autowired
+  private ActivityArchiveService activityArchiveService;
+
   @Autowired
-  private RevisionService revisionService;
+  private FlowTracing flowTracing;
 
   private static final Logger LOGGER = LogManager.getLogger();
 
   @Override
   public ActivityEntity createFlowActivity(String workflowVersionId, Optional<String> trigger,
       FlowExecutionRequest request, Optional<List<TaskWorkspace>> taskWorkspaces,
-      List<KeyValuePair> labels) {
-    final RevisionEntity entity = versionService.getWorkflowlWithId(workflowVersionId);
+      List<KeyValuePair> labels, TaskStatus status) {
+    final RevisionEntity entity = revisionCache.getRevision(workflowVersionId);
     WorkflowEntity workflow = workflowService.getWorkflow(entity.getWorkFlowId());
 
     final FlowActivity activity = new FlowActivity();
@@ -173,7 +176,7 @@ public class FlowActivityServiceImpl implements FlowActivityService {
 
     activity.setScope(workflow.getScope());
     activity.setCreationDate(new Date());
-    activity.setStatus(TaskStatus.inProgress);
+    activity.setStatus(status);
 
     List<KeyValuePair> corePropertyList = new LinkedList<>();
     if (labels != null) {
@@ -203,12 +206,17 @@ public class FlowActivityServiceImpl implements FlowActivityService {
       List<KeyValuePair> propertyList = ParameterMapper.mapToKeyValuePairList(request.getProperties());
       activity.setProperties(propertyList);
     }
+    flowTracing.startActivity(activity);
     return flowActivityService.saveWorkflowActivity(activity);
   }
 
   @Override
   public ActivityEntity findWorkflowActivity(String id) {
-    return flowActivityService.findWorkflowActivtyById(id);
+    ActivityEntity activity = flowActivityService.findWorkflowActivtyById(id);
+    if (activity == null) {
+      activity = activityArchiveService.findActivity(id);
+    }
+    return activity;
   }
 
   @Override
@@ -412,6 +420,9 @@ public class FlowActivityServiceImpl implements FlowActivityService {
 
 
     List<TaskExecutionEntity> activites = taskService.findTaskActiivtyForActivity(activityId);
+    if (activites.isEmpty()) {
+      activites = activityArchiveService.findTaskExecutions(activityId);
+    }
     List<TaskExecutionResponse> taskExecutionResponses = new LinkedList<>();
 
     for (TaskExecutionEntity task : activites) {
@@ -426,8 +437,7 @@ public class FlowActivityServiceImpl implements FlowActivityService {
           && task.getRunWorkflowActivityId() != null) {
 
         String runWorkflowActivityId = task.getRunWorkflowActivityId();
-        ActivityEntity activity =
-            this.flowActivityService.findWorkflowActivtyById(runWorkflowActivityId);
+        ActivityEntity activity = this.findWorkflowActivity(runWorkflowActivityId);
         if (activity != null) {
           response.setRunWorkflowActivityStatus(activity.getStatus());
         }
@@ -463,43 +473,24 @@ public class FlowActivityServiceImpl implements FlowActivityService {
     }
 
     Integer templateVersion = task.getTemplateRevision();
-    FlowTaskTemplateEntity flowTaskTemplate =
-        templateService.getTaskTemplateWithId(task.getTemplateId());
+    FlowTaskTemplateEntity flowTaskTemplate = templateCatalog.getTemplate(task.getTemplateId());
 
     String templateType = flowTaskTemplate.getNodetype();
 
     if ("templateTask".equals(templateType)) {
-      List<Revision> revisions = flowTaskTemplate.getRevisions();
-      if (revisions != null) {
-        Optional<Revision> result = revisions.stream().parallel()
-            .filter(revision -> revision.getVersion().equals(templateVersion)).findAny();
-        if (result.isPresent()) {
-          Revision revision = result.get();
-          List<TaskResult> taskResults = revision.getResults();
-          if (taskResults != null) {
-            for (TaskResult resultItem : taskResults) {
-              extractOutputProperty(task, results, resultItem);
-            }
-          }
-
-        } else {
-          Optional<Revision> latestRevision = revisions.stream()
-              .sorted(Comparator.comparingInt(Revision::getVersion).reversed()).findFirst();
-          if (latestRevision.isPresent()) {
-            List<TaskResult> taskResults = latestRevision.get().getResults();
-            if (taskResults != null) {
-              for (TaskResult resultItem : taskResults) {
-                extractOutputProperty(task, results, resultItem);
-              }
-            }
-          }
+      Revision revision =
+          templateCatalog.getRevisionOrLatest(task.getTemplateId(), templateVersion);
+      if (revision != null && revision.getResults() != null) {
+        for (TaskResult resultItem : revision.getResults()) {
+          extractOutputProperty(task, results, resultItem);
         }
       }
     } else {
       String activityId = task.getActivityId();
       ActivityEntity activity = workflowActivityService.findWorkflowActivtyById(activityId);
       String revisionId = activity.getWorkflowRevisionid();
-      Optional<RevisionEntity> revisionEntity = this.revisionService.getRevision(revisionId);
+      Optional<RevisionEntity> revisionEntity =
+          Optional.ofNullable(this.revisionCache.getRevision(revisionId));
       if (revisionEntity.isPresent()) {
         RevisionEntity revision = revisionEntity.get();
 
@@ -649,7 +640,8 @@ public class FlowActivityServiceImpl implements FlowActivityService {
 
     String workflowRevisionId = activity.getWorkflowRevisionid();
 
-    Optional<RevisionEntity> revisionOptional = this.versionService.getRevision(workflowRevisionId);
+    Optional<RevisionEntity> revisionOptional =
+        Optional.ofNullable(this.revisionCache.getRevision(workflowRevisionId));
     if (revisionOptional.isEmpty()) {
       return new LinkedList<>();
     }
@@ -661,29 +653,23 @@ public class FlowActivityServiceImpl implements FlowActivityService {
         dagTasks.stream().filter((t) -> taskId.equals(t.getTaskId())).findFirst().orElse(null);
     if (dagTask != null) {
       if (dagTask.getTemplateId() != null) {
-        FlowTaskTemplateEntity flowTaskTemplateEntity =
-            templateService.getTaskTemplateWithId(dagTask.getTemplateId());
-        if (flowTaskTemplateEntity != null && flowTaskTemplateEntity.getRevisions() != null) {
-          Optional<Revision> latestRevision = flowTaskTemplateEntity.getRevisions().stream()
-              .sorted(Comparator.comparingInt(Revision::getVersion).reversed()).findFirst();
-          if (latestRevision.isPresent()) {
-            Revision rev = latestRevision.get();
-            for (TaskTemplateConfig taskConfig : rev.getConfig()) {
-              if ("password".equals(taskConfig.getType())) {
-                LOGGER.debug("Found a secured property being used: {}", taskConfig.getKey());
-                String key = taskConfig.getKey();
-                String inputValue = map.get(key);
-                if (inputValue == null || inputValue.isBlank()) {
-                  inputValue = taskConfig.getDefaultValue();
-                }
-                String value = propertyManager.replaceValueWithProperty(inputValue, activityId,
-                    applicationProperties);
-                value = propertyManager.replaceValueWithProperty(value, activityId,
-                    applicationProperties);
-                LOGGER.debug("New Value: {}", value);
-                if (!value.isBlank()) {
-                  removalList.add(value);
-                }
+        Revision rev = templateCatalog.getLatestRevision(dagTask.getTemplateId());
+        if (rev != null) {
+          for (TaskTemplateConfig taskConfig : rev.getConfig()) {
+            if ("password".equals(taskConfig.getType())) {
+              LOGGER.debug("Found a secured property being used: {}", taskConfig.getKey());
+              String key = taskConfig.getKey();
+              String inputValue = map.get(key);
+              if (inputValue == null || inputValue.isBlank()) {
+                inputValue = taskConfig.getDefaultValue();
+              }
+              String value = propertyManager.replaceValueWithProperty(inputValue, activityId,
+                  applicationProperties);
+              value = propertyManager.replaceValueWithProperty(value, activityId,
+                  applicationProperties);
+              LOGGER.debug("New Value: {}", value);
+              if (!value.isBlank()) {
+                removalList.add(value);
               }
             }
           }
@@ -707,41 +693,7 @@ public class FlowActivityServiceImpl implements FlowActivityService {
 
   @Override
   public void cancelWorkflowActivity(String activityId, ErrorResponse error) {
-    ActivityEntity activity = flowActivityService.findWorkflowActivtyById(activityId);
-    activity.setStatus(TaskStatus.cancelled);
-
-    if (error != null) {
-      activity.setError(error);
-    }
-
-    flowActivityService.saveWorkflowActivity(activity);
-
-    String workflowId = activity.getWorkflowId();
-    final WorkflowEntity workflow = workflowService.getWorkflow(workflowId);
-
-    List<TaskExecutionEntity> activites = taskService.findTaskActiivtyForActivity(activityId);
-    for (TaskExecutionEntity taskExecution : activites) {
-      if ((taskExecution.getTaskType() == TaskType.customtask
-          || taskExecution.getTaskType() == TaskType.script
-          || taskExecution.getTaskType() == TaskType.template)
-          && taskExecution.getFlowTaskStatus() == TaskStatus.inProgress) {
-        Task task = new Task();
-        task.setTaskId(taskExecution.getTaskId());
-        task.setTaskName(taskExecution.getTaskName());
-        task.setWorkflowId(workflow.getId());
-        task.setWorkflowName(workflow.getName());
-        task.setTaskActivityId(taskExecution.getId());
-
-        controllerClient.terminateTask(task);
-      }
-
-      if (taskExecution.getFlowTaskStatus() == TaskStatus.notstarted
-          || taskExecution.getFlowTaskStatus() == TaskStatus.inProgress
-          || taskExecution.getFlowTaskStatus() == TaskStatus.waiting) {
-        taskExecution.setFlowTaskStatus(TaskStatus.cancelled);
-      }
-      taskService.save(taskExecution);
-    }
+    activityCancellationService.cancel(Collections.singletonList(activityId), error);
   }
 
   @Override
@@ -3,6 +3,7 @@ package io.boomerang.service.crud;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,9 +15,11 @@ import io.boomerang.model.Execution;
 import io.boomerang.model.FlowActivity;
 import io.boomerang.model.InsightsSummary;
 import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.ActivityRollupEntity;
 import io.boomerang.mongo.entity.TeamEntity;
 import io.boomerang.mongo.entity.WorkflowEntity;
 import io.boomerang.mongo.model.WorkflowScope;
+import io.boomerang.mongo.service.ActivityArchiveService;
 import io.boomerang.mongo.service.FlowTeamService;
 import io.boomerang.mongo.service.FlowWorkflowActivityService;
 import io.boomerang.mongo.service.FlowWorkflowService;
@@ -39,6 +42,9 @@ public class InsightsServiceImpl implements InsightsService {
   @Autowired
   private FlowTeamService flowTeamService;
 
+  @Autowired
+  private ActivityArchiveService activityArchiveService;
+
   @Override
   public InsightsSummary getInsights(Optional<Date> from, Optional<Date> to,
       Pageable pageable, Optional<List<String>> workflowIds, Optional<List<String>> teamIds, Optional<List<String>> scopes,
@@ -66,11 +72,29 @@ public class InsightsServiceImpl implements InsightsService {
       }
       addActivityDetail(executions, activity);
     }
-    response.setTotalActivitiesExecuted(executions.size());
+    int totalActivities = executions.size();
+
+    /*
+     * Archived activities are no longer in the live collection; their totals come from the daily
+     * rollups. Rollups do not record the trigger, so they are left out when filtering by trigger.
+     */
+    if (!triggers.isPresent()) {
+      for (ActivityRollupEntity rollup : activityArchiveService.getRollups(workflowIdsList, from,
+          to)) {
+        for (Map.Entry<String, Long> count : rollup.getCounts().entrySet()) {
+          if (statuses.isEmpty() || statuses.get().contains(count.getKey())) {
+            totalActivities += count.getValue().intValue();
+            totalExecutionTime += rollup.getDurations().getOrDefault(count.getKey(), 0L);
+          }
+        }
+      }
+    }
+
+    response.setTotalActivitiesExecuted(totalActivities);
     response.setExecutions(executions);
 
     if (response.getTotalActivitiesExecuted() != 0) {
-      response.setMedianExecutionTime(totalExecutionTime / executions.size());
+      response.setMedianExecutionTime(totalExecutionTime / totalActivities);
     } else {
       response.setMedianExecutionTime(0L);
     }
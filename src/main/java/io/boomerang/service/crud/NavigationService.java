@@ -7,4 +7,10 @@ public interface NavigationService {
 
   List<Navigation> getNavigation(boolean isUserAdmin, String teamId);
 
+  /**
+   * Returns the version of the navigation served to the user, or {@code null} when the navigation
+   * comes from an external service and is not versioned.
+   */
+  String getNavigationVersion(boolean isUserAdmin);
+
 }
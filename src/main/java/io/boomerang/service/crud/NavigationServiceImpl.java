@@ -46,6 +46,14 @@ public class NavigationServiceImpl implements NavigationService {
   @Autowired
   private UserIdentityService identityService;
 
+  @Override
+  public String getNavigationVersion(boolean isUserAdmin) {
+    if (!flowExternalUrlNavigation.isBlank()) {
+      return null;
+    }
+    return featureService.getFlowFeatures().getVersion() + (isUserAdmin ? "-admin" : "-user");
+  }
+
   @Override
   public List<Navigation> getNavigation(boolean isUserAdmin, String teamId) {
 
@@ -1,6 +1,9 @@
 package io.boomerang.service.crud;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.boomerang.model.FlowTaskTemplate;
 import io.boomerang.model.TemplateScope;
 import io.boomerang.model.tekton.TektonTask;
@@ -31,4 +34,9 @@ public interface TaskTemplateService {
   List<FlowTaskTemplate> getAllTaskTemplatesForWorkfow(String workflowId);
 
   FlowTaskTemplate validateTaskTemplate(TektonTask tektonTask);
+
+  StreamingResponseBody exportTaskTemplatesYaml(TemplateScope scope, String teamId);
+
+  List<FlowTaskTemplate> importTaskTemplatesYaml(InputStream input, TemplateScope scope,
+      String teamId) throws IOException;
 }
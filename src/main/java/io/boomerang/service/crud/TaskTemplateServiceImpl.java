@@ -1,14 +1,25 @@
 package io.boomerang.service.crud;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.databind.MappingIterator;
 import io.boomerang.model.FlowTaskTemplate;
 import io.boomerang.model.TemplateScope;
 import io.boomerang.model.WorkflowSummary;
@@ -23,6 +34,8 @@ import io.boomerang.mongo.model.WorkflowScope;
 import io.boomerang.mongo.service.FlowTaskTemplateService;
 import io.boomerang.service.UserIdentityService;
 import io.boomerang.service.tekton.TektonConverter;
+import io.boomerang.service.tekton.TektonYaml;
+import io.boomerang.service.tekton.TektonYamlCache;
 
 @Service
 public class TaskTemplateServiceImpl implements TaskTemplateService {
@@ -36,21 +49,15 @@ public class TaskTemplateServiceImpl implements TaskTemplateService {
   @Autowired
   private WorkflowService workflowService;
 
+  @Autowired
+  private TektonYamlCache tektonYamlCache;
+
   @Override
   public FlowTaskTemplate getTaskTemplateWithId(String id) {
     FlowTaskTemplateEntity entity = flowTaskTemplateService.getTaskTemplateWithId(id);
     if (entity != null) {
       FlowTaskTemplate template = new FlowTaskTemplate(entity);
-      for (Revision revision : template.getRevisions()) {
-        if (revision.getChangelog() != null && revision.getChangelog().getUserId() != null) {
-          FlowUserEntity user =
-              userIdentityService.getUserByID(revision.getChangelog().getUserId());
-          if (revision.getChangelog() != null && user != null
-              && revision.getChangelog().getUserName() == null) {
-            revision.getChangelog().setUserName(user.getName());
-          }
-        }
-      }
+      updateTemplateListUserNames(Collections.singletonList(template));
       return template;
     }
     return null;
@@ -58,36 +65,55 @@ public class TaskTemplateServiceImpl implements TaskTemplateService {
 
   @Override
   public List<FlowTaskTemplate> getAllTaskTemplates(TemplateScope scope, String teamId) {
-    List<FlowTaskTemplate> templates = new LinkedList<>();
+    List<FlowTaskTemplate> templates = getTemplateEntities(scope, teamId).stream()
+        .map(FlowTaskTemplate::new).collect(Collectors.toList());
+
+    updateTemplateListUserNames(templates);
+    return templates;
+  }
 
+  private List<FlowTaskTemplateEntity> getTemplateEntities(TemplateScope scope, String teamId) {
     if (scope == TemplateScope.global || scope == null) {
-      templates = flowTaskTemplateService.getAllGlobalTasks().stream().map(FlowTaskTemplate::new)
-          .collect(Collectors.toList());
+      return flowTaskTemplateService.getAllGlobalTasks();
     } else if (scope == TemplateScope.team) {
-      templates = flowTaskTemplateService.getTaskTemplatesforTeamId(teamId).stream()
-          .map(FlowTaskTemplate::new).collect(Collectors.toList());
+      return flowTaskTemplateService.getTaskTemplatesforTeamId(teamId);
     } else if (scope == TemplateScope.system) {
-      templates = flowTaskTemplateService.getAllSystemTasks().stream().map(FlowTaskTemplate::new)
-          .collect(Collectors.toList());
+      return flowTaskTemplateService.getAllSystemTasks();
     }
-
-    updateTemplateListUserNames(templates);
-    return templates;
+    return new LinkedList<>();
   }
 
+  /**
+   * Fills in missing changelog user names with a single batched user lookup for all revisions of
+   * the given templates, rather than one lookup per revision.
+   */
   private void updateTemplateListUserNames(List<FlowTaskTemplate> templates) {
+    List<ChangeLog> changelogs = new LinkedList<>();
+    Set<String> userIds = new HashSet<>();
     for (FlowTaskTemplate template : templates) {
+      if (template.getRevisions() == null) {
+        continue;
+      }
       for (Revision revision : template.getRevisions()) {
-        if (revision.getChangelog() != null && revision.getChangelog().getUserId() != null) {
-          FlowUserEntity user =
-              userIdentityService.getUserByID(revision.getChangelog().getUserId());
-          if (revision.getChangelog() != null && user != null
-              && revision.getChangelog().getUserName() == null) {
-            revision.getChangelog().setUserName(user.getName());
-          }
+        ChangeLog changelog = revision.getChangelog();
+        if (changelog != null && changelog.getUserId() != null
+            && changelog.getUserName() == null) {
+          changelogs.add(changelog);
+          userIds.add(changelog.getUserId());
         }
       }
     }
+    if (userIds.isEmpty()) {
+      return;
+    }
+
+    Map<String, FlowUserEntity> users = userIdentityService.getUsersByIds(userIds);
+    for (ChangeLog changelog : changelogs) {
+      FlowUserEntity user = users.get(changelog.getUserId());
+      if (user != null) {
+        changelog.setUserName(user.getName());
+      }
+    }
   }
 
   @Override
@@ -124,6 +150,7 @@ public class TaskTemplateServiceImpl implements TaskTemplateService {
       flowTaskTemplateEntity.setLastModified(new Date());
       flowTaskTemplateEntity.setVerified(flowTaskTemplateService
           .getTaskTemplateWithId(flowTaskTemplateEntity.getId()).isVerified());
+      tektonYamlCache.invalidate(flowTaskTemplateEntity.getId());
       return new FlowTaskTemplate(
           flowTaskTemplateService.updateTaskTemplate(flowTaskTemplateEntity));
 
@@ -225,6 +252,7 @@ public class TaskTemplateServiceImpl implements TaskTemplateService {
     }
     dbTemplate.setLastModified(new Date());
     flowTaskTemplateService.updateTaskTemplate(dbTemplate);
+    tektonYamlCache.invalidate(id);
     return this.getTaskTemplateWithId(id);
   }
 
@@ -271,6 +299,7 @@ public class TaskTemplateServiceImpl implements TaskTemplateService {
     }
     dbTemplate.setLastModified(new Date());
     flowTaskTemplateService.updateTaskTemplate(dbTemplate);
+    tektonYamlCache.invalidate(id);
     return this.getTaskTemplateWithId(id);
   }
 
@@ -297,4 +326,85 @@ public class TaskTemplateServiceImpl implements TaskTemplateService {
     template.setStatus(FlowTaskTemplateStatus.active);
     return new FlowTaskTemplate(template);
   }
+
+  @Override
+  public StreamingResponseBody exportTaskTemplatesYaml(TemplateScope scope, String teamId) {
+    List<FlowTaskTemplateEntity> templates = getTemplateEntities(scope, teamId);
+    return output -> {
+      for (FlowTaskTemplateEntity template : templates) {
+        String yaml = tektonYamlCache.getYaml(template, null);
+        if (yaml != null) {
+          output.write(TektonYaml.DOCUMENT_SEPARATOR.getBytes(StandardCharsets.UTF_8));
+          output.write(yaml.getBytes(StandardCharsets.UTF_8));
+        }
+      }
+      output.flush();
+    };
+  }
+
+  /**
+   * Imports a multi-document YAML stream of Tekton tasks, reading one task at a time. A task named
+   * like a template of the scope is added to it as a new revision, unless it renders to the same
+   * YAML as the latest revision of the template. Returns the templates that were created or
+   * updated.
+   */
+  @Override
+  public List<FlowTaskTemplate> importTaskTemplatesYaml(InputStream input, TemplateScope scope,
+      String teamId) throws IOException {
+    Map<String, FlowTaskTemplateEntity> existing = new HashMap<>();
+    for (FlowTaskTemplateEntity template : getTemplateEntities(scope, teamId)) {
+      existing.putIfAbsent(template.getName(), template);
+    }
+    final FlowUserEntity user = userIdentityService.getCurrentUser();
+    List<FlowTaskTemplate> imported = new LinkedList<>();
+
+    try (MappingIterator<TektonTask> tasks = TektonYaml.readTasks(input)) {
+      while (tasks.hasNextValue()) {
+        FlowTaskTemplateEntity template =
+            TektonConverter.convertTektonTaskToNewFlowTask(tasks.nextValue());
+        Revision revision = template.getRevisions().get(0);
+        setChangeLogUser(revision, user);
+
+        FlowTaskTemplateEntity current = existing.get(template.getName());
+        if (current == null) {
+          template.setScope(scope);
+          template.setFlowTeamId(teamId);
+          FlowTaskTemplateEntity saved = flowTaskTemplateService.insertTaskTemplate(template);
+          existing.put(saved.getName(), saved);
+          imported.add(new FlowTaskTemplate(saved));
+        } else if (!Objects.equals(tektonYamlCache.getYaml(current, null),
+            tektonYamlCache.getYaml(template, null))) {
+          Revision latest = TektonConverter.findRevision(current, Optional.empty());
+          revision.setVersion(latest != null ? latest.getVersion() + 1 : 1);
+          if (current.getRevisions() == null) {
+            current.setRevisions(new LinkedList<>());
+          }
+          current.getRevisions().add(revision);
+          current.setIcon(template.getIcon());
+          current.setCategory(template.getCategory());
+          current.setDescription(template.getDescription());
+          current.setLastModified(new Date());
+          FlowTaskTemplateEntity saved = flowTaskTemplateService.updateTaskTemplate(current);
+          tektonYamlCache.invalidate(saved.getId());
+          existing.put(saved.getName(), saved);
+          imported.add(new FlowTaskTemplate(saved));
+        }
+      }
+    }
+    return imported;
+  }
+
+  private static void setChangeLogUser(Revision revision, FlowUserEntity user) {
+    if (user == null) {
+      return;
+    }
+    ChangeLog changelog = revision.getChangelog();
+    if (changelog == null) {
+      changelog = new ChangeLog();
+      revision.setChangelog(changelog);
+    }
+    changelog.setUserId(user.getId());
+    changelog.setUserName(user.getName());
+    changelog.setDate(new Date());
+  }
 }
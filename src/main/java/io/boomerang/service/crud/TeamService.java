@@ -1,6 +1,8 @@
 package io.boomerang.service.crud;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Pageable;
 import io.boomerang.model.FlowTeam;
 import io.boomerang.model.TeamMember;
@@ -44,6 +46,8 @@ public interface TeamService {
   void updateTeamMembers(String teamId, List<String> teamMembers);
 
   FlowTeam getTeamById(String teamId);
+
+  Map<String, FlowTeam> getTeamsByIds(Collection<String> teamIds);
   
   FlowTeam getTeamByIdDetailed(String teamId);
 
@@ -52,6 +56,11 @@ public interface TeamService {
 
   WorkflowQuotas getTeamQuotas(String teamId);
 
+  /**
+   * The maximum number of concurrent workflow runs of the team, without counting its current usage.
+   */
+  Integer getMaxConcurrentWorkflows(String teamId);
+
   WorkflowQuotas resetTeamQuotas(String teamId);
 
   Quotas updateTeamQuotas(String teamId, Quotas quotas);
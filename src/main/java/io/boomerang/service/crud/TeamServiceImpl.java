@@ -2,11 +2,16 @@ package io.boomerang.service.crud;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -376,6 +381,32 @@ public class TeamServiceImpl implements TeamService {
     return null;
   }
 
+  @Override
+  public Map<String, FlowTeam> getTeamsByIds(Collection<String> teamIds) {
+    Set<String> ids = new HashSet<>(teamIds);
+    ids.remove(null);
+    Map<String, FlowTeam> teams = new HashMap<>();
+    if (ids.isEmpty()) {
+      return teams;
+    }
+    List<TeamEntity> flowEntities;
+    if (!flowExternalUrlTeam.isBlank()) {
+      flowEntities = this.externalTeamService.getExternalTeams(flowExternalUrlTeam);
+    } else {
+      flowEntities = flowTeamService.findByIds(ids);
+    }
+    if (flowEntities != null) {
+      for (TeamEntity flowEntity : flowEntities) {
+        if (ids.contains(flowEntity.getId())) {
+          FlowTeam flowTeam = new FlowTeam();
+          BeanUtils.copyProperties(flowEntity, flowTeam);
+          teams.put(flowEntity.getId(), flowTeam);
+        }
+      }
+    }
+    return teams;
+  }
+
   @Override
   public FlowTeam getTeamByIdDetailed(String teamId) {
     TeamEntity flowEntity = flowTeamService.findById(teamId);
@@ -466,6 +497,12 @@ public class TeamServiceImpl implements TeamService {
     return workflowQuotas;
   }
 
+  @Override
+  public Integer getMaxConcurrentWorkflows(String teamId) {
+    TeamEntity team = flowTeamService.findById(teamId);
+    return team != null ? setTeamQuotas(team).getMaxConcurrentWorkflows() : null;
+  }
+
   @Override
   public List<TeamEntity> getUsersTeamListing(FlowUserEntity userEntity) {
     List<String> highLevelGroupIds = new LinkedList<>();
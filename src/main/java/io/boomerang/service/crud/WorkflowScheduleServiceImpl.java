@@ -5,6 +5,7 @@ import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.quartz.SchedulerException;
@@ -128,17 +129,8 @@ public class WorkflowScheduleServiceImpl implements WorkflowScheduleService {
    */
   @Override
   public List<WorkflowScheduleCalendar> getCalendarsForSchedules(final List<String> scheduleIds, Date fromDate, Date toDate) {
-    List<WorkflowScheduleCalendar> scheduleCalendars = new LinkedList<>();
     final List<WorkflowScheduleEntity> scheduleEntities = workflowScheduleRepository.getSchedulesNotCompletedOrDeleted(scheduleIds);
-    if (scheduleEntities != null) {
-      scheduleEntities.forEach(e -> {
-        WorkflowScheduleCalendar scheduleCalendar = new WorkflowScheduleCalendar();
-        scheduleCalendar.setScheduleId(e.getId());
-        scheduleCalendar.setDates(getCalendarForDates(e.getId(), fromDate, toDate));
-        scheduleCalendars.add(scheduleCalendar);
-      });
-    }
-    return scheduleCalendars;
+    return computeCalendars(scheduleEntities, fromDate, toDate);
   }
   
   /*
@@ -148,17 +140,26 @@ public class WorkflowScheduleServiceImpl implements WorkflowScheduleService {
    */
   @Override
   public List<WorkflowScheduleCalendar> getCalendarsForWorkflow(final String workflowId, Date fromDate, Date toDate) {
-    List<WorkflowScheduleCalendar> scheduleCalendars = new LinkedList<>();
     final List<WorkflowScheduleEntity> scheduleEntities = workflowScheduleRepository.getSchedulesForWorkflowNotCompletedOrDeleted(workflowId);
-    if (scheduleEntities != null) {
-      scheduleEntities.forEach(e -> {
-        WorkflowScheduleCalendar scheduleCalendar = new WorkflowScheduleCalendar();
-        scheduleCalendar.setScheduleId(e.getId());
-        scheduleCalendar.setDates(getCalendarForDates(e.getId(), fromDate, toDate));
-        scheduleCalendars.add(scheduleCalendar);
-      });
+    return computeCalendars(scheduleEntities, fromDate, toDate);
+  }
+  
+  /*
+   * Helper method to compute the calendars of already loaded schedules. Fire times are computed from
+   * the stored cron and timezone, in parallel across schedules, without job store round trips.
+   * 
+   * @return list of Schedule Calendars in the order of the schedules provided
+   */
+  private List<WorkflowScheduleCalendar> computeCalendars(final List<WorkflowScheduleEntity> scheduleEntities, Date fromDate, Date toDate) {
+    if (scheduleEntities == null) {
+      return new LinkedList<>();
     }
-    return scheduleCalendars;
+    return scheduleEntities.parallelStream().map(e -> {
+      WorkflowScheduleCalendar scheduleCalendar = new WorkflowScheduleCalendar();
+      scheduleCalendar.setScheduleId(e.getId());
+      scheduleCalendar.setDates(getCalendarForDates(e, fromDate, toDate));
+      return scheduleCalendar;
+    }).collect(Collectors.toList());
   }
   
   /*
@@ -170,13 +171,17 @@ public class WorkflowScheduleServiceImpl implements WorkflowScheduleService {
   public List<Date> getCalendarForDates(final String scheduleId, Date fromDate, Date toDate) {
     final WorkflowScheduleEntity scheduleEntity = workflowScheduleRepository.getSchedule(scheduleId);
     if (scheduleEntity != null) {
-      try {
-        return this.taskScheduler.getJobTriggerDates(scheduleEntity, fromDate, toDate);
-      } catch (Exception e) {
-        // Trap exception as we still want to return the dates that we can
-        e.printStackTrace();
-        logger.info("Unable to retrieve calendar for Schedule: {}, skipping.", scheduleEntity.getId());
-      }
+      return getCalendarForDates(scheduleEntity, fromDate, toDate);
+    }
+    return new LinkedList<>();
+  }
+  
+  private List<Date> getCalendarForDates(final WorkflowScheduleEntity scheduleEntity, Date fromDate, Date toDate) {
+    try {
+      return this.taskScheduler.getJobTriggerDates(scheduleEntity, fromDate, toDate);
+    } catch (Exception e) {
+      // Trap exception as we still want to return the dates that we can
+      logger.info("Unable to retrieve calendar for Schedule: {}, skipping.", scheduleEntity.getId());
     }
     return new LinkedList<>();
   }
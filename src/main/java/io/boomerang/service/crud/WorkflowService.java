@@ -40,6 +40,8 @@ public interface WorkflowService {
   
   boolean canExecuteWorkflowForQuotas(String teamId);
 
+  boolean canExecuteWorkflowForMonthlyQuota(String teamId);
+
   boolean canExecuteWorkflow(String workFlowId, Optional<String> trigger);
   
   public List<WorkflowShortSummary> getWorkflowShortSummaryList();
@@ -69,6 +69,7 @@ import io.boomerang.mongo.service.FlowTaskTemplateService;
 import io.boomerang.mongo.service.FlowWorkflowActivityService;
 import io.boomerang.mongo.service.FlowWorkflowService;
 import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
 import io.boomerang.security.service.UserValidationService;
 import io.boomerang.service.PropertyManager;
 import io.boomerang.service.UserIdentityService;
@@ -94,6 +95,9 @@ public class WorkflowServiceImpl implements WorkflowService {
   @Autowired
   private FlowTaskTemplateService templateService;
 
+  @Autowired
+  private TaskTemplateCatalog templateCatalog;
+
   @Autowired
   private UserIdentityService userIdentityService;
 
@@ -266,6 +270,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
     createOrDeleteWorkspace(summary, entity);
     entity.setStorage(summary.getStorage());
+    entity.setConcurrency(summary.getConcurrency());
 
 
     entity.setLabels(summary.getLabels());
@@ -418,9 +423,9 @@ public class WorkflowServiceImpl implements WorkflowService {
     final WorkflowEntity entity = workflowRepository.getWorkflow(workFlowId);
     WorkflowExport export = new WorkflowExport(entity);
 
-    export.setLatestRevision(workflowVersionService.getLatestWorkflowVersion(workFlowId));
-    export
-        .setRevisionCount(workflowVersionService.getLatestWorkflowVersion(workFlowId).getVersion());
+    RevisionEntity latestRevision = workflowVersionService.getLatestWorkflowVersion(workFlowId);
+    export.setLatestRevision(latestRevision);
+    export.setRevisionCount(latestRevision.getVersion());
 
     HttpHeaders headers = new HttpHeaders();
     headers.add("Cache-Control", "no-cache, no-store, must-revalidate");
@@ -501,6 +506,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         entity.setShortDescription(export.getShortDescription());
         entity.setStatus(export.getStatus());
         entity.setStorage(export.getStorage());
+        entity.setConcurrency(export.getConcurrency());
         entity.setProperties(export.getProperties());
         entity.setTriggers(export.getTriggers());
         entity.setScope(scope);
@@ -547,6 +553,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         newEntity.setStatus(export.getStatus());
         newEntity.setTriggers(export.getTriggers());
         newEntity.setStorage(export.getStorage());
+        newEntity.setConcurrency(export.getConcurrency());
         newEntity.setIcon(export.getIcon());
 
         WorkflowEntity savedEntity = workflowRepository.saveWorkflow(newEntity);
@@ -712,6 +719,17 @@ public class WorkflowServiceImpl implements WorkflowService {
     }
   }
 
+  @Override
+  public boolean canExecuteWorkflowForMonthlyQuota(String teamId) {
+    if (!flowSettingsService.getConfiguration("features", "workflowQuotas").getBooleanValue()) {
+      return true;
+    }
+
+    WorkflowQuotas workflowQuotas = teamService.getTeamQuotas(teamId);
+    return workflowQuotas.getCurrentWorkflowExecutionMonthly() < workflowQuotas
+        .getMaxWorkflowExecutionMonthly();
+  }
+
   @Override
   public void deleteToken(String id, String label) {
     WorkflowEntity entity = workflowRepository.getWorkflow(id);
@@ -842,13 +860,11 @@ public class WorkflowServiceImpl implements WorkflowService {
           String taskName = task.getLabel();
           if (task.getTemplateId() != null) {
             String templateId = task.getTemplateId();
-            FlowTaskTemplateEntity taskTemplate = templateService.getTaskTemplateWithId(templateId);
+            FlowTaskTemplateEntity taskTemplate = templateCatalog.getTemplate(templateId);
 
             if (taskTemplate != null) {
               if ("templateTask".equals(taskTemplate.getNodetype())) {
-                int revisionCount = taskTemplate.getRevisions().size();
-                Revision latestRevision = taskTemplate.getRevisions().stream()
-                    .filter(x -> x.getVersion() == revisionCount).findFirst().orElse(null);
+                Revision latestRevision = templateCatalog.getLatestRevision(templateId);
                 if (latestRevision != null) {
                   List<TaskResult> results = latestRevision.getResults();
                   if (results != null) {
@@ -0,0 +1,19 @@
+package io.boomerang.service.crud;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import io.boomerang.model.WorkflowImportResult;
+
+/**
+ * Bulk export and import of the workflows of a team as newline delimited JSON, one
+ * {@link io.boomerang.model.WorkflowTransferRecord} per line.
+ */
+public interface WorkflowTransferService {
+
+  StreamingResponseBody exportTeamWorkflows(String teamId, boolean allRevisions);
+
+  List<WorkflowImportResult> importTeamWorkflows(InputStream input, String teamId,
+      boolean update) throws IOException;
+}
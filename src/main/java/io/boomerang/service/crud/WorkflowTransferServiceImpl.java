@@ -0,0 +1,409 @@
+package io.boomerang.service.crud;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import io.boomerang.model.WorkflowExport;
+import io.boomerang.model.WorkflowImportResult;
+import io.boomerang.model.WorkflowImportResult.Status;
+import io.boomerang.model.WorkflowTransferRecord;
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.entity.WorkflowScheduleEntity;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.mongo.model.WorkflowScope;
+import io.boomerang.mongo.model.WorkflowStatus;
+import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.service.RevisionCache;
+
+@Service
+public class WorkflowTransferServiceImpl implements WorkflowTransferService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final int BATCH_SIZE = 100;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private RevisionCache revisionCache;
+
+  @Override
+  public StreamingResponseBody exportTeamWorkflows(String teamId, boolean allRevisions) {
+    return output -> {
+      Query query = Query.query(Criteria.where("flowTeamId").is(teamId).and("status")
+          .ne(WorkflowStatus.deleted)).with(Sort.by("_id"));
+      Set<String> templateIds = new LinkedHashSet<>();
+      List<WorkflowEntity> batch = new ArrayList<>(BATCH_SIZE);
+      int count = 0;
+      try (CloseableIterator<WorkflowEntity> workflows =
+          mongoTemplate.stream(query, WorkflowEntity.class)) {
+        while (workflows.hasNext()) {
+          batch.add(workflows.next());
+          if (batch.size() == BATCH_SIZE) {
+            count += writeWorkflows(batch, allRevisions, templateIds, output);
+            batch.clear();
+          }
+        }
+      }
+      count += writeWorkflows(batch, allRevisions, templateIds, output);
+
+      List<String> pending = new ArrayList<>(templateIds);
+      for (int i = 0; i < pending.size(); i += BATCH_SIZE) {
+        List<String> ids = pending.subList(i, Math.min(i + BATCH_SIZE, pending.size()));
+        for (FlowTaskTemplateEntity template : mongoTemplate
+            .find(Query.query(Criteria.where("_id").in(ids)), FlowTaskTemplateEntity.class)) {
+          WorkflowTransferRecord record = new WorkflowTransferRecord();
+          record.setKind(WorkflowTransferRecord.TEMPLATE);
+          record.setTemplate(template);
+          writeRecord(record, output);
+        }
+      }
+      output.flush();
+      LOGGER.debug("Exported {} workflows and {} templates of team {}", count,
+          templateIds.size(), teamId);
+    };
+  }
+
+  private int writeWorkflows(List<WorkflowEntity> workflows, boolean allRevisions,
+      Set<String> templateIds, OutputStream output) throws IOException {
+    if (workflows.isEmpty()) {
+      return 0;
+    }
+    List<String> workflowIds =
+        workflows.stream().map(WorkflowEntity::getId).collect(Collectors.toList());
+    Map<String, List<RevisionEntity>> revisions = findRevisions(workflowIds, allRevisions);
+    Map<String, List<WorkflowScheduleEntity>> schedules = mongoTemplate
+        .find(Query.query(Criteria.where("workflowId").in(workflowIds)),
+            WorkflowScheduleEntity.class)
+        .stream().collect(Collectors.groupingBy(WorkflowScheduleEntity::getWorkflowId));
+
+    for (WorkflowEntity workflow : workflows) {
+      List<RevisionEntity> workflowRevisions = revisions.getOrDefault(workflow.getId(), List.of());
+      WorkflowExport export = new WorkflowExport(workflow);
+      export.setTokens(null);
+      if (!workflowRevisions.isEmpty()) {
+        RevisionEntity latest = workflowRevisions.get(workflowRevisions.size() - 1);
+        export.setLatestRevision(latest);
+        export.setRevisionCount(latest.getVersion());
+      }
+      WorkflowTransferRecord record = new WorkflowTransferRecord();
+      record.setKind(WorkflowTransferRecord.WORKFLOW);
+      record.setWorkflow(export);
+      if (allRevisions) {
+        record.setRevisions(workflowRevisions);
+      }
+      record.setSchedules(schedules.get(workflow.getId()));
+      writeRecord(record, output);
+      workflowRevisions.forEach(revision -> templateIds.addAll(templateIds(revision)));
+    }
+    output.flush();
+    return workflows.size();
+  }
+
+  /**
+   * Revisions of the workflows in ascending version order. Only the latest revision is returned
+   * unless all revisions are requested; its id is looked up on the (workFlowId, version) index
+   * before the revision itself is loaded.
+   */
+  private Map<String, List<RevisionEntity>> findRevisions(List<String> workflowIds,
+      boolean allRevisions) {
+    Query query = Query.query(Criteria.where("workFlowId").in(workflowIds))
+        .with(Sort.by("workFlowId", "version"));
+    if (!allRevisions) {
+      query.fields().include("_id").include("workFlowId").include("version");
+      Map<String, String> latestIds = new HashMap<>();
+      for (RevisionEntity revision : mongoTemplate.find(query, RevisionEntity.class)) {
+        latestIds.put(revision.getWorkFlowId(), revision.getId());
+      }
+      query = Query.query(Criteria.where("_id").in(latestIds.values()));
+    }
+    return mongoTemplate.find(query, RevisionEntity.class).stream()
+        .sorted(Comparator.comparingLong(RevisionEntity::getVersion))
+        .collect(Collectors.groupingBy(RevisionEntity::getWorkFlowId));
+  }
+
+  private void writeRecord(WorkflowTransferRecord record, OutputStream output)
+      throws IOException {
+    output.write(objectMapper.writeValueAsBytes(record));
+    output.write('\n');
+  }
+
+  @Override
+  public List<WorkflowImportResult> importTeamWorkflows(InputStream input, String teamId,
+      boolean update) throws IOException {
+    List<WorkflowImportResult> results = new ArrayList<>();
+    List<PendingImport> batch = new ArrayList<>(BATCH_SIZE);
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+      int lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+        WorkflowImportResult result = new WorkflowImportResult();
+        result.setLine(lineNumber);
+        results.add(result);
+        WorkflowTransferRecord record = readRecord(line, result);
+        if (record == null) {
+          continue;
+        }
+        if (!WorkflowTransferRecord.WORKFLOW.equals(record.getKind())
+            || record.getWorkflow() == null) {
+          result.setStatus(Status.skipped);
+          result.setMessage("Only workflow records are imported");
+          continue;
+        }
+        batch.add(new PendingImport(result, record));
+        if (batch.size() == BATCH_SIZE) {
+          importBatch(batch, teamId, update);
+          batch.clear();
+        }
+      }
+    }
+    importBatch(batch, teamId, update);
+    return results;
+  }
+
+  private WorkflowTransferRecord readRecord(String line, WorkflowImportResult result) {
+    try {
+      return objectMapper.readValue(line, WorkflowTransferRecord.class);
+    } catch (JsonProcessingException e) {
+      result.setStatus(Status.failed);
+      result.setMessage("Invalid record: " + e.getOriginalMessage());
+      return null;
+    }
+  }
+
+  private void importBatch(List<PendingImport> batch, String teamId, boolean update) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    Set<String> sourceIds = new HashSet<>();
+    Set<String> referencedTemplates = new HashSet<>();
+    for (PendingImport item : batch) {
+      WorkflowExport export = item.record.getWorkflow();
+      item.result.setSourceId(export.getId());
+      item.result.setName(export.getName());
+      item.revisions = revisionsToImport(item.record);
+      item.revisions.forEach(revision -> item.templateIds.addAll(templateIds(revision)));
+      referencedTemplates.addAll(item.templateIds);
+      if (export.getId() != null) {
+        sourceIds.add(export.getId());
+      }
+    }
+
+    Set<String> allowedTemplates = findAllowedTemplates(referencedTemplates, teamId);
+    Map<String, WorkflowEntity> existing = new HashMap<>();
+    if (update && !sourceIds.isEmpty()) {
+      Query query =
+          Query.query(Criteria.where("_id").in(sourceIds).and("flowTeamId").is(teamId));
+      mongoTemplate.find(query, WorkflowEntity.class)
+          .forEach(workflow -> existing.put(workflow.getId(), workflow));
+    }
+    Map<String, Long> latestVersions = findLatestVersions(existing.keySet());
+
+    List<PendingImport> accepted = new ArrayList<>();
+    BulkOperations workflowOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, WorkflowEntity.class);
+    for (PendingImport item : batch) {
+      if (item.revisions.isEmpty()) {
+        fail(item, "Workflow has no revision");
+        continue;
+      }
+      if (!allowedTemplates.containsAll(item.templateIds)) {
+        fail(item, "Template(s) not found");
+        continue;
+      }
+      WorkflowExport export = item.record.getWorkflow();
+      WorkflowEntity entity = existing.get(export.getId());
+      if (entity != null) {
+        item.result.setStatus(Status.updated);
+        item.baseVersion = latestVersions.getOrDefault(entity.getId(), 0L);
+      } else {
+        entity = new WorkflowEntity();
+        entity.setId(new ObjectId().toHexString());
+        item.result.setStatus(Status.created);
+      }
+      copyExport(export, entity, teamId);
+      item.result.setWorkflowId(entity.getId());
+      workflowOps.replaceOne(Query.query(Criteria.where("_id").is(entity.getId())), entity,
+          FindAndReplaceOptions.options().upsert());
+      accepted.add(item);
+    }
+    if (accepted.isEmpty()) {
+      return;
+    }
+    failWriteErrors(accepted, executeBulk(workflowOps));
+
+    List<PendingImport> written = accepted.stream()
+        .filter(item -> item.result.getStatus() != Status.failed).collect(Collectors.toList());
+    List<RevisionEntity> revisions = new ArrayList<>();
+    List<PendingImport> revisionOwners = new ArrayList<>();
+    for (PendingImport item : written) {
+      long version = item.baseVersion;
+      for (RevisionEntity revision : item.revisions) {
+        revision.setId(null);
+        revision.setWorkFlowId(item.result.getWorkflowId());
+        revision.setVersion(++version);
+        revisions.add(revision);
+        revisionOwners.add(item);
+      }
+    }
+    if (!revisions.isEmpty()) {
+      BulkOperations revisionOps =
+          mongoTemplate.bulkOps(BulkMode.UNORDERED, RevisionEntity.class);
+      revisionOps.insert(revisions);
+      failWriteErrors(revisionOwners, executeBulk(revisionOps));
+    }
+    written.forEach(item -> revisionCache.invalidateLatest(item.result.getWorkflowId()));
+    LOGGER.debug("Imported {} of {} workflows into team {}", written.size(), batch.size(),
+        teamId);
+  }
+
+  private static List<RevisionEntity> revisionsToImport(WorkflowTransferRecord record) {
+    List<RevisionEntity> revisions = new ArrayList<>();
+    if (record.getRevisions() != null && !record.getRevisions().isEmpty()) {
+      revisions.addAll(record.getRevisions());
+      revisions.sort(Comparator.comparingLong(RevisionEntity::getVersion));
+    } else if (record.getWorkflow().getLatestRevision() != null) {
+      revisions.add(record.getWorkflow().getLatestRevision());
+    }
+    return revisions;
+  }
+
+  /**
+   * The referenced templates a team workflow may use, i.e. the team's own templates and the
+   * global ones, found with a single query.
+   */
+  private Set<String> findAllowedTemplates(Collection<String> templateIds, String teamId) {
+    if (templateIds.isEmpty()) {
+      return Set.of();
+    }
+    Query query = Query.query(Criteria.where("_id").in(templateIds)
+        .orOperator(Criteria.where("scope").is("team").and("flowTeamId").is(teamId),
+            Criteria.where("scope").is("global"), Criteria.where("scope").is(null)));
+    query.fields().include("_id");
+    return mongoTemplate.find(query, FlowTaskTemplateEntity.class).stream()
+        .map(FlowTaskTemplateEntity::getId).collect(Collectors.toSet());
+  }
+
+  private Map<String, Long> findLatestVersions(Collection<String> workflowIds) {
+    Map<String, Long> versions = new HashMap<>();
+    if (workflowIds.isEmpty()) {
+      return versions;
+    }
+    Aggregation aggregation =
+        Aggregation.newAggregation(Aggregation.match(Criteria.where("workFlowId").in(workflowIds)),
+            Aggregation.group("workFlowId").max("version").as("version"));
+    for (Document document : mongoTemplate
+        .aggregate(aggregation, RevisionEntity.class, Document.class).getMappedResults()) {
+      Number version = document.get("version", Number.class);
+      versions.put(document.getString("_id"), version != null ? version.longValue() : 0L);
+    }
+    return versions;
+  }
+
+  private static void copyExport(WorkflowExport export, WorkflowEntity entity, String teamId) {
+    entity.setName(export.getName());
+    entity.setDescription(export.getDescription());
+    entity.setShortDescription(export.getShortDescription());
+    entity.setIcon(export.getIcon());
+    entity.setStatus(export.getStatus());
+    entity.setStorage(export.getStorage());
+    entity.setConcurrency(export.getConcurrency());
+    entity.setProperties(export.getProperties());
+    entity.setTriggers(export.getTriggers());
+    entity.setScope(WorkflowScope.team);
+    entity.setFlowTeamId(teamId);
+    entity.setOwnerUserId(null);
+  }
+
+  private static Set<String> templateIds(RevisionEntity revision) {
+    Set<String> ids = new LinkedHashSet<>();
+    if (revision.getDag() != null && revision.getDag().getTasks() != null) {
+      for (DAGTask task : revision.getDag().getTasks()) {
+        if (task.getType() == TaskType.template && task.getTemplateId() != null) {
+          ids.add(task.getTemplateId());
+        }
+      }
+    }
+    return ids;
+  }
+
+  private static List<BulkWriteError> executeBulk(BulkOperations operations) {
+    try {
+      operations.execute();
+      return List.of();
+    } catch (BulkOperationException e) {
+      return e.getErrors();
+    }
+  }
+
+  private static void failWriteErrors(List<PendingImport> items, List<BulkWriteError> errors) {
+    Map<PendingImport, String> failures = new LinkedHashMap<>();
+    for (BulkWriteError error : errors) {
+      failures.putIfAbsent(items.get(error.getIndex()), error.getMessage());
+    }
+    failures.forEach(WorkflowTransferServiceImpl::fail);
+  }
+
+  private static void fail(PendingImport item, String message) {
+    item.result.setStatus(Status.failed);
+    item.result.setMessage(message);
+  }
+
+  private static class PendingImport {
+
+    private final WorkflowImportResult result;
+    private final WorkflowTransferRecord record;
+    private final Set<String> templateIds = new HashSet<>();
+    private List<RevisionEntity> revisions;
+    private long baseVersion;
+
+    PendingImport(WorkflowImportResult result, WorkflowTransferRecord record) {
+      this.result = result;
+      this.record = record;
+    }
+  }
+}
@@ -1,7 +1,6 @@
 package io.boomerang.service.crud;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -16,7 +15,6 @@ import io.boomerang.model.RevisionResponse;
 import io.boomerang.model.projectstormv5.ConfigNodes;
 import io.boomerang.model.projectstormv5.RestConfig;
 import io.boomerang.model.projectstormv5.TaskNode;
-import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
 import io.boomerang.mongo.entity.FlowUserEntity;
 import io.boomerang.mongo.entity.RevisionEntity;
 import io.boomerang.mongo.entity.WorkflowEntity;
@@ -25,9 +23,9 @@ import io.boomerang.mongo.model.Dag;
 import io.boomerang.mongo.model.Revision;
 import io.boomerang.mongo.model.WorkflowScope;
 import io.boomerang.mongo.model.next.DAGTask;
-import io.boomerang.mongo.service.FlowTaskTemplateService;
 import io.boomerang.mongo.service.FlowWorkflowService;
 import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
 import io.boomerang.service.UserIdentityService;
 
 @Service
@@ -40,7 +38,7 @@ public class WorkflowVersionServiceImpl implements WorkflowVersionService {
   private UserIdentityService userIdentityService;
 
   @Autowired
-  private FlowTaskTemplateService templateService;
+  private TaskTemplateCatalog templateCatalog;
 
   @Autowired
   private FlowWorkflowService workFlowRepository;
@@ -98,15 +96,9 @@ public class WorkflowVersionServiceImpl implements WorkflowVersionService {
       List<DAGTask> dagTasks = dag.getTasks();
       for (DAGTask dagTask : dagTasks) {
         if (dagTask.getTemplateVersion() == null && dagTask.getTemplateId() != null) {
-          FlowTaskTemplateEntity flowTaskTemplateEntity =
-              templateService.getTaskTemplateWithId(dagTask.getTemplateId());
-          if (flowTaskTemplateEntity != null && flowTaskTemplateEntity.getRevisions() != null) {
-            Optional<Revision> latestRevision = flowTaskTemplateEntity.getRevisions().stream()
-                .sorted(Comparator.comparingInt(Revision::getVersion).reversed()).findFirst();
-            if (latestRevision.isPresent()) {
-              Integer newVersion = latestRevision.get().getVersion();
-              dagTask.setTemplateVersion(newVersion);
-            }
+          Revision latestRevision = templateCatalog.getLatestRevision(dagTask.getTemplateId());
+          if (latestRevision != null) {
+            dagTask.setTemplateVersion(latestRevision.getVersion());
           }
         }
       }
@@ -131,21 +123,14 @@ public class WorkflowVersionServiceImpl implements WorkflowVersionService {
           if (isTask(config.getType())) {
 
             Integer taskVersion = config.getTaskVersion();
-            FlowTaskTemplateEntity flowTaskTemplateEntity =
-                templateService.getTaskTemplateWithId(config.getTaskId());
-
-            if (flowTaskTemplateEntity != null && flowTaskTemplateEntity.getRevisions() != null) {
-              Optional<Revision> latestRevision = flowTaskTemplateEntity.getRevisions().stream()
-                  .sorted(Comparator.comparingInt(Revision::getVersion).reversed()).findFirst();
-              if (latestRevision.isPresent()
-                  && !latestRevision.get().getVersion().equals(taskVersion)) {
-                newTemplatesAvailable = true;
-                if (revision.getDag().getNodes() != null) {
-                  for (TaskNode taskNode : revision.getDag().getNodes()) {
-                    if (taskNode.getNodeId() != null && config.getNodeId() != null
-                        && taskNode.getNodeId().equals(config.getNodeId())) {
-                      taskNode.setTemplateUpgradeAvailable(true);
-                    }
+            Revision latestRevision = templateCatalog.getLatestRevision(config.getTaskId());
+            if (latestRevision != null && !latestRevision.getVersion().equals(taskVersion)) {
+              newTemplatesAvailable = true;
+              if (revision.getDag().getNodes() != null) {
+                for (TaskNode taskNode : revision.getDag().getNodes()) {
+                  if (taskNode.getNodeId() != null && config.getNodeId() != null
+                      && taskNode.getNodeId().equals(config.getNodeId())) {
+                    taskNode.setTemplateUpgradeAvailable(true);
                   }
                 }
               }
@@ -0,0 +1,111 @@
+package io.boomerang.service.logging;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Logs controller and execution payloads. A payload is only serialized when the configured level
+ * is enabled for this logger and the payload type is sampled, secrets are masked, and the output is
+ * truncated to the configured maximum size.
+ */
+@Component
+public class PayloadLogger {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  static final String REDACTED = "******";
+
+  @Autowired
+  private PayloadLoggingProperties properties;
+
+  public PayloadLogger() {}
+
+  public PayloadLogger(PayloadLoggingProperties properties) {
+    this.properties = properties;
+  }
+
+  public void log(PayloadType type, Object payload) {
+    if (payload == null || !shouldLog(type)) {
+      return;
+    }
+    try {
+      LOGGER.log(level(), "{} Payload: {}", type.getDescription(), render(payload));
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn("Unable to serialize {} payload: {}", type.getDescription(), e.getMessage());
+    }
+  }
+
+  protected boolean shouldLog(PayloadType type) {
+    if (!properties.isEnabled() || !LOGGER.isEnabled(level())) {
+      return false;
+    }
+    double rate = properties.getSampleRate(type);
+    return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+  }
+
+  protected String render(Object payload) {
+    JsonNode tree = MAPPER.valueToTree(payload);
+    redact(tree, properties.getRedactedKeys());
+    String rendered = tree.toString();
+    int maxSize = properties.getMaxSize();
+    if (maxSize > 0 && rendered.length() > maxSize) {
+      return rendered.substring(0, maxSize) + "... [truncated "
+          + (rendered.length() - maxSize) + " characters]";
+    }
+    return rendered;
+  }
+
+  private Level level() {
+    return Level.toLevel(properties.getLevel(), Level.DEBUG);
+  }
+
+  /**
+   * Masks the values of fields with a redacted name, and the value of key value pairs such as
+   * {@code {"key": "password", "value": "..."}} whose key is a redacted name.
+   */
+  private static void redact(JsonNode node, List<String> redactedKeys) {
+    if (node instanceof ObjectNode) {
+      ObjectNode object = (ObjectNode) node;
+      JsonNode key = object.get("key");
+      if (key != null && key.isTextual() && object.has("value")
+          && !object.get("value").isContainerNode() && isRedacted(key.asText(), redactedKeys)) {
+        object.put("value", REDACTED);
+      }
+      Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        if (isRedacted(field.getKey(), redactedKeys) && !field.getValue().isContainerNode()) {
+          field.setValue(object.textNode(REDACTED));
+        } else {
+          redact(field.getValue(), redactedKeys);
+        }
+      }
+    } else if (node instanceof ArrayNode) {
+      node.forEach(child -> redact(child, redactedKeys));
+    }
+  }
+
+  private static boolean isRedacted(String key, List<String> redactedKeys) {
+    String lowerKey = key.toLowerCase(Locale.ROOT);
+    for (String redactedKey : redactedKeys) {
+      if (lowerKey.contains(redactedKey.toLowerCase(Locale.ROOT))) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
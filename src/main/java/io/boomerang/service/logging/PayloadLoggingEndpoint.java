@@ -0,0 +1,64 @@
+package io.boomerang.service.logging;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import io.boomerang.security.service.UserValidationService;
+
+/**
+ * Actuator endpoint to view and change payload logging settings without a restart. Only admins can
+ * change the settings, as enabling payload logging writes request payloads to the logs.
+ */
+@Component
+@Endpoint(id = "payloadlogging")
+public class PayloadLoggingEndpoint {
+
+  @Autowired
+  private PayloadLoggingProperties properties;
+
+  @Autowired
+  private UserValidationService userValidationService;
+
+  @ReadOperation
+  public Map<String, Object> settings() {
+    Map<String, Object> settings = new LinkedHashMap<>();
+    settings.put("enabled", properties.isEnabled());
+    settings.put("level", properties.getLevel());
+    settings.put("defaultSampleRate", properties.getDefaultSampleRate());
+    settings.put("sampleRates", properties.getSampleRates());
+    settings.put("maxSize", properties.getMaxSize());
+    settings.put("redactedKeys", properties.getRedactedKeys());
+    return settings;
+  }
+
+  @WriteOperation
+  public Map<String, Object> configure(@Nullable Boolean enabled, @Nullable String level,
+      @Nullable Double defaultSampleRate, @Nullable String type, @Nullable Double sampleRate,
+      @Nullable Integer maxSize) {
+    userValidationService.validateUserAdmin();
+    if (enabled != null) {
+      properties.setEnabled(enabled);
+    }
+    if (level != null) {
+      properties.setLevel(level);
+    }
+    if (defaultSampleRate != null) {
+      properties.setDefaultSampleRate(defaultSampleRate);
+    }
+    if (type != null && sampleRate != null) {
+      Map<String, Double> sampleRates = new HashMap<>(properties.getSampleRates());
+      sampleRates.put(type, sampleRate);
+      properties.setSampleRates(sampleRates);
+    }
+    if (maxSize != null) {
+      properties.setMaxSize(maxSize);
+    }
+    return settings();
+  }
+}
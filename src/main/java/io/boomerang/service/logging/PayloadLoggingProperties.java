@@ -0,0 +1,90 @@
+package io.boomerang.service.logging;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for request and response payload logging, e.g.
+ * {@code flow.logging.payload.sample-rates.task-create=0.1}. Can be changed at runtime through the
+ * {@code payloadlogging} actuator endpoint.
+ */
+@Component
+@ConfigurationProperties(prefix = "flow.logging.payload")
+public class PayloadLoggingProperties {
+
+  private volatile boolean enabled = true;
+
+  private volatile String level = "DEBUG";
+
+  private volatile double defaultSampleRate = 1.0;
+
+  private volatile Map<String, Double> sampleRates = new HashMap<>();
+
+  /**
+   * Maximum number of characters of a serialized payload written to the log.
+   */
+  private volatile int maxSize = 4096;
+
+  /**
+   * Case insensitive fragments of property names whose values are masked.
+   */
+  private volatile List<String> redactedKeys =
+      Arrays.asList("password", "secret", "token", "apikey", "authorization", "credential");
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public String getLevel() {
+    return level;
+  }
+
+  public void setLevel(String level) {
+    this.level = level;
+  }
+
+  public double getDefaultSampleRate() {
+    return defaultSampleRate;
+  }
+
+  public void setDefaultSampleRate(double defaultSampleRate) {
+    this.defaultSampleRate = defaultSampleRate;
+  }
+
+  public Map<String, Double> getSampleRates() {
+    return sampleRates;
+  }
+
+  public void setSampleRates(Map<String, Double> sampleRates) {
+    this.sampleRates = sampleRates;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public List<String> getRedactedKeys() {
+    return redactedKeys;
+  }
+
+  public void setRedactedKeys(List<String> redactedKeys) {
+    this.redactedKeys = redactedKeys;
+  }
+
+  public double getSampleRate(PayloadType type) {
+    Double rate = sampleRates.get(type.getKey());
+    return rate != null ? rate : defaultSampleRate;
+  }
+}
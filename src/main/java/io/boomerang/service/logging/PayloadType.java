@@ -0,0 +1,30 @@
+package io.boomerang.service.logging;
+
+public enum PayloadType {
+
+  EXECUTION_REQUEST("execution-request", "Workflow Execution Request"),
+  WORKFLOW_CREATE("workflow-create", "Create Workflow Request"),
+  WORKFLOW_TERMINATE("workflow-terminate", "Terminate Workflow Request"),
+  TASK_CREATE("task-create", "Create Task Request"),
+  TASK_RESPONSE("task-response", "Create Task Response"),
+  TASK_TERMINATE("task-terminate", "Terminate Task Request"),
+  WORKSPACE_CREATE("workspace-create", "Create Workspace Request"),
+  WORKSPACE_DELETE("workspace-delete", "Delete Workspace Request"),
+  WORKSPACE_RESPONSE("workspace-response", "Workspace Response");
+
+  private final String key;
+  private final String description;
+
+  PayloadType(String key, String description) {
+    this.key = key;
+    this.description = description;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+}
@@ -0,0 +1,43 @@
+package io.boomerang.service.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits the first {@code limit} distinct values of a tag and maps every later value to
+ * {@value #OTHER}, so a meter tagged by workflow or team keeps a bounded number of series.
+ */
+public class BoundedTagValues {
+
+  public static final String OTHER = "other";
+
+  public static final String NONE = "none";
+
+  private final int limit;
+
+  private final Set<String> admitted = ConcurrentHashMap.newKeySet();
+
+  public BoundedTagValues(int limit) {
+    this.limit = limit;
+  }
+
+  public String get(String value) {
+    if (value == null || value.isEmpty()) {
+      return NONE;
+    }
+    if (admitted.contains(value)) {
+      return value;
+    }
+    synchronized (admitted) {
+      if (admitted.size() < limit) {
+        admitted.add(value);
+        return value;
+      }
+    }
+    return admitted.contains(value) ? value : OTHER;
+  }
+
+  public int size() {
+    return admitted.size();
+  }
+}
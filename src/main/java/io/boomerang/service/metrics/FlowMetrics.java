@@ -0,0 +1,130 @@
+package io.boomerang.service.metrics;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.model.TaskType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of the workflow engine: task transitions by task type, lock waits, start latency and
+ * duration of activities, executor saturation and event ingestion lag.
+ *
+ * <p>
+ * Tags are limited to enumerations (task type, status, lock kind, transport) except for the
+ * workflow and team of the activity duration, which are capped by {@link FlowMetricsProperties}.
+ * Controller call latency is reported by the controller call guard as
+ * {@code flow.controller.calls}.
+ */
+@Component
+public class FlowMetrics {
+
+  public static final String LOCK_ACTIVITY = "activity";
+
+  public static final String LOCK_TASK = "task";
+
+  private final MeterRegistry registry;
+  private final BoundedTagValues workflows;
+  private final BoundedTagValues teams;
+  private final Timer startLatency;
+
+  @Autowired
+  public FlowMetrics(MeterRegistry registry, FlowMetricsProperties properties,
+      @Qualifier("flowAsyncExecutor") Executor executor) {
+    this.registry = registry;
+    this.workflows = new BoundedTagValues(properties.getMaxWorkflowTags());
+    this.teams = new BoundedTagValues(properties.getMaxTeamTags());
+    this.startLatency = Timer.builder("flow.activity.start.latency")
+        .description("Time from the start of an activity until its first task starts")
+        .publishPercentileHistogram().register(registry);
+
+    if (executor instanceof ThreadPoolTaskExecutor) {
+      ThreadPoolExecutor pool = ((ThreadPoolTaskExecutor) executor).getThreadPoolExecutor();
+      Gauge.builder("flow.executor.queued", pool, p -> p.getQueue().size())
+          .tag("executor", "flowAsyncExecutor")
+          .description("Task transitions waiting for an engine thread").register(registry);
+      Gauge.builder("flow.executor.active", pool, ThreadPoolExecutor::getActiveCount)
+          .tag("executor", "flowAsyncExecutor")
+          .description("Engine threads running a task transition").register(registry);
+    }
+  }
+
+  /**
+   * Starts timing a task transition ({@code create} or {@code end}) on the current thread.
+   */
+  public Transition startTransition(String transition) {
+    return new Transition(transition);
+  }
+
+  public <T> T recordLockWait(String lock, Supplier<T> acquire) {
+    return Timer.builder("flow.lock.wait").tag("lock", lock)
+        .description("Time spent waiting to acquire a lock").register(registry)
+        .record(acquire);
+  }
+
+  public void recordStartLatency(ActivityEntity activity, Date taskStart) {
+    if (activity.getCreationDate() != null && taskStart != null) {
+      long latency = taskStart.getTime() - activity.getCreationDate().getTime();
+      startLatency.record(Duration.ofMillis(Math.max(0, latency)));
+    }
+  }
+
+  public void recordActivityDuration(ActivityEntity activity) {
+    if (activity.getDuration() == null) {
+      return;
+    }
+    Timer.builder("flow.activity.duration")
+        .tag("workflow", workflows.get(activity.getWorkflowId()))
+        .tag("team", teams.get(activity.getTeamId()))
+        .tag("status", activity.getStatus() != null ? activity.getStatus().name() : "unknown")
+        .description("End to end duration of finished activities").register(registry)
+        .record(Duration.ofMillis(activity.getDuration()));
+  }
+
+  public void recordIngestionLag(String transport, Duration lag) {
+    Timer.builder("flow.event.ingestion.lag").tag("transport", transport)
+        .description("Time from the event timestamp until the engine received the event")
+        .register(registry).record(lag.isNegative() ? Duration.ZERO : lag);
+  }
+
+  /**
+   * A task transition in progress. The Mongo command count includes the commands of transitions
+   * nested on the same thread, e.g. the end of a decision task run from its creation.
+   */
+  public class Transition {
+
+    private final String name;
+    private final long startNanos = System.nanoTime();
+    private final long startOperations = MongoOperationTracker.current();
+    private TaskType taskType;
+
+    Transition(String name) {
+      this.name = name;
+    }
+
+    public void setTaskType(TaskType taskType) {
+      this.taskType = taskType;
+    }
+
+    public void stop() {
+      String type = taskType != null ? taskType.name() : "unknown";
+      Timer.builder("flow.task." + name).tag("taskType", type)
+          .description("Time spent by the engine on a task transition")
+          .publishPercentileHistogram().register(registry)
+          .record(Duration.ofNanos(System.nanoTime() - startNanos));
+      DistributionSummary.builder("flow.task.mongo.operations").tag("transition", name)
+          .tag("taskType", type).description("MongoDB commands issued by a task transition")
+          .register(registry).record(MongoOperationTracker.current() - startOperations);
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package io.boomerang.service.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits on the tag values of the workflow engine meters, e.g.
+ * {@code flow.metrics.max-workflow-tags=100}. Workflows and teams seen after the limit is reached
+ * are reported under the {@code other} tag value.
+ */
+@Component
+@ConfigurationProperties(prefix = "flow.metrics")
+public class FlowMetricsProperties {
+
+  private int maxWorkflowTags = 100;
+
+  private int maxTeamTags = 50;
+
+  public int getMaxWorkflowTags() {
+    return maxWorkflowTags;
+  }
+
+  public void setMaxWorkflowTags(int maxWorkflowTags) {
+    this.maxWorkflowTags = maxWorkflowTags;
+  }
+
+  public int getMaxTeamTags() {
+    return maxTeamTags;
+  }
+
+  public void setMaxTeamTags(int maxTeamTags) {
+    this.maxTeamTags = maxTeamTags;
+  }
+}
@@ -0,0 +1,14 @@
+package io.boomerang.service.metrics;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+
+  @Bean
+  public MongoClientSettingsBuilderCustomizer mongoOperationTrackerCustomizer() {
+    return builder -> builder.addCommandListener(new MongoOperationTracker());
+  }
+}
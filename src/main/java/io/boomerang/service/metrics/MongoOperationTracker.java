@@ -0,0 +1,23 @@
+package io.boomerang.service.metrics;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Counts the MongoDB commands issued by each thread. The synchronous driver notifies listeners on
+ * the calling thread, so the difference between two reads on the same thread is the number of
+ * commands sent in between.
+ */
+public class MongoOperationTracker implements CommandListener {
+
+  private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+  @Override
+  public void commandStarted(CommandStartedEvent event) {
+    COUNT.get()[0]++;
+  }
+
+  public static long current() {
+    return COUNT.get()[0];
+  }
+}
@@ -1,6 +1,5 @@
 package io.boomerang.service.refactor;
 
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -34,8 +33,8 @@ import io.boomerang.mongo.model.WorkflowExecutionCondition;
 import io.boomerang.mongo.model.next.DAGTask;
 import io.boomerang.mongo.model.next.Dependency;
 import io.boomerang.mongo.service.ActivityTaskService;
-import io.boomerang.mongo.service.FlowTaskTemplateService;
-import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.RevisionCache;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
 import io.boomerang.util.GraphProcessor;
 
 @Service
@@ -45,10 +44,10 @@ public class DAGUtility {
   private ActivityTaskService taskActivityService;
 
   @Autowired
-  private FlowTaskTemplateService templateService;
+  private TaskTemplateCatalog templateCatalog;
 
   @Autowired
-  private RevisionService workflowVersionService;
+  private RevisionCache revisionCache;
 
   private List<String> calculateNodesToRemove(Graph<String, DefaultEdge> graph,
       List<Task> tasksToRun, String activityId, String value, final String currentVert,
@@ -75,7 +74,7 @@ public class DAGUtility {
 
   public boolean canCompleteTask(ActivityEntity workflowActivity, String taskId) {
     RevisionEntity revision =
-        workflowVersionService.getWorkflowlWithId(workflowActivity.getWorkflowRevisionid());
+        revisionCache.getRevision(workflowActivity.getWorkflowRevisionid());
     List<Task> tasks = this.createTaskList(revision, workflowActivity);
     final Task start = tasks.stream().filter(tsk -> TaskType.start.equals(tsk.getTaskType()))
         .findAny().orElse(null);
@@ -160,26 +159,15 @@ public class DAGUtility {
 
       if (dagTask.getType() == TaskType.script || dagTask.getType() == TaskType.template || dagTask.getType() == TaskType.customtask) {
         String templateId = dagTask.getTemplateId();
-        final FlowTaskTemplateEntity flowTaskTemplate =
-            templateService.getTaskTemplateWithId(templateId);
+        final FlowTaskTemplateEntity flowTaskTemplate = templateCatalog.getTemplate(templateId);
         newTask.setTemplateId(flowTaskTemplate.getId());
        
         Integer templateVersion = dagTask.getTemplateVersion();
-        List<Revision> revisions = flowTaskTemplate.getRevisions();
-        if (revisions != null) {
-          Optional<Revision> result = revisions.stream().parallel()
-              .filter(revision -> revision.getVersion().equals(templateVersion)).findAny();
-          if (result.isPresent()) {
-            Revision revision = result.get();
+        if (flowTaskTemplate.getRevisions() != null) {
+          Revision revision = templateCatalog.getRevisionOrLatest(templateId, templateVersion);
+          if (revision != null) {
             newTask.setRevision(revision);
             newTask.setResults(revision.getResults());
-          } else {
-            Optional<Revision> latestRevision = revisions.stream()
-                .sorted(Comparator.comparingInt(Revision::getVersion).reversed()).findFirst();
-            if (latestRevision.isPresent()) {
-              newTask.setRevision(latestRevision.get());
-              newTask.setResults(newTask.getRevision().getResults());
-            }
           }
         } else {
           throw new IllegalArgumentException("Invalid task template selected: " + templateId);
@@ -310,7 +298,7 @@ public class DAGUtility {
   public boolean validateWorkflow(ActivityEntity workflowActivity) {
     
     RevisionEntity revision =
-        workflowVersionService.getWorkflowlWithId(workflowActivity.getWorkflowRevisionid());
+        revisionCache.getRevision(workflowActivity.getWorkflowRevisionid());
     List<Task> tasks = this.createTaskList(revision, workflowActivity);
     final Task start = tasks.stream().filter(tsk -> TaskType.start.equals(tsk.getTaskType()))
         .findAny().orElse(null);
@@ -16,8 +16,10 @@ import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
 import com.github.alturkovic.lock.exception.LockNotAvailableException;
 import io.boomerang.model.Task;
+import io.boomerang.opentracing.FlowTracing;
 import io.boomerang.mongo.service.MongoConfiguration;
 import io.boomerang.service.PropertyManager;
+import io.boomerang.service.metrics.FlowMetrics;
 import io.boomerang.util.FlowMongoLock;
 
 @Service
@@ -32,6 +34,12 @@ public class LockManagerImpl implements LockManager {
   @Autowired
   private PropertyManager propertyManager;
 
+  @Autowired
+  private FlowMetrics flowMetrics;
+
+  @Autowired
+  private FlowTracing flowTracing;
+
   private static final Logger LOGGER = LogManager.getLogger(LockManagerImpl.class);
 
   @Override
@@ -68,24 +76,28 @@ public class LockManagerImpl implements LockManager {
         String storeId = key;
         final List<String> keys = new LinkedList<>();
         keys.add(storeId);
-
-        final String token = mongoLock.acquire(keys, storeID, timeout);
-
-        if (StringUtils.isEmpty(token)) {
-          /** TODO: What to do here. */
-          throw new LockNotAvailableException(
-              String.format("Lock not available for keys: %s in store %s", keys, storeId));
-        }
-
-        RetryTemplate retryTemplate = getRetryTemplate();
-        retryTemplate.execute(ctx -> {
-          final boolean lockExists = mongoLock.exists(storeID, token);
-          if (lockExists) {
-            throw new LockNotAvailableException(
-                String.format("Lock hasn't been released yet for: %s in store %s", keys, storeId));
-          }
-          return lockExists;
-        });
+        final long lockTimeout = timeout;
+
+        flowTracing.inSpan("lock.wait",
+            () -> flowMetrics.recordLockWait(FlowMetrics.LOCK_TASK, () -> {
+              final String token = mongoLock.acquire(keys, storeID, lockTimeout);
+
+              if (StringUtils.isEmpty(token)) {
+                /** TODO: What to do here. */
+                throw new LockNotAvailableException(
+                    String.format("Lock not available for keys: %s in store %s", keys, storeId));
+              }
+
+              RetryTemplate retryTemplate = getRetryTemplate();
+              return retryTemplate.execute(ctx -> {
+                final boolean lockExists = mongoLock.exists(storeID, token);
+                if (lockExists) {
+                  throw new LockNotAvailableException(String.format(
+                      "Lock hasn't been released yet for: %s in store %s", keys, storeId));
+                }
+                return lockExists;
+              });
+            }));
 
       } else {
         LOGGER.info("No Acquire Lock Key Found!");
@@ -11,7 +11,8 @@ public interface TaskService {
 
   void endTask(InternalTaskResponse request);
 
-  List<String> updateTaskActivityForTopic(String activityId, String topic);
+  List<String> updateTaskActivityForTopic(String activityId, String topic, String status,
+      Map<String, String> outputProperties);
   
   void submitActivity(String taskActivityId, String taskStatus, Map<String, String> outputProperties);
   
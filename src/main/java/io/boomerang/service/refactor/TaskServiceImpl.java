@@ -1,13 +1,11 @@
 package io.boomerang.service.refactor;
 
 import java.util.Calendar;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.TimeZone;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
@@ -28,15 +26,18 @@ import io.boomerang.model.Task;
 import io.boomerang.model.WorkflowSchedule;
 import io.boomerang.mongo.entity.ActivityEntity;
 import io.boomerang.mongo.entity.ApprovalEntity;
+import io.boomerang.mongo.entity.EventWaitEntity;
 import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
 import io.boomerang.mongo.entity.RevisionEntity;
 import io.boomerang.mongo.entity.TaskExecutionEntity;
 import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.ActivityUpdate;
 import io.boomerang.mongo.model.Dag;
 import io.boomerang.mongo.model.ErrorResponse;
 import io.boomerang.mongo.model.KeyValuePair;
 import io.boomerang.mongo.model.ManualType;
 import io.boomerang.mongo.model.Revision;
+import io.boomerang.mongo.model.TaskExecutionUpdate;
 import io.boomerang.mongo.model.TaskStatus;
 import io.boomerang.mongo.model.TaskType;
 import io.boomerang.mongo.model.WorkflowScheduleType;
@@ -46,13 +47,16 @@ import io.boomerang.mongo.model.next.DAGTask;
 import io.boomerang.mongo.model.next.Dependency;
 import io.boomerang.mongo.service.ActivityTaskService;
 import io.boomerang.mongo.service.ApprovalService;
-import io.boomerang.mongo.service.FlowTaskTemplateService;
+import io.boomerang.mongo.service.EventWaitService;
 import io.boomerang.mongo.service.FlowWorkflowActivityService;
 import io.boomerang.mongo.service.FlowWorkflowService;
-import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.mongo.service.RevisionCache;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
+import io.boomerang.opentracing.FlowTracing;
 import io.boomerang.service.PropertyManager;
 import io.boomerang.service.crud.FlowActivityService;
 import io.boomerang.service.crud.WorkflowScheduleService;
+import io.boomerang.service.metrics.FlowMetrics;
 import io.boomerang.service.runner.misc.ControllerClient;
 
 @Service
@@ -69,10 +73,10 @@ public class TaskServiceImpl implements TaskService {
   private FlowWorkflowService workflowService;
 
   @Autowired
-  private FlowTaskTemplateService templateService;
+  private TaskTemplateCatalog templateCatalog;
 
   @Autowired
-  private RevisionService workflowVersionService;
+  private RevisionCache revisionCache;
 
   @Autowired
   private ActivityTaskService taskActivityService;
@@ -86,6 +90,9 @@ public class TaskServiceImpl implements TaskService {
   @Autowired
   private ApprovalService approvalService;
 
+  @Autowired
+  private EventWaitService eventWaitService;
+
   @Autowired
   private PropertyManager propertyManager;
 
@@ -104,9 +111,24 @@ public class TaskServiceImpl implements TaskService {
   private WorkflowScheduleService scheduleService;
 
 
+  @Autowired
+  private FlowMetrics flowMetrics;
+
+  @Autowired
+  private FlowTracing flowTracing;
+
   @Override
   @Async("flowAsyncExecutor")
   public void createTask(InternalTaskRequest request) {
+    FlowMetrics.Transition transition = flowMetrics.startTransition("create");
+    try {
+      createTask(request, transition);
+    } finally {
+      transition.stop();
+    }
+  }
+
+  private void createTask(InternalTaskRequest request, FlowMetrics.Transition transition) {
 
     String taskId = request.getActivityId();
     LOGGER.debug("[{}] Recieved creating task request", taskId);
@@ -121,10 +143,23 @@ public class TaskServiceImpl implements TaskService {
       return;
     }
 
+    flowTracing.inSpan("task.create", activity,
+        () -> startTask(taskExecution, activity, transition));
+  }
+
+  private void startTask(TaskExecutionEntity taskExecution, ActivityEntity activity,
+      FlowMetrics.Transition transition) {
+
+    String taskId = taskExecution.getId();
     WorkflowEntity workflow = workflowService.getWorkflow(activity.getWorkflowId());
     String workflowName = workflow.getName();
 
-    Task task = getTask(taskExecution);
+    RevisionEntity revision =
+        revisionCache.getRevision(activity.getWorkflowRevisionid());
+    List<Task> tasks = createTaskList(revision, activity);
+    String dagTaskId = taskExecution.getTaskId();
+    Task task =
+        tasks.stream().filter(tsk -> dagTaskId.equals(tsk.getTaskId())).findAny().orElse(null);
 
     if (task == null || taskExecution.getFlowTaskStatus() != TaskStatus.notstarted) {
       LOGGER.debug("Task is null or hasn't started yet");
@@ -132,11 +167,18 @@ public class TaskServiceImpl implements TaskService {
     }
 
     TaskType taskType = task.getTaskType();
-    taskExecution.setStartTime(new Date());
-    taskExecution.setFlowTaskStatus(TaskStatus.inProgress);
-    taskExecution = taskActivityService.save(taskExecution);
+    transition.setTaskType(taskType);
+    taskActivityService.update(new TaskExecutionUpdate(taskExecution).startTime(new Date())
+        .status(TaskStatus.inProgress));
+
+    boolean firstTask = tasks.stream().anyMatch(tsk -> tsk.getTaskType() == TaskType.start
+        && task.getDependencies().contains(tsk.getTaskId()));
+    if (firstTask) {
+      flowMetrics.recordStartLatency(activity, taskExecution.getStartTime());
+    }
 
-    boolean canRunTask = dagUtility.canCompleteTask(activity, task.getTaskId());
+    boolean canRunTask = flowTracing.inSpan("dag.evaluate",
+        () -> dagUtility.canCompleteTask(activity, task.getTaskId()));
 
     String activityId = activity.getId();
 
@@ -182,7 +224,7 @@ public class TaskServiceImpl implements TaskService {
       } else if (taskType == TaskType.manual) {
         createApprovalNotification(taskExecution, task, activity, workflow, ManualType.task);
       } else if (taskType == TaskType.eventwait) {
-        createWaitForEventTask(taskExecution);
+        createWaitForEventTask(taskExecution, task);
       }
     } else {
       LOGGER.debug("[{}] Skipping task", taskId);
@@ -198,8 +240,8 @@ public class TaskServiceImpl implements TaskService {
     String status = task.getInputs().get("status");
     if (!status.isBlank()) {
       TaskStatus taskStatus = TaskStatus.valueOf(status);
-      activity.setStatusOverride(taskStatus);
-      this.activityService.saveWorkflowActivity(activity);
+      this.activityService
+          .updateWorkflowActivity(new ActivityUpdate(activity).statusOverride(taskStatus));
     }
   }
 
@@ -210,8 +252,7 @@ public class TaskServiceImpl implements TaskService {
     String value = decisionValue;
     value = propertyManager.replaceValueWithProperty(value, activityId, properties);
     TaskExecutionEntity taskExecution = taskActivityService.findById(task.getTaskActivityId());
-    taskExecution.setSwitchValue(value);
-    taskActivityService.save(taskExecution);
+    taskActivityService.update(new TaskExecutionUpdate(taskExecution).switchValue(value));
   }
 
   private void releaseLock(Task task, ActivityEntity activity) {
@@ -241,9 +282,8 @@ public class TaskServiceImpl implements TaskService {
       String workflowActivityId = flowClient.submitWebhookEvent(request);
       if (workflowActivityId != null) {
         TaskExecutionEntity taskExecution = taskActivityService.findById(task.getTaskActivityId());
-        taskExecution.setRunWorkflowActivityId(workflowActivityId);
-        taskExecution.setRunWorkflowId(request.getWorkflowId());
-        taskActivityService.save(taskExecution);
+        taskActivityService.update(new TaskExecutionUpdate(taskExecution)
+            .runWorkflow(request.getWorkflowId(), workflowActivityId));
       }
     }
 
@@ -354,14 +394,26 @@ public class TaskServiceImpl implements TaskService {
     this.endTask(response);
   }
 
-  private void createWaitForEventTask(TaskExecutionEntity taskExecution) {
+  private void createWaitForEventTask(TaskExecutionEntity taskExecution, Task task) {
 
     LOGGER.debug("[{}] Creating wait for event task", taskExecution.getActivityId());
 
-    taskExecution.setFlowTaskStatus(TaskStatus.waiting);
-    taskActivityService.save(taskExecution);
+    taskActivityService.update(new TaskExecutionUpdate(taskExecution).status(TaskStatus.waiting));
 
-    if (taskExecution.isPreApproved()) {
+    String topic = task.getInputs() != null ? task.getInputs().get("topic") : null;
+    EventWaitEntity event = topic != null ? eventWaitService
+        .registerWait(taskExecution.getActivityId(), topic, taskExecution.getId()) : null;
+
+    if (event != null) {
+      taskActivityService.update(new TaskExecutionUpdate(taskExecution).preApproved(true));
+      InternalTaskResponse response = new InternalTaskResponse();
+      response.setActivityId(taskExecution.getId());
+      response.setStatus(getEventTaskStatus(event.getStatus()));
+      if (event.getEventPayload() != null) {
+        response.setOutputProperties(event.getEventPayload());
+      }
+      this.endTask(response);
+    } else if (taskExecution.isPreApproved()) {
       InternalTaskResponse response = new InternalTaskResponse();
       response.setActivityId(taskExecution.getId());
       response.setStatus(TaskStatus.completed);
@@ -371,13 +423,15 @@ public class TaskServiceImpl implements TaskService {
 
   private void createApprovalNotification(TaskExecutionEntity taskExecution, Task task,
       ActivityEntity activity, WorkflowEntity workflow, ManualType type) {
-    taskExecution.setFlowTaskStatus(TaskStatus.waiting);
-    taskExecution = taskActivityService.save(taskExecution);
+    taskActivityService.update(new TaskExecutionUpdate(taskExecution).status(TaskStatus.waiting));
     ApprovalEntity approval = new ApprovalEntity();
     approval.setTaskActivityId(taskExecution.getId());
     approval.setActivityId(activity.getId());
     approval.setWorkflowId(workflow.getId());
     approval.setTeamId(workflow.getFlowTeamId());
+    approval.setWorkflowName(workflow.getName());
+    approval.setScope(workflow.getScope());
+    approval.setTaskName(task.getTaskName());
     approval.setStatus(ApprovalStatus.submitted);
     approval.setType(type);
     approval.setCreationDate(new Date());
@@ -397,16 +451,11 @@ public class TaskServiceImpl implements TaskService {
       }
     }
     approvalService.save(approval);
-    activity.setAwaitingApproval(true);
-    this.activityService.saveWorkflowActivity(activity);
+    this.activityService
+        .updateWorkflowActivity(new ActivityUpdate(activity).awaitingApproval(true));
   }
 
   private void saveWorkflowProperty(Task task, ActivityEntity activity) {
-    if (activity.getOutputProperties() == null) {
-      activity.setOutputProperties(new LinkedList<>());
-    }
-
-    List<KeyValuePair> outputProperties = activity.getOutputProperties();
     String input = task.getInputs().get("value");
     String output = task.getInputs().get("output");
     KeyValuePair outputProperty = new KeyValuePair();
@@ -418,13 +467,22 @@ public class TaskServiceImpl implements TaskService {
         propertyManager.replaceValueWithProperty(input, activity.getId(), requestProperties);
 
     outputProperty.setValue(outputValue);
-    outputProperties.add(outputProperty);
-    this.activityService.saveWorkflowActivity(activity);
+    this.activityService
+        .updateWorkflowActivity(new ActivityUpdate(activity).addOutputProperty(outputProperty));
   }
 
   @Override
   @Async("flowAsyncExecutor")
   public void endTask(InternalTaskResponse request) {
+    FlowMetrics.Transition transition = flowMetrics.startTransition("end");
+    try {
+      endTask(request, transition);
+    } finally {
+      transition.stop();
+    }
+  }
+
+  private void endTask(InternalTaskResponse request, FlowMetrics.Transition transition) {
 
     String activityId = request.getActivityId();
     LOGGER.info("[{}] Recieved end task request", activityId);
@@ -435,16 +493,25 @@ public class TaskServiceImpl implements TaskService {
 
     if (workflowActivity.getStatus() == TaskStatus.cancelled) {
       LOGGER.error("[{}] Workflow has been marked as cancelled, not ending task", activityId);
-      activity.setFlowTaskStatus(TaskStatus.cancelled);
-      long duration = new Date().getTime() - activity.getStartTime().getTime();
-      activity.setDuration(duration);
-      taskActivityService.save(activity);
+      taskActivityService.update(
+          new TaskExecutionUpdate(activity).status(TaskStatus.cancelled).finished(new Date()));
       return;
     }
 
+    flowTracing.inSpan("task.end", workflowActivity,
+        () -> completeTask(request, activity, workflowActivity, transition));
+  }
+
+  private void completeTask(InternalTaskResponse request, TaskExecutionEntity activity,
+      ActivityEntity workflowActivity, FlowMetrics.Transition transition) {
+
+    String activityId = request.getActivityId();
     RevisionEntity revision =
-        workflowVersionService.getWorkflowlWithId(workflowActivity.getWorkflowRevisionid());
+        revisionCache.getRevision(workflowActivity.getWorkflowRevisionid());
     Task currentTask = getTask(activity);
+    if (currentTask != null) {
+      transition.setTaskType(currentTask.getTaskType());
+    }
     List<Task> tasks = this.createTaskList(revision, workflowActivity);
 
     String storeId = workflowActivity.getId();
@@ -455,16 +522,12 @@ public class TaskServiceImpl implements TaskService {
     workflowActivity = this.activityService.findWorkflowActivtyById(activity.getActivityId());
 
 
-    activity.setFlowTaskStatus(request.getStatus());
-    long duration = new Date().getTime() - activity.getStartTime().getTime();
-    activity.setDuration(duration);
-
-
+    TaskExecutionUpdate taskUpdate =
+        new TaskExecutionUpdate(activity).status(request.getStatus()).finished(new Date());
     if (request.getOutputProperties() != null && !request.getOutputProperties().isEmpty()) {
-      activity.setOutputs(request.getOutputProperties());
+      taskUpdate.outputs(request.getOutputProperties());
     }
-
-    activity = taskActivityService.save(activity);
+    taskActivityService.update(taskUpdate);
 
     boolean finishedAll = this.finishedAll(workflowActivity, tasks, currentTask);
 
@@ -476,7 +539,8 @@ public class TaskServiceImpl implements TaskService {
     LOGGER.debug("[{}] Obtained lock", activityId);
 
     workflowActivity = this.activityService.findWorkflowActivtyById(activity.getActivityId());
-    updatePendingAprovalStatus(workflowActivity);
+    ActivityUpdate activityUpdate = new ActivityUpdate(workflowActivity);
+    updatePendingAprovalStatus(activityUpdate);
 
     activity.setFlowTaskStatus(request.getStatus());
     
@@ -488,32 +552,41 @@ public class TaskServiceImpl implements TaskService {
       response.setMessage("Workflow execution terminated due to exceeding maxinum workflow duration.");
       response.setCode("001");
     
+      this.activityService.updateWorkflowActivity(activityUpdate);
       this.flowActivityService.cancelWorkflowActivity(workflowActivityId, response);
     } else {
-      executeNextStep(workflowActivity, tasks, currentTask, finishedAll);
+      executeNextStep(activityUpdate, tasks, currentTask, finishedAll);
     }
     lock.release(keys, "locks", tokenId);
     LOGGER.debug("[{}] Released lock", activityId);
   }
 
-  private void updatePendingAprovalStatus(ActivityEntity workflowActivity) {
+  /**
+   * Adds the awaiting approval flag to the transition's activity update if it changes. The update
+   * is written together with the rest of the transition in {@link #executeNextStep}.
+   */
+  private void updatePendingAprovalStatus(ActivityUpdate activityUpdate) {
+    ActivityEntity workflowActivity = activityUpdate.getEntity();
     long count = approvalService.getApprovalCountForActivity(workflowActivity.getId(),
         ApprovalStatus.submitted);
     boolean existingApprovals = (count > 0);
-    workflowActivity.setAwaitingApproval(existingApprovals);
-    this.activityService.saveWorkflowActivity(workflowActivity);
+    if (workflowActivity.isAwaitingApproval() != existingApprovals) {
+      activityUpdate.awaitingApproval(existingApprovals);
+    }
   }
 
   private String getLock(String storeId, List<String> keys, long timeout) {
     RetryTemplate retryTemplate = getRetryTemplate();
-    return retryTemplate.execute(ctx -> {
-      final String token = lock.acquire(keys, "locks", timeout);
-      if (StringUtils.isEmpty(token)) {
-        throw new LockNotAvailableException(
-            String.format("Lock not available for keys: %s in store %s", keys, storeId));
-      }
-      return token;
-    });
+    return flowTracing.inSpan("lock.wait",
+        () -> flowMetrics.recordLockWait(FlowMetrics.LOCK_ACTIVITY,
+            () -> retryTemplate.execute(ctx -> {
+              final String token = lock.acquire(keys, "locks", timeout);
+              if (StringUtils.isEmpty(token)) {
+                throw new LockNotAvailableException(
+                    String.format("Lock not available for keys: %s in store %s", keys, storeId));
+              }
+              return token;
+            })));
   }
 
   private RetryTemplate getRetryTemplate() {
@@ -528,45 +601,56 @@ public class TaskServiceImpl implements TaskService {
     return retryTemplate;
   }
 
-  private void finishWorkflow(ActivityEntity activity) {
+  private void finishWorkflow(ActivityUpdate activityUpdate) {
+
+    ActivityEntity activity = activityUpdate.getEntity();
 
     WorkflowEntity workflow = workflowService.getWorkflow(activity.getWorkflowId());
 
     this.controllerClient.terminateFlow(workflow.getId(), workflow.getName(), activity.getId());
-    boolean workflowCompleted = dagUtility.validateWorkflow(activity);
+    boolean workflowCompleted =
+        flowTracing.inSpan("dag.evaluate", () -> dagUtility.validateWorkflow(activity));
     
     if (activity.getStatusOverride() != null) {
-      activity.setStatus(activity.getStatusOverride());
+      activityUpdate.status(activity.getStatusOverride());
     } else {
       if (workflowCompleted) {
-        activity.setStatus(TaskStatus.completed);
+        activityUpdate.status(TaskStatus.completed);
       } else {
-        activity.setStatus(TaskStatus.failure);
+        activityUpdate.status(TaskStatus.failure);
       }
     }
 
-    final Date finishDate = new Date();
-    final long duration = finishDate.getTime() - activity.getCreationDate().getTime();
-    activity.setDuration(duration);
-
-
-    this.activityService.saveWorkflowActivity(activity);
+    activityUpdate.finished(new Date());
 
+    this.activityService.updateWorkflowActivity(activityUpdate);
+    flowMetrics.recordActivityDuration(activity);
   }
 
-  private void executeNextStep(ActivityEntity workflowActivity, List<Task> tasks, Task currentTask,
+  /**
+   * Writes the transition's activity update once: together with the final status if the workflow
+   * finishes, otherwise before the next tasks start and change the activity themselves.
+   */
+  private void executeNextStep(ActivityUpdate activityUpdate, List<Task> tasks, Task currentTask,
       boolean finishedAll) {
+    ActivityEntity workflowActivity = activityUpdate.getEntity();
     LOGGER.debug("[{}] Looking at next tasks", workflowActivity.getId());
     LOGGER.debug("Testing at next tasks");
     List<Task> nextNodes = this.getTasksDependants(tasks, currentTask);
     LOGGER.debug("Testing at next tasks: {}", nextNodes.size());
 
+    boolean finishing =
+        finishedAll && nextNodes.stream().anyMatch(next -> next.getTaskType() == TaskType.end);
+    if (!finishing) {
+      this.activityService.updateWorkflowActivity(activityUpdate);
+    }
+
     for (Task next : nextNodes) {
 
       if (next.getTaskType() == TaskType.end) {
         if (finishedAll) {
           LOGGER.debug("FINISHED ALL");
-          this.finishWorkflow(workflowActivity);
+          this.finishWorkflow(activityUpdate);
           return;
         }
         continue;
@@ -640,7 +724,7 @@ public class TaskServiceImpl implements TaskService {
   private Task getTask(TaskExecutionEntity taskActivity) {
     ActivityEntity activity = activityService.findWorkflowActivtyById(taskActivity.getActivityId());
     RevisionEntity revision =
-        workflowVersionService.getWorkflowlWithId(activity.getWorkflowRevisionid());
+        revisionCache.getRevision(activity.getWorkflowRevisionid());
     List<Task> tasks = createTaskList(revision, activity);
     String taskId = taskActivity.getTaskId();
     return tasks.stream().filter(tsk -> taskId.equals(tsk.getTaskId())).findAny().orElse(null);
@@ -669,27 +753,16 @@ public class TaskServiceImpl implements TaskService {
         }
 
         String templateId = dagTask.getTemplateId();
-        final FlowTaskTemplateEntity flowTaskTemplate =
-            templateService.getTaskTemplateWithId(templateId);
+        final FlowTaskTemplateEntity flowTaskTemplate = templateCatalog.getTemplate(templateId);
         newTask.setTemplateId(flowTaskTemplate.getId());
 
 
         Integer templateVersion = dagTask.getTemplateVersion();
-        List<Revision> revisions = flowTaskTemplate.getRevisions();
-        if (revisions != null) {
-          Optional<Revision> result = revisions.stream().parallel()
-              .filter(revision -> revision.getVersion().equals(templateVersion)).findAny();
-          if (result.isPresent()) {
-            Revision revision = result.get();
+        if (flowTaskTemplate.getRevisions() != null) {
+          Revision revision = templateCatalog.getRevisionOrLatest(templateId, templateVersion);
+          if (revision != null) {
             newTask.setRevision(revision);
             newTask.setResults(revision.getResults());
-          } else {
-            Optional<Revision> latestRevision = revisions.stream()
-                .sorted(Comparator.comparingInt(Revision::getVersion).reversed()).findFirst();
-            if (latestRevision.isPresent()) {
-              newTask.setRevision(latestRevision.get());
-              newTask.setResults(newTask.getRevision().getResults());
-            }
           }
         } else {
           throw new IllegalArgumentException("Invalid task template selected: " + templateId);
@@ -720,7 +793,8 @@ public class TaskServiceImpl implements TaskService {
           || dagTask.getType() == TaskType.setwfproperty
           || dagTask.getType() == TaskType.setwfstatus
           || dagTask.getType() == TaskType.acquirelock
-          || dagTask.getType() == TaskType.releaselock) {
+          || dagTask.getType() == TaskType.releaselock
+          || dagTask.getType() == TaskType.eventwait) {
 
         TaskExecutionEntity task =
             taskActivityService.findByTaskIdAndActivityId(dagTask.getTaskId(), activity.getId());
@@ -749,46 +823,12 @@ public class TaskServiceImpl implements TaskService {
   }
 
   @Override
-  public List<String> updateTaskActivityForTopic(String activityId, String topic) {
-
-    List<String> ids = new LinkedList<>();
-
-    LOGGER.info("[{}] Fidning task actiivty id based on topic.", activityId);
-    ActivityEntity activity = activityService.findWorkflowActivtyById(activityId);
-    RevisionEntity revision =
-        workflowVersionService.getWorkflowlWithId(activity.getWorkflowRevisionid());
-
-
-    List<DAGTask> tasks = revision.getDag().getTasks();
-    for (DAGTask task : tasks) {
-      if (TaskType.eventwait.equals(task.getType())) {
-        List<KeyValuePair> coreProperties = task.getProperties();
-        if (coreProperties != null) {
-          KeyValuePair coreProperty = coreProperties.stream()
-              .filter(c -> "topic".contains(c.getKey())).findAny().orElse(null);
-
-          if (coreProperty != null && topic.equals(coreProperty.getValue())) {
-
-            String text = coreProperty.getValue();
-            ControllerRequestProperties properties = propertyManager
-                .buildRequestPropertyLayering(null, activityId, activity.getWorkflowId());
-            text = propertyManager.replaceValueWithProperty(text, activityId, properties);
-
-            String taskId = task.getTaskId();
-            TaskExecutionEntity taskExecution =
-                this.taskActivityService.findByTaskIdAndActivityId(taskId, activityId);
-            if (taskExecution != null) {
-              LOGGER.info("[{}] Found task id: {} ", activityId, taskExecution.getId());
-              taskExecution.setPreApproved(true);
-              this.taskActivityService.save(taskExecution);
-
-              ids.add(taskExecution.getId());
-            }
-          }
-        }
-      }
-    }
-    LOGGER.info("[{}] No task activity ids found for topic: {}", activityId, topic);
+  public List<String> updateTaskActivityForTopic(String activityId, String topic, String status,
+      Map<String, String> outputProperties) {
+    List<String> ids =
+        eventWaitService.receiveEvent(activityId, topic, status, outputProperties);
+    LOGGER.info("[{}] Found {} task activities waiting for topic: {}", activityId, ids.size(),
+        topic);
     return ids;
   }
 
@@ -799,12 +839,7 @@ public class TaskServiceImpl implements TaskService {
 
     LOGGER.info("submitActivity: {}", taskStatus);
 
-    TaskStatus status = TaskStatus.completed;
-    if ("success".equals(taskStatus)) {
-      status = TaskStatus.completed;
-    } else if ("failure".equals(taskStatus)) {
-      status = TaskStatus.failure;
-    }
+    TaskStatus status = getEventTaskStatus(taskStatus);
 
     LOGGER.info("Submit Activity (Task Status): {}", status.toString());
 
@@ -822,4 +857,8 @@ public class TaskServiceImpl implements TaskService {
       endTask(request);
     }
   }
+
+  private static TaskStatus getEventTaskStatus(String taskStatus) {
+    return "failure".equals(taskStatus) ? TaskStatus.failure : TaskStatus.completed;
+  }
 }
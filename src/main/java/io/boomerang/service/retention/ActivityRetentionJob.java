@@ -0,0 +1,83 @@
+package io.boomerang.service.retention;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import com.github.alturkovic.lock.Lock;
+import io.boomerang.mongo.service.ActivityArchiveService;
+
+/**
+ * Periodically moves finished activities past their team's retention age out of the live activity
+ * collections. Only one replica sweeps at a time.
+ */
+@Component
+public class ActivityRetentionJob {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final List<String> LOCK_KEYS = Collections.singletonList("activity-retention");
+
+  private static final long LOCK_EXPIRATION = Duration.ofHours(1).toMillis();
+
+  @Autowired
+  private ActivityRetentionProperties properties;
+
+  @Autowired
+  private ActivityArchiveService archiveService;
+
+  @Autowired
+  private Lock lock;
+
+  @Scheduled(cron = "${flow.activity.retention.cron:0 30 2 * * *}")
+  public void run() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    String token = lock.acquire(LOCK_KEYS, "locks", LOCK_EXPIRATION);
+    if (!StringUtils.hasText(token)) {
+      LOGGER.debug("Activity retention is running on another replica");
+      return;
+    }
+    try {
+      int archived = archiveAll();
+      LOGGER.info("Archived {} finished activities", archived);
+    } finally {
+      lock.release(LOCK_KEYS, "locks", token);
+    }
+  }
+
+  int archiveAll() {
+    long now = System.currentTimeMillis();
+    int budget = properties.getMaxPerRun();
+    for (Map.Entry<String, Duration> team : properties.getTeams().entrySet()) {
+      Date cutoff = new Date(now - team.getValue().toMillis());
+      budget -= sweep(cutoff, Collections.singletonList(team.getKey()), null, budget);
+    }
+    Date cutoff = new Date(now - properties.getMaxAge().toMillis());
+    budget -= sweep(cutoff, null, properties.getTeams().keySet(), budget);
+    return properties.getMaxPerRun() - budget;
+  }
+
+  private int sweep(Date cutoff, List<String> teamIds, Collection<String> excludedTeamIds,
+      int budget) {
+    int total = 0;
+    while (total < budget) {
+      int limit = Math.min(properties.getBatchSize(), budget - total);
+      int archived = archiveService.archive(cutoff, teamIds, excludedTeamIds, limit);
+      total += archived;
+      if (archived < limit) {
+        break;
+      }
+    }
+    return total;
+  }
+}
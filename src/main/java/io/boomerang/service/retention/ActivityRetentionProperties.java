@@ -0,0 +1,76 @@
+package io.boomerang.service.retention;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for moving finished activities into the archive, e.g.
+ * {@code flow.activity.retention.teams.<teamId>=P30D} to keep a team's history live for 30 days
+ * instead of {@link #getMaxAge()}.
+ */
+@Component
+@ConfigurationProperties(prefix = "flow.activity.retention")
+public class ActivityRetentionProperties {
+
+  private boolean enabled = false;
+
+  /**
+   * Age after which finished activities are archived, unless overridden for the team.
+   */
+  private Duration maxAge = Duration.ofDays(90);
+
+  private Map<String, Duration> teams = new HashMap<>();
+
+  /**
+   * Number of activities moved per batch.
+   */
+  private int batchSize = 500;
+
+  /**
+   * Upper bound on the number of activities moved by a single run.
+   */
+  private int maxPerRun = 50000;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public Duration getMaxAge() {
+    return maxAge;
+  }
+
+  public void setMaxAge(Duration maxAge) {
+    this.maxAge = maxAge;
+  }
+
+  public Map<String, Duration> getTeams() {
+    return teams;
+  }
+
+  public void setTeams(Map<String, Duration> teams) {
+    this.teams = teams;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public int getMaxPerRun() {
+    return maxPerRun;
+  }
+
+  public void setMaxPerRun(int maxPerRun) {
+    this.maxPerRun = maxPerRun;
+  }
+}
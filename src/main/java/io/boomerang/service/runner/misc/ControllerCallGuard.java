@@ -0,0 +1,348 @@
+package io.boomerang.service.runner.misc;
+
+import java.net.ConnectException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import io.boomerang.opentracing.FlowTracing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Guards calls to the controller service with a bulkhead per operation, an overall deadline, a
+ * jittered retry for idempotent operations and a circuit breaker shared by all operations.
+ *
+ * <p>
+ * While the circuit is open calls fail fast with {@link ControllerUnavailableException}, and task
+ * starts can be deferred with {@link #deferIfUnavailable(Runnable)}; deferred starts are dispatched
+ * again once the circuit allows calls. The deadline bounds the time spent across retries; a single
+ * attempt is bounded by the socket timeout of the controller connection pool.
+ *
+ * <p>
+ * Only transport failures and the gateway statuses 502, 503 and 504 count as failures for the
+ * circuit breaker. Long running operations, i.e. task submissions that return when the task
+ * finishes, bypass the bulkhead and the half open trial: they only fail fast while the circuit is
+ * open, and only count as failures if the connection to the controller cannot be established.
+ */
+@Component
+public class ControllerCallGuard {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final ControllerResilienceProperties properties;
+  private final Executor deferredExecutor;
+  private final MeterRegistry registry;
+  private final FlowTracing tracing;
+
+  private final Map<ControllerOperation, Semaphore> bulkheads =
+      new EnumMap<>(ControllerOperation.class);
+  private final BlockingQueue<Runnable> deferred;
+
+  private final boolean[] window;
+  private int windowIndex;
+  private int windowCalls;
+  private int windowFailures;
+  private State state = State.CLOSED;
+  private long openedAt;
+  private boolean trialInProgress;
+
+  private final Counter deferredCounter;
+  private final Counter retriedCounter;
+
+  @Autowired
+  public ControllerCallGuard(ControllerResilienceProperties properties, MeterRegistry registry,
+      @Qualifier("flowAsyncExecutor") Executor deferredExecutor, FlowTracing tracing) {
+    this.properties = properties;
+    this.registry = registry;
+    this.deferredExecutor = deferredExecutor;
+    this.tracing = tracing;
+    this.window = new boolean[Math.max(1, properties.getCircuitBreaker().getWindowSize())];
+    this.deferred = new ArrayBlockingQueue<>(Math.max(1, properties.getDeferredCapacity()));
+
+    for (ControllerOperation operation : ControllerOperation.values()) {
+      if (operation.isLongRunning()) {
+        continue;
+      }
+      Semaphore bulkhead =
+          new Semaphore(properties.getOperation(operation).getMaxConcurrent(), true);
+      bulkheads.put(operation, bulkhead);
+      Gauge.builder("flow.controller.bulkhead.available", bulkhead, Semaphore::availablePermits)
+          .tag("operation", operation.getKey())
+          .description("Free concurrent call slots for the controller operation")
+          .register(registry);
+    }
+    Gauge.builder("flow.controller.circuit.state", this, g -> g.getState().ordinal())
+        .description("Controller circuit breaker state: 0 closed, 1 open, 2 half open")
+        .register(registry);
+    Gauge.builder("flow.controller.deferred", deferred, BlockingQueue::size)
+        .description("Task starts waiting for the controller circuit to close").register(registry);
+    this.deferredCounter = Counter.builder("flow.controller.calls.deferred")
+        .description("Task starts deferred because the controller circuit was open")
+        .register(registry);
+    this.retriedCounter = Counter.builder("flow.controller.calls.retried")
+        .description("Controller calls retried after a transient failure").register(registry);
+  }
+
+  public <T> T call(ControllerOperation operation, Supplier<T> call) {
+    return tracing.inSpan("controller." + operation.getKey(),
+        () -> callWithRetry(operation, call));
+  }
+
+  private <T> T callWithRetry(ControllerOperation operation, Supplier<T> call) {
+    ControllerResilienceProperties.Operation limits = properties.getOperation(operation);
+    long deadline = System.nanoTime() + limits.getDeadline().toNanos();
+    int maxAttempts = operation.isIdempotent() ? Math.max(1, limits.getMaxAttempts()) : 1;
+
+    for (int attempt = 1;; attempt++) {
+      try {
+        return attempt(operation, limits, call);
+      } catch (ResourceAccessException | HttpServerErrorException e) {
+        if (attempt >= maxAttempts) {
+          throw e;
+        }
+        long backoff = backoff(attempt);
+        if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff) >= deadline) {
+          throw e;
+        }
+        retriedCounter.increment();
+        LOGGER.warn("Retrying controller {} call in {} ms (attempt {} failed: {})",
+            operation.getKey(), backoff, attempt, e.getMessage());
+        try {
+          Thread.sleep(backoff);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+
+  public void run(ControllerOperation operation, Runnable call) {
+    call(operation, () -> {
+      call.run();
+      return null;
+    });
+  }
+
+  /**
+   * Queues the task start for later dispatch if the circuit is open.
+   *
+   * @return {@code true} if the start was deferred and must not be executed by the caller
+   */
+  public boolean deferIfUnavailable(Runnable taskStart) {
+    if (getState() != State.OPEN) {
+      return false;
+    }
+    if (!deferred.offer(tracing.wrap(taskStart))) {
+      LOGGER.warn("Deferred task start queue is full, submitting to the unavailable controller.");
+      return false;
+    }
+    deferredCounter.increment();
+    return true;
+  }
+
+  /**
+   * Dispatches deferred task starts once the circuit is no longer open. The starts do not serve as
+   * trial calls, a start that cannot connect to the controller opens the circuit again.
+   */
+  @Scheduled(fixedDelayString = "${flow.controller.resilience.deferred-interval:5000}")
+  public void dispatchDeferred() {
+    if (getState() == State.OPEN || deferred.isEmpty()) {
+      return;
+    }
+    int limit = deferred.size();
+    for (int i = 0; i < limit; i++) {
+      Runnable taskStart = deferred.poll();
+      if (taskStart == null) {
+        return;
+      }
+      deferredExecutor.execute(taskStart);
+    }
+  }
+
+  public synchronized State getState() {
+    if (state == State.OPEN && System.currentTimeMillis() - openedAt >= properties
+        .getCircuitBreaker().getOpenDuration().toMillis()) {
+      state = State.HALF_OPEN;
+      trialInProgress = false;
+      LOGGER.info("Controller circuit half open, allowing a trial call.");
+    }
+    return state;
+  }
+
+  public int getDeferred() {
+    return deferred.size();
+  }
+
+  private <T> T attempt(ControllerOperation operation,
+      ControllerResilienceProperties.Operation limits, Supplier<T> call) {
+    boolean longRunning = operation.isLongRunning();
+    if (longRunning ? getState() == State.OPEN : !acquirePermission()) {
+      reject(operation, "circuit");
+      throw new ControllerUnavailableException(
+          "Controller circuit is open, " + operation.getKey() + " call not attempted");
+    }
+    Semaphore bulkhead = bulkheads.get(operation);
+    boolean acquired = true;
+    if (bulkhead != null) {
+      try {
+        acquired = bulkhead.tryAcquire(limits.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        acquired = false;
+      }
+    }
+    if (!acquired) {
+      releasePermission();
+      reject(operation, "bulkhead");
+      throw new ControllerUnavailableException(
+          "Too many concurrent " + operation.getKey() + " calls to the controller");
+    }
+
+    long start = System.nanoTime();
+    String outcome = "success";
+    try {
+      T result = call.get();
+      if (!longRunning) {
+        recordResult(false);
+      }
+      return result;
+    } catch (RuntimeException e) {
+      boolean unavailable = isUnavailable(e, longRunning);
+      outcome = unavailable ? "failure" : "error";
+      if (unavailable || !longRunning) {
+        recordResult(unavailable);
+      }
+      throw e;
+    } finally {
+      if (bulkhead != null) {
+        bulkhead.release();
+      }
+      Timer.builder("flow.controller.calls").tag("operation", operation.getKey())
+          .tag("outcome", outcome).register(registry)
+          .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Whether the failure shows that the controller is unavailable rather than that the call itself
+   * failed. A long running call that fails after it was established says nothing about the
+   * controller being available now.
+   */
+  private static boolean isUnavailable(RuntimeException e, boolean longRunning) {
+    if (e instanceof ResourceAccessException) {
+      Throwable cause = e.getCause();
+      return !longRunning
+          || cause instanceof ConnectException || cause instanceof ConnectTimeoutException;
+    }
+    if (e instanceof HttpServerErrorException && !longRunning) {
+      HttpStatus status = ((HttpServerErrorException) e).getStatusCode();
+      return status == HttpStatus.BAD_GATEWAY || status == HttpStatus.SERVICE_UNAVAILABLE
+          || status == HttpStatus.GATEWAY_TIMEOUT;
+    }
+    return false;
+  }
+
+  private synchronized boolean acquirePermission() {
+    State current = getState();
+    if (current == State.CLOSED) {
+      return true;
+    }
+    if (current == State.HALF_OPEN && !trialInProgress) {
+      trialInProgress = true;
+      return true;
+    }
+    return false;
+  }
+
+  private synchronized void releasePermission() {
+    if (state == State.HALF_OPEN) {
+      trialInProgress = false;
+    }
+  }
+
+  private synchronized void recordResult(boolean failure) {
+    if (state == State.HALF_OPEN) {
+      if (failure) {
+        open();
+      } else {
+        LOGGER.info("Controller trial call succeeded, closing circuit.");
+        state = State.CLOSED;
+        resetWindow();
+      }
+      return;
+    }
+    if (state == State.OPEN) {
+      return;
+    }
+
+    if (windowCalls == window.length) {
+      if (window[windowIndex]) {
+        windowFailures--;
+      }
+    } else {
+      windowCalls++;
+    }
+    window[windowIndex] = failure;
+    if (failure) {
+      windowFailures++;
+    }
+    windowIndex = (windowIndex + 1) % window.length;
+
+    ControllerResilienceProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+    if (windowCalls >= breaker.getMinimumCalls()
+        && windowFailures * 100 >= breaker.getFailureRateThreshold() * windowCalls) {
+      open();
+    }
+  }
+
+  private void open() {
+    LOGGER.warn("Controller circuit opened after {} failures in {} calls.", windowFailures,
+        windowCalls);
+    state = State.OPEN;
+    openedAt = System.currentTimeMillis();
+    trialInProgress = false;
+    resetWindow();
+  }
+
+  private void resetWindow() {
+    windowIndex = 0;
+    windowCalls = 0;
+    windowFailures = 0;
+  }
+
+  private void reject(ControllerOperation operation, String reason) {
+    Counter.builder("flow.controller.calls.rejected").tag("operation", operation.getKey())
+        .tag("reason", reason).description("Controller calls rejected without being attempted")
+        .register(registry).increment();
+  }
+
+  private long backoff(int attempt) {
+    ControllerResilienceProperties.Retry retry = properties.getRetry();
+    long cap = Math.min(retry.getMaxBackoff().toMillis(),
+        retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 16));
+    return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+  }
+}
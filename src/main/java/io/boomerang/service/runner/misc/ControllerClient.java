@@ -9,7 +9,7 @@ import io.boomerang.service.refactor.TaskService;
 
 public interface ControllerClient {
   
-  public void terminateTask(Task task);
+  public boolean terminateTask(Task task);
   
   public void submitTemplateTask(TaskService taskService, TaskClient flowTaskClient,Task task, String activityId, String workflowName, List<KeyValuePair> labels);
   
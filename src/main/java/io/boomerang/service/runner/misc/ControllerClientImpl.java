@@ -50,6 +50,8 @@ import io.boomerang.mongo.service.FlowWorkflowActivityService;
 import io.boomerang.mongo.service.FlowWorkflowService;
 import io.boomerang.service.PropertyManager;
 import io.boomerang.service.crud.FlowActivityService;
+import io.boomerang.service.logging.PayloadLogger;
+import io.boomerang.service.logging.PayloadType;
 import io.boomerang.service.refactor.ControllerRequestProperties;
 import io.boomerang.service.refactor.TaskClient;
 import io.boomerang.service.refactor.TaskService;
@@ -94,8 +96,11 @@ public class ControllerClientImpl implements ControllerClient {
   @Autowired
   private FlowWorkflowService workflowService;
 
-  private static final String CREATEWORKSPACEREQUEST = "Create Workflow Request";
-  private static final String DELETEWORKSPACEREQUEST = "Delete Workspace Request";
+  @Autowired
+  private PayloadLogger payloadLogger;
+
+  @Autowired
+  private ControllerCallGuard callGuard;
 
   private static final String CREATEWORKFLOWREQUEST = "Create Workflow Request";
   private static final String TERMINATEWORKFLOWREQUEST = "Terminate Workflow Request";
@@ -130,11 +135,12 @@ public class ControllerClientImpl implements ControllerClient {
 
     request.setLabels(this.convertToMap(labels));
 
-    logPayload(CREATEWORKFLOWREQUEST, request);
+    payloadLogger.log(PayloadType.WORKFLOW_CREATE, request);
     Date startTime = new Date();
     ActivityEntity activity = this.activityService.findWorkflowActivity(activityId);
     try {
-      Response response = restTemplate.postForObject(createWorkflowURL, request, Response.class);
+      Response response = callGuard.call(ControllerOperation.CREATE_WORKFLOW,
+          () -> restTemplate.postForObject(createWorkflowURL, request, Response.class));
 
       if (response != null && !"0".equals(response.getCode())) {
 
@@ -206,11 +212,12 @@ public class ControllerClientImpl implements ControllerClient {
     request.setWorkflowName(workflowName);
     request.setWorkflowId(workflowId);
 
-    logPayload(TERMINATEWORKFLOWREQUEST, request);
+    payloadLogger.log(PayloadType.WORKFLOW_TERMINATE, request);
 
     Date startTime = new Date();
     try {
-      restTemplate.postForObject(terminateWorkflowURL, request, String.class);
+      callGuard.call(ControllerOperation.TERMINATE_WORKFLOW,
+          () -> restTemplate.postForObject(terminateWorkflowURL, request, String.class));
     } catch (RestClientException ex) {
       LOGGER.error(ERRORLOGPRFIX, TERMINATEWORKFLOWREQUEST);
       LOGGER.error(ExceptionUtils.getStackTrace(ex));
@@ -228,6 +235,13 @@ public class ControllerClientImpl implements ControllerClient {
   public void submitCustomTask(TaskService t, TaskClient flowTaskClient, Task task,
       String activityId, String workflowName, List<KeyValuePair> labels) {
 
+    if (callGuard.deferIfUnavailable(
+        () -> submitCustomTask(t, flowTaskClient, task, activityId, workflowName, labels))) {
+      LOGGER.warn("[{}] Controller unavailable, deferring start of task {}", activityId,
+          task.getTaskName());
+      return;
+    }
+
 
     TaskResult taskResult = new TaskResult();
     TaskExecutionEntity taskExecution =
@@ -294,21 +308,21 @@ public class ControllerClientImpl implements ControllerClient {
     request.setWorkspaces(activity.getTaskWorkspaces());
 
 
-    logPayload("Create Task Request", request);
+    payloadLogger.log(PayloadType.TASK_CREATE, request);
 
     Map<String, String> outputProperties = new HashMap<>();
 
     try {
 
       Date startTime = new Date();
-      TaskResponse response =
-          restTemplate.postForObject(createTaskURL, request, TaskResponse.class);
+      TaskResponse response = callGuard.call(ControllerOperation.SUBMIT_TASK,
+          () -> restTemplate.postForObject(createTaskURL, request, TaskResponse.class));
 
       Date endTime = new Date();
 
       logRequestTime(CREATECUSTOMTASKREQUEST, startTime, endTime);
       if (response != null) {
-        this.logPayload(CREATECUSTOMTASKREQUEST, response);
+        payloadLogger.log(PayloadType.TASK_RESPONSE, response);
         if (response.getResults() != null && !response.getResults().isEmpty()) {
           for (TaskResponseResult result : response.getResults()) {
             String key = result.getName();
@@ -408,6 +422,14 @@ public class ControllerClientImpl implements ControllerClient {
   public void submitTemplateTask(TaskService t, TaskClient flowTaskClient, Task task,
       String activityId, String workflowName, List<KeyValuePair> labels) {
 
+    final List<KeyValuePair> requestLabels = labels;
+    if (callGuard.deferIfUnavailable(() -> submitTemplateTask(t, flowTaskClient, task, activityId,
+        workflowName, requestLabels))) {
+      LOGGER.warn("[{}] Controller unavailable, deferring start of task {}", activityId,
+          task.getTaskName());
+      return;
+    }
+
     ActivityEntity activity = this.activityService.findWorkflowActivity(activityId);
 
     if (labels == null) {
@@ -458,13 +480,13 @@ public class ControllerClientImpl implements ControllerClient {
 
     Map<String, String> outputProperties = new HashMap<>();
 
-    logPayload(CREATETEMPLATETASKREQUEST, request);
+    payloadLogger.log(PayloadType.TASK_CREATE, request);
     try {
 
       Date startTime = new Date();
 
-      TaskResponse response =
-          restTemplate.postForObject(createTaskURL, request, TaskResponse.class);
+      TaskResponse response = callGuard.call(ControllerOperation.SUBMIT_TASK,
+          () -> restTemplate.postForObject(createTaskURL, request, TaskResponse.class));
 
 
       Date endTime = new Date();
@@ -472,7 +494,7 @@ public class ControllerClientImpl implements ControllerClient {
       logRequestTime(CREATETEMPLATETASKREQUEST, startTime, endTime);
 
       if (response != null) {
-        this.logPayload(CREATETEMPLATETASKREQUEST, response);
+        payloadLogger.log(PayloadType.TASK_RESPONSE, response);
         if (response.getResults() != null && !response.getResults().isEmpty()) {
           response.getResults().get(0);
           if (response.getResults() != null) {
@@ -675,17 +697,6 @@ public class ControllerClientImpl implements ControllerClient {
     return taskConfiguration;
   }
 
-  private void logPayload(String payloadName, Object request) {
-    try {
-      ObjectMapper objectMapper = new ObjectMapper();
-      String payload = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(request);
-      LOGGER.info("Creating For Palyoad Type: {}", payloadName);
-      LOGGER.info(payload);
-    } catch (JsonProcessingException e) {
-      LOGGER.error(ExceptionUtils.getStackTrace(e));
-    }
-  }
-
   private void logRequestTime(String payloadName, Date start, Date end) {
     long diff = end.getTime() - start.getTime();
     LOGGER.debug("Benchmark [Request Type]: {} - {} ms", payloadName, diff);
@@ -704,7 +715,7 @@ public class ControllerClientImpl implements ControllerClient {
   }
 
   @Override
-  public void terminateTask(Task task) {
+  public boolean terminateTask(Task task) {
     TaskExecutionEntity taskExecution = taskService.findById(task.getTaskActivityId());
     ActivityEntity activity =
         this.activityService.findWorkflowActivity(taskExecution.getActivityId());
@@ -718,17 +729,19 @@ public class ControllerClientImpl implements ControllerClient {
       request.setWorkflowActivityId(activity.getId());
       request.setTaskName(task.getTaskName());
       request.setTaskActivityId(task.getTaskActivityId());
-      logPayload(TERMINATETASKREQUEST, request);
+      payloadLogger.log(PayloadType.TASK_TERMINATE, request);
 
-      restTemplate.postForObject(terminateTaskURL, request, TaskResponse.class);
+      callGuard.call(ControllerOperation.TERMINATE_TASK,
+          () -> restTemplate.postForObject(terminateTaskURL, request, TaskResponse.class));
 
       Date endTime = new Date();
       logRequestTime(TERMINATETASKREQUEST, startTime, endTime);
+      return true;
     } catch (RestClientException ex) {
       LOGGER.error(ERRORLOGPRFIX, TERMINATETASKREQUEST);
       LOGGER.error(ExceptionUtils.getStackTrace(ex));
+      return false;
     }
-
   }
 
   @Override
@@ -738,10 +751,11 @@ public class ControllerClientImpl implements ControllerClient {
     Workspace workspace = this.createWorkspaceRequest(id, "workflow");
 
     try {
-      logPayload(CREATEWORKSPACEREQUEST, workspace);
+      payloadLogger.log(PayloadType.WORKSPACE_CREATE, workspace);
 
-      Response response = restTemplate.postForObject(createWorkspaceUrl, workspace, Response.class);
-      logPayload(DELETEWORKSPACEREQUEST, response);
+      Response response = callGuard.call(ControllerOperation.CREATE_WORKSPACE,
+          () -> restTemplate.postForObject(createWorkspaceUrl, workspace, Response.class));
+      payloadLogger.log(PayloadType.WORKSPACE_RESPONSE, response);
 
     } catch (HttpStatusCodeException statusCodeException) {
       LOGGER.error(ExceptionUtils.getStackTrace(statusCodeException));
@@ -772,10 +786,11 @@ public class ControllerClientImpl implements ControllerClient {
   public void deleteWorkspace(String id) {
     Workspace workspace = this.createWorkspaceRequest(id, "workflow");
     try {
-      logPayload(CREATEWORKSPACEREQUEST, workspace);
+      payloadLogger.log(PayloadType.WORKSPACE_DELETE, workspace);
 
-      Response response = restTemplate.postForObject(deleteWorkspaceUrl, workspace, Response.class);
-      logPayload(DELETEWORKSPACEREQUEST, response);
+      Response response = callGuard.call(ControllerOperation.DELETE_WORKSPACE,
+          () -> restTemplate.postForObject(deleteWorkspaceUrl, workspace, Response.class));
+      payloadLogger.log(PayloadType.WORKSPACE_RESPONSE, response);
 
     } catch (HttpStatusCodeException statusCodeException) {
       LOGGER.error(ExceptionUtils.getStackTrace(statusCodeException));
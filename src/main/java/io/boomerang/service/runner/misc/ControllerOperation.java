@@ -0,0 +1,42 @@
+package io.boomerang.service.runner.misc;
+
+public enum ControllerOperation {
+
+  CREATE_WORKFLOW("create-workflow", false, false),
+  TERMINATE_WORKFLOW("terminate-workflow", true, false),
+  SUBMIT_TASK("submit-task", false, true),
+  TERMINATE_TASK("terminate-task", true, false),
+  CREATE_WORKSPACE("create-workspace", true, false),
+  DELETE_WORKSPACE("delete-workspace", true, false);
+
+  private final String key;
+
+  /**
+   * Whether the call can safely be repeated after a connection failure or server error.
+   */
+  private final boolean idempotent;
+
+  /**
+   * Whether the call lasts as long as the work it starts, e.g. a task submission returns when the
+   * task finishes.
+   */
+  private final boolean longRunning;
+
+  ControllerOperation(String key, boolean idempotent, boolean longRunning) {
+    this.key = key;
+    this.idempotent = idempotent;
+    this.longRunning = longRunning;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public boolean isIdempotent() {
+    return idempotent;
+  }
+
+  public boolean isLongRunning() {
+    return longRunning;
+  }
+}
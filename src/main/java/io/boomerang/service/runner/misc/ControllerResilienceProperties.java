@@ -0,0 +1,181 @@
+package io.boomerang.service.runner.misc;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits applied to controller service calls, e.g.
+ * {@code flow.controller.resilience.operations.create-workflow.max-concurrent=50}.
+ */
+@Component
+@ConfigurationProperties(prefix = "flow.controller.resilience")
+public class ControllerResilienceProperties {
+
+  private Map<String, Operation> operations = new HashMap<>();
+
+  private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  private Retry retry = new Retry();
+
+  /**
+   * Maximum number of task starts held while the circuit is open.
+   */
+  private int deferredCapacity = 1000;
+
+  public Map<String, Operation> getOperations() {
+    return operations;
+  }
+
+  public void setOperations(Map<String, Operation> operations) {
+    this.operations = operations;
+  }
+
+  public Operation getOperation(ControllerOperation operation) {
+    return operations.computeIfAbsent(operation.getKey(), k -> new Operation());
+  }
+
+  public CircuitBreaker getCircuitBreaker() {
+    return circuitBreaker;
+  }
+
+  public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  public Retry getRetry() {
+    return retry;
+  }
+
+  public void setRetry(Retry retry) {
+    this.retry = retry;
+  }
+
+  public int getDeferredCapacity() {
+    return deferredCapacity;
+  }
+
+  public void setDeferredCapacity(int deferredCapacity) {
+    this.deferredCapacity = deferredCapacity;
+  }
+
+  public static class Operation {
+
+    private int maxConcurrent = 50;
+
+    /**
+     * Maximum time to wait for a free slot in the bulkhead.
+     */
+    private Duration maxWait = Duration.ofMillis(500);
+
+    /**
+     * Overall time budget for the call, including retries.
+     */
+    private Duration deadline = Duration.ofSeconds(60);
+
+    private int maxAttempts = 3;
+
+    public int getMaxConcurrent() {
+      return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+      this.maxConcurrent = maxConcurrent;
+    }
+
+    public Duration getMaxWait() {
+      return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+    }
+
+    public Duration getDeadline() {
+      return deadline;
+    }
+
+    public void setDeadline(Duration deadline) {
+      this.deadline = deadline;
+    }
+
+    public int getMaxAttempts() {
+      return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+    }
+  }
+
+  public static class CircuitBreaker {
+
+    /**
+     * Percentage of failed calls in the window above which the circuit opens.
+     */
+    private int failureRateThreshold = 50;
+
+    private int windowSize = 20;
+
+    private int minimumCalls = 10;
+
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    public int getFailureRateThreshold() {
+      return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(int failureRateThreshold) {
+      this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getWindowSize() {
+      return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+      this.windowSize = windowSize;
+    }
+
+    public int getMinimumCalls() {
+      return minimumCalls;
+    }
+
+    public void setMinimumCalls(int minimumCalls) {
+      this.minimumCalls = minimumCalls;
+    }
+
+    public Duration getOpenDuration() {
+      return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+      this.openDuration = openDuration;
+    }
+  }
+
+  public static class Retry {
+
+    private Duration initialBackoff = Duration.ofMillis(200);
+
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    public Duration getInitialBackoff() {
+      return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+      this.initialBackoff = initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+      return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+      this.maxBackoff = maxBackoff;
+    }
+  }
+}
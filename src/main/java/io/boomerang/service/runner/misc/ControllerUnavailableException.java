@@ -0,0 +1,16 @@
+package io.boomerang.service.runner.misc;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown without calling the controller when its circuit breaker is open or the bulkhead for the
+ * operation is full.
+ */
+public class ControllerUnavailableException extends RestClientException {
+
+  private static final long serialVersionUID = 1L;
+
+  public ControllerUnavailableException(String msg) {
+    super(msg);
+  }
+}
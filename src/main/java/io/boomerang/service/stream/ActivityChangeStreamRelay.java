@@ -0,0 +1,112 @@
+package io.boomerang.service.stream;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.boomerang.model.ActivityStatusUpdate;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.service.MongoConfiguration;
+
+/**
+ * Relays activity and task execution status changes written by other replicas to local stream
+ * subscribers using MongoDB change streams. Requires MongoDB to run as a replica set.
+ *
+ * <p>
+ * Writes made by this replica are also observed here; the stream service suppresses the
+ * resulting duplicates because the status is unchanged.
+ */
+@Component
+@ConditionalOnProperty(value = "flow.activity.stream.changestreams.enabled", havingValue = "true",
+    matchIfMissing = false)
+public class ActivityChangeStreamRelay {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final List<String> OPERATIONS = Arrays.asList("insert", "update", "replace");
+
+  @Value("${flow.activity.stream.changestreams.retry:PT10S}")
+  private Duration retryWaitTime;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private MongoConfiguration mongoConfiguration;
+
+  @Autowired
+  private ActivityStreamService streamService;
+
+  private volatile boolean running = true;
+
+  @EventListener(ApplicationReadyEvent.class)
+  void onApplicationReadyEvent() {
+    startWatcher(mongoConfiguration.fullCollectionName("workflows_activity"), false);
+    startWatcher(mongoConfiguration.fullCollectionName("workflows_activity_task"), true);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    running = false;
+  }
+
+  private void startWatcher(String collectionName, boolean taskCollection) {
+    Thread watcher = new Thread(() -> watch(collectionName, taskCollection),
+        "activityChangeStream-" + collectionName);
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  private void watch(String collectionName, boolean taskCollection) {
+    List<Bson> pipeline = Arrays.asList(Aggregates.match(Filters.in("operationType", OPERATIONS)));
+    while (running) {
+      try (MongoCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate
+          .getCollection(collectionName).watch(pipeline).fullDocument(FullDocument.UPDATE_LOOKUP)
+          .iterator()) {
+        LOGGER.info("Watching {} for activity status changes.", collectionName);
+        while (running && cursor.hasNext()) {
+          Document document = cursor.next().getFullDocument();
+          if (document != null) {
+            relay(document, taskCollection);
+          }
+        }
+      } catch (Exception e) {
+        LOGGER.warn("Change stream on {} interrupted, reconnecting.", collectionName, e);
+        try {
+          Thread.sleep(retryWaitTime.toMillis());
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private void relay(Document document, boolean taskCollection) {
+    String id = String.valueOf(document.get("_id"));
+    if (taskCollection) {
+      TaskStatus status = TaskStatus.getFlowTaskStatus(document.getString("flowTaskStatus"));
+      streamService.publish(ActivityStatusUpdate.forTask(document.getString("activityId"), id,
+          document.getString("taskId"), document.getString("taskName"), status));
+    } else {
+      TaskStatus status = TaskStatus.getFlowTaskStatus(document.getString("status"));
+      streamService.publish(ActivityStatusUpdate.forActivity(id, status));
+    }
+  }
+}
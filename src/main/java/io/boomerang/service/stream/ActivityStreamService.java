@@ -0,0 +1,13 @@
+package io.boomerang.service.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import io.boomerang.model.ActivityStatusUpdate;
+
+public interface ActivityStreamService {
+
+  SseEmitter subscribe(String activityId);
+
+  void publish(ActivityStatusUpdate update);
+
+  int getSubscriberCount();
+}
@@ -0,0 +1,343 @@
+package io.boomerang.service.stream;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+import io.boomerang.model.ActivityStatusUpdate;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+
+/**
+ * Fans out activity and task status transitions to server-sent-event subscribers.
+ *
+ * <p>
+ * Updates are published on the application event bus by the activity and task execution
+ * persistence services. Each update is deduplicated and appended, under the activity's entry in
+ * the subscriber map so that ordering per activity is preserved, to a queue per subscriber. The
+ * queues are bounded by {@code flow.activity.stream.queue-capacity} and drained on a pool of
+ * {@code flow.activity.stream.threads} senders, so a slow client neither blocks publishers nor
+ * delays other clients: once its queue is full the client is completed and has to reconnect.
+ * Updates for activities without subscribers are dropped.
+ */
+@Service
+public class ActivityStreamServiceImpl implements ActivityStreamService {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final String STATUS_EVENT = "status";
+
+  @Value("${flow.activity.stream.timeout:1800000}")
+  private long emitterTimeout;
+
+  @Value("${flow.activity.stream.threads:4}")
+  private int senderThreads;
+
+  @Value("${flow.activity.stream.queue-capacity:100}")
+  private int queueCapacity;
+
+  @Autowired
+  private FlowWorkflowActivityService activityService;
+
+  @Autowired
+  private ActivityTaskService taskActivityService;
+
+  private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+  private final Map<String, Map<String, TaskStatus>> lastStatuses = new ConcurrentHashMap<>();
+
+  private ExecutorService sender;
+
+  @PostConstruct
+  void init() {
+    sender = Executors.newFixedThreadPool(senderThreads,
+        new CustomizableThreadFactory("activityStream-"));
+  }
+
+  @Override
+  public SseEmitter subscribe(String activityId) {
+    SseEmitter emitter = new SseEmitter(emitterTimeout);
+    ActivityEntity activity = activityService.findWorkflowActivtyById(activityId);
+    if (activity == null) {
+      emitter.complete();
+      return emitter;
+    }
+
+    Subscriber subscriber = new Subscriber(activityId, emitter);
+    subscribers.compute(activityId, (k, emitters) -> {
+      Set<Subscriber> current = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+      current.add(subscriber);
+      return current;
+    });
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(() -> unsubscribe(subscriber));
+    emitter.onError(e -> unsubscribe(subscriber));
+
+    sendSnapshot(activity, subscriber);
+    return emitter;
+  }
+
+  @Override
+  @EventListener
+  public void publish(ActivityStatusUpdate update) {
+    if (update.getActivityId() == null || update.getStatus() == null) {
+      return;
+    }
+    subscribers.computeIfPresent(update.getActivityId(), (k, emitters) -> dispatch(update,
+        emitters));
+  }
+
+  @Override
+  public int getSubscriberCount() {
+    return subscribers.values().stream().mapToInt(Set::size).sum();
+  }
+
+  @Scheduled(fixedDelayString = "${flow.activity.stream.heartbeat:15000}")
+  public void heartbeat() {
+    for (String activityId : subscribers.keySet()) {
+      subscribers.computeIfPresent(activityId, (k, emitters) -> {
+        for (Subscriber subscriber : emitters) {
+          if (!subscriber.offer(SseEmitter.event().comment("heartbeat"))) {
+            drop(subscriber, emitters);
+          }
+        }
+        return retain(activityId, emitters);
+      });
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    sender.shutdownNow();
+    subscribers.values()
+        .forEach(emitters -> emitters.forEach(subscriber -> subscriber.emitter.complete()));
+    subscribers.clear();
+    lastStatuses.clear();
+  }
+
+  /**
+   * Queues the persisted statuses for a new subscriber. A status already seen on the event bus is
+   * sent in its latest form, as updates published since the subscriber registered are already
+   * queued ahead of the snapshot.
+   */
+  private void sendSnapshot(ActivityEntity activity, Subscriber subscriber) {
+    String activityId = activity.getId();
+    List<TaskExecutionEntity> tasks = taskActivityService.findTaskActiivtyForActivity(activityId);
+
+    subscribers.computeIfPresent(activityId, (k, emitters) -> {
+      if (!emitters.contains(subscriber)) {
+        return emitters;
+      }
+      Map<String, TaskStatus> statuses =
+          lastStatuses.computeIfAbsent(activityId, key -> new ConcurrentHashMap<>());
+      List<ActivityStatusUpdate> snapshot = new ArrayList<>();
+      for (TaskExecutionEntity task : tasks) {
+        if (task.getFlowTaskStatus() == null) {
+          continue;
+        }
+        TaskStatus seen = statuses.putIfAbsent(task.getId(), task.getFlowTaskStatus());
+        snapshot.add(ActivityStatusUpdate.forTask(activityId, task.getId(), task.getTaskId(),
+            task.getTaskName(), seen != null ? seen : task.getFlowTaskStatus()));
+      }
+      TaskStatus status = null;
+      if (activity.getStatus() != null) {
+        TaskStatus seen = statuses.putIfAbsent(activityId, activity.getStatus());
+        status = seen != null ? seen : activity.getStatus();
+        snapshot.add(ActivityStatusUpdate.forActivity(activityId, status));
+      }
+      for (ActivityStatusUpdate update : snapshot) {
+        subscriber.add(event(update));
+      }
+      if (isFinished(status)) {
+        subscriber.finish();
+      }
+      return emitters;
+    });
+  }
+
+  private Set<Subscriber> dispatch(ActivityStatusUpdate update, Set<Subscriber> emitters) {
+    String activityId = update.getActivityId();
+    Map<String, TaskStatus> statuses =
+        lastStatuses.computeIfAbsent(activityId, k -> new ConcurrentHashMap<>());
+    TaskStatus previous = statuses.put(update.statusKey(), update.getStatus());
+    if (previous == update.getStatus()) {
+      return emitters;
+    }
+
+    boolean finished = update.getType() == ActivityStatusUpdate.UpdateType.activity
+        && isFinished(update.getStatus());
+    for (Subscriber subscriber : emitters) {
+      if (!subscriber.offer(event(update))) {
+        drop(subscriber, emitters);
+      } else if (finished) {
+        subscriber.finish();
+      }
+    }
+    return retain(activityId, emitters);
+  }
+
+  /**
+   * Removes a subscriber whose queue is full. Must be called while holding the activity's entry
+   * in the subscriber map, the emitter is completed on the sender pool.
+   */
+  private void drop(Subscriber subscriber, Set<Subscriber> emitters) {
+    LOGGER.debug("[{}] Dropping slow activity stream subscriber", subscriber.activityId);
+    emitters.remove(subscriber);
+    subscriber.close();
+  }
+
+  private Set<Subscriber> retain(String activityId, Set<Subscriber> emitters) {
+    if (emitters.isEmpty()) {
+      lastStatuses.remove(activityId);
+      return null;
+    }
+    return emitters;
+  }
+
+  private SseEventBuilder event(ActivityStatusUpdate update) {
+    return SseEmitter.event().name(STATUS_EVENT).data(update, MediaType.APPLICATION_JSON);
+  }
+
+  private void unsubscribe(Subscriber subscriber) {
+    subscriber.closed = true;
+    subscribers.computeIfPresent(subscriber.activityId, (k, emitters) -> {
+      emitters.remove(subscriber);
+      return retain(subscriber.activityId, emitters);
+    });
+  }
+
+  private boolean isFinished(TaskStatus status) {
+    return status == TaskStatus.completed || status == TaskStatus.failure
+        || status == TaskStatus.cancelled || status == TaskStatus.invalid;
+  }
+
+  /**
+   * An emitter with its queue of pending events. At most one drain of the queue is scheduled on
+   * the sender pool at a time, which keeps the events of a subscriber in order.
+   */
+  private final class Subscriber implements Runnable {
+
+    private final String activityId;
+
+    private final SseEmitter emitter;
+
+    private final Queue<SseEventBuilder> events = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private volatile boolean finished;
+
+    private volatile boolean closed;
+
+    private volatile boolean done;
+
+    private Subscriber(String activityId, SseEmitter emitter) {
+      this.activityId = activityId;
+      this.emitter = emitter;
+    }
+
+    /**
+     * Queues a live event, unless the subscriber already has a full queue of events pending.
+     */
+    private boolean offer(SseEventBuilder event) {
+      if (pending.incrementAndGet() > queueCapacity) {
+        pending.decrementAndGet();
+        return false;
+      }
+      events.add(event);
+      schedule();
+      return true;
+    }
+
+    /**
+     * Queues a snapshot event. The snapshot is not bounded by the queue capacity as its size
+     * depends on the number of tasks in the workflow, not on the speed of the client.
+     */
+    private void add(SseEventBuilder event) {
+      pending.incrementAndGet();
+      events.add(event);
+      schedule();
+    }
+
+    /**
+     * Completes the emitter once the events queued so far are sent.
+     */
+    private void finish() {
+      finished = true;
+      schedule();
+    }
+
+    /**
+     * Completes the emitter without sending the events still queued.
+     */
+    private void close() {
+      closed = true;
+      schedule();
+    }
+
+    private void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        sender.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        if (!done) {
+          drain();
+        }
+      } finally {
+        scheduled.set(false);
+      }
+      if (!done && (!events.isEmpty() || finished || closed)) {
+        schedule();
+      }
+    }
+
+    private void drain() {
+      try {
+        SseEventBuilder event;
+        while (!closed && (event = events.poll()) != null) {
+          pending.decrementAndGet();
+          emitter.send(event);
+        }
+        if (closed || (finished && events.isEmpty())) {
+          done = true;
+          emitter.complete();
+        }
+      } catch (IOException | IllegalStateException e) {
+        LOGGER.debug("[{}] Unable to send activity status to subscriber", activityId);
+        done = true;
+        unsubscribe(this);
+      }
+    }
+  }
+}
@@ -1,13 +1,15 @@
 package io.boomerang.service.tekton;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanUtils;
 import io.boomerang.model.ParamType;
 import io.boomerang.model.Result;
 import io.boomerang.model.controller.TaskEnvVar;
@@ -47,19 +49,7 @@ public class TektonConverter {
     Spec spec = new Spec();
     newTask.setSpec(spec);
     
-    Revision revision = null;
-    List<Revision> revisions = task.getRevisions();
-    
-    if (revisions != null) {
-      if (revisionNumber.isEmpty()) {
-        revision = revisions.stream()
-            .sorted(Comparator.comparingInt(Revision::getVersion).reversed() ).findFirst().orElse(null);
-      }
-      else {
-        revision = revisions.stream().filter(c -> c.getVersion().equals(revisionNumber.get())).findFirst().orElse(null);
-      }
-    
-    }
+    Revision revision = findRevision(task, revisionNumber);
 
     if (revision != null) {
       Step step = new Step();
@@ -68,7 +58,7 @@ public class TektonConverter {
       step.setScript(revision.getScript());
       step.setWorkingDir(revision.getWorkingDir());
       
-      List<Env> envList = new LinkedList<>();
+      List<Env> envList = new ArrayList<>();
       if (revision.getEnvs() != null) {
   
         for (TaskEnvVar taskEnv :revision.getEnvs()) {
@@ -86,18 +76,18 @@ public class TektonConverter {
 
       step.setName(task.getName());
       
-      List<Step> steps = new LinkedList<>();
+      List<Step> steps = new ArrayList<>(1);
 
       steps.add(step);
       spec.setSteps(steps);
       
-      List<Param> params = new LinkedList<>();
       List<TaskTemplateConfig> configList = revision.getConfig();
+      List<Param> params = new ArrayList<>(configList != null ? configList.size() : 0);
     
       Annotations annotations = new Annotations();
       Map<String, Object> annotationFields = annotations.otherFields();
       annotationFields.put("boomerang.io/icon", task.getIcon());
-      annotationFields.put("boomerang.io/params", configList);
+      annotationFields.put("boomerang.io/params", annotationParams(configList));
       annotationFields.put("boomerang.io/category", task.getCategory());
   
       metadata.setAnnotations(annotations);
@@ -120,12 +110,7 @@ public class TektonConverter {
         }
       }
       
-      for (TaskTemplateConfig config : configList) {
-        config.setDescription(null);
-        config.setDefaultValue(null);
-      }
-      
-      List<Result> results = new LinkedList<>();
+      List<Result> results = new ArrayList<>();
       List<TaskResult> resultsList = revision.getResults();
       if (resultsList != null) {
         for (TaskResult result : resultsList) {
@@ -138,13 +123,49 @@ public class TektonConverter {
     
       spec.setResults(results);
       
-      revision.getConfig();
       spec.setDescription(task.getDescription());
       spec.setParams(params);
     }
     return newTask;
   }
 
+  /**
+   * The requested revision of the template, or its latest revision when no revision is requested.
+   */
+  public static Revision findRevision(FlowTaskTemplateEntity task,
+      Optional<Integer> revisionNumber) {
+    List<Revision> revisions = task.getRevisions();
+    if (revisions == null) {
+      return null;
+    }
+    if (revisionNumber.isEmpty()) {
+      return revisions.stream().filter(c -> c.getVersion() != null)
+          .max(Comparator.comparingInt(Revision::getVersion)).orElse(null);
+    }
+    return revisions.stream().filter(c -> revisionNumber.get().equals(c.getVersion()))
+        .findFirst().orElse(null);
+  }
+
+  /**
+   * Copies of the revision configs for the params annotation. The description and default value
+   * are carried by the Tekton params, so they are left out of the copies rather than cleared on
+   * the template itself.
+   */
+  private static List<TaskTemplateConfig> annotationParams(List<TaskTemplateConfig> configList) {
+    if (configList == null) {
+      return null;
+    }
+    List<TaskTemplateConfig> copies = new ArrayList<>(configList.size());
+    for (TaskTemplateConfig config : configList) {
+      TaskTemplateConfig copy = new TaskTemplateConfig();
+      BeanUtils.copyProperties(config, copy);
+      copy.setDescription(null);
+      copy.setDefaultValue(null);
+      copies.add(copy);
+    }
+    return copies;
+  }
+
   public static FlowTaskTemplateEntity convertTektonTaskToNewFlowTask(TektonTask task) {
     FlowTaskTemplateEntity taskTemplate = new FlowTaskTemplateEntity();
     
@@ -153,7 +174,7 @@ public class TektonConverter {
     taskTemplate.setName(metadata.getName());
     getAnnotations(taskTemplate, metadata);
     
-    List<Revision> revisions  = new LinkedList<>();
+    List<Revision> revisions  = new ArrayList<>(1);
     Revision newRevision = TektonConverter.convertSpecToRevision(task);
     revisions.add(newRevision);
     newRevision.setVersion(1);
@@ -192,9 +213,8 @@ public class TektonConverter {
     }
   }
   
-  @SuppressWarnings("unchecked")
   private static Revision convertSpecToRevision(TektonTask task) {
-    List<Map<String, Object>> params  = extractBoomerangParams(task);
+    Map<String, Map<String, Object>> params = extractBoomerangParams(task);
 
     Spec spec = task.getSpec();
     Step step = spec.getSteps().get(0);
@@ -206,7 +226,7 @@ public class TektonConverter {
     revision.setScript(step.getScript());
     revision.setWorkingDir(step.getWorkingDir());
     
-    List<TaskResult> taskResults = new LinkedList<>();
+    List<TaskResult> taskResults = new ArrayList<>();
     
     if (spec.getResults() != null) {
       for (Result taskResult :spec.getResults() ) {
@@ -227,7 +247,7 @@ public class TektonConverter {
     
     if (step.getEnv() != null) {
       List<Env> envs = step.getEnv();
-      List<TaskEnvVar> taskList = new LinkedList<>();
+      List<TaskEnvVar> taskList = new ArrayList<>(envs.size());
       for (Env env : envs) {
         TaskEnvVar taskEnvVar = new TaskEnvVar();
         taskEnvVar.setName(env.getName());
@@ -237,14 +257,14 @@ public class TektonConverter {
       revision.setEnvs(taskList);
       
     }
-    List<TaskTemplateConfig> config = new LinkedList<>();
+    List<TaskTemplateConfig> config = new ArrayList<>();
     
     if (spec.getParams() != null) {
       for (Param param : spec.getParams()) {
         
         String key = param.getName();
         
-        Map<String, Object> extraPrams = params.stream().filter(element -> key.equals(element.get("key")) ).findFirst().orElse(new HashMap<>());
+        Map<String, Object> extraPrams = params.getOrDefault(key, Collections.emptyMap());
         
         TaskTemplateConfig newConfig = new TaskTemplateConfig();
         newConfig.setKey(key);
@@ -261,13 +281,11 @@ public class TektonConverter {
           
           newConfig.setType("text");
           
-        } else if (defaultStr instanceof ArrayList<?>){
-          ArrayList<String> values = (ArrayList<String>) defaultStr;
-          StringBuilder sb = new StringBuilder();
-          for (String line : values) {
-            sb.append(line);
-            sb.append('\n');
-            newConfig.setDefaultValue(sb.toString());
+        } else if (defaultStr instanceof List<?>) {
+          List<?> values = (List<?>) defaultStr;
+          if (!values.isEmpty()) {
+            newConfig.setDefaultValue(
+                values.stream().map(String::valueOf).collect(Collectors.joining("\n", "", "\n")));
           }
         }
         
@@ -303,17 +321,29 @@ public class TektonConverter {
     return revision;
   }
 
+  /**
+   * The params annotation indexed by key, so each Tekton param finds its extra fields with a map
+   * lookup. The first entry wins when a key is repeated.
+   */
   @SuppressWarnings("unchecked")
-  private static  List<Map<String, Object>> extractBoomerangParams(TektonTask task) {
-    List<Map<String, Object>> paramList = new LinkedList<>();
+  private static Map<String, Map<String, Object>> extractBoomerangParams(TektonTask task) {
+    Map<String, Map<String, Object>> paramsByKey = new HashMap<>();
     if (task.getMetadata() != null) {
       Metadata metdata = task.getMetadata();
       if (metdata.getAnnotations() != null) {
         Annotations annotations = metdata.getAnnotations();
-        paramList = (List<Map<String, Object>>) annotations.otherFields().get("boomerang.io/params");
+        Object paramList = annotations.otherFields().get("boomerang.io/params");
+        if (paramList instanceof List<?>) {
+          for (Map<String, Object> element : (List<Map<String, Object>>) paramList) {
+            Object key = element.get("key");
+            if (key != null) {
+              paramsByKey.putIfAbsent(key.toString(), element);
+            }
+          }
+        }
       }
     }
-    return paramList;
+    return paramsByKey;
   }
   
 }
@@ -0,0 +1,48 @@
+package io.boomerang.service.tekton;
+
+import java.io.IOException;
+import java.io.InputStream;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import io.boomerang.model.tekton.TektonTask;
+
+/**
+ * The YAML mapper shared by the Tekton endpoints. Mappers are thread safe once configured, so one
+ * instance serves the HTTP message converter and the bulk catalog import and export.
+ */
+public final class TektonYaml {
+
+  public static final String DOCUMENT_SEPARATOR = "---\n";
+
+  private static final YAMLMapper MAPPER =
+      new YAMLMapper().enable(YAMLGenerator.Feature.LITERAL_BLOCK_STYLE)
+          .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
+          .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER);
+
+  private static final ObjectWriter TASK_WRITER = MAPPER.writerFor(TektonTask.class);
+
+  private static final ObjectReader TASK_READER = MAPPER.readerFor(TektonTask.class);
+
+  private TektonYaml() {
+
+  }
+
+  public static YAMLMapper mapper() {
+    return MAPPER;
+  }
+
+  public static String write(TektonTask task) throws JsonProcessingException {
+    return TASK_WRITER.writeValueAsString(task);
+  }
+
+  /**
+   * Reads the tasks of a multi-document YAML stream one document at a time.
+   */
+  public static MappingIterator<TektonTask> readTasks(InputStream input) throws IOException {
+    return TASK_READER.readValues(input);
+  }
+}
@@ -0,0 +1,20 @@
+package io.boomerang.service.tekton;
+
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+
+/**
+ * Rendered Tekton YAML of task template revisions, so catalog exports and syncs only render the
+ * revisions that changed since they were last rendered.
+ */
+public interface TektonYamlCache {
+
+  /**
+   * Returns the YAML of the requested revision of the template, or of its latest revision when the
+   * version is null. Returns null when the template has no such revision.
+   */
+  String getYaml(FlowTaskTemplateEntity template, Integer version);
+
+  void invalidate(String templateId);
+
+  void invalidateAll();
+}
@@ -0,0 +1,83 @@
+package io.boomerang.service.tekton;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.boomerang.model.tekton.TektonTask;
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.model.Revision;
+
+/**
+ * Keeps the YAML of each template revision with the last modified date of the template it was
+ * rendered from. Every template write sets the last modified date, so an entry is reused only while
+ * the template is unchanged, including writes made by other replicas. The cache is cleared when it
+ * grows past {@code flow.templates.yaml.cache.max-entries}.
+ */
+@Service
+public class TektonYamlCacheImpl implements TektonYamlCache {
+
+  @Value("${flow.templates.yaml.cache.max-entries:2000}")
+  private int maxEntries;
+
+  private final Map<String, RenderedRevision> entries = new ConcurrentHashMap<>();
+
+  @Override
+  public String getYaml(FlowTaskTemplateEntity template, Integer version) {
+    Revision revision = TektonConverter.findRevision(template, Optional.ofNullable(version));
+    if (revision == null) {
+      return null;
+    }
+    if (template.getId() == null) {
+      return render(template, revision);
+    }
+    String key = template.getId() + ":" + revision.getVersion();
+    RenderedRevision entry = entries.get(key);
+    if (entry != null && Objects.equals(entry.lastModified, template.getLastModified())) {
+      return entry.yaml;
+    }
+    String yaml = render(template, revision);
+    if (entries.size() >= maxEntries) {
+      entries.clear();
+    }
+    entries.put(key, new RenderedRevision(template.getLastModified(), yaml));
+    return yaml;
+  }
+
+  @Override
+  public void invalidate(String templateId) {
+    if (templateId != null) {
+      entries.keySet().removeIf(key -> key.startsWith(templateId + ":"));
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  private static String render(FlowTaskTemplateEntity template, Revision revision) {
+    TektonTask task =
+        TektonConverter.convertFlowTaskToTekton(template, Optional.of(revision.getVersion()));
+    try {
+      return TektonYaml.write(task);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to render task template " + template.getId(), e);
+    }
+  }
+
+  private static final class RenderedRevision {
+
+    private final Date lastModified;
+    private final String yaml;
+
+    RenderedRevision(Date lastModified, String yaml) {
+      this.lastModified = lastModified;
+      this.yaml = yaml;
+    }
+  }
+}
@@ -1,14 +1,17 @@
 package io.boomerang.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jgrapht.Graph;
-import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
-import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.traverse.TopologicalOrderIterator;
 
 public class GraphProcessor {
 
@@ -35,27 +38,155 @@ public class GraphProcessor {
 
   public static List<String> createOrderedTaskList(Graph<String, DefaultEdge> g, String start,
       String end) {
+    final List<String> vertices = new ArrayList<>(g.vertexSet());
+    final List<Pair<String, String>> edges = new ArrayList<>(g.edgeSet().size());
+    for (final DefaultEdge edge : g.edgeSet()) {
+      edges.add(Pair.of(g.getEdgeSource(edge), g.getEdgeTarget(edge)));
+    }
+    return createOrderedTaskList(vertices, edges, start, end);
+  }
 
-    final List<String> orderedVertexList = new LinkedList<>();
+  /**
+   * Returns the vertices lying on a path from {@code start} to {@code end}, excluding both, in
+   * topological order. Runs in O(V + E): one topological sort plus a forward reachability pass from
+   * start and a reverse reachability pass from end over an int-indexed adjacency list.
+   *
+   * @throws IllegalArgumentException if the graph contains a cycle
+   */
+  public static List<String> createOrderedTaskList(List<String> vertices,
+      List<Pair<String, String>> edges, String start, String end) {
+    final int size = vertices.size();
+    final Map<String, Integer> index = new HashMap<>(size * 2);
+    for (final String vertex : vertices) {
+      index.putIfAbsent(vertex, index.size());
+    }
+    final String[] names = new String[index.size()];
+    index.forEach((name, i) -> names[i] = name);
+
+    final IntAdjacency forward = new IntAdjacency(names.length);
+    final IntAdjacency reverse = new IntAdjacency(names.length);
+    final int[] inDegree = new int[names.length];
+    final Set<Long> seenEdges = new HashSet<>(edges.size() * 2);
+    for (final Pair<String, String> edge : edges) {
+      if (edge.getLeft() == null || edge.getRight() == null) {
+        continue;
+      }
+      final Integer source = index.get(edge.getLeft());
+      final Integer target = index.get(edge.getRight());
+      if (source == null || target == null) {
+        throw new IllegalArgumentException(
+            "Edge references unknown vertex: " + edge.getLeft() + " -> " + edge.getRight());
+      }
+      if (seenEdges.add(((long) source << 32) | target)) {
+        forward.add(source, target);
+        reverse.add(target, source);
+        inDegree[target]++;
+      }
+    }
 
-    final DijkstraShortestPath<String, DefaultEdge> dijkstraAlg = new DijkstraShortestPath<>(g);
-    TopologicalOrderIterator<String, DefaultEdge> orderIterator;
+    final int[] order = topologicalOrder(forward, inDegree);
+    final Integer startIndex = index.get(start);
+    final Integer endIndex = index.get(end);
+    if (startIndex == null || endIndex == null) {
+      return new LinkedList<>();
+    }
 
-    orderIterator = new TopologicalOrderIterator<>(g);
-    while (orderIterator.hasNext()) {
-      final String vert = orderIterator.next();
-      if (!(vert.equals(start) || vert.equals(end))) {
-        final SingleSourcePaths<String, DefaultEdge> pathToEnd = dijkstraAlg.getPaths(vert);
-        final SingleSourcePaths<String, DefaultEdge> pathFromStart = dijkstraAlg.getPaths(start);
+    final boolean[] fromStart = reachable(forward, startIndex);
+    final boolean[] toEnd = reachable(reverse, endIndex);
 
-        final boolean canReachEnd = (pathToEnd.getPath(end) != null);
-        final boolean startToVertex = (pathFromStart.getPath(vert) != null);
+    final List<String> orderedVertexList = new LinkedList<>();
+    for (final int vertex : order) {
+      if (vertex != startIndex && vertex != endIndex && fromStart[vertex] && toEnd[vertex]) {
+        orderedVertexList.add(names[vertex]);
+      }
+    }
+    return orderedVertexList;
+  }
 
-        if (canReachEnd && startToVertex) {
-          orderedVertexList.add(vert);
+  private static int[] topologicalOrder(IntAdjacency forward, int[] inDegree) {
+    final int size = inDegree.length;
+    final int[] remaining = Arrays.copyOf(inDegree, size);
+    final int[] queue = new int[size];
+    int head = 0;
+    int tail = 0;
+    for (int vertex = 0; vertex < size; vertex++) {
+      if (remaining[vertex] == 0) {
+        queue[tail++] = vertex;
+      }
+    }
+    while (head < tail) {
+      final int vertex = queue[head++];
+      for (int i = 0; i < forward.degree(vertex); i++) {
+        final int target = forward.get(vertex, i);
+        if (--remaining[target] == 0) {
+          queue[tail++] = target;
         }
       }
     }
-    return orderedVertexList;
+    if (tail != size) {
+      throw new IllegalArgumentException("Graph is not a DAG: a dependency cycle was detected");
+    }
+    return queue;
+  }
+
+  private static boolean[] reachable(IntAdjacency adjacency, int source) {
+    final boolean[] visited = new boolean[adjacency.size()];
+    final int[] queue = new int[adjacency.size()];
+    int head = 0;
+    int tail = 0;
+    visited[source] = true;
+    queue[tail++] = source;
+    while (head < tail) {
+      final int vertex = queue[head++];
+      for (int i = 0; i < adjacency.degree(vertex); i++) {
+        final int next = adjacency.get(vertex, i);
+        if (!visited[next]) {
+          visited[next] = true;
+          queue[tail++] = next;
+        }
+      }
+    }
+    return visited;
+  }
+
+  /**
+   * Minimal int-indexed adjacency list. Callers filter parallel edges to mirror the behaviour of
+   * {@link DefaultDirectedGraph}.
+   */
+  private static final class IntAdjacency {
+
+    private final int[][] targets;
+    private final int[] degrees;
+
+    IntAdjacency(int size) {
+      this.targets = new int[size][];
+      this.degrees = new int[size];
+    }
+
+    int size() {
+      return degrees.length;
+    }
+
+    int degree(int vertex) {
+      return degrees[vertex];
+    }
+
+    int get(int vertex, int i) {
+      return targets[vertex][i];
+    }
+
+    void add(int source, int target) {
+      int[] list = targets[source];
+      final int degree = degrees[source];
+      if (list == null) {
+        list = new int[2];
+        targets[source] = list;
+      } else if (degree == list.length) {
+        list = Arrays.copyOf(list, degree * 2);
+        targets[source] = list;
+      }
+      list[degree] = target;
+      degrees[source] = degree + 1;
+    }
   }
 }
@@ -2,13 +2,13 @@ package io.boomerang.util;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.function.Predicate;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import io.boomerang.model.controller.TaskResult;
 import io.boomerang.model.projectstormv5.ConfigNodes;
@@ -41,16 +41,10 @@ public class ModelConverterV5 {
   private static final String CUSTOMTASKNAME = "customTask";
   private static final String TEMPLATETASKNAME = "templateTask";
 
-  private static String getPropertyForKey(List<KeyValuePair> properties, String key) {
-
-    Optional<KeyValuePair> property =
-        properties.stream().filter(x -> x.getKey().equals(key)).findFirst();
-    if (property.isPresent()) {
-      return property.get().getValue();
-    }
-
-    return null;
-  }
+  private static final Set<String> TASK_PORT_TYPES = new HashSet<>(Arrays.asList(CUSTOMTASKNAME,
+      TEMPLATETASKNAME, "approval", "manual", "setwfstatus", "setwfproperty", "eventwait",
+      "releaselock", TaskType.script.toString(), "acquirelock", "runworkflow",
+      "runscheduledworkflow"));
 
   private static void buildConfig(DAGTask dagTask, ConfigNodes config) {
     if (config != null) {
@@ -62,6 +56,11 @@ public class ModelConverterV5 {
       Map<String, String> inputs = config.getInputs();
       List<KeyValuePair> coreProperties = new LinkedList<>();
       for (Entry<String, String> entry : inputs.entrySet()) {
+        if (TASKNAMEKEY.equals(entry.getKey()) && entry.getValue() != null) {
+          /* The task name input is the label of the task, not one of its properties. */
+          dagTask.setLabel(entry.getValue());
+          continue;
+        }
         KeyValuePair property = new KeyValuePair();
         property.setKey(entry.getKey());
         property.setValue(entry.getValue());
@@ -76,12 +75,6 @@ public class ModelConverterV5 {
       List<TaskResult> results = config.getOutputs();
       dagTask.setResults(results);
 
-      if (getPropertyForKey(dagTask.getProperties(), TASKNAMEKEY) != null) {
-        dagTask.setLabel(getPropertyForKey(dagTask.getProperties(), TASKNAMEKEY));
-        Predicate<KeyValuePair> isQualified = (item -> item.getKey().equals(TASKNAMEKEY));
-        dagTask.getProperties().removeIf(isQualified);
-      }
-
       if (dagTask.getType() == TaskType.decision) {
         String value = config.getInputs().get("value");
         dagTask.setDecisionValue(value);
@@ -101,13 +94,12 @@ public class ModelConverterV5 {
     metadata.put(POSITIONKEY, positionMap);
   }
 
-  private static void caclulateDependncies(List<Link> links, List<Dependency> dependencies,
-      List<Port> ports) {
+  private static void caclulateDependncies(Map<String, Link> links,
+      List<Dependency> dependencies, List<Port> ports) {
     for (Port port : ports) {
       if ("left".equals(port.getPosition()) && !port.getLinks().isEmpty()) {
         for (String linkid : port.getLinks()) {
-          Link link = links.stream().parallel().filter(l -> linkid.equals(l.getId())).findFirst()
-              .orElse(null);
+          Link link = links.get(linkid);
           if (link != null) {
             String source = link.getSource();
             Dependency dependency = createDependency(link, source);
@@ -155,8 +147,24 @@ public class ModelConverterV5 {
     }
 
     mapBaseData(revision, entity);
-    List<Link> links = revision.getDag().getLinks();
-    List<ConfigNodes> configNodes = revision.getConfig().getNodes();
+
+    /*
+     * Links and configs are looked up once per port link and node, so they are indexed by id up
+     * front. The first entry wins when ids repeat.
+     */
+    Map<String, Link> links = new HashMap<>();
+    if (revision.getDag().getLinks() != null) {
+      for (Link link : revision.getDag().getLinks()) {
+        links.putIfAbsent(link.getId(), link);
+      }
+    }
+    Map<String, ConfigNodes> configNodes = new HashMap<>();
+    if (revision.getConfig() != null && revision.getConfig().getNodes() != null) {
+      for (ConfigNodes config : revision.getConfig().getNodes()) {
+        configNodes.putIfAbsent(config.getNodeId(), config);
+      }
+    }
+
     Dag dag = new Dag();
     entity.setDag(dag);
     List<DAGTask> tasks = new LinkedList<>();
@@ -184,8 +192,7 @@ public class ModelConverterV5 {
       List<Dependency> dependencies = new LinkedList<>();
       dagTask.setDependencies(dependencies);
       List<Port> ports = node.getPorts();
-      ConfigNodes config = configNodes.stream().parallel()
-          .filter(c -> node.getNodeId().equals(c.getNodeId())).findFirst().orElse(null);
+      ConfigNodes config = configNodes.get(node.getNodeId());
       dagTask.setLabel(node.getTaskName());
 
 
@@ -238,10 +245,12 @@ public class ModelConverterV5 {
     restDag.setLinks(links);
 
     List<ImmutablePair<String, Dependency>> pairs = new LinkedList<>();
+    Map<String, TaskNode> nodesById = new HashMap<>();
 
     for (DAGTask dagTask : tasks) {
 
-      createTaskNode(taskNodes, configNodeList, pairs, dagTask);
+      TaskNode taskNode = createTaskNode(taskNodes, configNodeList, pairs, dagTask);
+      nodesById.putIfAbsent(taskNode.getNodeId(), taskNode);
     }
 
     /* Create links. */
@@ -262,7 +271,7 @@ public class ModelConverterV5 {
       String source = key;
       String target = dep.getTaskId();
 
-      createNodePortsForNode(taskNodes, link, source, target);
+      createNodePortsForNode(nodesById, link, source, target);
     }
 
     return revision;
@@ -364,27 +373,23 @@ public class ModelConverterV5 {
     link.setPoints(points);
   }
 
-  private static void createNodePortsForNode(List<TaskNode> taskNodes, Link link, String source,
-      String target) {
+  private static void createNodePortsForNode(Map<String, TaskNode> nodesById, Link link,
+      String source, String target) {
     /* Create port information. */
-    TaskNode leftNode = taskNodes.stream().parallel().filter(c -> c.getNodeId().equals(source))
-        .findFirst().orElse(null);
+    TaskNode leftNode = nodesById.get(source);
     if (leftNode != null) {
 
-      Port leftNodePort = leftNode.getPorts().stream().parallel()
-          .filter(c -> c.getPosition().equals("left")).findFirst().orElse(null);
+      Port leftNodePort = getPort(leftNode, "left");
       if (leftNodePort != null) {
         leftNodePort.getLinks().add(link.getId());
         link.setTargetPort(leftNodePort.getNodePortId());
       }
     }
 
-    TaskNode rightNode = taskNodes.stream().parallel().filter(c -> c.getNodeId().equals(target))
-        .findFirst().orElse(null);
+    TaskNode rightNode = nodesById.get(target);
     if (rightNode != null) {
 
-      Port rightNodePort = rightNode.getPorts().stream().parallel()
-          .filter(c -> c.getPosition().equals(RIGHTKEY)).findFirst().orElse(null);
+      Port rightNodePort = getPort(rightNode, RIGHTKEY);
       if (rightNodePort != null) {
         rightNodePort.getLinks().add(link.getId());
         link.setSourcePort(rightNodePort.getNodePortId());
@@ -392,6 +397,15 @@ public class ModelConverterV5 {
     }
   }
 
+  private static Port getPort(TaskNode node, String position) {
+    for (Port port : node.getPorts()) {
+      if (position.equals(port.getPosition())) {
+        return port;
+      }
+    }
+    return null;
+  }
+
   private static Port createPort(String position, String taskId, String type) {
 
     String uniqueId = generateUniqueID();
@@ -403,10 +417,7 @@ public class ModelConverterV5 {
     port.setSelected(false);
     port.setParentNode(taskId);
 
-    String[] taskTypeList =
-        {CUSTOMTASKNAME, TEMPLATETASKNAME, "approval", "manual", "setwfstatus", "setwfproperty",
-            "eventwait", "releaselock", TaskType.script.toString(), "acquirelock", "runworkflow", "runscheduledworkflow"};
-    if (Arrays.stream(taskTypeList).anyMatch(x -> x.equals(type))) {
+    if (TASK_PORT_TYPES.contains(type)) {
       port.setType("task");
     } else {
       port.setType(type);
@@ -422,7 +433,7 @@ public class ModelConverterV5 {
     return port;
   }
 
-  private static void createTaskNode(List<TaskNode> taskNodes, List<ConfigNodes> configNodeList,
+  private static TaskNode createTaskNode(List<TaskNode> taskNodes, List<ConfigNodes> configNodeList,
       List<ImmutablePair<String, Dependency>> pairs, DAGTask dagTask) {
     TaskNode taskNode = new TaskNode();
     taskNode.setPorts(new LinkedList<>());
@@ -482,6 +493,7 @@ public class ModelConverterV5 {
     for (Dependency dependency : dagTask.getDependencies()) {
       pairs.add(new ImmutablePair<>(taskNode.getNodeId(), dependency));
     }
+    return taskNode;
   }
 
   private static void setupPosition(TaskNode taskNode, Map<String, Number> position) {
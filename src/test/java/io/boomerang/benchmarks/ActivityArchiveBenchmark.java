@@ -0,0 +1,182 @@
+package io.boomerang.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Activity query latency with all history in the live collections ({@code tiered=false}) against
+ * the same history after the retention job has moved everything but the newest
+ * {@code liveFraction} into the archive ({@code tiered=true}).
+ *
+ * <p>
+ * Needs a MongoDB instance, {@code -Dbenchmark.mongo.uri=mongodb://localhost:27017} by default.
+ * Seeded data is kept per size and reused by later runs. For the 10M activity run pass
+ * {@code -p activities=10000000} to {@code org.openjdk.jmh.Main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ActivityArchiveBenchmark {
+
+  private static final int TEAMS = 100;
+
+  private static final int BATCH = 10000;
+
+  private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+  private static final List<String> FINISHED = Arrays.asList("completed", "failure");
+
+  @Param({"1000000"})
+  private int activities;
+
+  @Param({"0.1"})
+  private double liveFraction;
+
+  @Param({"false", "true"})
+  private boolean tiered;
+
+  private MongoClient client;
+  private MongoCollection<Document> activityCollection;
+  private MongoCollection<Document> taskCollection;
+  private MongoCollection<Document> archiveCollection;
+
+  private final List<String> archivedIds = new ArrayList<>();
+  private final Random random = new Random(42L);
+
+  @Setup(Level.Trial)
+  public void setup() {
+    client = MongoClients
+        .create(System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+    MongoDatabase db =
+        client.getDatabase("flow_benchmark_" + activities + (tiered ? "_tiered" : ""));
+    activityCollection = db.getCollection("workflows_activity");
+    taskCollection = db.getCollection("workflows_activity_task");
+    archiveCollection = db.getCollection("workflows_activity_archive");
+
+    long expected = tiered ? Math.round(activities * liveFraction) : activities;
+    if (activityCollection.countDocuments() != expected) {
+      db.drop();
+      seed();
+    }
+    collectArchivedIds();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    client.close();
+  }
+
+  /**
+   * The activity listing and insights query: newest finished activities of a team plus the total.
+   */
+  @Benchmark
+  public long teamListing() {
+    Bson filter = Filters.and(Filters.eq("teamId", "team" + random.nextInt(TEAMS)),
+        Filters.in("status", FINISHED));
+    activityCollection.find(filter).sort(Sorts.descending("creationDate")).limit(10)
+        .into(new ArrayList<>());
+    return activityCollection.countDocuments(filter);
+  }
+
+  /**
+   * Loading an old activity with its task executions.
+   */
+  @Benchmark
+  public Object oldActivityDetail() {
+    String id = archivedIds.get(random.nextInt(archivedIds.size()));
+    if (tiered) {
+      return archiveCollection.find(Filters.eq("_id", new ObjectId(id))).first();
+    }
+    Document activity = activityCollection.find(Filters.eq("_id", new ObjectId(id))).first();
+    List<Document> tasks =
+        taskCollection.find(Filters.eq("activityId", id)).into(new ArrayList<>());
+    return Arrays.asList(activity, tasks);
+  }
+
+  private void seed() {
+    long now = System.currentTimeMillis();
+    long liveFrom = Math.round(activities * (1 - liveFraction));
+    List<Document> activityBatch = new ArrayList<>(BATCH);
+    List<Document> taskBatch = new ArrayList<>(BATCH);
+    List<Document> archiveBatch = new ArrayList<>(BATCH);
+    for (int i = 0; i < activities; i++) {
+      ObjectId id = new ObjectId();
+      Date creationDate = new Date(now - (activities - i) * (365 * DAY / activities));
+      Document activity = new Document("_id", id).append("workflowId", "workflow" + (i % 1000))
+          .append("teamId", "team" + (i % TEAMS)).append("status", FINISHED.get(i % 2))
+          .append("creationDate", creationDate).append("duration", (long) (i % 600000))
+          .append("trigger", "manual").append("properties", Collections.emptyList());
+      Document task = new Document("_id", new ObjectId()).append("activityId", id.toHexString())
+          .append("taskName", "task").append("flowTaskStatus", "completed")
+          .append("startTime", creationDate).append("duration", 1000L);
+
+      if (tiered && i < liveFrom) {
+        archiveBatch.add(new Document("_id", id).append("workflowId", activity.get("workflowId"))
+            .append("teamId", activity.get("teamId")).append("status", activity.get("status"))
+            .append("creationDate", creationDate).append("activity", activity)
+            .append("tasks", Collections.singletonList(task)));
+      } else {
+        activityBatch.add(activity);
+        taskBatch.add(task);
+      }
+      flush(archiveCollection, archiveBatch, false);
+      flush(activityCollection, activityBatch, false);
+      flush(taskCollection, taskBatch, false);
+    }
+    flush(archiveCollection, archiveBatch, true);
+    flush(activityCollection, activityBatch, true);
+    flush(taskCollection, taskBatch, true);
+
+    activityCollection.createIndex(Indexes.ascending("teamId", "creationDate"));
+    activityCollection.createIndex(Indexes.ascending("status", "creationDate"));
+    taskCollection.createIndex(Indexes.ascending("activityId"));
+    archiveCollection.createIndex(Indexes.ascending("workflowId", "creationDate"));
+  }
+
+  private static void flush(MongoCollection<Document> collection, List<Document> batch,
+      boolean force) {
+    if (!batch.isEmpty() && (force || batch.size() >= BATCH)) {
+      collection.insertMany(batch);
+      batch.clear();
+    }
+  }
+
+  private void collectArchivedIds() {
+    MongoCollection<Document> source = tiered ? archiveCollection : activityCollection;
+    for (Document document : source.find().sort(Sorts.ascending("creationDate")).limit(10000)
+        .projection(new Document("_id", 1))) {
+      archivedIds.add(document.getObjectId("_id").toHexString());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package io.boomerang.benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import io.boomerang.util.GraphProcessor;
+
+/**
+ * Deterministic DAG generators shared by the benchmarks.
+ */
+public final class BenchmarkDags {
+
+  public static final String START = "start";
+  public static final String END = "end";
+
+  private BenchmarkDags() {
+
+  }
+
+  /**
+   * Vertices of a DAG of {@code nodes} inner vertices framed by {@link #START} and {@link #END}.
+   */
+  public static List<String> layeredVertices(int nodes) {
+    final List<String> vertices = new ArrayList<>(nodes + 2);
+    vertices.add(START);
+    for (int i = 0; i < nodes; i++) {
+      vertices.add("task" + i);
+    }
+    vertices.add(END);
+    return vertices;
+  }
+
+  /**
+   * Edges of a layered DAG. Every inner vertex depends on up to {@code fanIn} vertices from the
+   * previous layer; the first layer depends on start and end depends on the last layer. A handful
+   * of vertices are left unreachable from start to exercise pruning.
+   */
+  public static List<Pair<String, String>> layeredEdges(int nodes, int width, int fanIn,
+      long seed) {
+    final Random random = new Random(seed);
+    final List<Pair<String, String>> edges = new LinkedList<>();
+    final int layers = Math.max(1, (nodes + width - 1) / width);
+    for (int i = 0; i < nodes; i++) {
+      final int layer = i / width;
+      final String vertex = "task" + i;
+      if (layer == 0) {
+        edges.add(Pair.of(START, vertex));
+      } else if (i % 97 != 0) {
+        final int previousLayerStart = (layer - 1) * width;
+        for (int f = 0; f < fanIn; f++) {
+          edges.add(Pair.of("task" + (previousLayerStart + random.nextInt(width)), vertex));
+        }
+      }
+      if (layer == layers - 1) {
+        edges.add(Pair.of(vertex, END));
+      }
+    }
+    return edges;
+  }
+
+  public static Graph<String, DefaultEdge> layeredGraph(int nodes, int width, int fanIn,
+      long seed) {
+    return GraphProcessor.createGraph(layeredVertices(nodes),
+        layeredEdges(nodes, width, fanIn, seed));
+  }
+}
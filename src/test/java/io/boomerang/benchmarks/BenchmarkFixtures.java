@@ -0,0 +1,149 @@
+package io.boomerang.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.bson.Document;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.convert.DefaultMongoTypeMapper;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.model.Dag;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.mongo.model.WorkflowExecutionCondition;
+import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.model.next.Dependency;
+
+/**
+ * Loads the test resource fixtures used by the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+  public static final String TEMPLATE_ID = "template";
+
+  private static final MappingMongoConverter CONVERTER;
+
+  static {
+    CONVERTER = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext());
+    CONVERTER.setTypeMapper(new DefaultMongoTypeMapper(null));
+    CONVERTER.afterPropertiesSet();
+  }
+
+  private BenchmarkFixtures() {
+
+  }
+
+  public static String resource(String path) {
+    try (InputStream in = new ClassPathResource(path).getInputStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  public static <T> T json(String path, Class<T> type) {
+    return read(new ObjectMapper(), path, type);
+  }
+
+  public static <T> T yaml(String path, Class<T> type) {
+    return read(new ObjectMapper(new YAMLFactory()), path, type);
+  }
+
+  /**
+   * Reads a MongoDB shell export, as used by the scenario fixtures, the way the repositories
+   * would.
+   */
+  public static <T> T mongo(String path, Class<T> type) {
+    return CONVERTER.read(type, Document.parse(resource(path)));
+  }
+
+  /**
+   * A revision for one of the named DAG fixtures: {@code complex} (the complex scenario),
+   * {@code sample-dag} and {@code live-dag} (the designer link format, converted to dependencies)
+   * or {@code layered-<n>} (a generated layered DAG of {@code n} tasks).
+   */
+  public static RevisionEntity revision(String fixture) {
+    if ("complex".equals(fixture)) {
+      return mongo("scenarios/complex/revision.json", RevisionEntity.class);
+    } else if (fixture.startsWith("layered-")) {
+      int nodes = Integer.parseInt(fixture.substring("layered-".length()));
+      return revision(BenchmarkDags.layeredVertices(nodes),
+          BenchmarkDags.layeredEdges(nodes, 8, 3, 42L));
+    }
+    return designerRevision(fixture + ".json");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static RevisionEntity designerRevision(String path) {
+    Map<String, Object> dag = (Map<String, Object>) json(path, Map.class).get("dag");
+    Map<String, String> names = new LinkedHashMap<>();
+    for (Map<String, Object> node : (List<Map<String, Object>>) dag.get("nodes")) {
+      String id = (String) node.get("nodeId");
+      names.put(id, "startend".equals(node.get("type"))
+          ? ("Start".equals(node.get("passedName")) ? BenchmarkDags.START : BenchmarkDags.END)
+          : id);
+    }
+    List<Pair<String, String>> edges = new LinkedList<>();
+    for (Map<String, Object> link : (List<Map<String, Object>>) dag.get("links")) {
+      edges.add(Pair.of(names.get(link.get("source")), names.get(link.get("target"))));
+    }
+    return revision(new ArrayList<>(names.values()), edges);
+  }
+
+  private static RevisionEntity revision(List<String> vertices,
+      List<Pair<String, String>> edges) {
+    Map<String, List<Dependency>> dependencies = new LinkedHashMap<>();
+    for (Pair<String, String> edge : edges) {
+      Dependency dependency = new Dependency();
+      dependency.setTaskId(edge.getLeft());
+      dependency.setExecutionCondition(WorkflowExecutionCondition.always);
+      dependencies.computeIfAbsent(edge.getRight(), k -> new LinkedList<>()).add(dependency);
+    }
+    List<DAGTask> tasks = new ArrayList<>();
+    for (String vertex : vertices) {
+      DAGTask task = new DAGTask();
+      task.setId(vertex);
+      task.setLabel(vertex);
+      if (BenchmarkDags.START.equals(vertex)) {
+        task.setType(TaskType.start);
+      } else if (BenchmarkDags.END.equals(vertex)) {
+        task.setType(TaskType.end);
+      } else {
+        task.setType(TaskType.template);
+        task.setTemplateId(TEMPLATE_ID);
+        task.setTemplateVersion(1);
+      }
+      task.setDependencies(dependencies.getOrDefault(vertex, Collections.emptyList()));
+      tasks.add(task);
+    }
+    Dag dag = new Dag();
+    dag.setTasks(tasks);
+    RevisionEntity revision = new RevisionEntity();
+    revision.setId("revision");
+    revision.setWorkFlowId("workflow");
+    revision.setDag(dag);
+    return revision;
+  }
+
+  private static <T> T read(ObjectMapper mapper, String path, Class<T> type) {
+    try {
+      return mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+          .readValue(resource(path), type);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
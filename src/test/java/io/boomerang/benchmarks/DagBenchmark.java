@@ -0,0 +1,139 @@
+package io.boomerang.benchmarks;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.model.Revision;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.model.next.Dependency;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.mongo.service.RevisionCache;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
+import io.boomerang.service.refactor.DAGUtility;
+import io.boomerang.util.GraphProcessor;
+
+/**
+ * {@link DAGUtility} reachability checks and {@link GraphProcessor#createOrderedTaskList} over the
+ * DAG fixtures, with every task of the activity already completed. Repositories are stub-only
+ * mocks, so the numbers cover graph construction and traversal only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DagBenchmark {
+
+  @Param({"complex", "sample-dag", "live-dag", "layered-200"})
+  private String fixture;
+
+  private DAGUtility dagUtility;
+
+  private ActivityEntity activity;
+
+  private String lastTaskId;
+
+  private Graph<String, DefaultEdge> graph;
+
+  private String startId;
+
+  private String endId;
+
+  @Setup
+  public void setup() {
+    RevisionEntity revision = BenchmarkFixtures.revision(fixture);
+    List<DAGTask> tasks = revision.getDag().getTasks();
+
+    RevisionCache revisionCache = mock(RevisionCache.class, withSettings().stubOnly());
+    when(revisionCache.getRevision(anyString())).thenReturn(revision);
+
+    ActivityTaskService taskService = mock(ActivityTaskService.class, withSettings().stubOnly());
+    when(taskService.findByTaskIdAndActivityId(anyString(), anyString())).thenAnswer(invocation -> {
+      TaskExecutionEntity execution = new TaskExecutionEntity();
+      execution.setId(invocation.getArgument(0));
+      return execution;
+    });
+    TaskExecutionEntity completed = new TaskExecutionEntity();
+    completed.setFlowTaskStatus(TaskStatus.completed);
+    when(taskService.findById(anyString())).thenReturn(completed);
+
+    FlowTaskTemplateEntity template = new FlowTaskTemplateEntity();
+    template.setId(BenchmarkFixtures.TEMPLATE_ID);
+    Revision templateRevision = new Revision();
+    templateRevision.setVersion(1);
+    List<Revision> templateRevisions = new LinkedList<>();
+    templateRevisions.add(templateRevision);
+    template.setRevisions(templateRevisions);
+    TaskTemplateCatalog catalog = mock(TaskTemplateCatalog.class, withSettings().stubOnly());
+    when(catalog.getTemplate(anyString())).thenReturn(template);
+    when(catalog.getRevisionOrLatest(anyString(), any())).thenReturn(templateRevision);
+
+    dagUtility = new DAGUtility();
+    ReflectionTestUtils.setField(dagUtility, "revisionCache", revisionCache);
+    ReflectionTestUtils.setField(dagUtility, "taskActivityService", taskService);
+    ReflectionTestUtils.setField(dagUtility, "templateCatalog", catalog);
+
+    activity = new ActivityEntity();
+    activity.setId("activity");
+    activity.setWorkflowRevisionid(revision.getId());
+
+    List<Pair<String, String>> edges = new LinkedList<>();
+    for (DAGTask task : tasks) {
+      for (Dependency dependency : task.getDependencies()) {
+        edges.add(Pair.of(dependency.getTaskId(), task.getTaskId()));
+      }
+      if (task.getType() == TaskType.start) {
+        startId = task.getTaskId();
+      } else if (task.getType() == TaskType.end) {
+        endId = task.getTaskId();
+      } else {
+        lastTaskId = task.getTaskId();
+      }
+    }
+    graph = GraphProcessor.createGraph(
+        tasks.stream().map(DAGTask::getTaskId).collect(Collectors.toList()), edges);
+  }
+
+  @Benchmark
+  public boolean canCompleteTask() {
+    return dagUtility.canCompleteTask(activity, lastTaskId);
+  }
+
+  @Benchmark
+  public boolean validateWorkflow() {
+    return dagUtility.validateWorkflow(activity);
+  }
+
+  @Benchmark
+  public List<String> createOrderedTaskList() {
+    return GraphProcessor.createOrderedTaskList(graph, startId, endId);
+  }
+}
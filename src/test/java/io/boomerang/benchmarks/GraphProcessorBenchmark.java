@@ -0,0 +1,71 @@
+package io.boomerang.benchmarks;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.traverse.TopologicalOrderIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.boomerang.util.GraphProcessor;
+
+/**
+ * Compares the linear-time {@link GraphProcessor#createOrderedTaskList} against the previous
+ * topological sort plus per-vertex Dijkstra implementation on generated layered DAGs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphProcessorBenchmark {
+
+  @Param({"50", "500", "2000"})
+  private int nodes;
+
+  private Graph<String, DefaultEdge> graph;
+
+  @Setup
+  public void setup() {
+    graph = BenchmarkDags.layeredGraph(nodes, 8, 3, 42L);
+  }
+
+  @Benchmark
+  public List<String> linear() {
+    return GraphProcessor.createOrderedTaskList(graph, BenchmarkDags.START, BenchmarkDags.END);
+  }
+
+  @Benchmark
+  public List<String> dijkstraPerVertex() {
+    final List<String> orderedVertexList = new LinkedList<>();
+    final DijkstraShortestPath<String, DefaultEdge> dijkstraAlg = new DijkstraShortestPath<>(graph);
+    TopologicalOrderIterator<String, DefaultEdge> orderIterator =
+        new TopologicalOrderIterator<>(graph);
+    while (orderIterator.hasNext()) {
+      final String vert = orderIterator.next();
+      if (!(vert.equals(BenchmarkDags.START) || vert.equals(BenchmarkDags.END))) {
+        final SingleSourcePaths<String, DefaultEdge> pathToEnd = dijkstraAlg.getPaths(vert);
+        final SingleSourcePaths<String, DefaultEdge> pathFromStart =
+            dijkstraAlg.getPaths(BenchmarkDags.START);
+        if (pathToEnd.getPath(BenchmarkDags.END) != null
+            && pathFromStart.getPath(vert) != null) {
+          orderedVertexList.add(vert);
+        }
+      }
+    }
+    return orderedVertexList;
+  }
+}
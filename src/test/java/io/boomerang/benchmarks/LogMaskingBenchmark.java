@@ -0,0 +1,71 @@
+package io.boomerang.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import io.boomerang.service.crud.FlowActivityServiceImpl;
+
+/**
+ * Masking of secure property values in streamed task logs: every line of a {@code lines} long log
+ * is passed through the masking in {@link FlowActivityServiceImpl} with {@code secrets} values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogMaskingBenchmark {
+
+  @Param({"1000"})
+  private int lines;
+
+  @Param({"5", "50"})
+  private int secrets;
+
+  private final List<String> log = new ArrayList<>();
+
+  private final List<String> removalList = new ArrayList<>();
+
+  private FlowActivityServiceImpl activityService;
+
+  private MethodHandle mask;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    for (int i = 0; i < secrets; i++) {
+      removalList.add("s3cr3t-" + i + "-token");
+    }
+    for (int i = 0; i < lines; i++) {
+      log.add(i % 10 == 0
+          ? "[step " + i + "] authenticating with " + removalList.get(i % secrets)
+          : "[step " + i + "] Downloading layer sha256:" + Integer.toHexString(i * 7919));
+    }
+    activityService = new FlowActivityServiceImpl();
+    mask = MethodHandles.privateLookupIn(FlowActivityServiceImpl.class, MethodHandles.lookup())
+        .findVirtual(FlowActivityServiceImpl.class, "satanzieInput",
+            MethodType.methodType(String.class, String.class, List.class));
+  }
+
+  @Benchmark
+  public void maskLog(Blackhole blackhole) throws Throwable {
+    for (String line : log) {
+      blackhole.consume((String) mask.invoke(activityService, line, removalList));
+    }
+  }
+}
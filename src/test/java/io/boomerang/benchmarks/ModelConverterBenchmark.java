@@ -0,0 +1,58 @@
+package io.boomerang.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.boomerang.model.projectstormv5.WorkflowRevision;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.util.ModelConverterV5;
+
+/**
+ * Designer model to revision entity conversion and back, on the designer revision fixtures and on
+ * generated layered DAGs of 10, 100 and 1000 tasks ({@code layered-<n>}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelConverterBenchmark {
+
+  @Param({"scenarios/github/github-rest.json", "scenarios/decision-values.json", "layered-10",
+      "layered-100", "layered-1000"})
+  private String fixture;
+
+  private WorkflowRevision restModel;
+
+  private RevisionEntity entityModel;
+
+  @Setup
+  public void setup() {
+    if (fixture.startsWith("layered-")) {
+      restModel = ModelConverterV5.convertToRestModel(BenchmarkFixtures.revision(fixture));
+    } else {
+      restModel = BenchmarkFixtures.json(fixture, WorkflowRevision.class);
+    }
+    entityModel = ModelConverterV5.convertToEntityModel(restModel);
+  }
+
+  @Benchmark
+  public RevisionEntity convertToEntityModel() {
+    return ModelConverterV5.convertToEntityModel(restModel);
+  }
+
+  @Benchmark
+  public WorkflowRevision convertToRestModel() {
+    return ModelConverterV5.convertToRestModel(entityModel);
+  }
+}
@@ -0,0 +1,109 @@
+package io.boomerang.benchmarks;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.service.PropertyManagerImpl;
+import io.boomerang.service.refactor.ControllerRequestProperties;
+
+/**
+ * Parameter substitution as done for every task input: {@code replaceValueWithProperty} on a value
+ * with {@code references} workflow parameters plus a system parameter and a task result, and
+ * {@code replaceAllParams} expanding {@code $(allParams)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyManagerBenchmark {
+
+  @Param({"1", "10", "50"})
+  private int references;
+
+  @Param({"20", "200"})
+  private int properties;
+
+  private PropertyManagerImpl propertyManager;
+
+  private ControllerRequestProperties requestProperties;
+
+  private String value;
+
+  private MethodHandle replaceAllParams;
+
+  @Setup
+  public void setup() throws ReflectiveOperationException {
+    List<TaskExecutionEntity> tasks = new LinkedList<>();
+    for (int i = 0; i < 20; i++) {
+      TaskExecutionEntity task = new TaskExecutionEntity();
+      task.setTaskName("Build Step " + i);
+      Map<String, String> outputs = new HashMap<>();
+      outputs.put("image", "registry/image:" + i);
+      task.setOutputs(outputs);
+      tasks.add(task);
+    }
+    ActivityTaskService taskService = mock(ActivityTaskService.class, withSettings().stubOnly());
+    when(taskService.findTaskActiivtyForActivity(anyString())).thenReturn(tasks);
+
+    propertyManager = new PropertyManagerImpl();
+    ReflectionTestUtils.setField(propertyManager, "taskService", taskService);
+
+    requestProperties = new ControllerRequestProperties();
+    for (int i = 0; i < properties; i++) {
+      requestProperties.getWorkflowProperties().put("param" + i, "value-" + i);
+      requestProperties.getGlobalProperties().put("global" + i, "global-" + i);
+    }
+    requestProperties.getSystemProperties().put("workflow-name", "Benchmark Workflow");
+    requestProperties.getSystemProperties().put("activity-id", "activity");
+
+    StringBuilder builder = new StringBuilder("echo \"$(system.params.workflow-name)\"");
+    for (int i = 0; i < references; i++) {
+      builder.append(" --arg").append(i).append("=$(params.param").append(i % properties)
+          .append(')');
+    }
+    builder.append(" --image=$(tasks.buildstep19.results.image)");
+    value = builder.toString();
+
+    replaceAllParams = MethodHandles
+        .privateLookupIn(PropertyManagerImpl.class, MethodHandles.lookup())
+        .findVirtual(PropertyManagerImpl.class, "replaceAllParams", MethodType
+            .methodType(String.class, String.class, String.class,
+                ControllerRequestProperties.class));
+  }
+
+  @Benchmark
+  public String replaceValueWithProperty() {
+    return propertyManager.replaceValueWithProperty(value, "activity", requestProperties);
+  }
+
+  @Benchmark
+  public String replaceAllParams() throws Throwable {
+    return (String) replaceAllParams.invoke(propertyManager, "$(allParams)", "activity",
+        requestProperties);
+  }
+}
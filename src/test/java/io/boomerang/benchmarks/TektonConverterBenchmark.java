@@ -0,0 +1,49 @@
+package io.boomerang.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import io.boomerang.model.tekton.TektonTask;
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.service.tekton.TektonConverter;
+
+/**
+ * Task template to Tekton task conversion in both directions, on the YAML import fixtures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TektonConverterBenchmark {
+
+  private FlowTaskTemplateEntity template;
+
+  private TektonTask tektonTask;
+
+  @Setup
+  public void setup() {
+    template = BenchmarkFixtures.json("yaml/import.json", FlowTaskTemplateEntity.class);
+    tektonTask = BenchmarkFixtures.yaml("yaml/import.yaml", TektonTask.class);
+  }
+
+  @Benchmark
+  public TektonTask convertFlowTaskToTekton() {
+    return TektonConverter.convertFlowTaskToTekton(template, Optional.empty());
+  }
+
+  @Benchmark
+  public FlowTaskTemplateEntity convertTektonTaskToNewFlowTask() {
+    return TektonConverter.convertTektonTaskToNewFlowTask(tektonTask);
+  }
+}
@@ -0,0 +1,91 @@
+package io.boomerang.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+
+/**
+ * Builds workflow and revision documents for synthetic DAGs of shell script tasks, in the shape
+ * the scenario fixtures use.
+ */
+public final class GeneratedWorkflows {
+
+  private static final String TEMPLATE_ID = "5c3907a1352b1b51412ed079";
+
+  private static final long TEMPLATE_VERSION = 2L;
+
+  private GeneratedWorkflows() {
+
+  }
+
+  /**
+   * {@code width} shell script tasks that all run in parallel between start and end.
+   */
+  public static Document wideRevision(String workflowId, int width) {
+    List<Document> tasks = new ArrayList<>();
+    List<String> leaves = new ArrayList<>();
+    tasks.add(task("start", "start", Collections.emptyList()));
+    for (int i = 0; i < width; i++) {
+      String taskId = "wide-" + i;
+      tasks.add(script(taskId, Collections.singletonList("start")));
+      leaves.add(taskId);
+    }
+    tasks.add(task("end", "end", leaves));
+    return revision(workflowId, tasks);
+  }
+
+  /**
+   * A chain of {@code depth} shell script tasks, each waiting for the previous one.
+   */
+  public static Document deepRevision(String workflowId, int depth) {
+    List<Document> tasks = new ArrayList<>();
+    tasks.add(task("start", "start", Collections.emptyList()));
+    String previous = "start";
+    for (int i = 0; i < depth; i++) {
+      String taskId = "deep-" + i;
+      tasks.add(script(taskId, Collections.singletonList(previous)));
+      previous = taskId;
+    }
+    tasks.add(task("end", "end", Collections.singletonList(previous)));
+    return revision(workflowId, tasks);
+  }
+
+  /**
+   * A copy of a workflow fixture under a new id and name.
+   */
+  public static Document workflow(Document template, String workflowId, String name) {
+    Document workflow = new Document(template);
+    workflow.put("_id", new ObjectId(workflowId));
+    workflow.put("name", name);
+    workflow.put("shortDescription", name);
+    return workflow;
+  }
+
+  private static Document revision(String workflowId, List<Document> tasks) {
+    return new Document("_id", new ObjectId()).append("dag", new Document("tasks", tasks))
+        .append("version", 1L).append("workFlowId", workflowId)
+        .append("changelog", new Document("reason", "Generated load test revision")
+            .append("date", new Date()));
+  }
+
+  private static Document script(String taskId, List<String> dependencies) {
+    return task(taskId, "script", dependencies).append("label", taskId)
+        .append("templateId", TEMPLATE_ID).append("templateVersion", TEMPLATE_VERSION)
+        .append("properties",
+            Arrays.asList(new Document("key", "shell").append("value", "/bin/sh"),
+                new Document("key", "script").append("value", "echo " + taskId)));
+  }
+
+  private static Document task(String taskId, String type, List<String> dependencies) {
+    List<Document> links = new ArrayList<>();
+    for (String dependency : dependencies) {
+      links.add(new Document("taskId", dependency).append("conditionalExecution", false)
+          .append("executionCondition", "always"));
+    }
+    return new Document("taskId", taskId).append("type", type).append("dependencies", links);
+  }
+}
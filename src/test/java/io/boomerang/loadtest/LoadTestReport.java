@@ -0,0 +1,86 @@
+package io.boomerang.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Collects latency samples per stage and renders them as a text summary and a JSON report.
+ */
+public class LoadTestReport {
+
+  private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+
+  private final Map<String, Object> summary = new LinkedHashMap<>();
+
+  public void record(String stage, long millis) {
+    samples.computeIfAbsent(stage, k -> new ConcurrentLinkedQueue<>()).add(millis);
+  }
+
+  public void put(String key, Object value) {
+    summary.put(key, value);
+  }
+
+  /**
+   * Count, mean and percentiles of every stage, in milliseconds.
+   */
+  public Map<String, Map<String, Number>> getStages() {
+    Map<String, Map<String, Number>> stages = new LinkedHashMap<>();
+    samples.keySet().stream().sorted().forEach(stage -> {
+      long[] values = samples.get(stage).stream().mapToLong(Long::longValue).sorted().toArray();
+      Map<String, Number> stats = new LinkedHashMap<>();
+      stats.put("count", values.length);
+      stats.put("mean", values.length == 0 ? 0 : Arrays.stream(values).sum() / values.length);
+      stats.put("p50", percentile(values, 50));
+      stats.put("p90", percentile(values, 90));
+      stats.put("p99", percentile(values, 99));
+      stats.put("max", values.length == 0 ? 0 : values[values.length - 1]);
+      stages.put(stage, stats);
+    });
+    return stages;
+  }
+
+  public String format() {
+    StringBuilder text = new StringBuilder("\n==== Workflow load test ====\n");
+    for (Entry<String, Object> entry : summary.entrySet()) {
+      if (entry.getValue() instanceof Map) {
+        text.append(entry.getKey()).append(":\n");
+        ((Map<?, ?>) entry.getValue()).forEach((key, value) -> text
+            .append(String.format("  %-40s %s%n", key, value)));
+      } else {
+        text.append(String.format("%-42s %s%n", entry.getKey() + ":", entry.getValue()));
+      }
+    }
+    text.append(String.format("%-34s %7s %7s %7s %7s %7s %7s%n", "stage (ms)", "count", "mean",
+        "p50", "p90", "p99", "max"));
+    getStages().forEach((stage, stats) -> {
+      List<Number> values = Arrays.asList(stats.get("count"), stats.get("mean"), stats.get("p50"),
+          stats.get("p90"), stats.get("p99"), stats.get("max"));
+      text.append(String.format("%-34s %7d %7d %7d %7d %7d %7d%n", stage, values.toArray()));
+    });
+    return text.toString();
+  }
+
+  public void write(File file) throws IOException {
+    Map<String, Object> report = new LinkedHashMap<>(summary);
+    report.put("stages", getStages());
+    file.getParentFile().mkdirs();
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+  }
+
+  private static long percentile(long[] sorted, int percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+}
@@ -0,0 +1,77 @@
+package io.boomerang.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Counts the commands the service sends to MongoDB, by command name, with their total server
+ * round trip time. The synchronous driver notifies listeners on the calling thread, so threads
+ * that only observe the run can exclude themselves.
+ */
+public class MongoOperationCounter implements CommandListener {
+
+  private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> micros = new ConcurrentHashMap<>();
+  private final LongAdder failures = new LongAdder();
+  private final ThreadLocal<Boolean> excluded = ThreadLocal.withInitial(() -> false);
+
+  public void excludeCurrentThread() {
+    excluded.set(true);
+  }
+
+  @Override
+  public void commandStarted(CommandStartedEvent event) {
+    if (excluded.get()) {
+      return;
+    }
+    counts.computeIfAbsent(event.getCommandName(), k -> new LongAdder()).increment();
+  }
+
+  @Override
+  public void commandSucceeded(CommandSucceededEvent event) {
+    if (excluded.get()) {
+      return;
+    }
+    micros.computeIfAbsent(event.getCommandName(), k -> new LongAdder())
+        .add(event.getElapsedTime(TimeUnit.MICROSECONDS));
+  }
+
+  @Override
+  public void commandFailed(CommandFailedEvent event) {
+    if (excluded.get()) {
+      return;
+    }
+    failures.increment();
+    micros.computeIfAbsent(event.getCommandName(), k -> new LongAdder())
+        .add(event.getElapsedTime(TimeUnit.MICROSECONDS));
+  }
+
+  public void reset() {
+    counts.clear();
+    micros.clear();
+    failures.reset();
+  }
+
+  public Map<String, Long> getCounts() {
+    Map<String, Long> result = new TreeMap<>();
+    counts.forEach((command, count) -> result.put(command, count.sum()));
+    return result;
+  }
+
+  public Map<String, Long> getMillis() {
+    Map<String, Long> result = new TreeMap<>();
+    micros.forEach((command, total) -> result.put(command, total.sum() / 1000));
+    return result;
+  }
+
+  public long getFailures() {
+    return failures.sum();
+  }
+}
@@ -0,0 +1,114 @@
+package io.boomerang.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for the controller and the core user/team services. Task submissions are
+ * held for a configurable latency and fail at a configurable rate, which drives the same task
+ * result handling as a real controller.
+ */
+public class StubController {
+
+  private static final String SUCCESS = "{\"code\":\"0\",\"message\":\"\",\"results\":[]}";
+
+  private static final String FAILURE =
+      "{\"code\":\"1\",\"message\":\"Injected failure\",\"results\":[]}";
+
+  private final long latencyMillis;
+  private final long jitterMillis;
+  private final double failureRate;
+
+  private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+  private final LongAdder injectedFailures = new LongAdder();
+
+  private HttpServer server;
+  private ExecutorService executor;
+
+  public StubController(long latencyMillis, long jitterMillis, double failureRate) {
+    this.latencyMillis = latencyMillis;
+    this.jitterMillis = jitterMillis;
+    this.failureRate = failureRate;
+  }
+
+  public void start(String usersJson, String teamsJson) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/controller/task/execute", exchange -> task(exchange));
+    server.createContext("/controller/task/custom/execute", exchange -> task(exchange));
+    server.createContext("/controller/", exchange -> respond(exchange, SUCCESS));
+    server.createContext("/internal/users/user", exchange -> respond(exchange, usersJson));
+    server.createContext("/admin/teams/team", exchange -> respond(exchange, teamsJson));
+    executor = Executors.newCachedThreadPool();
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  public void stop() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  public String getHost() {
+    return "localhost:" + server.getAddress().getPort();
+  }
+
+  /**
+   * Requests served per endpoint.
+   */
+  public Map<String, Long> getRequests() {
+    Map<String, Long> counts = new TreeMap<>();
+    requests.forEach((path, count) -> counts.put(path, count.sum()));
+    return counts;
+  }
+
+  public long getInjectedFailures() {
+    return injectedFailures.sum();
+  }
+
+  private void task(HttpExchange exchange) throws IOException {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long delay = latencyMillis
+        + (jitterMillis > 0 ? random.nextLong(-jitterMillis, jitterMillis + 1) : 0);
+    try {
+      TimeUnit.MILLISECONDS.sleep(Math.max(0, delay));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (random.nextDouble() < failureRate) {
+      injectedFailures.increment();
+      respond(exchange, FAILURE);
+    } else {
+      respond(exchange, SUCCESS);
+    }
+  }
+
+  private void respond(HttpExchange exchange, String body) throws IOException {
+    exchange.getRequestBody().readAllBytes();
+    requests.computeIfAbsent(exchange.getRequestMethod() + " " + endpoint(exchange),
+        k -> new LongAdder()).increment();
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static String endpoint(HttpExchange exchange) {
+    String path = exchange.getRequestURI().getPath();
+    String context = exchange.getHttpContext().getPath();
+    return "/controller/".equals(context) ? path : context;
+  }
+}
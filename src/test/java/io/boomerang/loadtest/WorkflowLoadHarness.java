@@ -0,0 +1,379 @@
+package io.boomerang.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.tests.AbstractFlowTests;
+
+/**
+ * Drives concurrent executions of the scenario workflows, plus generated wide and deep DAGs,
+ * through the execute endpoint against embedded MongoDB and an in-process {@link StubController}.
+ * Reports throughput, end-to-end and per-stage latency percentiles, controller calls and MongoDB
+ * commands to stdout and {@code target/loadtest/report.json}.
+ *
+ * <p>
+ * Not part of the regular test run: {@code mvn -P loadtest verify}. Tunables are system
+ * properties, for example
+ * {@code -Dloadtest.executions=5000 -Dloadtest.concurrency=200 -Dloadtest.controller.latency=100
+ * -Dloadtest.controller.failureRate=0.05 -Dloadtest.scenarios=simple,complex,wide,deep}.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = {"max.concurrent.workflows=1000000", "max.workflow.execution.monthly=100000000",
+        "max.workflow.execution.time=1440",
+        "logging.level.org.springframework.data.mongodb.core.MongoTemplate=WARN",
+        "logging.level.io.boomerang=WARN"})
+@ActiveProfiles("test")
+public class WorkflowLoadHarness extends AbstractFlowTests {
+
+  private static final Logger LOGGER = LogManager.getLogger();
+
+  private static final List<TaskStatus> FINISHED = Arrays.asList(TaskStatus.completed,
+      TaskStatus.failure, TaskStatus.cancelled, TaskStatus.invalid);
+
+  private static final List<TaskType> CONTROLLER_TASKS =
+      Arrays.asList(TaskType.template, TaskType.script, TaskType.customtask);
+
+  /**
+   * Scenario name to workflow id, workflow fixture and revision fixtures.
+   */
+  private static final Map<String, String[]> SCENARIOS = new LinkedHashMap<>();
+
+  static {
+    SCENARIOS.put("simple",
+        new String[] {"5f4fc9e95683833cf0b1335b", "tests/scenarios/simple/simple-workflow.json",
+            "tests/scenarios/simple/simple-revision1.json",
+            "tests/scenarios/simple/simple-revision2.json"});
+    SCENARIOS.put("complex",
+        new String[] {"5f5fddd25683833cf0b133ff", "tests/scenarios/complex/complex-workflow.json",
+            "tests/scenarios/complex/complex-revision1.json"});
+    SCENARIOS.put("research",
+        new String[] {"5f9f39284bb82976c35b24ad",
+            "tests/scenarios/research/research-workflow.json",
+            "tests/scenarios/research/research-revision1.json"});
+    SCENARIOS.put("orphan",
+        new String[] {"5f5ae54b5683833cf0b133cf", "tests/scenarios/orphan/orphan-workflow.json",
+            "tests/scenarios/orphan/orphan-revision1.json"});
+    SCENARIOS.put("locks",
+        new String[] {"600efc3e9e161e473d6b7b4e", "tests/scenarios/locks/lock-workflow.json",
+            "tests/scenarios/locks/lock-revision1.json"});
+  }
+
+  private static final String WIDE_WORKFLOW_ID = "6f0000000000000000000001";
+
+  private static final String DEEP_WORKFLOW_ID = "6f0000000000000000000002";
+
+  private static final int EXECUTIONS = Integer.getInteger("loadtest.executions", 2000);
+  private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 100);
+  private static final int WIDE_WIDTH = Integer.getInteger("loadtest.wide.width", 25);
+  private static final int DEEP_DEPTH = Integer.getInteger("loadtest.deep.depth", 10);
+  private static final long TIMEOUT = Long.getLong("loadtest.timeout", 900L);
+  private static final List<String> SELECTED = Arrays.asList(
+      System.getProperty("loadtest.scenarios", "simple,complex,research,orphan,wide,deep")
+          .split(","));
+
+  private static StubController stubController;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private MongoOperationCounter mongoOperationCounter;
+
+  @LocalServerPort
+  private int port;
+
+  @TestConfiguration
+  static class MongoCommandCounting {
+
+    @Bean
+    MongoOperationCounter mongoOperationCounter() {
+      return new MongoOperationCounter();
+    }
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer mongoOperationCounterCustomizer(
+        MongoOperationCounter counter) {
+      return builder -> builder.addCommandListener(counter);
+    }
+  }
+
+  @DynamicPropertySource
+  static void stubControllerProperties(DynamicPropertyRegistry registry) throws IOException {
+    stubController = new StubController(Long.getLong("loadtest.controller.latency", 50L),
+        Long.getLong("loadtest.controller.jitter", 25L),
+        Double.parseDouble(System.getProperty("loadtest.controller.failureRate", "0.0")));
+    stubController.start(getMockFile("mock/users/users.json"),
+        getMockFile("mock/admin/teams.json"));
+    registry.add("controller.service.host", stubController::getHost);
+    registry.add("core.users.service.host", stubController::getHost);
+    registry.add("core.admin.service.host", stubController::getHost);
+  }
+
+  @AfterAll
+  static void stopStubController() {
+    if (stubController != null) {
+      stubController.stop();
+    }
+  }
+
+  @Test
+  void runLoad() throws Exception {
+    Map<String, String> workflows = prepareWorkflows();
+    List<String> scenarios = new ArrayList<>(workflows.keySet());
+    LoadTestReport report = new LoadTestReport();
+    Map<String, Submission> submissions = new ConcurrentHashMap<>();
+    AtomicInteger rejected = new AtomicInteger();
+
+    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    ObjectMapper mapper = new ObjectMapper();
+    mongoOperationCounter.excludeCurrentThread();
+    mongoOperationCounter.reset();
+
+    long start = System.currentTimeMillis();
+    ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+    for (int i = 0; i < EXECUTIONS; i++) {
+      String scenario = scenarios.get(i % scenarios.size());
+      HttpRequest request = HttpRequest
+          .newBuilder(URI.create(
+              "http://localhost:" + port + "/workflow/execute/" + workflows.get(scenario)))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString("{\"properties\":{\"foobar\":\"load\"}}"))
+          .timeout(Duration.ofSeconds(60)).build();
+      clients.execute(() -> {
+        long submitted = System.currentTimeMillis();
+        try {
+          HttpResponse<String> response =
+              client.send(request, HttpResponse.BodyHandlers.ofString());
+          report.record("submit", System.currentTimeMillis() - submitted);
+          if (response.statusCode() == 200) {
+            String id = mapper.readTree(response.body()).path("id").asText(null);
+            if (id != null) {
+              submissions.put(id, new Submission(scenario, submitted));
+              return;
+            }
+          }
+          LOGGER.warn("Execution of {} rejected with {}", scenario, response.statusCode());
+        } catch (IOException e) {
+          LOGGER.warn("Execution of {} failed: {}", scenario, e.getMessage());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+      });
+    }
+    clients.shutdown();
+    assertTrue(clients.awaitTermination(TIMEOUT, TimeUnit.SECONDS), "Submissions timed out");
+    long submittedAt = System.currentTimeMillis();
+
+    Map<String, Submission> pending = new ConcurrentHashMap<>(submissions);
+    Map<TaskStatus, Integer> statuses = new TreeMap<>();
+    long lastEnd = start;
+    long deadline = start + TimeUnit.SECONDS.toMillis(TIMEOUT);
+    while (!pending.isEmpty() && System.currentTimeMillis() < deadline) {
+      for (ActivityEntity activity : findFinished(pending.keySet())) {
+        Submission submission = pending.remove(activity.getId());
+        long end = activity.getDuration() != null
+            ? activity.getCreationDate().getTime() + activity.getDuration()
+            : System.currentTimeMillis();
+        lastEnd = Math.max(lastEnd, end);
+        statuses.merge(activity.getStatus(), 1, Integer::sum);
+        report.record("end-to-end", end - submission.submitted);
+        report.record("end-to-end." + submission.scenario, end - submission.submitted);
+        recordTaskStages(report, activity, end);
+      }
+      TimeUnit.MILLISECONDS.sleep(250);
+    }
+
+    long elapsed = Math.max(1, lastEnd - start);
+    int finished = submissions.size() - pending.size();
+    report.put("scenarios", scenarios);
+    report.put("executions", EXECUTIONS);
+    report.put("concurrency", CONCURRENCY);
+    report.put("rejected", rejected.get());
+    report.put("unfinished", pending.size());
+    report.put("statuses", statuses);
+    report.put("submission window (ms)", submittedAt - start);
+    report.put("elapsed (ms)", elapsed);
+    report.put("throughput (executions/s)",
+        String.format("%.2f", finished * 1000.0 / elapsed));
+    report.put("controller requests", stubController.getRequests());
+    report.put("controller injected failures", stubController.getInjectedFailures());
+    Map<String, Long> mongoCounts = mongoOperationCounter.getCounts();
+    report.put("mongo commands", mongoCounts);
+    report.put("mongo command time (ms)", mongoOperationCounter.getMillis());
+    report.put("mongo commands per execution", String.format("%.1f",
+        mongoCounts.values().stream().mapToLong(Long::longValue).sum() / Math.max(1.0, finished)));
+
+    LOGGER.warn(report.format());
+    report.write(new File("target/loadtest/report.json"));
+    assertTrue(pending.isEmpty(), pending.size() + " executions did not finish");
+  }
+
+  /**
+   * Dispatch is activity creation to the first task starting; completion is the last task
+   * finishing to the activity finishing.
+   */
+  private void recordTaskStages(LoadTestReport report, ActivityEntity activity, long end) {
+    List<TaskExecutionEntity> tasks = mongoTemplate.find(
+        Query.query(Criteria.where("activityId").is(activity.getId())),
+        TaskExecutionEntity.class);
+    long firstStart = Long.MAX_VALUE;
+    long lastFinish = Long.MIN_VALUE;
+    for (TaskExecutionEntity task : tasks) {
+      if (task.getStartTime() == null) {
+        continue;
+      }
+      long started = task.getStartTime().getTime();
+      firstStart = Math.min(firstStart, started);
+      lastFinish = Math.max(lastFinish, started + task.getDuration());
+      if (CONTROLLER_TASKS.contains(task.getTaskType())) {
+        report.record("task." + task.getTaskType(), task.getDuration());
+      }
+    }
+    if (firstStart != Long.MAX_VALUE) {
+      report.record("dispatch", firstStart - activity.getCreationDate().getTime());
+      report.record("completion", Math.max(0, end - lastFinish));
+    }
+  }
+
+  private List<ActivityEntity> findFinished(Collection<String> ids) {
+    List<String> all = new ArrayList<>(ids);
+    List<ActivityEntity> finished = new ArrayList<>();
+    for (int from = 0; from < all.size(); from += 1000) {
+      Query query = Query.query(Criteria.where("_id")
+          .in(all.subList(from, Math.min(from + 1000, all.size()))).and("status").in(FINISHED));
+      query.fields().include("_id").include("status").include("creationDate").include("duration");
+      finished.addAll(mongoTemplate.find(query, ActivityEntity.class));
+    }
+    return finished;
+  }
+
+  private Map<String, String> prepareWorkflows() throws IOException {
+    Map<String, String> workflows = new LinkedHashMap<>();
+    for (String scenario : SELECTED) {
+      String[] fixture = SCENARIOS.get(scenario.trim());
+      if (fixture != null) {
+        workflows.put(scenario.trim(), fixture[0]);
+      }
+    }
+    Document template =
+        Document.parse(getMockFile("tests/scenarios/simple/simple-workflow.json"));
+    if (SELECTED.contains("wide")) {
+      insert("flow_workflows",
+          GeneratedWorkflows.workflow(template, WIDE_WORKFLOW_ID, "Load wide " + WIDE_WIDTH));
+      insert("flow_workflows_revisions",
+          GeneratedWorkflows.wideRevision(WIDE_WORKFLOW_ID, WIDE_WIDTH));
+      workflows.put("wide", WIDE_WORKFLOW_ID);
+    }
+    if (SELECTED.contains("deep")) {
+      insert("flow_workflows",
+          GeneratedWorkflows.workflow(template, DEEP_WORKFLOW_ID, "Load deep " + DEEP_DEPTH));
+      insert("flow_workflows_revisions",
+          GeneratedWorkflows.deepRevision(DEEP_WORKFLOW_ID, DEEP_DEPTH));
+      workflows.put("deep", DEEP_WORKFLOW_ID);
+    }
+    return workflows;
+  }
+
+  private void insert(String collection, Document document) {
+    mongoTemplate.getDb().getCollection(collection).insertOne(document);
+  }
+
+  @Override
+  protected String[] getCollections() {
+    return new String[] {"core_users", "core_groups_higher_level", "core_groups_lower_level",
+        "flow_teams", "flow_workflows", "flow_workflows_activity", "flow_workflows_activity_task",
+        "flow_workflows_revisions", "flow_task_templates", "flow_settings",
+        "flow_workflows_activity_approval"};
+  }
+
+  @Override
+  protected Map<String, List<String>> getData() {
+    Map<String, List<String>> data = new LinkedHashMap<>();
+    data.put("core_users", Arrays.asList("db/core_users/user1.json", "db/core_users/user2.json",
+        "db/core_users/user3.json", "db/core_users/user4.json"));
+    data.put("core_groups_higher_level",
+        Arrays.asList("db/core_groups_higher_level/highlevelgroup.json",
+            "db/core_groups_higher_level/highlevelgroup2.json",
+            "db/core_groups_higher_level/highlevelgroup3.json"));
+    data.put("core_groups_lower_level",
+        Arrays.asList("db/core_groups_lower_level/lowerlevelgroup.json"));
+    data.put("flow_task_templates",
+        Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 23,
+            24, 26, 27, 28, 29, 31, 32, 33, 34, 35, 36).stream()
+            .map(i -> "tests/setup/templates/" + i + ".json").collect(Collectors.toList()));
+    data.put("flow_teams", Arrays.asList("tests/setup/teams/team1.json"));
+    data.put("flow_settings",
+        Arrays.asList("db/flow_settings/setting1.json", "db/flow_settings/setting2.json",
+            "db/flow_settings/setting3.json", "db/flow_settings/setting4.json",
+            "db/flow_settings/setting5.json"));
+
+    Map<String, List<String>> workflowFiles = new HashMap<>();
+    for (String scenario : SELECTED) {
+      String[] fixture = SCENARIOS.get(scenario.trim());
+      if (fixture != null) {
+        workflowFiles.computeIfAbsent("flow_workflows", k -> new ArrayList<>()).add(fixture[1]);
+        workflowFiles.computeIfAbsent("flow_workflows_revisions", k -> new ArrayList<>())
+            .addAll(Arrays.asList(fixture).subList(2, fixture.length));
+      }
+    }
+    data.putAll(workflowFiles);
+    return data;
+  }
+
+  private static class Submission {
+
+    private final String scenario;
+    private final long submitted;
+
+    Submission(String scenario, long submitted) {
+      this.scenario = scenario;
+      this.submitted = submitted;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.boomerang.model.BulkCancelRequest;
+import io.boomerang.model.BulkCancelStatus;
+import io.boomerang.model.Task;
+import io.boomerang.model.TeamWorkflowSummary;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.FlowUserEntity;
+import io.boomerang.mongo.entity.TeamEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.mongo.model.UserType;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.mongo.service.FlowWorkflowService;
+import io.boomerang.opentracing.FlowTracing;
+import io.boomerang.service.UserIdentityService;
+import io.boomerang.service.crud.ActivityCancellationServiceImpl;
+import io.boomerang.service.crud.TeamService;
+import io.boomerang.service.runner.misc.ControllerClient;
+import io.opentracing.util.GlobalTracer;
+
+public class ActivityCancellationTest {
+
+  private static final int TASKS_PER_ACTIVITY = 20;
+
+  private FlowWorkflowActivityService activityService;
+
+  private ActivityTaskService taskService;
+
+  private ControllerClient controllerClient;
+
+  private UserIdentityService userIdentityService;
+
+  private TeamService teamService;
+
+  private ActivityCancellationServiceImpl cancellationService;
+
+  private final AtomicInteger running = new AtomicInteger();
+
+  private final AtomicInteger maxRunning = new AtomicInteger();
+
+  @BeforeEach
+  public void setUp() {
+    activityService = mock(FlowWorkflowActivityService.class);
+    taskService = mock(ActivityTaskService.class);
+    controllerClient = mock(ControllerClient.class);
+    userIdentityService = mock(UserIdentityService.class);
+    teamService = mock(TeamService.class);
+    FlowWorkflowService workflowService = mock(FlowWorkflowService.class);
+
+    cancellationService = new ActivityCancellationServiceImpl();
+    ReflectionTestUtils.setField(cancellationService, "activityService", activityService);
+    ReflectionTestUtils.setField(cancellationService, "taskService", taskService);
+    ReflectionTestUtils.setField(cancellationService, "workflowService", workflowService);
+    ReflectionTestUtils.setField(cancellationService, "controllerClient", controllerClient);
+    ReflectionTestUtils.setField(cancellationService, "flowTracing",
+        new FlowTracing(GlobalTracer.get()));
+    ReflectionTestUtils.setField(cancellationService, "userIdentityService",
+        userIdentityService);
+    ReflectionTestUtils.setField(cancellationService, "teamService", teamService);
+    ReflectionTestUtils.setField(cancellationService, "jobExecutor", (Executor) Runnable::run);
+    ReflectionTestUtils.setField(cancellationService, "parallelism", 4);
+    ReflectionTestUtils.setField(cancellationService, "batchSize", 1);
+    ReflectionTestUtils.invokeMethod(cancellationService, "init");
+
+    for (String activityId : Arrays.asList("a1", "a2")) {
+      ActivityEntity activity = new ActivityEntity();
+      activity.setId(activityId);
+      activity.setWorkflowId("workflow");
+      activity.setTeamId("a1".equals(activityId) ? "team1" : "team2");
+      List<String> ids = Collections.singletonList(activityId);
+      when(activityService.findWorkflowActivitiesByIds(ids))
+          .thenReturn(Collections.singletonList(activity));
+      when(taskService.findTaskActivitiesForActivities(ids)).thenReturn(tasks(activityId));
+    }
+    WorkflowEntity workflow = new WorkflowEntity();
+    workflow.setId("workflow");
+    workflow.setName("Workflow");
+    when(workflowService.getWorkflowsByIds(anyCollection()))
+        .thenReturn(Collections.singletonList(workflow));
+    when(taskService.cancelTasks(anyCollection())).thenReturn((long) TASKS_PER_ACTIVITY + 1);
+
+    when(controllerClient.terminateTask(any(Task.class))).thenAnswer(invocation -> {
+      int current = running.incrementAndGet();
+      maxRunning.accumulateAndGet(current, Math::max);
+      Thread.sleep(20);
+      running.decrementAndGet();
+      Task task = invocation.getArgument(0);
+      return !"a1-task0".equals(task.getTaskActivityId());
+    });
+  }
+
+  @AfterEach
+  public void tearDown() {
+    cancellationService.shutdown();
+  }
+
+  @Test
+  public void testTerminationsRunConcurrentlyWithinBound() {
+    BulkCancelStatus status = cancellationService.cancel(Arrays.asList("a1", "a2"), null);
+
+    assertEquals(BulkCancelStatus.State.completed, status.getState());
+    assertEquals(2, status.getTotalActivities());
+    assertEquals(2, status.getCancelledActivities());
+    assertEquals(2 * (TASKS_PER_ACTIVITY + 1), status.getCancelledTasks());
+    assertEquals(2 * TASKS_PER_ACTIVITY - 1, status.getTerminatedTasks());
+    assertEquals(1, status.getFailedTerminations());
+    assertTrue(maxRunning.get() > 1 && maxRunning.get() <= 4,
+        "max concurrent terminations " + maxRunning.get());
+
+    verify(controllerClient, times(2 * TASKS_PER_ACTIVITY)).terminateTask(any(Task.class));
+    verify(activityService, times(1)).cancelActivities(eq(Collections.singletonList("a1")),
+        any());
+    verify(taskService, times(1)).cancelTasks(Collections.singletonList("a2"));
+  }
+
+  @Test
+  public void testSubmitSkipsActivitiesOfOtherTeams() {
+    FlowUserEntity user = new FlowUserEntity();
+    user.setId("user");
+    user.setType(UserType.user);
+    TeamEntity team = new TeamEntity();
+    team.setId("team1");
+    when(userIdentityService.getCurrentUser()).thenReturn(user);
+    when(teamService.getUserTeams(user))
+        .thenReturn(Collections.singletonList(new TeamWorkflowSummary(team, null)));
+
+    BulkCancelRequest request = new BulkCancelRequest();
+    request.setActivityIds(Arrays.asList("a1", "a2"));
+    BulkCancelStatus status =
+        cancellationService.getStatus(cancellationService.submit(request).getId());
+
+    assertEquals(BulkCancelStatus.State.completed, status.getState());
+    assertEquals(1, status.getTotalActivities());
+    assertEquals(1, status.getCancelledActivities());
+    verify(activityService, never()).cancelActivities(eq(Collections.singletonList("a2")),
+        any());
+  }
+
+  @Test
+  public void testSubmitCancelsAnyActivityForAdmins() {
+    FlowUserEntity user = new FlowUserEntity();
+    user.setId("admin");
+    user.setType(UserType.admin);
+    when(userIdentityService.getCurrentUser()).thenReturn(user);
+
+    BulkCancelRequest request = new BulkCancelRequest();
+    request.setActivityIds(Arrays.asList("a1", "a2"));
+    BulkCancelStatus status =
+        cancellationService.getStatus(cancellationService.submit(request).getId());
+
+    assertEquals(2, status.getTotalActivities());
+    assertEquals(2, status.getCancelledActivities());
+  }
+
+  /**
+   * Running template tasks that need terminating, plus one waiting approval that does not.
+   */
+  private static List<TaskExecutionEntity> tasks(String activityId) {
+    List<TaskExecutionEntity> tasks = new ArrayList<>();
+    for (int i = 0; i < TASKS_PER_ACTIVITY; i++) {
+      TaskExecutionEntity task = new TaskExecutionEntity();
+      task.setId(activityId + "-task" + i);
+      task.setActivityId(activityId);
+      task.setWorkflowId("workflow");
+      task.setTaskType(TaskType.template);
+      task.setFlowTaskStatus(TaskStatus.inProgress);
+      tasks.add(task);
+    }
+    TaskExecutionEntity approval = new TaskExecutionEntity();
+    approval.setId(activityId + "-approval");
+    approval.setActivityId(activityId);
+    approval.setTaskType(TaskType.approval);
+    approval.setFlowTaskStatus(TaskStatus.waiting);
+    tasks.add(approval);
+    return tasks;
+  }
+}
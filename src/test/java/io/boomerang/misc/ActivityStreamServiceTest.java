@@ -0,0 +1,100 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.boomerang.model.ActivityStatusUpdate;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.service.stream.ActivityStreamServiceImpl;
+
+public class ActivityStreamServiceTest {
+
+  private static final int QUEUE_CAPACITY = 5;
+
+  private ActivityStreamServiceImpl streamService;
+
+  private ExecutorService sender;
+
+  private final CountDownLatch stalled = new CountDownLatch(1);
+
+  @BeforeEach
+  public void setUp() {
+    FlowWorkflowActivityService activityService = mock(FlowWorkflowActivityService.class);
+    ActivityTaskService taskService = mock(ActivityTaskService.class);
+    when(activityService.findWorkflowActivtyById(anyString())).thenAnswer(invocation -> {
+      ActivityEntity activity = new ActivityEntity();
+      activity.setId(invocation.getArgument(0));
+      activity.setStatus(TaskStatus.inProgress);
+      return activity;
+    });
+    when(taskService.findTaskActiivtyForActivity(anyString()))
+        .thenReturn(Collections.emptyList());
+
+    sender = Executors.newSingleThreadExecutor();
+    sender.execute(() -> {
+      try {
+        stalled.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    streamService = new ActivityStreamServiceImpl();
+    ReflectionTestUtils.setField(streamService, "activityService", activityService);
+    ReflectionTestUtils.setField(streamService, "taskActivityService", taskService);
+    ReflectionTestUtils.setField(streamService, "queueCapacity", QUEUE_CAPACITY);
+    ReflectionTestUtils.setField(streamService, "emitterTimeout", 60000L);
+    ReflectionTestUtils.setField(streamService, "sender", sender);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    stalled.countDown();
+    streamService.shutdown();
+  }
+
+  @Test
+  public void testSlowSubscriberIsDroppedWithoutBlockingPublishers() {
+    streamService.subscribe("slow");
+    streamService.subscribe("other");
+    assertEquals(2, streamService.getSubscriberCount());
+
+    long start = System.nanoTime();
+    for (int i = 0; i < QUEUE_CAPACITY + 1; i++) {
+      streamService.publish(ActivityStatusUpdate.forTask("slow", "task" + i, "task" + i, "Task",
+          TaskStatus.inProgress));
+    }
+    streamService.publish(ActivityStatusUpdate.forTask("other", "task", "task", "Task",
+        TaskStatus.inProgress));
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue(elapsed < 1000, "publishing took " + elapsed + "ms");
+    assertEquals(1, streamService.getSubscriberCount());
+  }
+
+  @Test
+  public void testRepeatedStatusIsNotQueuedAgain() {
+    streamService.subscribe("activity");
+
+    for (int i = 0; i < QUEUE_CAPACITY * 2; i++) {
+      streamService.publish(ActivityStatusUpdate.forTask("activity", "task", "task", "Task",
+          TaskStatus.inProgress));
+    }
+
+    assertEquals(1, streamService.getSubscriberCount());
+  }
+}
@@ -0,0 +1,259 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import com.sun.net.httpserver.HttpServer;
+import io.boomerang.opentracing.FlowTracing;
+import io.boomerang.service.runner.misc.ControllerCallGuard;
+import io.boomerang.service.runner.misc.ControllerOperation;
+import io.boomerang.service.runner.misc.ControllerResilienceProperties;
+import io.boomerang.service.runner.misc.ControllerUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentracing.util.GlobalTracer;
+
+/**
+ * Exercises the controller call guard against a local stub controller with injected latency and
+ * failures.
+ */
+public class ControllerCallGuardTest {
+
+  private HttpServer stubController;
+  private final AtomicInteger hits = new AtomicInteger();
+  private volatile long latency;
+  private volatile int failuresBeforeSuccess;
+  private volatile int status = 200;
+
+  private RestTemplate restTemplate;
+  private String url;
+  private final FlowTracing tracing = new FlowTracing(GlobalTracer.get());
+
+  @BeforeEach
+  public void startStubController() throws IOException {
+    stubController = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    stubController.setExecutor(Executors.newCachedThreadPool());
+    stubController.createContext("/controller/task/execute", exchange -> {
+      int hit = hits.incrementAndGet();
+      try {
+        Thread.sleep(latency);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      int code = hit <= failuresBeforeSuccess ? 503 : status;
+      byte[] body = "{\"code\":\"0\"}".getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(code, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    stubController.start();
+    url = "http://localhost:" + stubController.getAddress().getPort() + "/controller/task/execute";
+
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(1000);
+    requestFactory.setReadTimeout(1000);
+    restTemplate = new RestTemplate(requestFactory);
+  }
+
+  @AfterEach
+  public void stopStubController() {
+    stubController.stop(0);
+  }
+
+  @Test
+  public void testBulkheadRejectsCallsOverLimit() throws Exception {
+    ControllerResilienceProperties properties = new ControllerResilienceProperties();
+    properties.getOperation(ControllerOperation.CREATE_WORKFLOW).setMaxConcurrent(2);
+    properties.getOperation(ControllerOperation.CREATE_WORKFLOW)
+        .setMaxWait(Duration.ofMillis(10));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ControllerCallGuard guard =
+        new ControllerCallGuard(properties, registry, Runnable::run, tracing);
+    latency = 300;
+
+    ExecutorService callers = Executors.newFixedThreadPool(6);
+    List<Future<?>> calls = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      calls.add(callers.submit(() -> guard.call(ControllerOperation.CREATE_WORKFLOW,
+          () -> restTemplate.postForObject(url, "{}", String.class))));
+    }
+    int rejected = 0;
+    for (Future<?> call : calls) {
+      try {
+        call.get();
+      } catch (java.util.concurrent.ExecutionException e) {
+        assertTrue(e.getCause() instanceof ControllerUnavailableException);
+        rejected++;
+      }
+    }
+    callers.shutdown();
+
+    assertEquals(4, rejected);
+    assertEquals(2, hits.get());
+    assertEquals(4.0, registry.get("flow.controller.calls.rejected").tag("reason", "bulkhead")
+        .counter().count());
+  }
+
+  @Test
+  public void testCircuitOpensFailsFastAndDispatchesDeferredStarts() throws Exception {
+    ControllerResilienceProperties properties = new ControllerResilienceProperties();
+    properties.getCircuitBreaker().setWindowSize(4);
+    properties.getCircuitBreaker().setMinimumCalls(4);
+    properties.getCircuitBreaker().setOpenDuration(Duration.ofMillis(200));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ControllerCallGuard guard =
+        new ControllerCallGuard(properties, registry, Runnable::run, tracing);
+    status = 503;
+
+    for (int i = 0; i < 4; i++) {
+      assertThrows(HttpServerErrorException.class, () -> createWorkflow(guard));
+    }
+    assertEquals(ControllerCallGuard.State.OPEN, guard.getState());
+    assertThrows(ControllerUnavailableException.class, () -> guard.call(
+        ControllerOperation.SUBMIT_TASK, () -> restTemplate.postForObject(url, "{}", String.class)));
+    assertEquals(4, hits.get());
+
+    AtomicBoolean started = new AtomicBoolean();
+    assertTrue(guard.deferIfUnavailable(() -> started.set(
+        guard.call(ControllerOperation.SUBMIT_TASK,
+            () -> restTemplate.postForObject(url, "{}", String.class)) != null)));
+    guard.dispatchDeferred();
+    assertFalse(started.get());
+
+    status = 200;
+    Thread.sleep(250);
+    assertEquals(ControllerCallGuard.State.HALF_OPEN, guard.getState());
+    guard.dispatchDeferred();
+    assertTrue(started.get());
+    assertEquals(ControllerCallGuard.State.HALF_OPEN, guard.getState());
+    createWorkflow(guard);
+    assertEquals(ControllerCallGuard.State.CLOSED, guard.getState());
+    assertEquals(0, guard.getDeferred());
+    assertFalse(guard.deferIfUnavailable(() -> {
+    }));
+  }
+
+  @Test
+  public void testTaskSubmissionsAreNotLimitedByBulkhead() throws Exception {
+    ControllerResilienceProperties properties = new ControllerResilienceProperties();
+    properties.getOperation(ControllerOperation.SUBMIT_TASK).setMaxConcurrent(1);
+    properties.getOperation(ControllerOperation.SUBMIT_TASK).setMaxWait(Duration.ofMillis(10));
+    ControllerCallGuard guard =
+        new ControllerCallGuard(properties, new SimpleMeterRegistry(), Runnable::run, tracing);
+    latency = 300;
+
+    ExecutorService callers = Executors.newFixedThreadPool(3);
+    List<Future<?>> calls = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      calls.add(callers.submit(() -> guard.call(ControllerOperation.SUBMIT_TASK,
+          () -> restTemplate.postForObject(url, "{}", String.class))));
+    }
+    for (Future<?> call : calls) {
+      call.get();
+    }
+    callers.shutdown();
+
+    assertEquals(3, hits.get());
+  }
+
+  @Test
+  public void testOnlyAvailabilityFailuresOpenCircuit() throws Exception {
+    ControllerResilienceProperties properties = new ControllerResilienceProperties();
+    properties.getCircuitBreaker().setWindowSize(4);
+    properties.getCircuitBreaker().setMinimumCalls(4);
+    ControllerCallGuard guard =
+        new ControllerCallGuard(properties, new SimpleMeterRegistry(), Runnable::run, tracing);
+
+    status = 500;
+    for (int i = 0; i < 4; i++) {
+      assertThrows(HttpServerErrorException.class, () -> createWorkflow(guard));
+    }
+    assertEquals(ControllerCallGuard.State.CLOSED, guard.getState());
+
+    status = 503;
+    for (int i = 0; i < 4; i++) {
+      assertThrows(HttpServerErrorException.class, () -> guard.call(ControllerOperation.SUBMIT_TASK,
+          () -> restTemplate.postForObject(url, "{}", String.class)));
+    }
+    assertEquals(ControllerCallGuard.State.CLOSED, guard.getState());
+
+    String unreachable;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      unreachable = "http://localhost:" + socket.getLocalPort() + "/controller/task/execute";
+    }
+    for (int i = 0; i < 4; i++) {
+      assertThrows(ResourceAccessException.class, () -> guard.call(
+          ControllerOperation.SUBMIT_TASK,
+          () -> restTemplate.postForObject(unreachable, "{}", String.class)));
+    }
+    assertEquals(ControllerCallGuard.State.OPEN, guard.getState());
+  }
+
+  @Test
+  public void testIdempotentCallsAreRetried() {
+    ControllerResilienceProperties properties = new ControllerResilienceProperties();
+    properties.getRetry().setInitialBackoff(Duration.ofMillis(10));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ControllerCallGuard guard =
+        new ControllerCallGuard(properties, registry, Runnable::run, tracing);
+    failuresBeforeSuccess = 2;
+
+    guard.call(ControllerOperation.TERMINATE_TASK,
+        () -> restTemplate.postForObject(url, "{}", String.class));
+    assertEquals(3, hits.get());
+    assertEquals(2.0, registry.get("flow.controller.calls.retried").counter().count());
+
+    hits.set(0);
+    assertThrows(HttpServerErrorException.class, () -> guard.call(ControllerOperation.SUBMIT_TASK,
+        () -> restTemplate.postForObject(url, "{}", String.class)));
+    assertEquals(1, hits.get());
+  }
+
+  @Test
+  public void testRetriesStopAtDeadline() {
+    ControllerResilienceProperties properties = new ControllerResilienceProperties();
+    properties.getOperation(ControllerOperation.TERMINATE_TASK).setMaxAttempts(10);
+    properties.getOperation(ControllerOperation.TERMINATE_TASK)
+        .setDeadline(Duration.ofMillis(600));
+    properties.getRetry().setInitialBackoff(Duration.ofMillis(50));
+    ControllerCallGuard guard =
+        new ControllerCallGuard(properties, new SimpleMeterRegistry(), Runnable::run, tracing);
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setReadTimeout(200);
+    RestTemplate slowTemplate = new RestTemplate(requestFactory);
+    latency = 500;
+
+    long start = System.currentTimeMillis();
+    assertThrows(ResourceAccessException.class, () -> guard.call(
+        ControllerOperation.TERMINATE_TASK, () -> slowTemplate.postForObject(url, "{}", String.class)));
+    assertTrue(hits.get() < 10);
+    assertTrue(System.currentTimeMillis() - start < 2000);
+  }
+
+  private String createWorkflow(ControllerCallGuard guard) {
+    return guard.call(ControllerOperation.CREATE_WORKFLOW,
+        () -> restTemplate.postForObject(url, "{}", String.class));
+  }
+}
@@ -0,0 +1,100 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.boomerang.model.FlowFeatures;
+import io.boomerang.mongo.entity.FlowSettingsEntity;
+import io.boomerang.mongo.model.Config;
+import io.boomerang.mongo.service.FlowSettingsService;
+import io.boomerang.service.FeatureServiceImpl;
+
+public class FeatureServiceTest {
+
+  private static final String[] FEATURES = {"workflowQuotas", "workflowTriggers", "workflowTokens",
+      "teamParameters", "globalParameters", "teamManagement", "userManagement", "activity",
+      "insights", "teamTasks"};
+
+  private FlowSettingsService settingsService;
+  private FlowSettingsEntity featureSettings;
+  private FeatureServiceImpl featureService;
+
+  @BeforeEach
+  public void setup() {
+    featureSettings = new FlowSettingsEntity();
+    featureSettings.setKey("features");
+    List<Config> configs = new ArrayList<>();
+    for (String feature : FEATURES) {
+      configs.add(config(feature, "boolean", "true"));
+    }
+    featureSettings.setConfig(configs);
+
+    settingsService = mock(FlowSettingsService.class);
+    when(settingsService.getConfigurationByKey("features")).thenReturn(featureSettings);
+    when(settingsService.getConfiguration("controller", "enable.tasks"))
+        .thenReturn(config("enable.tasks", "boolean", "false"));
+    when(settingsService.getConfiguration(anyString(), eq("max.storage.size")))
+        .thenReturn(config("max.storage.size", "text", "5Gi"));
+
+    featureService = new FeatureServiceImpl();
+    ReflectionTestUtils.setField(featureService, "settingsService", settingsService);
+  }
+
+  @Test
+  public void testSnapshotIsBuiltOnce() {
+    FlowFeatures features = featureService.getFlowFeatures();
+
+    assertSame(features, featureService.getFlowFeatures());
+    assertEquals(true, features.getFeatures().get("team.management"));
+    assertEquals(false, features.getFeatures().get("enable.verified.tasks.edit"));
+    assertEquals("5", features.getQuotas().get("maxWorkflowStorageSize"));
+    verify(settingsService, times(1)).getConfigurationByKey("features");
+  }
+
+  @Test
+  public void testRefreshSwapsSnapshotAndVersion() {
+    FlowFeatures before = featureService.getFlowFeatures();
+    assertEquals(before.getVersion(), featureService.refresh().getVersion());
+
+    featureSettings.getConfig().get(5).setValue("false");
+    FlowFeatures after = featureService.refresh();
+
+    assertSame(after, featureService.getFlowFeatures());
+    assertEquals(false, after.getFeatures().get("team.management"));
+    assertEquals(true, before.getFeatures().get("team.management"));
+    assertNotEquals(before.getVersion(), after.getVersion());
+  }
+
+  @Test
+  public void testVersionChangesWhenFlagsAreSwapped() {
+    featureSettings.getConfig().get(7).setValue("false");
+    FlowFeatures before = featureService.refresh();
+
+    featureSettings.getConfig().get(0).setValue("false");
+    featureSettings.getConfig().get(7).setValue("true");
+    FlowFeatures after = featureService.refresh();
+
+    assertEquals(true, after.getFeatures().get("activity"));
+    assertEquals(false, after.getFeatures().get("workflow.quotas"));
+    assertNotEquals(before.getVersion(), after.getVersion());
+  }
+
+  private static Config config(String key, String type, String value) {
+    Config config = new Config();
+    config.setKey(key);
+    config.setType(type);
+    config.setValue(value);
+    return config;
+  }
+}
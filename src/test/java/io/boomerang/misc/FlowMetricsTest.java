@@ -0,0 +1,86 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Date;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.service.metrics.BoundedTagValues;
+import io.boomerang.service.metrics.FlowMetrics;
+import io.boomerang.service.metrics.FlowMetricsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class FlowMetricsTest {
+
+  private SimpleMeterRegistry registry;
+  private FlowMetrics metrics;
+
+  @BeforeEach
+  public void setup() {
+    FlowMetricsProperties properties = new FlowMetricsProperties();
+    properties.setMaxWorkflowTags(2);
+    properties.setMaxTeamTags(1);
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.initialize();
+    registry = new SimpleMeterRegistry();
+    metrics = new FlowMetrics(registry, properties, (Executor) executor);
+  }
+
+  @Test
+  public void testBoundedTagValues() {
+    BoundedTagValues values = new BoundedTagValues(2);
+    assertEquals("a", values.get("a"));
+    assertEquals("b", values.get("b"));
+    assertEquals(BoundedTagValues.OTHER, values.get("c"));
+    assertEquals("a", values.get("a"));
+    assertEquals(BoundedTagValues.NONE, values.get(null));
+    assertEquals(2, values.size());
+  }
+
+  @Test
+  public void testActivityDurationTagsAreCapped() {
+    for (int i = 0; i < 5; i++) {
+      ActivityEntity activity = new ActivityEntity();
+      activity.setWorkflowId("workflow" + i);
+      activity.setTeamId("team" + i);
+      activity.setStatus(TaskStatus.completed);
+      activity.setDuration(1000L);
+      metrics.recordActivityDuration(activity);
+    }
+
+    assertEquals(3, registry.find("flow.activity.duration").timers().size());
+    assertEquals(3, registry.find("flow.activity.duration").tags("workflow", "other").timer()
+        .count());
+    assertEquals(4, registry.find("flow.activity.duration").tags("team", "other").timer()
+        .count());
+  }
+
+  @Test
+  public void testTransitionIsTaggedWithTaskType() {
+    FlowMetrics.Transition transition = metrics.startTransition("create");
+    transition.setTaskType(TaskType.decision);
+    transition.stop();
+    metrics.startTransition("end").stop();
+
+    assertEquals(1,
+        registry.get("flow.task.create").tag("taskType", "decision").timer().count());
+    assertEquals(1, registry.get("flow.task.end").tag("taskType", "unknown").timer().count());
+    assertEquals(0, registry.get("flow.task.mongo.operations").tag("transition", "create")
+        .summary().totalAmount());
+  }
+
+  @Test
+  public void testStartLatency() {
+    ActivityEntity activity = new ActivityEntity();
+    activity.setCreationDate(new Date(1000L));
+    metrics.recordStartLatency(activity, new Date(3000L));
+
+    assertEquals(2000.0, registry.get("flow.activity.start.latency").timer()
+        .totalTime(TimeUnit.MILLISECONDS));
+  }
+}
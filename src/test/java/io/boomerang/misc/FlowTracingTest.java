@@ -0,0 +1,81 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.opentracing.FlowTracing;
+import io.jaegertracing.internal.JaegerSpan;
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.opentracing.Scope;
+import io.opentracing.Span;
+
+public class FlowTracingTest {
+
+  private InMemoryReporter reporter;
+  private JaegerTracer tracer;
+  private FlowTracing tracing;
+
+  @BeforeEach
+  public void setup() {
+    reporter = new InMemoryReporter();
+    tracer = new JaegerTracer.Builder("test").withReporter(reporter)
+        .withSampler(new ConstSampler(true)).build();
+    tracing = new FlowTracing(tracer);
+  }
+
+  @Test
+  public void testSpansJoinTheActivityTrace() {
+    ActivityEntity activity = new ActivityEntity();
+    activity.setId("activity");
+    Span request = tracer.buildSpan("request").start();
+    try (Scope scope = tracer.activateSpan(request)) {
+      tracing.startActivity(activity);
+    }
+    request.finish();
+    assertNotNull(activity.getTraceContext());
+
+    Span callback = tracer.buildSpan("callback").start();
+    try (Scope scope = tracer.activateSpan(callback)) {
+      tracing.inSpan("task.end", activity, () -> tracing.inSpan("lock.wait", () -> true));
+    }
+    callback.finish();
+
+    JaegerSpan taskEnd = span("task.end");
+    JaegerSpan lockWait = span("lock.wait");
+    assertEquals(span("request").context().getTraceId(), taskEnd.context().getTraceId());
+    assertEquals(span("activity.start").context().getSpanId(),
+        taskEnd.context().getParentId());
+    assertEquals(taskEnd.context().getSpanId(), lockWait.context().getParentId());
+    assertEquals(2, taskEnd.getReferences().size());
+  }
+
+  @Test
+  public void testWrapCarriesTheActiveSpan() {
+    JaegerSpan request = tracer.buildSpan("request").start();
+    try (Scope scope = tracer.activateSpan(request)) {
+      CompletableFuture
+          .supplyAsync(tracing.wrap(() -> tracing.inSpan("controller.submit-task", () -> 1)))
+          .join();
+      Runnable decorated =
+          tracing.taskDecorator().decorate(() -> tracing.inSpan("task.create", () -> 1));
+      CompletableFuture.runAsync(decorated).join();
+    }
+    request.finish();
+
+    assertEquals(request.context().getSpanId(),
+        span("controller.submit-task").context().getParentId());
+    assertEquals(request.context().getSpanId(), span("task.create").context().getParentId());
+  }
+
+  private JaegerSpan span(String operation) {
+    List<JaegerSpan> spans = reporter.getSpans();
+    return spans.stream().filter(s -> operation.equals(s.getOperationName())).findFirst()
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,65 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.DefaultEdge;
+import org.jgrapht.traverse.TopologicalOrderIterator;
+import org.junit.jupiter.api.Test;
+import io.boomerang.benchmarks.BenchmarkDags;
+import io.boomerang.util.GraphProcessor;
+
+public class GraphProcessorTest {
+
+  @Test
+  public void testOrderedTaskListPrunesUnreachableNodes() {
+    List<String> vertices = Arrays.asList("start", "a", "b", "c", "orphan", "deadEnd", "end");
+    List<Pair<String, String>> edges = Arrays.asList(Pair.of("start", "a"), Pair.of("a", "b"),
+        Pair.of("start", "c"), Pair.of("b", "end"), Pair.of("c", "end"), Pair.of("orphan", "end"),
+        Pair.of("a", "deadEnd"), Pair.of("a", "b"));
+
+    Graph<String, DefaultEdge> graph = GraphProcessor.createGraph(vertices, edges);
+    List<String> ordered = GraphProcessor.createOrderedTaskList(graph, "start", "end");
+
+    assertEquals(Arrays.asList("a", "c", "b"), ordered);
+  }
+
+  @Test
+  public void testOrderedTaskListMatchesReferenceOnLargeDag() {
+    Graph<String, DefaultEdge> graph = BenchmarkDags.layeredGraph(600, 10, 3, 7L);
+
+    assertEquals(referenceOrderedTaskList(graph, BenchmarkDags.START, BenchmarkDags.END),
+        GraphProcessor.createOrderedTaskList(graph, BenchmarkDags.START, BenchmarkDags.END));
+  }
+
+  @Test
+  public void testOrderedTaskListRejectsCycles() {
+    List<String> vertices = Arrays.asList("start", "a", "b", "end");
+    List<Pair<String, String>> edges = Arrays.asList(Pair.of("start", "a"), Pair.of("a", "b"),
+        Pair.of("b", "a"), Pair.of("b", "end"));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> GraphProcessor.createOrderedTaskList(vertices, edges, "start", "end"));
+  }
+
+  private List<String> referenceOrderedTaskList(Graph<String, DefaultEdge> g, String start,
+      String end) {
+    final List<String> orderedVertexList = new LinkedList<>();
+    final DijkstraShortestPath<String, DefaultEdge> dijkstraAlg = new DijkstraShortestPath<>(g);
+    TopologicalOrderIterator<String, DefaultEdge> orderIterator = new TopologicalOrderIterator<>(g);
+    while (orderIterator.hasNext()) {
+      final String vert = orderIterator.next();
+      if (!(vert.equals(start) || vert.equals(end))
+          && dijkstraAlg.getPaths(vert).getPath(end) != null
+          && dijkstraAlg.getPaths(start).getPath(vert) != null) {
+        orderedVertexList.add(vert);
+      }
+    }
+    return orderedVertexList;
+  }
+}
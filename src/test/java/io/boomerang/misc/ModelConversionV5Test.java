@@ -1,15 +1,32 @@
 package io.boomerang.misc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.core.io.ClassPathResource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import io.boomerang.model.projectstormv5.Link;
+import io.boomerang.model.projectstormv5.Point;
+import io.boomerang.model.projectstormv5.Port;
+import io.boomerang.model.projectstormv5.TaskNode;
 import io.boomerang.model.projectstormv5.WorkflowRevision;
 import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.model.KeyValuePair;
+import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.model.next.Dependency;
 import io.boomerang.util.ModelConverterV5;
 
 public class ModelConversionV5Test {
@@ -130,4 +147,125 @@ public class ModelConversionV5Test {
     System.out.println(jsonString);
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"scenarios/github/github-rest.json", "scenarios/decision-values.json",
+      "scenarios/decision-defaultValues.json", "scenarios/decision-workflow.json",
+      "scenarios/blank-workflow.json"})
+  public void testDesignerRoundTrip(String fixture) throws IOException {
+    WorkflowRevision revision = read(fixture, WorkflowRevision.class);
+    RevisionEntity entity = ModelConverterV5.convertToEntityModel(revision);
+
+    WorkflowRevision rest = ModelConverterV5.convertToRestModel(entity);
+    assertLinksMatchPorts(rest);
+
+    assertEquals(describe(entity), describe(ModelConverterV5.convertToEntityModel(rest)));
+  }
+
+  @Test
+  public void testEntityRoundTrip() throws IOException {
+    RevisionEntity entity = read("scenarios/github/github-mongo.json", RevisionEntity.class);
+
+    WorkflowRevision rest = ModelConverterV5.convertToRestModel(entity);
+    assertLinksMatchPorts(rest);
+
+    assertEquals(describe(entity), describe(ModelConverterV5.convertToEntityModel(rest)));
+  }
+
+  private static <T> T read(String fixture, Class<T> type) throws IOException {
+    File resource = new ClassPathResource(fixture).getFile();
+    return new ObjectMapper().readValue(resource, type);
+  }
+
+  /**
+   * Every link is registered on the left port of its target and the right port of its source.
+   */
+  private static void assertLinksMatchPorts(WorkflowRevision rest) {
+    Map<String, TaskNode> nodes = new HashMap<>();
+    for (TaskNode node : rest.getDag().getNodes()) {
+      nodes.put(node.getNodeId(), node);
+    }
+    for (Link link : rest.getDag().getLinks()) {
+      Port left = port(nodes.get(link.getTarget()), "left");
+      Port right = port(nodes.get(link.getSource()), "right");
+      assertEquals(left.getNodePortId(), link.getTargetPort());
+      assertEquals(right.getNodePortId(), link.getSourcePort());
+      assertTrue(left.getLinks().contains(link.getId()));
+      assertTrue(right.getLinks().contains(link.getId()));
+    }
+  }
+
+  private static Port port(TaskNode node, String position) {
+    assertNotNull(node);
+    return node.getPorts().stream().filter(p -> position.equals(p.getPosition())).findFirst()
+        .orElseThrow();
+  }
+
+  /**
+   * The parts of a revision that survive conversion; generated ids are left out. The shell
+   * template is converted to the script task type on the way to the designer, and configs
+   * without inputs are not written back to it, so the template version and results are only
+   * compared for tasks with properties.
+   */
+  private static List<Map<String, Object>> describe(RevisionEntity entity) {
+    List<Map<String, Object>> tasks = new ArrayList<>();
+    if (entity.getDag() == null) {
+      return tasks;
+    }
+    for (DAGTask task : entity.getDag().getTasks()) {
+      Map<String, Object> description = new LinkedHashMap<>();
+      description.put("id", task.getTaskId());
+      description.put("type", "5c3907a1352b1b51412ed079".equals(task.getTemplateId()) ? "script"
+          : String.valueOf(task.getType()));
+      description.put("templateId", task.getTemplateId());
+      description.put("label", task.getLabel());
+      description.put("decisionValue", task.getDecisionValue());
+      Map<String, String> properties = new HashMap<>();
+      if (task.getProperties() != null) {
+        for (KeyValuePair property : task.getProperties()) {
+          properties.put(property.getKey(), property.getValue());
+        }
+      }
+      description.put("properties", properties);
+      if (!properties.isEmpty()) {
+        description.put("templateVersion", task.getTemplateVersion());
+        description.put("results", new ObjectMapper().valueToTree(task.getResults()));
+      }
+      description.put("position",
+          task.getMetadata() != null ? coordinates(task.getMetadata().get("position")) : null);
+
+      List<String> dependencies = new ArrayList<>();
+      for (Dependency dependency : task.getDependencies()) {
+        Object points =
+            dependency.getMetadata() != null ? dependency.getMetadata().get("points") : null;
+        List<List<Double>> coordinates = new ArrayList<>();
+        if (points instanceof List) {
+          for (Object point : (List<?>) points) {
+            coordinates.add(coordinates(point));
+          }
+        }
+        dependencies.add(dependency.getTaskId() + " " + dependency.getExecutionCondition() + " "
+            + dependency.isConditionalExecution() + " " + dependency.getSwitchCondition() + " "
+            + coordinates);
+      }
+      description.put("dependencies", dependencies);
+      tasks.add(description);
+    }
+    return tasks;
+  }
+
+  private static List<Double> coordinates(Object point) {
+    if (point instanceof Point) {
+      return Arrays.asList(((Point) point).getX(), ((Point) point).getY());
+    }
+    if (point instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) point;
+      return Arrays.asList(number(map.get("x")), number(map.get("y")));
+    }
+    return null;
+  }
+
+  private static Double number(Object value) {
+    return value instanceof Number ? ((Number) value).doubleValue() : null;
+  }
+
 }
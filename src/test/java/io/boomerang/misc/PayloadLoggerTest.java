@@ -0,0 +1,90 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.jupiter.api.Test;
+import io.boomerang.mongo.model.KeyValuePair;
+import io.boomerang.service.logging.PayloadLogger;
+import io.boomerang.service.logging.PayloadLoggingProperties;
+import io.boomerang.service.logging.PayloadType;
+
+public class PayloadLoggerTest {
+
+  @Test
+  public void testSecretsAreRedactedAndPayloadTruncated() {
+    PayloadLoggingProperties properties = new PayloadLoggingProperties();
+    properties.setMaxSize(60);
+    TestPayloadLogger logger = new TestPayloadLogger(properties);
+
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("apiToken", "abc123");
+    parameters.put("script", "x".repeat(200));
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("parameters", parameters);
+
+    String rendered = logger.renderPayload(payload);
+    assertFalse(rendered.contains("abc123"));
+    assertTrue(rendered.contains("******"));
+    assertTrue(rendered.contains("[truncated"));
+  }
+
+  @Test
+  public void testKeyValuePairSecretsAreRedacted() {
+    TestPayloadLogger logger = new TestPayloadLogger(new PayloadLoggingProperties());
+
+    Map<String, Object> payload = new HashMap<>();
+    payload.put("properties", Arrays.asList(new KeyValuePair("password", "abc123"),
+        new KeyValuePair("url", "http://localhost")));
+
+    String rendered = logger.renderPayload(payload);
+    assertFalse(rendered.contains("abc123"));
+    assertTrue(rendered.contains("******"));
+    assertTrue(rendered.contains("http://localhost"));
+  }
+
+  @Test
+  public void testPayloadNotRenderedWhenNotSampled() {
+    Configurator.setLevel(PayloadLogger.class.getName(), Level.DEBUG);
+    PayloadLoggingProperties properties = new PayloadLoggingProperties();
+    Map<String, Double> sampleRates = new HashMap<>();
+    sampleRates.put(PayloadType.TASK_CREATE.getKey(), 0.0);
+    properties.setSampleRates(sampleRates);
+    TestPayloadLogger logger = new TestPayloadLogger(properties);
+
+    AtomicBoolean serialized = new AtomicBoolean();
+    logger.log(PayloadType.TASK_CREATE, new Object() {
+      @SuppressWarnings("unused")
+      public String getValue() {
+        serialized.set(true);
+        return "value";
+      }
+    });
+    assertFalse(serialized.get());
+    assertTrue(logger.isSampled(PayloadType.WORKFLOW_CREATE));
+    assertFalse(logger.isSampled(PayloadType.TASK_CREATE));
+
+    properties.setLevel("TRACE");
+    assertFalse(logger.isSampled(PayloadType.WORKFLOW_CREATE));
+  }
+
+  private static class TestPayloadLogger extends PayloadLogger {
+
+    TestPayloadLogger(PayloadLoggingProperties properties) {
+      super(properties);
+    }
+
+    String renderPayload(Object payload) {
+      return render(payload);
+    }
+
+    boolean isSampled(PayloadType type) {
+      return shouldLog(type);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.model.Dag;
+import io.boomerang.mongo.model.KeyValuePair;
+import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.repository.FlowWorkflowVersionRepository;
+import io.boomerang.mongo.service.RevisionCacheImpl;
+
+public class RevisionCacheTest {
+
+  private FlowWorkflowVersionRepository repository;
+
+  private RevisionCacheImpl cache;
+
+  @BeforeEach
+  public void setUp() {
+    repository = mock(FlowWorkflowVersionRepository.class);
+    cache = new RevisionCacheImpl();
+    ReflectionTestUtils.setField(cache, "workFlowVersionRepository", repository);
+    ReflectionTestUtils.setField(cache, "maxWeight", 10L);
+    ReflectionTestUtils.setField(cache, "latestTtl", 60000L);
+  }
+
+  @Test
+  public void testRevisionIsLoadedOnceAndReadOnly() {
+    when(repository.findById("a")).thenReturn(Optional.of(revision("a", 1, 2)));
+
+    RevisionEntity revision = cache.getRevision("a");
+    assertSame(revision, cache.getRevision("a"));
+    verify(repository, times(1)).findById("a");
+
+    List<DAGTask> tasks = revision.getDag().getTasks();
+    assertThrows(UnsupportedOperationException.class, () -> tasks.add(new DAGTask()));
+    assertThrows(UnsupportedOperationException.class,
+        () -> tasks.get(0).getProperties().add(new KeyValuePair()));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedRevisionsAreEvictedByWeight() {
+    when(repository.findById("a")).thenReturn(Optional.of(revision("a", 1, 3)));
+    when(repository.findById("b")).thenReturn(Optional.of(revision("b", 1, 3)));
+    when(repository.findById("c")).thenReturn(Optional.of(revision("c", 1, 3)));
+
+    cache.getRevision("a");
+    cache.getRevision("b");
+    cache.getRevision("a");
+    cache.getRevision("c");
+    cache.getRevision("a");
+    cache.getRevision("b");
+
+    verify(repository, times(1)).findById("a");
+    verify(repository, times(2)).findById("b");
+    verify(repository, times(1)).findById("c");
+  }
+
+  @Test
+  public void testLatestPointerIsInvalidatedOnInsert() {
+    when(repository.findFirstByworkFlowIdOrderByVersionDesc("workflow"))
+        .thenReturn(revision("a", 1, 1));
+
+    assertEquals("a", cache.getLatestRevision("workflow").getId());
+    when(repository.findById("a")).thenReturn(Optional.of(revision("a", 1, 1)));
+    assertEquals("a", cache.getLatestRevision("workflow").getId());
+    verify(repository, times(1)).findFirstByworkFlowIdOrderByVersionDesc("workflow");
+
+    when(repository.findFirstByworkFlowIdOrderByVersionDesc("workflow"))
+        .thenReturn(revision("b", 2, 1));
+    cache.invalidateLatest("workflow");
+    assertEquals(2, cache.getLatestRevision("workflow").getVersion());
+  }
+
+  private static RevisionEntity revision(String id, long version, int tasks) {
+    List<DAGTask> dagTasks = new ArrayList<>();
+    for (int i = 0; i < tasks; i++) {
+      DAGTask task = new DAGTask();
+      task.setId("task" + i);
+      task.setProperties(new ArrayList<>());
+      dagTasks.add(task);
+    }
+    Dag dag = new Dag();
+    dag.setTasks(dagTasks);
+    RevisionEntity revision = new RevisionEntity();
+    revision.setId(id);
+    revision.setVersion(version);
+    revision.setWorkFlowId("workflow");
+    revision.setDag(dag);
+    return revision;
+  }
+}
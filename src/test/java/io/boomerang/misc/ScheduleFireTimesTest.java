@@ -0,0 +1,68 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import io.boomerang.mongo.entity.WorkflowScheduleEntity;
+import io.boomerang.mongo.model.WorkflowScheduleType;
+import io.boomerang.quartz.QuartzSchedulerService;
+
+public class ScheduleFireTimesTest {
+
+  private final QuartzSchedulerService schedulerService = new QuartzSchedulerService();
+
+  @Test
+  public void testCalendarComputedFromStoredCron() {
+    WorkflowScheduleEntity schedule = cronSchedule("0 0 12 * * ?", "Australia/Sydney");
+
+    List<Date> dates = schedulerService.getJobTriggerDates(schedule, date(2026, 1, 1, "UTC"),
+        date(2026, 1, 11, "UTC"));
+
+    assertEquals(10, dates.size());
+    assertEquals(date(2026, 1, 1, "Australia/Sydney").getTime() + 12 * 3600 * 1000L,
+        dates.get(0).getTime());
+  }
+
+  @Test
+  public void testCalendarReflectsUpdatedCron() {
+    WorkflowScheduleEntity schedule = cronSchedule("0 0 12 * * ?", "UTC");
+    Date from = date(2026, 1, 1, "UTC");
+    Date to = date(2026, 1, 2, "UTC");
+    assertEquals(1, schedulerService.getJobTriggerDates(schedule, from, to).size());
+
+    schedule.setCronSchedule("0 0 * * * ?");
+    assertEquals(25, schedulerService.getJobTriggerDates(schedule, from, to).size());
+  }
+
+  @Test
+  public void testNextTriggerDate() {
+    WorkflowScheduleEntity schedule = cronSchedule("0 0/5 * * * ?", "UTC");
+    Date next = schedulerService.getNextTriggerDate(schedule);
+    assertTrue(next.after(new Date()));
+
+    WorkflowScheduleEntity runOnce = new WorkflowScheduleEntity();
+    runOnce.setId("runOnce");
+    runOnce.setType(WorkflowScheduleType.runOnce);
+    runOnce.setDateSchedule(date(2020, 1, 1, "UTC"));
+    assertNull(schedulerService.getNextTriggerDate(runOnce));
+  }
+
+  private WorkflowScheduleEntity cronSchedule(String cron, String timezone) {
+    WorkflowScheduleEntity schedule = new WorkflowScheduleEntity();
+    schedule.setId(cron + timezone);
+    schedule.setType(WorkflowScheduleType.cron);
+    schedule.setCronSchedule(cron);
+    schedule.setTimezone(timezone);
+    schedule.setCreationDate(date(2025, 1, 1, "UTC"));
+    return schedule;
+  }
+
+  private Date date(int year, int month, int day, String zone) {
+    return Date.from(ZonedDateTime.of(year, month, day, 0, 0, 0, 0, ZoneId.of(zone)).toInstant());
+  }
+}
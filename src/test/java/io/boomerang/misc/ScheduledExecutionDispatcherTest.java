@@ -0,0 +1,178 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+import io.boomerang.quartz.ScheduledExecutionDispatcher;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ScheduledExecutionDispatcherTest {
+
+  private static final int SCHEDULES = 1000;
+
+  private static final int TEAMS = 20;
+
+  @Test
+  public void testExecutionsAreBoundedAndFairAcrossTeams() throws InterruptedException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ScheduledExecutionDispatcher dispatcher = new ScheduledExecutionDispatcher(registry, 4, 2000);
+
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch smallTeamDone = new CountDownLatch(1);
+    CountDownLatch allDone = new CountDownLatch(501);
+    AtomicInteger largeTeamCompletedBeforeSmallTeam = new AtomicInteger(-1);
+    AtomicInteger largeTeamCompleted = new AtomicInteger();
+
+    for (int i = 0; i < 500; i++) {
+      assertTrue(dispatcher.submit("large", new Date(), () -> {
+        simulateExecution(running, maxRunning);
+        largeTeamCompleted.incrementAndGet();
+        allDone.countDown();
+      }));
+    }
+    assertTrue(dispatcher.submit("small", new Date(), () -> {
+      largeTeamCompletedBeforeSmallTeam.set(largeTeamCompleted.get());
+      smallTeamDone.countDown();
+      allDone.countDown();
+    }));
+
+    assertTrue(allDone.await(60, TimeUnit.SECONDS));
+    assertTrue(maxRunning.get() <= 4);
+    assertTrue(largeTeamCompletedBeforeSmallTeam.get() < 10,
+        "small team waited behind " + largeTeamCompletedBeforeSmallTeam.get() + " runs");
+    assertEquals(0, dispatcher.getQueued());
+    dispatcher.shutdown();
+  }
+
+  @Test
+  public void testSubmissionRejectedWhenQueueFull() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ScheduledExecutionDispatcher dispatcher = new ScheduledExecutionDispatcher(registry, 0, 2);
+
+    assertTrue(dispatcher.submit("team", new Date(), () -> {
+    }));
+    assertTrue(dispatcher.submit("team", new Date(), () -> {
+    }));
+    assertFalse(dispatcher.submit("team", new Date(), () -> {
+    }));
+    assertEquals(1.0, registry.get("flow.schedule.dispatch.rejected").counter().count());
+    dispatcher.shutdown();
+  }
+
+  @Test
+  public void testCoFiringCronSchedules() throws SchedulerException, InterruptedException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ScheduledExecutionDispatcher dispatcher =
+        new ScheduledExecutionDispatcher(registry, 20, SCHEDULES * 2);
+
+    Properties properties = new Properties();
+    properties.setProperty("org.quartz.scheduler.instanceName", "dispatcherStressTest");
+    properties.setProperty("org.quartz.threadPool.threadCount", "10");
+    properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "10");
+    properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+    Scheduler scheduler = new StdSchedulerFactory(properties).getScheduler();
+
+    Map<String, Boolean> executed = new ConcurrentHashMap<>();
+    CountDownLatch latch = new CountDownLatch(SCHEDULES);
+    scheduler.getContext().put("dispatcher", dispatcher);
+    scheduler.getContext().put("executed", executed);
+    scheduler.getContext().put("latch", latch);
+
+    Calendar firstFire = Calendar.getInstance();
+    firstFire.add(Calendar.SECOND, 5);
+    String cron = String.format("%d %d %d * * ?", firstFire.get(Calendar.SECOND),
+        firstFire.get(Calendar.MINUTE), firstFire.get(Calendar.HOUR_OF_DAY));
+    for (int i = 0; i < SCHEDULES; i++) {
+      String scheduleId = "schedule" + i;
+      String workflowId = "team" + (i % TEAMS);
+      scheduler.scheduleJob(
+          JobBuilder.newJob(DispatchingJob.class).withIdentity(scheduleId, workflowId).build(),
+          TriggerBuilder.newTrigger().withIdentity(scheduleId, workflowId)
+              .withSchedule(CronScheduleBuilder.cronSchedule(cron)).build());
+    }
+
+    scheduler.start();
+    try {
+      assertTrue(latch.await(60, TimeUnit.SECONDS), "not all co-firing schedules executed");
+      assertEquals(SCHEDULES, executed.size());
+
+      Timer lag = registry.get("flow.schedule.dispatch.lag").timer();
+      assertEquals(SCHEDULES, lag.count());
+      // 20 dispatch threads start the 20ms executions in about a second, on average half of that
+      assertTrue(lag.mean(TimeUnit.MILLISECONDS) < 10000,
+          "mean dispatch lag " + lag.mean(TimeUnit.MILLISECONDS) + " ms");
+      assertTrue(lag.max(TimeUnit.MILLISECONDS) < 30000,
+          "max dispatch lag " + lag.max(TimeUnit.MILLISECONDS) + " ms");
+    } finally {
+      scheduler.shutdown(true);
+      dispatcher.shutdown();
+    }
+  }
+
+  private static void simulateExecution(AtomicInteger running, AtomicInteger maxRunning) {
+    int current = running.incrementAndGet();
+    maxRunning.accumulateAndGet(current, Math::max);
+    try {
+      Thread.sleep(5);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      running.decrementAndGet();
+    }
+  }
+
+  /**
+   * Mirrors the dispatching half of WorkflowExecuteJob, with a simulated 20ms workflow start.
+   */
+  public static class DispatchingJob implements Job {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void execute(JobExecutionContext context) {
+      try {
+        ScheduledExecutionDispatcher dispatcher =
+            (ScheduledExecutionDispatcher) context.getScheduler().getContext().get("dispatcher");
+        Map<String, Boolean> executed =
+            (Map<String, Boolean>) context.getScheduler().getContext().get("executed");
+        CountDownLatch latch =
+            (CountDownLatch) context.getScheduler().getContext().get("latch");
+        String scheduleId = context.getJobDetail().getKey().getName();
+        Runnable execution = () -> {
+          try {
+            Thread.sleep(20);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          if (executed.putIfAbsent(scheduleId, Boolean.TRUE) == null) {
+            latch.countDown();
+          }
+        };
+        if (!dispatcher.submit(context.getJobDetail().getKey().getGroup(),
+            context.getScheduledFireTime(), execution)) {
+          dispatcher.execute(context.getScheduledFireTime(), execution);
+        }
+      } catch (SchedulerException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package io.boomerang.misc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.model.Revision;
+import io.boomerang.mongo.repository.FlowTaskTemplateRepository;
+import io.boomerang.mongo.service.TaskTemplateCatalogImpl;
+
+public class TaskTemplateCatalogTest {
+
+  private FlowTaskTemplateRepository repository;
+
+  private TaskTemplateCatalogImpl catalog;
+
+  @BeforeEach
+  public void setUp() {
+    repository = mock(FlowTaskTemplateRepository.class);
+    catalog = new TaskTemplateCatalogImpl();
+    ReflectionTestUtils.setField(catalog, "flowTaskTemplateRepository", repository);
+    ReflectionTestUtils.setField(catalog, "ttl", 60000L);
+    when(repository.findById("template")).thenReturn(Optional.of(template(3, 1, 2)));
+  }
+
+  @Test
+  public void testRevisionsResolvedFromSingleRead() {
+    assertEquals(2, catalog.getRevision("template", 2).getVersion());
+    assertEquals(3, catalog.getLatestRevision("template").getVersion());
+    assertEquals(3, catalog.getRevisionOrLatest("template", 7).getVersion());
+    assertEquals(1, catalog.getRevisionOrLatest("template", 1).getVersion());
+    assertNull(catalog.getRevision("template", 7));
+    assertNull(catalog.getTemplate("missing"));
+    verify(repository, times(1)).findById("template");
+  }
+
+  @Test
+  public void testInvalidateReloadsTemplate() {
+    assertEquals(3, catalog.getLatestRevision("template").getVersion());
+    when(repository.findById("template")).thenReturn(Optional.of(template(1, 2, 3, 4)));
+    assertEquals(3, catalog.getLatestRevision("template").getVersion());
+
+    catalog.invalidate("template");
+    assertEquals(4, catalog.getLatestRevision("template").getVersion());
+    verify(repository, times(2)).findById("template");
+  }
+
+  private static FlowTaskTemplateEntity template(int... versions) {
+    List<Revision> revisions = new ArrayList<>();
+    for (int version : versions) {
+      Revision revision = new Revision();
+      revision.setVersion(version);
+      revisions.add(revision);
+    }
+    FlowTaskTemplateEntity template = new FlowTaskTemplateEntity();
+    template.setId("template");
+    template.setRevisions(revisions);
+    return template;
+  }
+}
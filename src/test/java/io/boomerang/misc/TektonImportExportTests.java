@@ -1,9 +1,12 @@
 package io.boomerang.misc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
@@ -22,7 +26,9 @@ import io.boomerang.model.tekton.Spec;
 import io.boomerang.model.tekton.Step;
 import io.boomerang.model.tekton.TektonTask;
 import io.boomerang.mongo.entity.FlowTaskTemplateEntity;
+import io.boomerang.mongo.model.TaskTemplateConfig;
 import io.boomerang.service.tekton.TektonConverter;
+import io.boomerang.service.tekton.TektonYaml;
 
 public class TektonImportExportTests {
 
@@ -52,6 +58,41 @@ public class TektonImportExportTests {
      assertEquals("Task", task.getKind());
   }
 
+  @Test
+  public void testYamlExportKeepsTemplateConfig() throws IOException {
+    FlowTaskTemplateEntity flowTaskTemplate = loadFlowTemplate();
+    TaskTemplateConfig config = flowTaskTemplate.getRevisions().get(0).getConfig().get(0);
+    String description = config.getDescription();
+
+    String first = TektonYaml.write(
+        TektonConverter.convertFlowTaskToTekton(flowTaskTemplate, Optional.empty()));
+    String second = TektonYaml.write(
+        TektonConverter.convertFlowTaskToTekton(flowTaskTemplate, Optional.empty()));
+
+    assertEquals(description, config.getDescription());
+    assertEquals(first, second);
+  }
+
+  @Test
+  public void testYamlStreamImport() throws IOException {
+    File resource = new ClassPathResource("yaml/import.yaml").getFile();
+    String yamlString = new String(Files.readAllBytes(resource.toPath()));
+    String stream = TektonYaml.DOCUMENT_SEPARATOR + yamlString + "\n"
+        + TektonYaml.DOCUMENT_SEPARATOR + yamlString;
+
+    List<FlowTaskTemplateEntity> templates = new ArrayList<>();
+    try (MappingIterator<TektonTask> tasks = TektonYaml
+        .readTasks(new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)))) {
+      while (tasks.hasNextValue()) {
+        templates.add(TektonConverter.convertTektonTaskToNewFlowTask(tasks.nextValue()));
+      }
+    }
+
+    assertEquals(2, templates.size());
+    TaskTemplateConfig config = templates.get(1).getRevisions().get(0).getConfig().get(0);
+    assertEquals("pathToDockerFile", config.getKey());
+  }
+
   @Test
   public void testYamlConversion() throws IOException {
     TektonTask task = loadTektonTask("yaml/import.yaml");
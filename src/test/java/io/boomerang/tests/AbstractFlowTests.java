@@ -13,6 +13,9 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import io.boomerang.mongo.service.RevisionCache;
+import io.boomerang.mongo.service.TaskTemplateCatalog;
+import io.boomerang.service.tekton.TektonYamlCache;
 
 public abstract class AbstractFlowTests {
 
@@ -21,6 +24,15 @@ public abstract class AbstractFlowTests {
   @Autowired
   private MongoTemplate mongoTemplate;
 
+  @Autowired
+  private TaskTemplateCatalog taskTemplateCatalog;
+
+  @Autowired
+  private RevisionCache revisionCache;
+
+  @Autowired
+  private TektonYamlCache tektonYamlCache;
+
   protected abstract Map<String, List<String>> getData();
 
   protected abstract String[] getCollections();
@@ -30,6 +42,9 @@ public abstract class AbstractFlowTests {
     init();
     clearAllCollections();
     setupDB();
+    taskTemplateCatalog.invalidateAll();
+    revisionCache.invalidateAll();
+    tektonYamlCache.invalidateAll();
   }
 
   @AfterEach
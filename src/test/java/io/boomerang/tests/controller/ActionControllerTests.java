@@ -0,0 +1,112 @@
+package io.boomerang.tests.controller;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.boomerang.controller.ActionController;
+import io.boomerang.misc.FlowTests;
+import io.boomerang.model.ActionSummary;
+import io.boomerang.model.ApprovalStatus;
+import io.boomerang.model.ListActionResponse;
+import io.boomerang.model.teams.Action;
+import io.boomerang.mongo.entity.ApprovalEntity;
+import io.boomerang.mongo.model.ManualType;
+import io.boomerang.mongo.service.ApprovalService;
+import io.boomerang.service.UserIdentityService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@WithMockUser(roles = {"admin"})
+@WithUserDetails("mdroy@us.ibm.com")
+class ActionControllerTests extends FlowTests {
+
+  private static final String TEAM_ID = "5d1a1841f6ca2c00014c4309";
+
+  @Autowired
+  private ApprovalService approvalService;
+
+  @Autowired
+  private ActionController actionController;
+
+  @MockBean
+  private UserIdentityService service;
+
+  @BeforeEach
+  public void createApprovals() throws ParseException {
+    save("workflow1", TEAM_ID, ManualType.approval, ApprovalStatus.submitted, "2020-01-03");
+    save("workflow1", TEAM_ID, ManualType.task, ApprovalStatus.approved, "2020-01-02");
+    save("workflow2", TEAM_ID, ManualType.approval, ApprovalStatus.rejected, "2020-01-01");
+    save("workflow3", "otherTeam", ManualType.approval, ApprovalStatus.submitted, "2020-01-04");
+  }
+
+  @AfterEach
+  public void clearApprovals() {
+    clearColection("flow_workflows_activity_approval");
+  }
+
+  @Test
+  void testActionsArePagedWithCursor() {
+    ListActionResponse first = getActions(Optional.empty());
+
+    Assertions.assertEquals(3, first.getPageable().getTotalElements());
+    Assertions.assertEquals(List.of("2020-01-03", "2020-01-02"), taskNames(first));
+    Assertions.assertEquals("workflow1 name", first.getRecords().get(0).getWorkflowName());
+    Assertions.assertNotNull(first.getNextCursor());
+
+    ListActionResponse second = getActions(Optional.of(first.getNextCursor()));
+
+    Assertions.assertEquals(List.of("2020-01-01"), taskNames(second));
+    Assertions.assertNull(second.getNextCursor());
+  }
+
+  @Test
+  void testActionSummaryCountsTypesAndStatuses() {
+    ActionSummary summary = actionController.getActions(Optional.empty(), Optional.empty(),
+        Optional.empty(), Optional.of(List.of(TEAM_ID)), 0, 2147483647, Optional.empty(),
+        Optional.empty(), Optional.empty());
+
+    Assertions.assertEquals(2, summary.getApprovals());
+    Assertions.assertEquals(1, summary.getManual());
+    Assertions.assertEquals(66, summary.getApprovalsRate());
+  }
+
+  private ListActionResponse getActions(Optional<String> after) {
+    return actionController.getActions(Optional.of(Direction.ASC), Optional.empty(),
+        Optional.empty(), Optional.empty(), Optional.empty(), Optional.of(List.of(TEAM_ID)), 0, 2,
+        Optional.empty(), Optional.empty(), Optional.empty(), after);
+  }
+
+  private static List<String> taskNames(ListActionResponse response) {
+    return response.getRecords().stream().map(Action::getTaskName).collect(Collectors.toList());
+  }
+
+  private void save(String workflowId, String teamId, ManualType type, ApprovalStatus status,
+      String creationDate) throws ParseException {
+    ApprovalEntity approval = new ApprovalEntity();
+    approval.setWorkflowId(workflowId);
+    approval.setWorkflowName(workflowId + " name");
+    approval.setTaskName(creationDate);
+    approval.setTeamId(teamId);
+    approval.setType(type);
+    approval.setStatus(status);
+    approval.setCreationDate(new SimpleDateFormat("yyyy-MM-dd").parse(creationDate));
+    approvalService.save(approval);
+  }
+}
@@ -0,0 +1,138 @@
+package io.boomerang.tests.controller;
+
+import static org.mockito.Mockito.when;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.boomerang.controller.ActivityController;
+import io.boomerang.controller.InsightsController;
+import io.boomerang.misc.FlowTests;
+import io.boomerang.model.FlowActivity;
+import io.boomerang.model.InsightsSummary;
+import io.boomerang.mongo.entity.FlowUserEntity;
+import io.boomerang.mongo.model.TokenScope;
+import io.boomerang.mongo.model.UserType;
+import io.boomerang.mongo.service.ActivityArchiveService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.service.UserIdentityService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@WithMockUser(roles = {"admin"})
+@WithUserDetails("mdroy@us.ibm.com")
+class ActivityArchiveTests extends FlowTests {
+
+  private static final String ARCHIVED_ACTIVITY_ID = "5d1a18c8f6ca2c00014c4325";
+
+  private static final String WORKFLOW_ID = "5d1a188af6ca2c00014c4314";
+
+  private static final String TEAM_ID = "5d1a1841f6ca2c00014c4309";
+
+  @Autowired
+  private ActivityArchiveService archiveService;
+
+  @Autowired
+  private FlowWorkflowActivityService workflowActivityService;
+
+  @Autowired
+  private ActivityController activityController;
+
+  @Autowired
+  private InsightsController insightsController;
+
+  @MockBean
+  private UserIdentityService service;
+
+  @AfterEach
+  public void clearArchive() {
+    clearColection("flow_workflows_activity_archive");
+    clearColection("flow_workflows_activity_rollup");
+  }
+
+  @Test
+  void testArchivedActivityIsServedFromArchive() throws ParseException {
+    int archived = archiveService.archive(date("2020-01-01"), null, Collections.emptyList(), 100);
+
+    Assertions.assertEquals(3, archived);
+    Assertions.assertNull(workflowActivityService.findWorkflowActivtyById(ARCHIVED_ACTIVITY_ID));
+
+    FlowActivity activity = activityController.getFlowActivity(ARCHIVED_ACTIVITY_ID).getBody();
+    Assertions.assertEquals(ARCHIVED_ACTIVITY_ID, activity.getId());
+    Assertions.assertEquals(1, activity.getSteps().size());
+    Assertions.assertEquals("5d1a18c8f6ca2c00014c432b", activity.getSteps().get(0).getId());
+
+    Assertions.assertEquals(0,
+        archiveService.archive(date("2020-01-01"), null, Collections.emptyList(), 100));
+  }
+
+  @Test
+  void testArchiveRespectsCutoffAndTeams() throws ParseException {
+    Assertions.assertEquals(0,
+        archiveService.archive(date("2019-01-01"), null, Collections.emptyList(), 100));
+    Assertions.assertEquals(0, archiveService.archive(date("2020-01-01"), null,
+        Collections.singletonList(TEAM_ID), 100));
+    Assertions.assertNotNull(workflowActivityService.findWorkflowActivtyById(ARCHIVED_ACTIVITY_ID));
+  }
+
+  @Test
+  void testInsightsIncludeArchivedRollups() throws ParseException {
+    FlowUserEntity user = new FlowUserEntity();
+    user.setEmail("amhudson@us.ibm.com");
+    user.setName("Adrienne Hudson");
+    user.setType(UserType.admin);
+
+    when(service.getCurrentScope()).thenReturn(TokenScope.user);
+    when(service.getCurrentUser()).thenReturn(user);
+
+    InsightsSummary before = getInsights();
+    archiveService.archive(date("2020-01-01"), null, Collections.emptyList(), 100);
+    InsightsSummary after = getInsights();
+
+    Assertions.assertEquals(5, before.getExecutions().size());
+    Assertions.assertEquals(2, after.getExecutions().size());
+    Assertions.assertEquals(before.getTotalActivitiesExecuted(),
+        after.getTotalActivitiesExecuted());
+    Assertions.assertEquals(before.getMedianExecutionTime(), after.getMedianExecutionTime());
+  }
+
+  private InsightsSummary getInsights() {
+    Optional<List<String>> workflowIds = getOptionalListString(List.of(WORKFLOW_ID));
+    Optional<List<String>> teamIds = getOptionalListString(List.of(TEAM_ID));
+    return insightsController.getInsights(getOptionalOrder(Direction.ASC), Optional.empty(),
+        getOptionalString("sort"), workflowIds, teamIds, 0, 2147483647, Optional.empty(),
+        Optional.empty(), Optional.empty(), Optional.empty());
+  }
+
+  private static Date date(String value) throws ParseException {
+    return new SimpleDateFormat("yyyy-MM-dd").parse(value);
+  }
+
+  Optional<String> getOptionalString(String string) {
+    return Optional.of(string);
+  }
+
+  Optional<List<String>> getOptionalListString(List<String> strings) {
+    return Optional.of(strings);
+  }
+
+  Optional<Direction> getOptionalOrder(Direction direction) {
+    return Optional.of(direction);
+  }
+}
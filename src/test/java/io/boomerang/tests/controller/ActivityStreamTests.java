@@ -0,0 +1,82 @@
+package io.boomerang.tests.controller;
+
+import static org.mockito.Mockito.when;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import io.boomerang.controller.ActivityController;
+import io.boomerang.misc.FlowTests;
+import io.boomerang.model.TeamWorkflowSummary;
+import io.boomerang.mongo.entity.FlowUserEntity;
+import io.boomerang.mongo.entity.TeamEntity;
+import io.boomerang.mongo.model.UserType;
+import io.boomerang.service.UserIdentityService;
+import io.boomerang.service.crud.TeamService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@WithMockUser(roles = {"admin"})
+@WithUserDetails("mdroy@us.ibm.com")
+class ActivityStreamTests extends FlowTests {
+
+  private static final String ACTIVITY_ID = "5d1a18c8f6ca2c00014c4325";
+
+  private static final String TEAM_ID = "5d1a1841f6ca2c00014c4309";
+
+  @Autowired
+  private ActivityController activityController;
+
+  @MockBean
+  private UserIdentityService service;
+
+  @MockBean
+  private TeamService teamService;
+
+  @Test
+  void testStreamIsForbiddenOutsideTheWorkflowTeam() {
+    FlowUserEntity user = createUser();
+    when(service.getCurrentUser()).thenReturn(user);
+    when(teamService.getUserTeams(user)).thenReturn(Collections.emptyList());
+
+    ResponseEntity<SseEmitter> response = activityController.streamFlowActivity(ACTIVITY_ID);
+
+    Assertions.assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    Assertions.assertNull(response.getBody());
+  }
+
+  @Test
+  void testStreamIsAvailableToTeamMembers() {
+    FlowUserEntity user = createUser();
+    TeamEntity team = new TeamEntity();
+    team.setId(TEAM_ID);
+    when(service.getCurrentUser()).thenReturn(user);
+    when(teamService.getUserTeams(user))
+        .thenReturn(Collections.singletonList(new TeamWorkflowSummary(team, null)));
+
+    ResponseEntity<SseEmitter> response = activityController.streamFlowActivity(ACTIVITY_ID);
+
+    Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+    Assertions.assertNotNull(response.getBody());
+  }
+
+  private static FlowUserEntity createUser() {
+    FlowUserEntity user = new FlowUserEntity();
+    user.setId("user");
+    user.setEmail("user@us.ibm.com");
+    user.setType(UserType.user);
+    return user;
+  }
+}
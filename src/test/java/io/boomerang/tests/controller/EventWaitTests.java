@@ -0,0 +1,206 @@
+package io.boomerang.tests.controller;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.boomerang.misc.FlowTests;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.EventWaitEntity;
+import io.boomerang.mongo.entity.RevisionEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.Dag;
+import io.boomerang.mongo.model.KeyValuePair;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.TaskType;
+import io.boomerang.mongo.model.WorkflowExecutionCondition;
+import io.boomerang.mongo.model.WorkflowScope;
+import io.boomerang.mongo.model.internal.InternalTaskRequest;
+import io.boomerang.mongo.model.next.DAGTask;
+import io.boomerang.mongo.model.next.Dependency;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.mongo.service.EventWaitService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.mongo.service.FlowWorkflowService;
+import io.boomerang.mongo.service.RevisionService;
+import io.boomerang.service.EventProcessor;
+import io.boomerang.service.UserIdentityService;
+import io.boomerang.service.refactor.TaskService;
+import io.boomerang.service.runner.misc.ControllerClient;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@WithMockUser(roles = {"admin"})
+@WithUserDetails("mdroy@us.ibm.com")
+class EventWaitTests extends FlowTests {
+
+  private static final String ACTIVITY_ID = "activity1";
+
+  private static final String WORKFLOW_ID = "5d1a188af6ca2c00014c4314";
+
+  private static final long WAIT = 10000;
+
+  @Autowired
+  private EventWaitService eventWaitService;
+
+  @Autowired
+  private EventProcessor eventProcessor;
+
+  @Autowired
+  private TaskService taskService;
+
+  @Autowired
+  private ActivityTaskService taskActivityService;
+
+  @Autowired
+  private FlowWorkflowActivityService activityService;
+
+  @Autowired
+  private FlowWorkflowService workflowService;
+
+  @Autowired
+  private RevisionService revisionService;
+
+  @MockBean
+  private ControllerClient controllerClient;
+
+  @MockBean
+  private UserIdentityService service;
+
+  @AfterEach
+  public void clearWaits() {
+    clearColection("flow_workflows_activity_event_wait");
+  }
+
+  @Test
+  void testEventReleasesWaitingTasksOnce() {
+    Assertions.assertNull(eventWaitService.registerWait(ACTIVITY_ID, "topic", "task1"));
+    Assertions.assertNull(eventWaitService.registerWait(ACTIVITY_ID, "topic", "task2"));
+    Assertions.assertNull(eventWaitService.registerWait(ACTIVITY_ID, "other", "task3"));
+
+    List<String> released =
+        eventWaitService.receiveEvent(ACTIVITY_ID, "topic", "success", Map.of("a", "b"));
+
+    Assertions.assertEquals(List.of("task1", "task2"), released);
+    Assertions.assertTrue(
+        eventWaitService.receiveEvent(ACTIVITY_ID, "topic", "success", Map.of()).isEmpty());
+  }
+
+  @Test
+  void testEarlyEventIsBufferedForTheWaitTask() {
+    Assertions.assertTrue(eventWaitService
+        .receiveEvent(ACTIVITY_ID, "topic", "failure", Map.of("eventPayload", "{}")).isEmpty());
+
+    EventWaitEntity event = eventWaitService.registerWait(ACTIVITY_ID, "topic", "task1");
+
+    Assertions.assertNotNull(event);
+    Assertions.assertEquals("failure", event.getStatus());
+    Assertions.assertEquals("{}", event.getEventPayload().get("eventPayload"));
+    Assertions.assertNull(eventWaitService.registerWait("activity2", "topic", "task2"));
+  }
+
+  @Test
+  void testWaitForEventTaskCompletesFromEvent() throws Exception {
+    WorkflowEntity workflow = workflowService.getWorkflow(WORKFLOW_ID);
+    workflow.setScope(WorkflowScope.system);
+    workflowService.saveWorkflow(workflow);
+    RevisionEntity revision = revisionService.insertWorkflow(createRevision());
+
+    ActivityEntity activity = new ActivityEntity();
+    activity.setWorkflowId(WORKFLOW_ID);
+    activity.setWorkflowRevisionid(revision.getId());
+    activity.setStatus(TaskStatus.inProgress);
+    activity.setCreationDate(new Date());
+    activity = activityService.saveWorkflowActivity(activity);
+
+    TaskExecutionEntity task = new TaskExecutionEntity();
+    task.setActivityId(activity.getId());
+    task.setWorkflowId(WORKFLOW_ID);
+    task.setTaskId("wait");
+    task.setTaskName("Wait for event");
+    task.setTaskType(TaskType.eventwait);
+    task.setFlowTaskStatus(TaskStatus.notstarted);
+    task = taskActivityService.save(task);
+    String taskId = task.getId();
+
+    InternalTaskRequest request = new InternalTaskRequest();
+    request.setActivityId(taskId);
+    taskService.createTask(request);
+    awaitStatus(() -> taskActivityService.findById(taskId).getFlowTaskStatus(),
+        TaskStatus.waiting);
+
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode event = mapper.createObjectNode();
+    event.put("specversion", "1.0");
+    event.put("id", "wfe-event");
+    event.put("source", "http://localhost/listener/event");
+    event.put("type", "io.boomerang.eventing.wfe");
+    event.put("subject", "/" + WORKFLOW_ID + "/" + activity.getId() + "/ready");
+    event.set("data", mapper.createObjectNode().put("name", "tyson"));
+    eventProcessor.processNATSMessage(event.toString());
+
+    awaitStatus(() -> taskActivityService.findById(taskId).getFlowTaskStatus(),
+        TaskStatus.completed);
+    Assertions.assertTrue(
+        taskActivityService.findById(taskId).getOutputs().get("eventPayload").contains("tyson"));
+    String activityId = activity.getId();
+    awaitStatus(() -> activityService.findWorkflowActivtyById(activityId).getStatus(),
+        TaskStatus.completed);
+  }
+
+  private static RevisionEntity createRevision() {
+    DAGTask start = createTask("start", TaskType.start);
+    DAGTask wait = createTask("wait", TaskType.eventwait, "start");
+    wait.setProperties(List.of(new KeyValuePair("topic", "ready")));
+    DAGTask end = createTask("end", TaskType.end, "wait");
+    Dag dag = new Dag();
+    dag.setTasks(List.of(start, wait, end));
+    RevisionEntity revision = new RevisionEntity();
+    revision.setWorkFlowId(WORKFLOW_ID);
+    revision.setVersion(100);
+    revision.setDag(dag);
+    return revision;
+  }
+
+  private static DAGTask createTask(String taskId, TaskType type, String... dependencies) {
+    DAGTask task = new DAGTask();
+    task.setId(taskId);
+    task.setLabel(taskId);
+    task.setType(type);
+    List<Dependency> taskDependencies = new ArrayList<>();
+    for (String dependency : dependencies) {
+      Dependency taskDependency = new Dependency();
+      taskDependency.setTaskId(dependency);
+      taskDependency.setExecutionCondition(WorkflowExecutionCondition.always);
+      taskDependencies.add(taskDependency);
+    }
+    task.setDependencies(taskDependencies);
+    return task;
+  }
+
+  private static void awaitStatus(Supplier<TaskStatus> status, TaskStatus expected)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + WAIT;
+    while (status.get() != expected && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    Assertions.assertEquals(expected, status.get());
+  }
+}
@@ -0,0 +1,195 @@
+package io.boomerang.tests.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.boomerang.misc.FlowTests;
+import io.boomerang.model.FlowActivity;
+import io.boomerang.model.FlowWebhookResponse;
+import io.boomerang.model.RequestFlowExecution;
+import io.boomerang.model.eventing.EventResponse;
+import io.boomerang.mongo.entity.ExecutionDedupEntity;
+import io.boomerang.mongo.service.ExecutionDedupService;
+import io.boomerang.service.EventProcessor;
+import io.boomerang.service.ExecutionService;
+import io.boomerang.service.UserIdentityService;
+import io.boomerang.service.WebhookService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@WithMockUser(roles = {"admin"})
+@WithUserDetails("mdroy@us.ibm.com")
+class ExecutionDedupTests extends FlowTests {
+
+  private static final String WORKFLOW_ID = "5d1a188af6ca2c00014c4314";
+
+  private static final int DELIVERIES = 20;
+
+  @Autowired
+  private EventProcessor eventProcessor;
+
+  @Autowired
+  private WebhookService webhookService;
+
+  @Autowired
+  private ExecutionDedupService executionDedupService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @MockBean
+  private ExecutionService executionService;
+
+  @MockBean
+  private UserIdentityService service;
+
+  @AfterEach
+  public void clearDedup() {
+    clearColection("flow_workflows_execution_dedup");
+  }
+
+  @Test
+  void testRedeliveredEventExecutesOnce() throws Exception {
+    mockExecution("activity1");
+    String message = buildEvent(UUID.randomUUID().toString()).toString();
+
+    storm(() -> {
+      eventProcessor.processNATSMessage(message);
+      return null;
+    });
+
+    verify(executionService, times(1)).executeWorkflow(any(), any(), any(), any());
+
+    EventResponse response = eventProcessor
+        .processHTTPEvent(Map.of("Content-Type", "application/cloudevents+json"),
+            new ObjectMapper().readTree(message))
+        .getData().get();
+    Assertions.assertEquals("activity1", response.getActivityId());
+    verify(executionService, times(1)).executeWorkflow(any(), any(), any(), any());
+  }
+
+  @Test
+  void testRetriedWebhookReturnsOriginalActivity() throws Exception {
+    mockExecution("activity2");
+    RequestFlowExecution request = new RequestFlowExecution();
+    request.setWorkflowId(WORKFLOW_ID);
+    String key = UUID.randomUUID().toString();
+
+    Set<String> activityIds = storm(() -> {
+      FlowWebhookResponse response = webhookService.submitWebhookEvent(request, Optional.of(key));
+      return response.getActivityId();
+    });
+
+    Assertions.assertEquals(Set.of("activity2"), activityIds);
+    verify(executionService, times(1)).executeWorkflow(any(), any(), any(), any());
+  }
+
+  @Test
+  void testFailedExecutionReleasesKey() {
+    String key = UUID.randomUUID().toString();
+    AtomicInteger executions = new AtomicInteger();
+
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> executionDedupService.execute(key, () -> {
+          executions.incrementAndGet();
+          throw new IllegalStateException();
+        }));
+
+    Assertions.assertEquals("activity3", executionDedupService.execute(key, () -> {
+      executions.incrementAndGet();
+      return "activity3";
+    }));
+    Assertions.assertEquals("activity3", executionDedupService.execute(key, () -> "other"));
+    Assertions.assertEquals(2, executions.get());
+  }
+
+  @Test
+  void testClaimIsLeasedUntilActivityIsRecorded() {
+    String key = UUID.randomUUID().toString();
+    long start = System.currentTimeMillis();
+
+    executionDedupService.execute(key, () -> {
+      ExecutionDedupEntity claim = mongoTemplate.findById(key, ExecutionDedupEntity.class);
+      Assertions.assertNull(claim.getActivityId());
+      Assertions.assertTrue(claim.getExpiresAt().getTime() <= System.currentTimeMillis() + 10000,
+          "Unfinished claim is leased until " + claim.getExpiresAt());
+      return "activity4";
+    });
+
+    ExecutionDedupEntity recorded = mongoTemplate.findById(key, ExecutionDedupEntity.class);
+    Assertions.assertEquals("activity4", recorded.getActivityId());
+    Assertions.assertTrue(recorded.getExpiresAt().after(new Date(start + 86400000 - 60000)),
+        "Recorded claim expires at " + recorded.getExpiresAt());
+  }
+
+  private void mockExecution(String activityId) {
+    FlowActivity activity = new FlowActivity();
+    activity.setId(activityId);
+    when(executionService.executeWorkflow(any(), any(), any(), any())).thenAnswer(invocation -> {
+      Thread.sleep(100);
+      return activity;
+    });
+  }
+
+  private static Set<String> storm(Callable<String> delivery) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(DELIVERIES);
+    try {
+      List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < DELIVERIES; i++) {
+        futures.add(executor.submit(delivery));
+      }
+      Set<String> results = ConcurrentHashMap.newKeySet();
+      for (Future<String> future : futures) {
+        String result = future.get();
+        if (result != null) {
+          results.add(result);
+        }
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static ObjectNode buildEvent(String eventId) {
+    ObjectMapper mapper = new ObjectMapper();
+    ObjectNode event = mapper.createObjectNode();
+    event.put("specversion", "1.0");
+    event.put("id", eventId);
+    event.put("source", "http://localhost/listener/webhook");
+    event.put("type", "io.boomerang.eventing.webhook");
+    event.put("subject", "/" + WORKFLOW_ID);
+    event.set("data", mapper.createObjectNode().put("name", "tyson"));
+    return event;
+  }
+}
@@ -0,0 +1,174 @@
+package io.boomerang.tests.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import java.util.Date;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.boomerang.misc.FlowTests;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.ExecutionQueueEntity;
+import io.boomerang.mongo.entity.WorkflowEntity;
+import io.boomerang.mongo.model.FlowTriggerEnum;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.model.WorkflowConcurrency;
+import io.boomerang.mongo.model.WorkflowScope;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.mongo.service.FlowWorkflowService;
+import io.boomerang.service.ExecutionQueueService;
+import io.boomerang.service.ExecutionQueueServiceImpl;
+import io.boomerang.service.FlowExecutionService;
+import io.boomerang.service.UserIdentityService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@WithMockUser(roles = {"admin"})
+@WithUserDetails("mdroy@us.ibm.com")
+class ExecutionQueueTests extends FlowTests {
+
+  private static final String WORKFLOW_ID = "5d1ed477f6ca2c00014c47a4";
+
+  private static final long WAIT = 5000;
+
+  @Autowired
+  private ExecutionQueueService executionQueueService;
+
+  @Autowired
+  private ExecutionQueueServiceImpl executionQueueServiceImpl;
+
+  @Autowired
+  private FlowWorkflowService workflowService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private FlowWorkflowActivityService activityService;
+
+  @MockBean
+  private FlowExecutionService flowExecutionService;
+
+  @MockBean
+  private UserIdentityService service;
+
+  private WorkflowEntity workflow;
+
+  @BeforeEach
+  public void limitWorkflow() {
+    workflow = workflowService.getWorkflow(WORKFLOW_ID);
+    workflow.setScope(WorkflowScope.system);
+    workflow.setConcurrency(new WorkflowConcurrency());
+    workflow.getConcurrency().setMaxConcurrent(1);
+    workflow = workflowService.saveWorkflow(workflow);
+  }
+
+  @AfterEach
+  public void clearQueue() {
+    clearColection("flow_workflows_execution_queue");
+  }
+
+  @Test
+  void testQueuedRunsStartByPriorityAsRunsFinish() {
+    Assertions.assertTrue(executionQueueService.isLimited(workflow));
+    ActivityEntity running = save(FlowTriggerEnum.manual, TaskStatus.inProgress);
+    ActivityEntity scheduled = enqueue(FlowTriggerEnum.scheduler);
+    ActivityEntity webhook = enqueue(FlowTriggerEnum.webhook);
+    ActivityEntity manual = enqueue(FlowTriggerEnum.manual);
+
+    verify(flowExecutionService, never()).executeWorkflowVersion(any(), any());
+
+    finish(running);
+    verify(flowExecutionService, timeout(WAIT)).executeWorkflowVersion(any(),
+        eq(manual.getId()));
+    Assertions.assertEquals(TaskStatus.inProgress, status(manual));
+    Assertions.assertEquals(TaskStatus.waiting, status(webhook));
+
+    finish(activityService.findWorkflowActivtyById(manual.getId()));
+    verify(flowExecutionService, timeout(WAIT)).executeWorkflowVersion(any(),
+        eq(webhook.getId()));
+    Assertions.assertEquals(TaskStatus.waiting, status(scheduled));
+  }
+
+  @Test
+  void testNewRunCancelsOlderQueuedRuns() {
+    workflow.getConcurrency().setCancelQueued(true);
+    workflow = workflowService.saveWorkflow(workflow);
+    save(FlowTriggerEnum.manual, TaskStatus.inProgress);
+    ActivityEntity older = enqueue(FlowTriggerEnum.webhook);
+    ActivityEntity newer = enqueue(FlowTriggerEnum.webhook);
+
+    Assertions.assertEquals(TaskStatus.cancelled, status(older));
+    Assertions.assertEquals(TaskStatus.waiting, status(newer));
+    verify(flowExecutionService, never()).executeWorkflowVersion(any(), any());
+  }
+
+  @Test
+  void testRunStartsDirectlyWhileLimitHasRoom() {
+    Assertions.assertFalse(executionQueueService.mustQueue(workflow));
+
+    save(FlowTriggerEnum.manual, TaskStatus.inProgress);
+    Assertions.assertTrue(executionQueueService.mustQueue(workflow));
+  }
+
+  @Test
+  void testAbandonedAdmissionIsQueuedAgain() {
+    ActivityEntity activity = save(FlowTriggerEnum.manual, TaskStatus.waiting);
+    ExecutionQueueEntity entry = new ExecutionQueueEntity();
+    entry.setId(activity.getId());
+    entry.setScope(ExecutionQueueEntity.scope(WORKFLOW_ID, null));
+    entry.setWorkflowId(WORKFLOW_ID);
+    entry.setRevisionId("revision");
+    entry.setPriority(2);
+    entry.setCreationDate(new Date());
+    entry.setAdmittedAt(new Date(System.currentTimeMillis() - 120000));
+    mongoTemplate.insert(entry);
+
+    executionQueueServiceImpl.sweep();
+
+    verify(flowExecutionService, times(1)).executeWorkflowVersion(any(), eq(activity.getId()));
+    Assertions.assertEquals(TaskStatus.inProgress, status(activity));
+    Assertions.assertNull(mongoTemplate.findById(activity.getId(), ExecutionQueueEntity.class));
+  }
+
+  private ActivityEntity enqueue(FlowTriggerEnum trigger) {
+    ActivityEntity activity = save(trigger, TaskStatus.waiting);
+    executionQueueService.enqueue(workflow, activity);
+    return activity;
+  }
+
+  private ActivityEntity save(FlowTriggerEnum trigger, TaskStatus status) {
+    ActivityEntity activity = new ActivityEntity();
+    activity.setWorkflowId(WORKFLOW_ID);
+    activity.setWorkflowRevisionid("revision");
+    activity.setTrigger(trigger.toString());
+    activity.setStatus(status);
+    activity.setCreationDate(new Date());
+    return activityService.saveWorkflowActivity(activity);
+  }
+
+  private void finish(ActivityEntity activity) {
+    activity.setStatus(TaskStatus.completed);
+    activityService.saveWorkflowActivity(activity);
+  }
+
+  private TaskStatus status(ActivityEntity activity) {
+    return activityService.findWorkflowActivtyById(activity.getId()).getStatus();
+  }
+}
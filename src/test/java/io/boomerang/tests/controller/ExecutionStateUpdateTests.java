@@ -0,0 +1,151 @@
+package io.boomerang.tests.controller;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import io.boomerang.misc.FlowTests;
+import io.boomerang.mongo.entity.ActivityEntity;
+import io.boomerang.mongo.entity.TaskExecutionEntity;
+import io.boomerang.mongo.model.ActivityUpdate;
+import io.boomerang.mongo.model.ErrorResponse;
+import io.boomerang.mongo.model.KeyValuePair;
+import io.boomerang.mongo.model.TaskExecutionUpdate;
+import io.boomerang.mongo.model.TaskStatus;
+import io.boomerang.mongo.service.ActivityTaskService;
+import io.boomerang.mongo.service.FlowWorkflowActivityService;
+import io.boomerang.service.UserIdentityService;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@WithMockUser(roles = {"admin"})
+@WithUserDetails("mdroy@us.ibm.com")
+class ExecutionStateUpdateTests extends FlowTests {
+
+  @Autowired
+  private ActivityTaskService taskActivityService;
+
+  @Autowired
+  private FlowWorkflowActivityService activityService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @MockBean
+  private UserIdentityService service;
+
+  @Test
+  void testTaskTransitionWritesOnlyChangedFields() {
+    TaskExecutionEntity task = taskActivityService.save(createTask());
+
+    int fullSave = bsonSize(writeDocument(endTask(taskActivityService.findById(task.getId()))));
+    TaskExecutionUpdate update = new TaskExecutionUpdate(taskActivityService.findById(task.getId()))
+        .status(TaskStatus.completed).finished(new Date());
+    int targeted = bsonSize(mapUpdate(update));
+
+    Assertions.assertTrue(targeted * 10 < fullSave,
+        "Expected the targeted update (" + targeted + " bytes) to be a fraction of the full save ("
+            + fullSave + " bytes)");
+
+    taskActivityService.update(update);
+    TaskExecutionEntity saved = taskActivityService.findById(task.getId());
+    Assertions.assertEquals(TaskStatus.completed, saved.getFlowTaskStatus());
+    Assertions.assertEquals(update.getEntity().getDuration(), saved.getDuration());
+    Assertions.assertEquals(task.getOutputs(), saved.getOutputs());
+    Assertions.assertEquals("code", saved.getError().getCode());
+  }
+
+  @Test
+  void testTaskUpdateKeepsConcurrentChanges() {
+    TaskExecutionEntity task = taskActivityService.save(createTask());
+    TaskExecutionEntity stale = taskActivityService.findById(task.getId());
+
+    TaskExecutionEntity other = taskActivityService.findById(task.getId());
+    taskActivityService.update(new TaskExecutionUpdate(other).switchValue("yes"));
+    taskActivityService.update(new TaskExecutionUpdate(stale).status(TaskStatus.completed));
+
+    TaskExecutionEntity saved = taskActivityService.findById(task.getId());
+    Assertions.assertEquals(TaskStatus.completed, saved.getFlowTaskStatus());
+    Assertions.assertEquals("yes", saved.getSwitchValue());
+  }
+
+  @Test
+  void testActivityOutputPropertiesArePushed() {
+    ActivityEntity activity = new ActivityEntity();
+    activity.setStatus(TaskStatus.inProgress);
+    activity.setCreationDate(new Date());
+    activity = activityService.saveWorkflowActivity(activity);
+    ActivityEntity first = activityService.findWorkflowActivtyById(activity.getId());
+    ActivityEntity second = activityService.findWorkflowActivtyById(activity.getId());
+
+    activityService.updateWorkflowActivity(
+        new ActivityUpdate(first).addOutputProperty(new KeyValuePair("a", "1")));
+    activityService.updateWorkflowActivity(
+        new ActivityUpdate(second).addOutputProperty(new KeyValuePair("b", "2")));
+
+    List<KeyValuePair> outputProperties =
+        activityService.findWorkflowActivtyById(activity.getId()).getOutputProperties();
+    Assertions.assertEquals(2, outputProperties.size());
+    Assertions.assertEquals("a", outputProperties.get(0).getKey());
+    Assertions.assertEquals("b", outputProperties.get(1).getKey());
+  }
+
+  private static TaskExecutionEntity createTask() {
+    TaskExecutionEntity task = new TaskExecutionEntity();
+    task.setActivityId("activity1");
+    task.setTaskId("task1");
+    task.setTaskName("Execute Shell");
+    task.setFlowTaskStatus(TaskStatus.inProgress);
+    task.setStartTime(new Date());
+    Map<String, String> outputs = new HashMap<>();
+    for (int i = 0; i < 50; i++) {
+      outputs.put("output" + i, "value".repeat(20));
+    }
+    task.setOutputs(outputs);
+    ErrorResponse error = new ErrorResponse();
+    error.setCode("code");
+    error.setMessage("message".repeat(20));
+    task.setError(error);
+    return task;
+  }
+
+  private static TaskExecutionEntity endTask(TaskExecutionEntity task) {
+    task.setFlowTaskStatus(TaskStatus.completed);
+    task.setDuration(new Date().getTime() - task.getStartTime().getTime());
+    return task;
+  }
+
+  private Document writeDocument(TaskExecutionEntity task) {
+    Document document = new Document();
+    mongoTemplate.getConverter().write(task, document);
+    return document;
+  }
+
+  private Document mapUpdate(TaskExecutionUpdate update) {
+    MongoConverter converter = mongoTemplate.getConverter();
+    return new UpdateMapper(converter).getMappedObject(update.getUpdate().getUpdateObject(),
+        converter.getMappingContext().getPersistentEntity(TaskExecutionEntity.class));
+  }
+
+  private static int bsonSize(Document document) {
+    return new RawBsonDocument(document, new DocumentCodec()).getByteBuffer().remaining();
+  }
+}
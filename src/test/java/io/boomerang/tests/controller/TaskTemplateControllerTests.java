@@ -2,7 +2,11 @@ package io.boomerang.tests.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -14,13 +18,16 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import com.fasterxml.jackson.databind.MappingIterator;
 import io.boomerang.controller.TaskTemplateController;
 import io.boomerang.misc.FlowTests;
 import io.boomerang.model.FlowTaskTemplate;
+import io.boomerang.model.TemplateScope;
 import io.boomerang.model.tekton.TektonTask;
 import io.boomerang.mongo.model.ChangeLog;
 import io.boomerang.mongo.model.FlowTaskTemplateStatus;
 import io.boomerang.mongo.model.Revision;
+import io.boomerang.service.tekton.TektonYaml;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
@@ -130,4 +137,31 @@ public class TaskTemplateControllerTests extends FlowTests {
      assertNotNull(task.getSpec().getParams());
   }
 
+  @Test
+  public void testYamlCatalogExportAndImport() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    controller.exportTaskTemplatesYaml(null, null).getBody().writeTo(output);
+    byte[] catalog = output.toByteArray();
+
+    int count = 0;
+    try (MappingIterator<TektonTask> tasks =
+        TektonYaml.readTasks(new ByteArrayInputStream(catalog))) {
+      while (tasks.hasNextValue()) {
+        assertEquals("Task", tasks.nextValue().getKind());
+        count++;
+      }
+    }
+    assertTrue(count > 0);
+
+    String teamId = "5d1a1841f6ca2c00014c4309";
+    List<FlowTaskTemplate> created = controller
+        .importTaskTemplatesYaml(new ByteArrayInputStream(catalog), TemplateScope.team, teamId);
+    assertEquals(count, created.size());
+    assertEquals(teamId, created.get(0).getFlowTeamId());
+
+    List<FlowTaskTemplate> unchanged = controller
+        .importTaskTemplatesYaml(new ByteArrayInputStream(catalog), TemplateScope.team, teamId);
+    assertTrue(unchanged.isEmpty());
+  }
+
 }
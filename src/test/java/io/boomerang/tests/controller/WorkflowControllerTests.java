@@ -6,8 +6,11 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,8 +39,10 @@ import io.boomerang.model.FlowWorkflowRevision;
 import io.boomerang.model.GenerateTokenResponse;
 import io.boomerang.model.RevisionResponse;
 import io.boomerang.model.WorkflowExport;
+import io.boomerang.model.WorkflowImportResult;
 import io.boomerang.model.WorkflowShortSummary;
 import io.boomerang.model.WorkflowSummary;
+import io.boomerang.model.WorkflowTransferRecord;
 import io.boomerang.model.projectstormv5.RestConfig;
 import io.boomerang.mongo.entity.RevisionEntity;
 import io.boomerang.mongo.entity.WorkflowEntity;
@@ -67,6 +72,9 @@ public class WorkflowControllerTests extends FlowTests {
   @Autowired
   private InternalController internalController;
 
+  @Autowired
+  private ObjectMapper mapper;
+
   @Test
   public void testInternalWorkflowListing() {
     List<WorkflowShortSummary> summaryList = internalController.getAllWorkflows();
@@ -235,6 +243,50 @@ public class WorkflowControllerTests extends FlowTests {
      assertTrue(true);
   }
 
+  @Test
+  public void testTeamExportAndImport() throws IOException {
+    String teamId = "5d3f2282d8fcf10001ee7ef7";
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    controller.exportTeamWorkflows(teamId, "all").getBody().writeTo(output);
+    String exported = output.toString(StandardCharsets.UTF_8);
+
+    List<WorkflowTransferRecord> records = new ArrayList<>();
+    for (String line : exported.split("\n")) {
+      records.add(mapper.readValue(line, WorkflowTransferRecord.class));
+    }
+    assertEquals(4, records.size());
+    for (WorkflowTransferRecord record : records.subList(0, 3)) {
+      assertEquals(WorkflowTransferRecord.WORKFLOW, record.getKind());
+      assertNull(record.getWorkflow().getTokens());
+      assertEquals(1, record.getRevisions().size());
+    }
+    assertEquals(WorkflowTransferRecord.TEMPLATE, records.get(3).getKind());
+    assertEquals("5c3907a1352b1b51412ed075", records.get(3).getTemplate().getId());
+
+    String input = exported + "{not json\n";
+    List<WorkflowImportResult> results = controller.importTeamWorkflows(teamId, false,
+        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(5, results.size());
+    for (int i = 0; i < 3; i++) {
+      WorkflowImportResult result = results.get(i);
+      assertEquals(WorkflowImportResult.Status.created, result.getStatus());
+      assertNotEquals(records.get(i).getWorkflow().getId(), result.getWorkflowId());
+      assertEquals(1L, controller.getWorkflowLatestVersion(result.getWorkflowId()).getVersion());
+    }
+    assertEquals(WorkflowImportResult.Status.skipped, results.get(3).getStatus());
+    assertEquals(WorkflowImportResult.Status.failed, results.get(4).getStatus());
+    assertEquals(5, results.get(4).getLine());
+
+    String workflowId = records.get(0).getWorkflow().getId();
+    results = controller.importTeamWorkflows(teamId, true,
+        new ByteArrayInputStream(mapper.writeValueAsBytes(records.get(0))));
+
+    assertEquals(WorkflowImportResult.Status.updated, results.get(0).getStatus());
+    assertEquals(workflowId, results.get(0).getWorkflowId());
+    assertEquals(2L, controller.getWorkflowLatestVersion(workflowId).getVersion());
+  }
+
   @Test
   public void testGenerateWebhookToken() {
 